@@ -127,6 +127,7 @@ import bibliothek.gui.dock.common.mode.CStationContainerHistoryRewriter;
 import bibliothek.gui.dock.common.mode.ExtendedMode;
 import bibliothek.gui.dock.common.perspective.CControlPerspective;
 import bibliothek.gui.dock.common.perspective.CDockablePerspective;
+import bibliothek.gui.dock.common.perspective.CPerspectiveLoader;
 import bibliothek.gui.dock.common.perspective.CStackPerspective;
 import bibliothek.gui.dock.common.perspective.CStationPerspective;
 import bibliothek.gui.dock.common.perspective.CommonElementPerspective;
@@ -194,6 +195,8 @@ import bibliothek.gui.dock.util.extension.Extension;
 import bibliothek.gui.dock.util.extension.ExtensionManager;
 import bibliothek.gui.dock.util.extension.ExtensionName;
 import bibliothek.gui.dock.util.icon.DefaultIconScheme;
+import bibliothek.gui.dock.util.listener.ListenerLeakReport;
+import bibliothek.gui.dock.util.listener.ListenerList;
 import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
 import bibliothek.gui.dock.util.text.DefaultTextScheme;
 import bibliothek.util.Filter;
@@ -354,10 +357,10 @@ public class CControl {
     private MutableCControlRegister register;
 
     /** the list of listeners to this {@link CControl} */
-    private List<CControlListener> listeners = new ArrayList<CControlListener>();
+    private ListenerList<CControlListener> listeners = new ListenerList<CControlListener>( CControlListener.class, "CControlListener", null );
 
     /** the list of resize-listeners */
-    private List<ResizeRequestListener> resizeListeners = new ArrayList<ResizeRequestListener>();
+    private ListenerList<ResizeRequestListener> resizeListeners = new ListenerList<ResizeRequestListener>( ResizeRequestListener.class, "ResizeRequestListener", null );
 
     /** the collection of global listeners */
     private CListenerCollection listenerCollection = new CListenerCollection();
@@ -1169,10 +1172,10 @@ public class CControl {
     
     /**
      * Gets a list of currently registered listeners.
-     * @return the listeners
+     * @return the listeners, must not be modified
      */
     private CControlListener[] listeners(){
-        return listeners.toArray( new CControlListener[ listeners.size() ] );
+        return listeners.get();
     }
 
     /**
@@ -1387,6 +1390,23 @@ public class CControl {
     public CControlRegister getRegister(){
         return register;
     }
+    
+    /**
+     * Creates a {@link ListenerLeakReport} for the {@link #getController() controller} of this control. The
+     * {@link CDockable}s and {@link CStation}s that are still known to the {@link #getRegister() register} are
+     * not reported, even if they are currently invisible.
+     * @return the new report
+     */
+    public ListenerLeakReport createListenerLeakReport(){
+    	List<DockElement> managed = new ArrayList<DockElement>();
+    	for( CDockable dockable : register.getDockables() ){
+    		managed.add( dockable.intern() );
+    	}
+    	for( CStation<?> station : register.getStations() ){
+    		managed.add( station.getStation() );
+    	}
+    	return ListenerLeakReport.create( getController(), managed );
+    }
 
     /**
      * Gets an unmodifiable list of all {@link CStationContainer}s that are registered at this {@link CControl}.
@@ -2505,9 +2525,10 @@ public class CControl {
      * additional resize requests.
      */
     public void handleResizeRequests(){
-        ResizeRequestListener[] listeners = resizeListeners.toArray( new ResizeRequestListener[ resizeListeners.size() ] );
-        for( ResizeRequestListener listener : listeners )
+        long start = resizeListeners.beginFire();
+        for( ResizeRequestListener listener : resizeListeners.get() )
             listener.handleResizeRequest( this );
+        resizeListeners.endFire( start );
 
         for( CDockable dockable : register.getDockables() )
             dockable.getAndClearResizeRequest();
@@ -2628,7 +2649,9 @@ public class CControl {
     
     /**
      * Reads the current and other known layouts from <code>file</code>.<br>
-     * This is the same as calling <code>getResources().readFile( file )</code>.
+     * This is the same as calling <code>getResources().readFile( file )</code>.<br>
+     * This method reads the file on the calling thread, a single layout can be read in the background
+     * by a {@link CPerspectiveLoader}, see {@link CControlPerspective#createLoader()}.
      * @param file the file to read from
      * @throws IOException if the file can't be read
      */
@@ -180,6 +180,7 @@ public abstract class AbstractCDockable implements CDockable {
             throw new NullPointerException( "dockable is null" );
         
         this.dockable = dockable;
+        listenerCollection.setOwner( dockable );
     }
     
     /**
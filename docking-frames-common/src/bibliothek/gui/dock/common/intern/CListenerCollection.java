@@ -27,9 +27,8 @@ package bibliothek.gui.dock.common.intern;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
-import java.util.ArrayList;
-import java.util.List;
 
+import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.common.action.CAction;
 import bibliothek.gui.dock.common.event.CDockableLocationEvent;
 import bibliothek.gui.dock.common.event.CDockableLocationListener;
@@ -42,6 +41,7 @@ import bibliothek.gui.dock.common.event.CVetoClosingEvent;
 import bibliothek.gui.dock.common.event.CVetoClosingListener;
 import bibliothek.gui.dock.common.event.CVetoFocusListener;
 import bibliothek.gui.dock.common.mode.ExtendedMode;
+import bibliothek.gui.dock.util.listener.ListenerList;
 
 /**
  * A collection of the listeners which are normally added to a {@link CDockable}.
@@ -51,189 +51,345 @@ import bibliothek.gui.dock.common.mode.ExtendedMode;
  */
 public class CListenerCollection {
     /** a list of state listeners that were added to this dockable */
-    private List<CDockableStateListener> stateListeners = new ArrayList<CDockableStateListener>();
+    private ListenerList<CDockableStateListener> stateListeners = new ListenerList<CDockableStateListener>( CDockableStateListener.class, "CDockableStateListener", null );
     
     private CDockableStateListener stateListener = new CDockableStateListener(){
     	public void extendedModeChanged( CDockable dockable, ExtendedMode mode ){
-    	    for( CDockableStateListener listener : getCDockableStateListeners() )
-                listener.extendedModeChanged( dockable, mode );
-        }
+    		long start = stateListeners.beginFire();
+    		try{
+	    	    for( CDockableStateListener listener : stateListeners.get() )
+	                listener.extendedModeChanged( dockable, mode );
+    		}
+    		finally{
+    			stateListeners.endFire( start );
+    		}
+    	}
 
         public void visibilityChanged( CDockable dockable ) {
-            for( CDockableStateListener listener : getCDockableStateListeners() )
-                listener.visibilityChanged( dockable );
+        	long start = stateListeners.beginFire();
+        	try{
+	            for( CDockableStateListener listener : stateListeners.get() )
+	                listener.visibilityChanged( dockable );
+        	}
+        	finally{
+        		stateListeners.endFire( start );
+        	}
         }
     };
     
     /** a list of property listeners that were added to this dockable */
-    private List<CDockablePropertyListener> propertyListeners = new ArrayList<CDockablePropertyListener>();
+    private ListenerList<CDockablePropertyListener> propertyListeners = new ListenerList<CDockablePropertyListener>( CDockablePropertyListener.class, "CDockablePropertyListener", null );
     
     private CDockablePropertyListener propertyListener = new CDockablePropertyListener(){
         public void actionChanged( CDockable dockable, String key, CAction oldAction, CAction newAction ) {
-            for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-                listener.actionChanged( dockable, key, oldAction, newAction );
+        	long start = propertyListeners.beginFire();
+        	try{
+	            for( CDockablePropertyListener listener : propertyListeners.get() )
+	                listener.actionChanged( dockable, key, oldAction, newAction );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
 
         public void closeableChanged( CDockable dockable ) {
-            for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-                listener.closeableChanged( dockable );
+        	long start = propertyListeners.beginFire();
+        	try{
+	            for( CDockablePropertyListener listener : propertyListeners.get() )
+	                listener.closeableChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
 
         public void externalizableChanged( CDockable dockable ) {
-            for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-                listener.externalizableChanged( dockable );
+        	long start = propertyListeners.beginFire();
+        	try{
+	            for( CDockablePropertyListener listener : propertyListeners.get() )
+	                listener.externalizableChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
 
         public void maximizableChanged( CDockable dockable ) {
-            for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-                listener.maximizableChanged( dockable );
+        	long start = propertyListeners.beginFire();
+        	try{
+	            for( CDockablePropertyListener listener : propertyListeners.get() )
+	                listener.maximizableChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
 
         public void minimizableChanged( CDockable dockable ) {
-            for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-                listener.minimizableChanged( dockable );
+        	long start = propertyListeners.beginFire();
+        	try{
+	            for( CDockablePropertyListener listener : propertyListeners.get() )
+	                listener.minimizableChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
         
         public void normalizeableChanged( CDockable dockable ){
-        	for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-                listener.normalizeableChanged( dockable );	
+        	long start = propertyListeners.beginFire();
+        	try{
+	        	for( CDockablePropertyListener listener : propertyListeners.get() )
+	                listener.normalizeableChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
 
         public void minimizeSizeChanged( CDockable dockable ) {
-            for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-                listener.minimizeSizeChanged( dockable );
+        	long start = propertyListeners.beginFire();
+        	try{
+	            for( CDockablePropertyListener listener : propertyListeners.get() )
+	                listener.minimizeSizeChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
 
         public void stickyChanged( CDockable dockable ) {
-            for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-                listener.stickyChanged( dockable );
+        	long start = propertyListeners.beginFire();
+        	try{
+	            for( CDockablePropertyListener listener : propertyListeners.get() )
+	                listener.stickyChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
 
         public void stickySwitchableChanged( CDockable dockable ){
-        	for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-                listener.stickySwitchableChanged( dockable );
+        	long start = propertyListeners.beginFire();
+        	try{
+	        	for( CDockablePropertyListener listener : propertyListeners.get() )
+	                listener.stickySwitchableChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
         
         public void resizeLockedChanged( CDockable dockable ) {
-            for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-                listener.resizeLockedChanged( dockable );
+        	long start = propertyListeners.beginFire();
+        	try{
+	            for( CDockablePropertyListener listener : propertyListeners.get() )
+	                listener.resizeLockedChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
 
         public void titleShownChanged( CDockable dockable ) {
-            for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-                listener.titleShownChanged( dockable );
+        	long start = propertyListeners.beginFire();
+        	try{
+	            for( CDockablePropertyListener listener : propertyListeners.get() )
+	                listener.titleShownChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
         
         public void singleTabShownChanged( CDockable dockable ){
-	        for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-	        	listener.singleTabShownChanged( dockable );
+        	long start = propertyListeners.beginFire();
+        	try{
+		        for( CDockablePropertyListener listener : propertyListeners.get() )
+		        	listener.singleTabShownChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
         
         public void enabledChanged( CDockable dockable ){
-        	for( CDockablePropertyListener listener : getCDockablePropertyListeners() )
-	        	listener.enabledChanged( dockable );
+        	long start = propertyListeners.beginFire();
+        	try{
+	        	for( CDockablePropertyListener listener : propertyListeners.get() )
+		        	listener.enabledChanged( dockable );
+        	}
+        	finally{
+        		propertyListeners.endFire( start );
+        	}
         }
     };
     
     /** the list of focus listeners */
-    private List<CFocusListener> focusListeners = new ArrayList<CFocusListener>();
+    private ListenerList<CFocusListener> focusListeners = new ListenerList<CFocusListener>( CFocusListener.class, "CFocusListener", null );
     
     private CFocusListener focusListener = new CFocusListener(){
         public void focusGained( CDockable dockable ) {
-            for( CFocusListener listener : getFocusListeners() )
-                listener.focusGained( dockable );
+        	long start = focusListeners.beginFire();
+        	try{
+	            for( CFocusListener listener : focusListeners.get() )
+	                listener.focusGained( dockable );
+        	}
+        	finally{
+        		focusListeners.endFire( start );
+        	}
         }
 
         public void focusLost( CDockable dockable ) {
-            for( CFocusListener listener : getFocusListeners() )
-                listener.focusLost( dockable );
+        	long start = focusListeners.beginFire();
+        	try{
+	            for( CFocusListener listener : focusListeners.get() )
+	                listener.focusLost( dockable );
+        	}
+        	finally{
+        		focusListeners.endFire( start );
+        	}
         }
     };
     
-    private List<CVetoFocusListener> vetoFocusListeners = new ArrayList<CVetoFocusListener>();
+    private ListenerList<CVetoFocusListener> vetoFocusListeners = new ListenerList<CVetoFocusListener>( CVetoFocusListener.class, "CVetoFocusListener", null );
     
     private CVetoFocusListener vetoFocusListener = new CVetoFocusListener(){
     	public boolean willGainFocus( CDockable dockable ){
-	    	for( CVetoFocusListener listener : getVetoFocusListeners() ){
-	    		if( !listener.willGainFocus( dockable )){
-	    			return false;
-	    		}
-	    	}
-	    	return true;
+    		long start = vetoFocusListeners.beginFire();
+    		try{
+		    	for( CVetoFocusListener listener : vetoFocusListeners.get() ){
+		    		if( !listener.willGainFocus( dockable )){
+		    			return false;
+		    		}
+		    	}
+		    	return true;
+    		}
+    		finally{
+    			vetoFocusListeners.endFire( start );
+    		}
     	}
     	
     	public boolean willLoseFocus( CDockable dockable ){
-    		for( CVetoFocusListener listener : getVetoFocusListeners() ){
-	    		if( !listener.willLoseFocus( dockable )){
-	    			return false;
-	    		}
-	    	}
-	    	return true;
+    		long start = vetoFocusListeners.beginFire();
+    		try{
+	    		for( CVetoFocusListener listener : vetoFocusListeners.get() ){
+		    		if( !listener.willLoseFocus( dockable )){
+		    			return false;
+		    		}
+		    	}
+		    	return true;
+    		}
+    		finally{
+    			vetoFocusListeners.endFire( start );
+    		}
     	}
     };
     
-    private List<CKeyboardListener> keyboardListeners = new ArrayList<CKeyboardListener>();
+    private ListenerList<CKeyboardListener> keyboardListeners = new ListenerList<CKeyboardListener>( CKeyboardListener.class, "CKeyboardListener", null );
     
     private CKeyboardListener keyboardListener = new CKeyboardListener(){
         public boolean keyPressed( CDockable source, KeyEvent event ) {
-            for( CKeyboardListener listener : getKeyboardListeners() ){
-                if( listener.keyPressed( source, event ))
-                    return true;
-            }
-            return false;
+        	long start = keyboardListeners.beginFire();
+        	try{
+	            for( CKeyboardListener listener : keyboardListeners.get() ){
+	                if( listener.keyPressed( source, event ))
+	                    return true;
+	            }
+	            return false;
+        	}
+        	finally{
+        		keyboardListeners.endFire( start );
+        	}
         }
 
         public boolean keyReleased( CDockable source, KeyEvent event ) {
-            for( CKeyboardListener listener : getKeyboardListeners() ){
-                if( listener.keyReleased( source, event ))
-                    return true;
-            }
-            return false;
+        	long start = keyboardListeners.beginFire();
+        	try{
+	            for( CKeyboardListener listener : keyboardListeners.get() ){
+	                if( listener.keyReleased( source, event ))
+	                    return true;
+	            }
+	            return false;
+        	}
+        	finally{
+        		keyboardListeners.endFire( start );
+        	}
         }
 
         public boolean keyTyped( CDockable source, KeyEvent event ) {
-            for( CKeyboardListener listener : getKeyboardListeners() ){
-                if( listener.keyTyped( source, event ))
-                    return true;
-            }
-            return false;
+        	long start = keyboardListeners.beginFire();
+        	try{
+	            for( CKeyboardListener listener : keyboardListeners.get() ){
+	                if( listener.keyTyped( source, event ))
+	                    return true;
+	            }
+	            return false;
+        	}
+        	finally{
+        		keyboardListeners.endFire( start );
+        	}
         }
     };
     
-    private List<CDoubleClickListener> doubleClickListeners = new ArrayList<CDoubleClickListener>();
+    private ListenerList<CDoubleClickListener> doubleClickListeners = new ListenerList<CDoubleClickListener>( CDoubleClickListener.class, "CDoubleClickListener", null );
     
     private CDoubleClickListener doubleClickListener = new CDoubleClickListener(){
         public boolean clicked( CDockable source, MouseEvent event ) {
-            for( CDoubleClickListener listener : getDoubleClickListeners() ){
-                if( listener.clicked( source, event ))
-                    return true;
-            }
-            return false;
+        	long start = doubleClickListeners.beginFire();
+        	try{
+	            for( CDoubleClickListener listener : doubleClickListeners.get() ){
+	                if( listener.clicked( source, event ))
+	                    return true;
+	            }
+	            return false;
+        	}
+        	finally{
+        		doubleClickListeners.endFire( start );
+        	}
         }
     };
     
-    private List<CVetoClosingListener> vetoClosingListeners = new ArrayList<CVetoClosingListener>();
+    private ListenerList<CVetoClosingListener> vetoClosingListeners = new ListenerList<CVetoClosingListener>( CVetoClosingListener.class, "CVetoClosingListener", null );
     
     private CVetoClosingListener vetoClosingListener = new CVetoClosingListener() {
 		public void closing( CVetoClosingEvent event ){
-			for( CVetoClosingListener listener : getVetoClosingListeners() ){
-				listener.closing( event );
+			long start = vetoClosingListeners.beginFire();
+			try{
+				for( CVetoClosingListener listener : vetoClosingListeners.get() ){
+					listener.closing( event );
+				}
+			}
+			finally{
+				vetoClosingListeners.endFire( start );
 			}
 		}
 		
 		public void closed( CVetoClosingEvent event ){
-			for( CVetoClosingListener listener : getVetoClosingListeners() ){
-				listener.closed( event );
+			long start = vetoClosingListeners.beginFire();
+			try{
+				for( CVetoClosingListener listener : vetoClosingListeners.get() ){
+					listener.closed( event );
+				}
+			}
+			finally{
+				vetoClosingListeners.endFire( start );
 			}
 		}
 	};
 	
-	private List<CDockableLocationListener> locationListeners = new ArrayList<CDockableLocationListener>();
+	private ListenerList<CDockableLocationListener> locationListeners = new ListenerList<CDockableLocationListener>( CDockableLocationListener.class, "CDockableLocationListener", null );
 	
 	private CDockableLocationListener locationListener = new CDockableLocationListener(){
 		public void changed( CDockableLocationEvent event ){
-			for( CDockableLocationListener listener : getCDockableLocationListeners() ){
-				listener.changed( event );
+			long start = locationListeners.beginFire();
+			try{
+				for( CDockableLocationListener listener : locationListeners.get() ){
+					listener.changed( event );
+				}
+			}
+			finally{
+				locationListeners.endFire( start );
 			}
 		}
 	};
@@ -262,7 +418,7 @@ public class CListenerCollection {
      * @return the independent array of listeners
      */
     public CDockableStateListener[] getCDockableStateListeners(){
-        return stateListeners.toArray( new CDockableStateListener[ stateListeners.size() ] );
+        return stateListeners.get().clone();
     }
     
     /**
@@ -307,7 +463,7 @@ public class CListenerCollection {
      * @return the independent array of listeners
      */
     public CDockableLocationListener[] getCDockableLocationListeners(){
-        return locationListeners.toArray( new CDockableLocationListener[ locationListeners.size() ] );
+        return locationListeners.get().clone();
     }
     
     /**
@@ -343,7 +499,7 @@ public class CListenerCollection {
      * @return the independent array of listeners
      */
     public CDockablePropertyListener[] getCDockablePropertyListeners(){
-        return propertyListeners.toArray( new CDockablePropertyListener[ propertyListeners.size() ] );
+        return propertyListeners.get().clone();
     }
     
     /**
@@ -379,7 +535,7 @@ public class CListenerCollection {
      * @return the independent array of listeners
      */
     public CFocusListener[] getFocusListeners(){
-        return focusListeners.toArray( new CFocusListener[ focusListeners.size() ] ); 
+        return focusListeners.get().clone(); 
     }
     
     /**
@@ -416,7 +572,7 @@ public class CListenerCollection {
      * @return an independent array of listeners
      */
     public CVetoFocusListener[] getVetoFocusListeners(){
-    	return vetoFocusListeners.toArray( new CVetoFocusListener[ vetoFocusListeners.size() ] );
+    	return vetoFocusListeners.get().clone();
     }
     
     /**
@@ -452,7 +608,7 @@ public class CListenerCollection {
      * @return the independent array of listeners
      */
     public CKeyboardListener[] getKeyboardListeners(){
-        return keyboardListeners.toArray( new CKeyboardListener[ keyboardListeners.size() ]);
+        return keyboardListeners.get().clone();
     }
     
     /**
@@ -488,7 +644,7 @@ public class CListenerCollection {
      * @return the independent array of listeners
      */
     public CDoubleClickListener[] getDoubleClickListeners(){
-        return doubleClickListeners.toArray( new CDoubleClickListener[ doubleClickListeners.size() ] );
+        return doubleClickListeners.get().clone();
     }
     
     /**
@@ -542,6 +698,23 @@ public class CListenerCollection {
      * @return the independent array of listeners
      */
     public CVetoClosingListener[] getVetoClosingListeners(){
-    	return vetoClosingListeners.toArray( new CVetoClosingListener[ vetoClosingListeners.size() ] );
+    	return vetoClosingListeners.get().clone();
+    }
+    
+    /**
+     * Sets the element to which the listeners of this collection belong. The owner is
+     * used to find listeners that were not removed after the element was closed, see
+     * {@link bibliothek.gui.dock.util.listener.ListenerLeakReport}.
+     * @param owner the owner, can be <code>null</code>
+     */
+    public void setOwner( Dockable owner ){
+    	stateListeners.setOwner( owner );
+    	propertyListeners.setOwner( owner );
+    	focusListeners.setOwner( owner );
+    	vetoFocusListeners.setOwner( owner );
+    	keyboardListeners.setOwner( owner );
+    	doubleClickListeners.setOwner( owner );
+    	vetoClosingListeners.setOwner( owner );
+    	locationListeners.setOwner( owner );
     }
 }
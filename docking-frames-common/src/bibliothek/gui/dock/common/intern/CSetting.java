@@ -71,6 +71,16 @@ public class CSetting extends Setting{
         modes.write( out );
     }
     
+    @Override
+    public void writeAdditional( DataOutputStream out ) throws IOException{
+    	modes.write( out );
+    }
+    
+    @Override
+    public void readAdditional( DataInputStream in ) throws IOException{
+    	modes.read( in );
+    }
+    
     @Override
     public void writeXML( DockSituation situation, PropertyTransformer transformer, boolean entry, XElement element ) {
         super.writeXML( situation, transformer, entry, element.addElement( "base" ) );
@@ -46,6 +46,7 @@ import bibliothek.gui.dock.common.perspective.CElementPerspective;
 import bibliothek.gui.dock.common.perspective.CStationPerspective;
 import bibliothek.gui.dock.common.perspective.CommonDockStationPerspective;
 import bibliothek.gui.dock.frontend.FrontendPerspectiveCache;
+import bibliothek.gui.dock.layout.CompactDataOutputStream;
 import bibliothek.gui.dock.layout.DockLayout;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
@@ -356,7 +357,7 @@ public class CommonDockStationFactory implements DockFactory<CommonDockStation<?
 				throw new IOException( "data are null, but data were just updated" );
 			}
 			ByteArrayOutputStream bout = new ByteArrayOutputStream();
-			factory.write( data.getData(), new DataOutputStream( bout ) );
+			factory.write( data.getData(), CompactDataOutputStream.wrap( bout, out ) );
 			content = bout.toByteArray();
 		}
 		if( content == null ){
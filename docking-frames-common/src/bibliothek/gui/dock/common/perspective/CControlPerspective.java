@@ -30,8 +30,13 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import bibliothek.gui.DockFrontend;
 import bibliothek.gui.DockStation;
@@ -54,6 +59,7 @@ import bibliothek.gui.dock.common.intern.CommonSingleDockableLayout;
 import bibliothek.gui.dock.common.intern.RootStationAdjacentFactory;
 import bibliothek.gui.dock.common.intern.station.CommonDockStationFactory;
 import bibliothek.gui.dock.common.mode.ExtendedMode;
+import bibliothek.gui.dock.facile.mode.CLocationModeSettings;
 import bibliothek.gui.dock.facile.mode.Location;
 import bibliothek.gui.dock.facile.mode.LocationSettingConverter;
 import bibliothek.gui.dock.frontend.DockFrontendPerspective;
@@ -194,7 +200,46 @@ public class CControlPerspective {
     public void setPerspective( String name, CPerspective perspective, boolean includeWorkingAreas ){
     	control.getOwner().intern().setSetting( name, convert( perspective, includeWorkingAreas ) );
     }
-    
+
+    /**
+     * Gets several perspectives which were stored using {@link CControl#save(String)} at once. The raw layouts
+     * are collected on the calling thread, then each layout is converted by a task that is handed over to
+     * <code>executor</code>. See {@link #read(Map, boolean, Executor)} for restrictions.
+     * @param names the names of the stored layouts
+     * @param includeWorkingAreas whether the content of working areas should be included
+     * @param executor the {@link Executor} converting the layouts, e.g. a {@link java.util.concurrent.ForkJoinPool},
+     * can be <code>null</code> in which case the layouts are converted on the calling thread
+     * @return the perspectives in the order of <code>names</code>, names that were not found are missing in the map
+     */
+    public Map<String, CPerspective> getPerspectives( String[] names, boolean includeWorkingAreas, Executor executor ){
+    	CDockFrontend frontend = control.getOwner().intern();
+    	Map<String, CSetting> settings = new LinkedHashMap<String, CSetting>();
+    	for( String name : names ){
+    		Setting setting = frontend.getSetting( name );
+    		if( setting != null ){
+    			settings.put( name, (CSetting)setting );
+    		}
+    	}
+    	return read( settings, includeWorkingAreas, executor );
+    }
+
+    /**
+     * Stores several perspectives as layouts that can be selected by the user by calling {@link CControl#load(String)}.
+     * The perspectives are converted by tasks that are handed over to <code>executor</code>, the layouts are then
+     * stored on the calling thread in the order of <code>perspectives</code>. See {@link #write(Map, boolean, Executor)}
+     * for restrictions.
+     * @param perspectives the new layouts and their names
+     * @param includeWorkingAreas whether the contents of working areas should be stored as well
+     * @param executor the {@link Executor} converting the perspectives, can be <code>null</code>
+     */
+    public void setPerspectives( Map<String, CPerspective> perspectives, boolean includeWorkingAreas, Executor executor ){
+    	Map<String, CSetting> settings = write( perspectives, includeWorkingAreas, executor );
+    	CDockFrontend frontend = control.getOwner().intern();
+    	for( Map.Entry<String, CSetting> setting : settings.entrySet() ){
+    		frontend.setSetting( setting.getKey(), setting.getValue() );
+    	}
+    }
+
     /**
      * Deletes the perspective with name <code>name</code>.
      * @param name the name of the perspective
@@ -378,6 +423,168 @@ public class CControlPerspective {
     public CSetting write( CPerspective perspective, boolean includeWorkingAreas ){
     	return convert( perspective, includeWorkingAreas );
     }
+
+    /**
+     * Converts many perspectives into {@link CSetting}s at once. Each perspective is converted by a task that is
+     * handed over to <code>executor</code>, the calling thread helps by converting perspectives that were not yet
+     * picked up by the <code>executor</code>. This method blocks until all perspectives are converted.<br>
+     * This method must be called on the <code>EventDispatcherThread</code>. Everything the tasks need from the
+     * {@link CControl} is collected on the calling thread before the first task starts, the tasks themselves only work
+     * with this copy. The {@link MultipleCDockableFactory}s however are called by the tasks, they must be able to handle
+     * calls from different threads at the same time. Each perspective must only be present once in <code>perspectives</code>.
+     * @param perspectives the perspectives to convert
+     * @param includeWorkingAreas whether the children of {@link CWorkingArea}s should be stored as well
+     * @param executor the {@link Executor} converting the perspectives, e.g. a {@link java.util.concurrent.ForkJoinPool},
+     * can be <code>null</code> in which case the perspectives are converted on the calling thread
+     * @return the converted perspectives, in the same order as <code>perspectives</code>
+     * @throws RuntimeException if converting a perspective failed, if several perspectives failed the first failure in
+     * the order of <code>perspectives</code> is thrown
+     */
+    public <K> Map<K, CSetting> write( Map<K, CPerspective> perspectives, boolean includeWorkingAreas, Executor executor ){
+    	Map<K, Snapshot> snapshots = new LinkedHashMap<K, Snapshot>();
+    	for( Map.Entry<K, CPerspective> item : perspectives.entrySet() ){
+    		snapshots.put( item.getKey(), snapshot( item.getValue(), includeWorkingAreas ) );
+    	}
+    	return convertAll( perspectives, snapshots, executor, new Conversion<CPerspective, CSetting>(){
+    		public CSetting convert( CPerspective item, Snapshot snapshot ){
+    			return write( snapshot );
+    		}
+		});
+    }
+
+    /**
+     * Converts many {@link CSetting}s into {@link CPerspective}s at once. Each setting is converted by a task that is
+     * handed over to <code>executor</code>, the calling thread helps by converting settings that were not yet picked
+     * up by the <code>executor</code>. This method blocks until all settings are converted.<br>
+     * This method must be called on the <code>EventDispatcherThread</code>. Everything the tasks need from the
+     * {@link CControl} is collected on the calling thread before the first task starts, the tasks themselves only work
+     * with this copy. The {@link MultipleCDockableFactory}s however are called by the tasks, they must be able to handle
+     * calls from different threads at the same time.
+     * @param settings the layouts to convert
+     * @param includeWorkingAreas whether the layouts contain information about children of {@link CWorkingArea}s
+     * @param executor the {@link Executor} converting the layouts, e.g. a {@link java.util.concurrent.ForkJoinPool},
+     * can be <code>null</code> in which case the layouts are converted on the calling thread
+     * @return the converted layouts, in the same order as <code>settings</code>
+     * @throws RuntimeException if converting a layout failed, if several layouts failed the first failure in
+     * the order of <code>settings</code> is thrown
+     */
+    public <K> Map<K, CPerspective> read( Map<K, CSetting> settings, boolean includeWorkingAreas, Executor executor ){
+    	Map<K, Snapshot> snapshots = new LinkedHashMap<K, Snapshot>();
+    	for( K key : settings.keySet() ){
+    		snapshots.put( key, snapshot( includeWorkingAreas ) );
+    	}
+    	return convertAll( settings, snapshots, executor, new Conversion<CSetting, CPerspective>(){
+    		public CPerspective convert( CSetting item, Snapshot snapshot ){
+    			return read( item, snapshot );
+    		}
+		});
+    }
+
+    private <K, V, R> Map<K, R> convertAll( Map<K, V> items, Map<K, Snapshot> snapshots, Executor executor, final Conversion<V, R> conversion ){
+    	Map<K, FutureTask<R>> tasks = new LinkedHashMap<K, FutureTask<R>>();
+    	for( Map.Entry<K, V> item : items.entrySet() ){
+    		final V value = item.getValue();
+    		final Snapshot snapshot = snapshots.get( item.getKey() );
+    		tasks.put( item.getKey(), new FutureTask<R>( new Callable<R>(){
+    			public R call(){
+    				return conversion.convert( value, snapshot );
+    			}
+			}));
+    	}
+
+    	if( executor != null && tasks.size() > 1 ){
+    		for( FutureTask<R> task : tasks.values() ){
+    			executor.execute( task );
+    		}
+    	}
+
+    	Map<K, R> result = new LinkedHashMap<K, R>();
+    	Throwable failure = null;
+    	boolean interrupted = false;
+
+    	for( Map.Entry<K, FutureTask<R>> task : tasks.entrySet() ){
+    		// does nothing if the executor already started the task
+    		task.getValue().run();
+
+    		while( true ){
+	    		try{
+	    			result.put( task.getKey(), task.getValue().get() );
+	    			break;
+	    		}
+	    		catch( InterruptedException e ){
+	    			interrupted = true;
+	    		}
+	    		catch( ExecutionException e ){
+	    			if( failure == null ){
+	    				failure = e.getCause();
+	    			}
+	    			break;
+	    		}
+    		}
+    	}
+
+    	if( interrupted ){
+    		Thread.currentThread().interrupt();
+    	}
+
+    	if( failure instanceof RuntimeException ){
+    		throw (RuntimeException)failure;
+    	}
+    	if( failure instanceof Error ){
+    		throw (Error)failure;
+    	}
+    	if( failure != null ){
+    		throw new IllegalStateException( failure );
+    	}
+    	return result;
+    }
+
+    /**
+     * Collects everything that is needed from the {@link CControl} to read one layout, and to convert it
+     * into a {@link CSetting}: the stations, the {@link MultipleCDockableFactory}s and the perspective of
+     * the {@link CDockFrontend}. This method must be called on the <code>EventDispatcherThread</code>, the
+     * result can then be used by any thread, but only for one layout.
+     * @param includeWorkingAreas whether the layout contains the children of {@link CStation#isWorkingArea() working areas}
+     * @return the collected state
+     */
+    Snapshot snapshot( boolean includeWorkingAreas ){
+    	return snapshot( createEmptyPerspective(), includeWorkingAreas );
+    }
+    
+    /**
+     * Collects everything that is needed from the {@link CControl} to convert <code>perspective</code> into a
+     * {@link CSetting}. This method must be called on the <code>EventDispatcherThread</code>, the result can then
+     * be used by any thread, but only for <code>perspective</code>.
+     * @param perspective the perspective that is going to be converted
+     * @param includeWorkingAreas whether the children of {@link CStation#isWorkingArea() working areas} are converted as well
+     * @return the collected state
+     */
+    Snapshot snapshot( CPerspective perspective, boolean includeWorkingAreas ){
+    	Snapshot snapshot = new Snapshot();
+    	snapshot.perspective = perspective;
+    	snapshot.factory = new PerspectiveElementFactory( snapshot.perspective );
+    	snapshot.reader = wrap( snapshot.perspective, includeWorkingAreas, snapshot.factory );
+    	snapshot.writer = wrap( snapshot.perspective, includeWorkingAreas );
+    	
+    	for( Map.Entry<String, MultipleCDockableFactory<?, ?>> item : control.getRegister().getFactories().entrySet() ){
+    		snapshot.reader.getPerspective().getSituation().add( new CommonMultipleDockableFactory( item.getKey(), item.getValue(), control, snapshot.perspective ) );
+    		snapshot.writer.getPerspective().getSituation().add( new CommonMultipleDockableFactory( item.getKey(), item.getValue(), control, snapshot.perspective ) );
+    	}
+    	
+    	ModeSettingsConverter<Location, Location> converter = new LocationSettingConverter( control.getOwner().getController() );
+    	snapshot.modes = control.getOwner().getLocationManager().createModeSettings( converter );
+    	snapshot.written = new CLocationModeSettings<Location>( converter );
+    	return snapshot;
+    }
+    
+    /**
+     * Creates a new {@link CPerspectiveLoader} which reads layouts in the background and applies
+     * them on the <code>EventDispatcherThread</code>.
+     * @return the new loader
+     */
+    public CPerspectiveLoader createLoader(){
+    	return new CPerspectiveLoader( this );
+    }
     
     /**
      * Emulates a call to {@link CControl#readXML(XElement)} and returns all the layouts that are stored
@@ -418,16 +625,24 @@ public class CControlPerspective {
      * @throws XException if the structure of <code>root</code> is not as expected
      */
     public CPerspective readXML( XElement root, boolean includeWorkingAreas ) throws XException{
-    	CPerspective perspective = createEmptyPerspective();
+    	return readXML( root, snapshot( includeWorkingAreas ) );
+    }
+    
+    /**
+     * Creates a new {@link CPerspective} using the information stored in <code>root</code>. This method does not
+     * access the {@link CControl}, it only uses the data collected by {@link #snapshot(boolean)}.
+     * @param root the element which contains information about a perspective
+     * @param snapshot the state of the {@link CControl}, not <code>null</code>
+     * @return the new perspective, the same object as is stored in <code>snapshot</code>
+     * @throws XException if the structure of <code>root</code> is not as expected
+     */
+    CPerspective readXML( XElement root, Snapshot snapshot ) throws XException{
+    	CPerspective perspective = snapshot.perspective;
     	
-    	PerspectiveElementFactory factory = new PerspectiveElementFactory( perspective );
-    	DockFrontendPerspective frontend = wrap( perspective, includeWorkingAreas, factory );
+    	PerspectiveElementFactory factory = snapshot.factory;
+    	DockFrontendPerspective frontend = snapshot.reader;
     	Perspective conversion = frontend.getPerspective();
     	
-    	for( Map.Entry<String, MultipleCDockableFactory<?, ?>> item : control.getRegister().getFactories().entrySet() ){
-    		conversion.getSituation().add( new CommonMultipleDockableFactory( item.getKey(), item.getValue(), control, perspective ) );
-    	}
-    	
     	XElement xstations = root.getElement( "stations" );
     	if( xstations == null ){
     		throw new XException( "missing element 'stations'" );
@@ -492,8 +707,7 @@ public class CControlPerspective {
     		throw new XException( "missing element 'modes'" );
     	}
     	
-    	ModeSettingsConverter<Location, Location> converter = new LocationSettingConverter( control.getOwner().getController() );
-    	ModeSettings<Location, Location> modes = control.getOwner().getLocationManager().createModeSettings( converter );
+    	ModeSettings<Location, Location> modes = snapshot.modes;
     	modes.readXML( xmodes );
     	
     	perspective.getLocationManager().readModes( modes, perspective, control );
@@ -540,6 +754,18 @@ public class CControlPerspective {
      * @throws IOException if <code>in</code> is not readable or in the wrong format
      */
     public CPerspective read( DataInputStream in, boolean includeWorkingAreas ) throws IOException{
+    	return read( in, snapshot( includeWorkingAreas ) );
+    }
+    
+    /**
+     * Creates a new {@link CPerspective} using the information stored in <code>in</code>. This method does not
+     * access the {@link CControl}, it only uses the data collected by {@link #snapshot(boolean)}.
+     * @param in the stream to read data from
+     * @param snapshot the state of the {@link CControl}, not <code>null</code>
+     * @return the new perspective, the same object as is stored in <code>snapshot</code>
+     * @throws IOException if <code>in</code> is not readable or in the wrong format
+     */
+    CPerspective read( DataInputStream in, Snapshot snapshot ) throws IOException{
     	Version version = Version.read( in );
     	
     	boolean version111 = version.equals( Version.VERSION_1_1_1 );
@@ -550,16 +776,12 @@ public class CControlPerspective {
     		throw new IOException( "unknown version: " + version );
     	}
     	
-    	CPerspective perspective = createEmptyPerspective();
+    	CPerspective perspective = snapshot.perspective;
     	
-    	PerspectiveElementFactory factory = new PerspectiveElementFactory( perspective );
-    	DockFrontendPerspective frontend = wrap( perspective, includeWorkingAreas, factory );
+    	PerspectiveElementFactory factory = snapshot.factory;
+    	DockFrontendPerspective frontend = snapshot.reader;
     	Perspective conversion = frontend.getPerspective();
     	
-    	for( Map.Entry<String, MultipleCDockableFactory<?, ?>> item : control.getRegister().getFactories().entrySet() ){
-    		conversion.getSituation().add( new CommonMultipleDockableFactory( item.getKey(), item.getValue(), control, perspective ) );
-    	}
-    	
     	Map<String, DockLayoutComposition> stations = conversion.getSituation().readCompositions( in );
     	factory.setStations( stations );
     	
@@ -617,8 +839,7 @@ public class CControlPerspective {
     		}
     	}
     	
-    	ModeSettingsConverter<Location, Location> converter = new LocationSettingConverter( control.getOwner().getController() );
-    	ModeSettings<Location, Location> modes = control.getOwner().getLocationManager().createModeSettings( converter );
+    	ModeSettings<Location, Location> modes = snapshot.modes;
     	modes.read( in );
     	
     	perspective.getLocationManager().readModes( modes, perspective, control );
@@ -633,13 +854,26 @@ public class CControlPerspective {
      * @return the layout of <code>setting</code>
      */
     public CPerspective read( CSetting setting, boolean includeWorkingAreas ){
-    	return convert( setting, includeWorkingAreas );
+    	return read( setting, snapshot( includeWorkingAreas ) );
+    }
+    
+    /**
+     * Converts the {@link CPerspective} of <code>snapshot</code> into a {@link CSetting}. This method does not
+     * access the {@link CControl}, it only uses the data collected by {@link #snapshot(boolean)}.
+     * @param snapshot the state of the {@link CControl} and the perspective to convert, not <code>null</code>
+     * @return the converted perspective
+     */
+    CSetting write( Snapshot snapshot ){
+    	return convert( snapshot.perspective, snapshot.writer, snapshot.written );
     }
     
     private CSetting convert( CPerspective perspective, boolean includeWorkingAreas ){
+    	return write( snapshot( perspective, includeWorkingAreas ) );
+    }
+    
+    private CSetting convert( CPerspective perspective, DockFrontendPerspective frontend, ModeSettings<Location, Location> modes ){
     	perspective.storeLocations();
     	
-    	DockFrontendPerspective frontend = conversion( perspective, includeWorkingAreas );
     	Perspective conversion = frontend.getPerspective();
     	CSetting setting = new CSetting();
     	
@@ -660,22 +894,28 @@ public class CControlPerspective {
 	    	}
     	}
     	
-    	ModeSettings<Location, Location> settings = perspective.getLocationManager().writeModes( control );
-    	setting.setModes( settings );
+    	setting.setModes( perspective.getLocationManager().writeModes( control, modes ) );
     	return setting;
     }
     
     private CPerspective convert( CSetting setting, boolean includeWorkingAreas ){
-    	CPerspective cperspective = createEmptyPerspective();
+    	return read( setting, snapshot( includeWorkingAreas ) );
+    }
+    
+    /**
+     * Creates a new {@link CPerspective} using the information stored in <code>setting</code>. This method does not
+     * access the {@link CControl}, it only uses the data collected by {@link #snapshot(boolean)}.
+     * @param setting the layout to convert
+     * @param snapshot the state of the {@link CControl}, not <code>null</code>
+     * @return the new perspective, the same object as is stored in <code>snapshot</code>
+     */
+    CPerspective read( CSetting setting, Snapshot snapshot ){
+    	CPerspective cperspective = snapshot.perspective;
     	
-    	PerspectiveElementFactory factory = new PerspectiveElementFactory( cperspective );
-    	DockFrontendPerspective frontend = wrap( cperspective, includeWorkingAreas, factory );
+    	PerspectiveElementFactory factory = snapshot.factory;
+    	DockFrontendPerspective frontend = snapshot.reader;
     	Perspective conversion = frontend.getPerspective();
     	
-    	for( Map.Entry<String, MultipleCDockableFactory<?, ?>> item : control.getRegister().getFactories().entrySet() ){
-    		conversion.getSituation().add( new CommonMultipleDockableFactory( item.getKey(), item.getValue(), control, cperspective ) );
-    	}
-    	
     	// registered dockables
     	Map<String, DockLayoutComposition> stations = new HashMap<String, DockLayoutComposition>();
     	for( String root : setting.getRootKeys() ){
@@ -979,4 +1219,48 @@ public class CControlPerspective {
 			return false;
 		}
     }
+    
+    /**
+     * The state of a {@link CControl} that is required to read and convert one layout, created by
+     * {@link CControlPerspective#snapshot(boolean)}.
+     * @author Benjamin Sigg
+     */
+    class Snapshot{
+    	/** the perspective that is filled when reading */
+    	private CPerspective perspective;
+    	/** translates elements while reading */
+    	private PerspectiveElementFactory factory;
+    	/** the perspective of the {@link CDockFrontend} used for reading */
+    	private DockFrontendPerspective reader;
+    	/** the perspective of the {@link CDockFrontend} used for writing */
+    	private DockFrontendPerspective writer;
+    	/** the settings of the modes that are read */
+    	private ModeSettings<Location, Location> modes;
+    	/** the settings of the modes that are written */
+    	private ModeSettings<Location, Location> written;
+    	
+    	/**
+    	 * Gets the perspective into which the layout is read.
+    	 * @return the perspective
+    	 */
+    	public CPerspective getPerspective(){
+			return perspective;
+		}
+    }
+    
+    /**
+     * Converts one item during {@link CControlPerspective#convertAll(Map, Map, Executor, Conversion)}, may be called
+     * by any thread.
+     * @param <V> the type of the items to convert
+     * @param <R> the type of the converted items
+     */
+    private static interface Conversion<V, R>{
+    	/**
+    	 * Converts <code>item</code>.
+    	 * @param item the item to convert
+    	 * @param snapshot the state of the {@link CControl} collected for <code>item</code>
+    	 * @return the converted item
+    	 */
+    	public R convert( V item, Snapshot snapshot );
+    }
 }
@@ -28,6 +28,9 @@ package bibliothek.gui.dock.common.perspective;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 import bibliothek.gui.dock.DockElement;
 import bibliothek.gui.dock.common.CControl;
@@ -99,7 +102,22 @@ public class CControlPerspectiveBlop {
 		}
 		return control.read( setting, false );
 	}
-	
+
+	/**
+	 * Gets all the perspectives that are stored in this blop. The perspectives are converted in parallel
+	 * by <code>executor</code>, see {@link CControlPerspective#read(Map, boolean, Executor)}.
+	 * @param executor the {@link Executor} converting the layouts, e.g. a {@link java.util.concurrent.ForkJoinPool},
+	 * can be <code>null</code> in which case the layouts are converted on the calling thread
+	 * @return all perspectives in the order of {@link #getPerspectiveNames()}
+	 */
+	public Map<String, CPerspective> getPerspectives( Executor executor ){
+		Map<String, CSetting> settings = new LinkedHashMap<String, CSetting>();
+		for( String name : getPerspectiveNames() ){
+			settings.put( name, getSetting( name ) );
+		}
+		return control.read( settings, false, executor );
+	}
+
 	/**
 	 * Stores a new layout for <code>name</code>.
 	 * @param name the name of the layout, not <code>null</code>
@@ -116,6 +134,26 @@ public class CControlPerspectiveBlop {
 		putSetting( name, setting );
 	}
 	
+	/**
+	 * Stores many new layouts at once. The perspectives are converted in parallel by <code>executor</code>,
+	 * see {@link CControlPerspective#write(Map, boolean, Executor)}.
+	 * @param perspectives the new layouts and their names, neither keys nor values must be <code>null</code>
+	 * @param executor the {@link Executor} converting the perspectives, can be <code>null</code>
+	 */
+	public void putPerspectives( Map<String, CPerspective> perspectives, Executor executor ){
+		for( Map.Entry<String, CPerspective> perspective : perspectives.entrySet() ){
+			if( perspective.getKey() == null ){
+				throw new IllegalArgumentException( "name must not be null" );
+			}
+			if( perspective.getValue() == null ){
+				throw new IllegalArgumentException( "perspective must not be null" );
+			}
+		}
+		for( Map.Entry<String, CSetting> setting : control.write( perspectives, false, executor ).entrySet() ){
+			putSetting( setting.getKey(), setting.getValue() );
+		}
+	}
+
 	/**
 	 * Stores raw data of a layout with name <code>name</code>.
 	 * @param name the name of the layout, not <code>null</code>
@@ -0,0 +1,177 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common.perspective;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import bibliothek.gui.dock.perspective.PerspectiveDockable;
+import bibliothek.gui.dock.perspective.PerspectiveElement;
+import bibliothek.gui.dock.perspective.PerspectiveStation;
+import bibliothek.gui.dock.station.split.HeadlessSplitLayout;
+import bibliothek.gui.dock.station.split.HeadlessSplitLayout.MinimumSizes;
+import bibliothek.gui.dock.station.split.SplitDockPerspective;
+
+/**
+ * Calculates the boundaries of the {@link CDockablePerspective}s of a {@link CPerspective} without
+ * creating any {@link bibliothek.gui.dock.common.CControl} or {@link java.awt.Component}. This class uses a
+ * {@link HeadlessSplitLayout} to lay out all the {@link CStationPerspective#isRoot() root stations} that are
+ * based on a {@link SplitDockPerspective}, e.g. the center area of a {@link CContentPerspective}. Stations that
+ * are children of these root stations, like working areas or stacks, are laid out as well. Minimized or 
+ * externalized dockables are ignored.<br>
+ * The {@link CPerspective}s must not be modified while they are laid out, but several {@link CPerspective}s
+ * can be laid out in parallel with {@link #layout(List, Dimension, MinimumSizes, int)}.
+ * @author Benjamin Sigg
+ */
+public class CHeadlessLayout {
+	/** the algorithm calculating the boundaries */
+	private HeadlessSplitLayout engine;
+	
+	/**
+	 * Creates a new layout using a default {@link HeadlessSplitLayout}.
+	 */
+	public CHeadlessLayout(){
+		this( new HeadlessSplitLayout() );
+	}
+	
+	/**
+	 * Creates a new layout.
+	 * @param engine the algorithm calculating the boundaries, not <code>null</code>
+	 */
+	public CHeadlessLayout( HeadlessSplitLayout engine ){
+		if( engine == null ){
+			throw new IllegalArgumentException( "engine must not be null" );
+		}
+		this.engine = engine;
+	}
+	
+	/**
+	 * Gets the algorithm that is used to calculate the boundaries.
+	 * @return the algorithm, not <code>null</code>
+	 */
+	public HeadlessSplitLayout getEngine(){
+		return engine;
+	}
+	
+	/**
+	 * Calculates the boundaries of all the dockables of <code>perspective</code> that are visible
+	 * on a root station.
+	 * @param perspective the perspective to lay out, not <code>null</code>
+	 * @param size the size of each root station
+	 * @param minimumSizes the minimum sizes of the elements, can be <code>null</code>
+	 * @return the boundaries of the dockables, relative to the root station they are shown on
+	 */
+	public Map<CDockablePerspective, Rectangle> layout( CPerspective perspective, Dimension size, MinimumSizes<? super PerspectiveDockable> minimumSizes ){
+		Map<CDockablePerspective, Rectangle> result = new LinkedHashMap<CDockablePerspective, Rectangle>();
+		for( SplitDockPerspective station : getRootStations( perspective )){
+			convert( engine.layout( station, size, minimumSizes ), result );
+		}
+		return result;
+	}
+	
+	/**
+	 * Calculates the boundaries of all the dockables of all the <code>perspectives</code>, the work is
+	 * distributed onto <code>threads</code> threads.
+	 * @param perspectives the perspectives to lay out
+	 * @param size the size of each root station
+	 * @param minimumSizes the minimum sizes of the elements, can be <code>null</code>. Must be thread safe.
+	 * @param threads the number of threads to use, at least 1
+	 * @return the result of {@link #layout(CPerspective, Dimension, MinimumSizes)} for each perspective, in the
+	 * same order as <code>perspectives</code>
+	 * @throws InterruptedException if the current thread was interrupted while waiting for the results
+	 */
+	public List<Map<CDockablePerspective, Rectangle>> layout( List<CPerspective> perspectives, Dimension size, MinimumSizes<? super PerspectiveDockable> minimumSizes, int threads ) throws InterruptedException{
+		// accessing the root stations may modify them (e.g. CGridPerspective.gridDeploy), hence this
+		// has to happen before the other threads start
+		List<SplitDockPerspective> stations = new ArrayList<SplitDockPerspective>();
+		int[] offsets = new int[ perspectives.size()+1 ];
+		for( int i = 0, n = perspectives.size(); i<n; i++ ){
+			stations.addAll( getRootStations( perspectives.get( i ) ));
+			offsets[i+1] = stations.size();
+		}
+		
+		List<Map<PerspectiveDockable, Rectangle>> bounds = engine.layout( stations, size, minimumSizes, threads );
+		
+		List<Map<CDockablePerspective, Rectangle>> result = new ArrayList<Map<CDockablePerspective,Rectangle>>( perspectives.size() );
+		for( int i = 0, n = perspectives.size(); i<n; i++ ){
+			Map<CDockablePerspective, Rectangle> map = new LinkedHashMap<CDockablePerspective, Rectangle>();
+			for( int j = offsets[i]; j < offsets[i+1]; j++ ){
+				convert( bounds.get( j ), map );
+			}
+			result.add( map );
+		}
+		return result;
+	}
+	
+	/**
+	 * Searches all the root stations of <code>perspective</code> that can be laid out.
+	 * @param perspective the perspective to search
+	 * @return the stations, the intern tree of each station is ready to be read
+	 */
+	protected List<SplitDockPerspective> getRootStations( CPerspective perspective ){
+		List<SplitDockPerspective> result = new ArrayList<SplitDockPerspective>();
+		for( String key : perspective.getStationKeys() ){
+			CStationPerspective station = perspective.getStation( key );
+			if( station != null && station.isRoot() ){
+				PerspectiveElement intern = station.intern();
+				if( intern instanceof SplitDockPerspective ){
+					SplitDockPerspective split = (SplitDockPerspective)intern;
+					// ensures pending changes are applied
+					split.getRoot();
+					result.add( split );
+				}
+			}
+		}
+		return result;
+	}
+	
+	private void convert( Map<PerspectiveDockable, Rectangle> bounds, Map<CDockablePerspective, Rectangle> result ){
+		for( Map.Entry<PerspectiveDockable, Rectangle> entry : bounds.entrySet() ){
+			convert( entry.getKey(), entry.getValue(), result );
+		}
+	}
+	
+	private void convert( PerspectiveElement element, Rectangle bounds, Map<CDockablePerspective, Rectangle> result ){
+		if( element instanceof CommonElementPerspective ){
+			CElementPerspective celement = ((CommonElementPerspective)element).getElement();
+			if( celement != null && celement.asDockable() != null ){
+				result.put( celement.asDockable(), new Rectangle( bounds ) );
+			}
+		}
+		
+		// children of split stations have their own boundaries
+		PerspectiveStation station = element.asStation();
+		if( station != null && !(station instanceof SplitDockPerspective) ){
+			for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
+				convert( station.getDockable( i ), bounds, result );
+			}
+		}
+	}
+}
@@ -0,0 +1,506 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common.perspective;
+
+import java.awt.EventQueue;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.intern.CSetting;
+import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XIO;
+
+/**
+ * Reads layouts in the background. A {@link CPerspectiveLoader} opens a file, parses it and converts it into
+ * a {@link CPerspective} and into a {@link CSetting} using an {@link Executor} or a new thread. Only the last
+ * step, applying the layout to the {@link CControl}, is executed on the <code>EventDispatcherThread</code>. Everything
+ * the background thread needs to know about the {@link CControl}, e.g. its stations and factories, is collected
+ * on the <code>EventDispatcherThread</code> before the file is opened.
+ * Hence the user interface does not freeze while large layouts are read.<br>
+ * The files have to be written by {@link CControlPerspective#write(java.io.DataOutputStream, CPerspective, boolean)}
+ * or {@link CControlPerspective#writeXML(XElement, CPerspective, boolean)}.<br>
+ * While a layout is read in the background, clients must not add or remove {@link bibliothek.gui.dock.common.MultipleCDockableFactory}s. 
+ * New loaders are created by {@link CControlPerspective#createLoader()}.
+ * @author Benjamin Sigg
+ */
+public class CPerspectiveLoader {
+	/**
+	 * The steps that are executed when reading a layout.
+	 * @author Benjamin Sigg
+	 */
+	public static enum Stage{
+		/** opening and parsing the file, and creating the {@link CPerspective}, runs in the background */
+		READ,
+		/** converting the {@link CPerspective} into a {@link CSetting}, runs in the background */
+		CONVERT,
+		/** applying the layout to the {@link CControl}, runs on the <code>EventDispatcherThread</code> */
+		APPLY
+	}
+	
+	/** the perspectives of the {@link CControl} */
+	private CControlPerspective perspectives;
+	
+	/** executes the background tasks, can be <code>null</code> */
+	private Executor executor;
+	
+	/** whether the layouts contain the children of working areas */
+	private boolean includeWorkingAreas = false;
+	
+	/** whether the layouts are applied to the {@link CControl} */
+	private boolean apply = true;
+	
+	/** the name under which the layouts are stored, can be <code>null</code> */
+	private String name;
+	
+	/** the observers of this loader */
+	private List<CPerspectiveLoaderListener> listeners = new ArrayList<CPerspectiveLoaderListener>();
+	
+	/**
+	 * Creates a new loader.
+	 * @param perspectives the perspectives of the {@link CControl} whose layouts are read, not <code>null</code>
+	 */
+	public CPerspectiveLoader( CControlPerspective perspectives ){
+		if( perspectives == null ){
+			throw new IllegalArgumentException( "perspectives must not be null" );
+		}
+		this.perspectives = perspectives;
+	}
+	
+	/**
+	 * Sets the {@link Executor} which reads the layouts. If <code>null</code>, then each layout is read
+	 * by a new daemon thread.
+	 * @param executor the executor, can be <code>null</code>
+	 */
+	public void setExecutor( Executor executor ){
+		this.executor = executor;
+	}
+	
+	/**
+	 * Gets the {@link Executor} which reads the layouts.
+	 * @return the executor, can be <code>null</code>
+	 */
+	public Executor getExecutor(){
+		return executor;
+	}
+	
+	/**
+	 * Sets whether the layouts contain the children of working areas. This property should have
+	 * the same value as was used when writing the layouts.
+	 * @param includeWorkingAreas whether the children of working areas are included
+	 */
+	public void setIncludeWorkingAreas( boolean includeWorkingAreas ){
+		this.includeWorkingAreas = includeWorkingAreas;
+	}
+	
+	/**
+	 * Tells whether the layouts contain the children of working areas.
+	 * @return whether the children of working areas are included
+	 */
+	public boolean isIncludeWorkingAreas(){
+		return includeWorkingAreas;
+	}
+	
+	/**
+	 * Sets whether the layouts are applied to the {@link CControl} once they are read. If not, the
+	 * {@link Stage#CONVERT} and {@link Stage#APPLY} steps are skipped.
+	 * @param apply whether to apply the layouts, the default is <code>true</code>
+	 */
+	public void setApply( boolean apply ){
+		this.apply = apply;
+	}
+	
+	/**
+	 * Tells whether the layouts are applied to the {@link CControl} once they are read.
+	 * @return whether to apply the layouts
+	 */
+	public boolean isApply(){
+		return apply;
+	}
+	
+	/**
+	 * Sets the name under which the layouts are stored. If <code>null</code>, then the layouts
+	 * replace the current layout, otherwise they are stored with {@link CControlPerspective#setPerspective(String, CPerspective, boolean)}
+	 * and can later be {@link CControl#load(String) loaded}.
+	 * @param name the name of the layouts, can be <code>null</code>
+	 */
+	public void setName( String name ){
+		this.name = name;
+	}
+	
+	/**
+	 * Gets the name under which the layouts are stored.
+	 * @return the name, can be <code>null</code>
+	 */
+	public String getName(){
+		return name;
+	}
+	
+	/**
+	 * Adds an observer to this loader.
+	 * @param listener the new observer, not <code>null</code>
+	 */
+	public void addListener( CPerspectiveLoaderListener listener ){
+		if( listener == null ){
+			throw new IllegalArgumentException( "listener must not be null" );
+		}
+		listeners.add( listener );
+	}
+	
+	/**
+	 * Removes an observer from this loader.
+	 * @param listener the observer to remove
+	 */
+	public void removeListener( CPerspectiveLoaderListener listener ){
+		listeners.remove( listener );
+	}
+	
+	/**
+	 * Reads a layout that was written by {@link CControlPerspective#write(java.io.DataOutputStream, CPerspective, boolean)}
+	 * in the background.
+	 * @param file the file to read
+	 * @return the future result, which is available once the layout is applied. Calling {@link Future#get()}
+	 * on the <code>EventDispatcherThread</code> blocks forever if the layout is to be {@link #setApply(boolean) applied}.
+	 */
+	public Future<CPerspective> read( final File file ){
+		return start( new Task( file ){
+			@Override
+			protected CPerspective read( CControlPerspective.Snapshot snapshot ) throws IOException{
+				DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file )));
+				try{
+					return perspectives.read( in, snapshot );
+				}
+				finally{
+					in.close();
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Reads a layout that was written by {@link CControlPerspective#writeXML(XElement, CPerspective, boolean)}
+	 * and stored with {@link XIO#writeUTF(XElement, java.io.OutputStream)} in the background.
+	 * @param file the file to read
+	 * @return the future result, which is available once the layout is applied. Calling {@link Future#get()}
+	 * on the <code>EventDispatcherThread</code> blocks forever if the layout is to be {@link #setApply(boolean) applied}.
+	 */
+	public Future<CPerspective> readXML( final File file ){
+		return start( new Task( file ){
+			@Override
+			protected CPerspective read( CControlPerspective.Snapshot snapshot ) throws IOException{
+				InputStream in = new BufferedInputStream( new FileInputStream( file ));
+				XElement element;
+				try{
+					element = XIO.readUTF( in );
+				}
+				finally{
+					in.close();
+				}
+				return perspectives.readXML( element, snapshot );
+			}
+		});
+	}
+	
+	/**
+	 * Collects the state of the {@link CControl} on the <code>EventDispatcherThread</code>, and then
+	 * starts <code>task</code>.
+	 * @param task the task to execute
+	 * @return <code>task</code>
+	 */
+	private Task start( final Task task ){
+		if( EventQueue.isDispatchThread() ){
+			prepare( task );
+		}
+		else{
+			EventQueue.invokeLater( new Runnable(){
+				public void run(){
+					prepare( task );
+				}
+			});
+		}
+		return task;
+	}
+	
+	/**
+	 * Collects the state of the {@link CControl} which is required by <code>task</code>, and hands
+	 * <code>task</code> over to the background thread. Must be called on the <code>EventDispatcherThread</code>.
+	 * @param task the task to execute
+	 */
+	private void prepare( Task task ){
+		if( task.isCancelled() ){
+			return;
+		}
+		try{
+			task.snapshot = perspectives.snapshot( task.includeWorkingAreas );
+		}
+		catch( Throwable e ){
+			task.fail( e );
+			return;
+		}
+		
+		if( executor == null ){
+			Thread thread = new Thread( task, "CPerspectiveLoader" );
+			thread.setDaemon( true );
+			thread.start();
+		}
+		else{
+			executor.execute( task );
+		}
+	}
+	
+	/**
+	 * Gets all the listeners of this loader.
+	 * @return the listeners
+	 */
+	private CPerspectiveLoaderListener[] listeners(){
+		return listeners.toArray( new CPerspectiveLoaderListener[ listeners.size() ] );
+	}
+	
+	/**
+	 * The reading of one layout.
+	 * @author Benjamin Sigg
+	 */
+	private abstract class Task implements Runnable, Future<CPerspective>{
+		/** the file that is read */
+		private final Object source;
+		
+		/** released once this task is done */
+		private final CountDownLatch done = new CountDownLatch( 1 );
+		
+		/** whether this task was cancelled */
+		private volatile boolean cancelled = false;
+		
+		/** the result */
+		private volatile CPerspective result;
+		
+		/** the reason why this task failed */
+		private volatile Throwable error;
+		
+		/** when this task started */
+		private long start;
+		
+		/** whether the layout contains the children of working areas */
+		private final boolean includeWorkingAreas;
+		
+		/** whether the layout is applied to the {@link CControl} */
+		private final boolean apply;
+		
+		/** the name under which the layout is stored, can be <code>null</code> */
+		private final String name;
+		
+		/** the state of the {@link CControl}, collected on the <code>EventDispatcherThread</code> */
+		private volatile CControlPerspective.Snapshot snapshot;
+		
+		/**
+		 * Creates a new task.
+		 * @param source the file that is read
+		 */
+		public Task( Object source ){
+			this.source = source;
+			this.includeWorkingAreas = CPerspectiveLoader.this.includeWorkingAreas;
+			this.apply = CPerspectiveLoader.this.apply;
+			this.name = CPerspectiveLoader.this.name;
+		}
+		
+		/**
+		 * Reads the {@link CPerspective}. This method is executed in the background and must not access the {@link CControl}.
+		 * @param snapshot the state of the {@link CControl}
+		 * @return the perspective
+		 * @throws IOException if the source cannot be read
+		 */
+		protected abstract CPerspective read( CControlPerspective.Snapshot snapshot ) throws IOException;
+		
+		public void run(){
+			if( cancelled ){
+				return;
+			}
+			try{
+				start = System.nanoTime();
+				long time = start;
+				
+				final CPerspective perspective = read( snapshot );
+				time = progress( Stage.READ, time );
+				
+				if( cancelled ){
+					return;
+				}
+				if( !apply ){
+					succeed( perspective );
+					return;
+				}
+				
+				final CSetting setting = perspectives.write( snapshot );
+				final long converted = progress( Stage.CONVERT, time );
+				
+				EventQueue.invokeLater( new Runnable(){
+					public void run(){
+						if( cancelled ){
+							return;
+						}
+						try{
+							if( name == null ){
+								perspectives.getControl().intern().setSetting( setting, !includeWorkingAreas );
+							}
+							else{
+								perspectives.getControl().intern().setSetting( name, setting );
+							}
+							progress( Stage.APPLY, converted );
+							succeed( perspective );
+						}
+						catch( Throwable e ){
+							fail( e );
+						}
+					}
+				});
+			}
+			catch( Throwable e ){
+				fail( e );
+			}
+		}
+		
+		/**
+		 * Informs the listeners that <code>stage</code> has finished.
+		 * @param stage the finished stage
+		 * @param since when <code>stage</code> started
+		 * @return the current time
+		 */
+		private long progress( final Stage stage, long since ){
+			long now = System.nanoTime();
+			final long duration = now - since;
+			invoke( new Runnable(){
+				public void run(){
+					for( CPerspectiveLoaderListener listener : listeners() ){
+						listener.progress( CPerspectiveLoader.this, source, stage, duration );
+					}
+				}
+			});
+			return now;
+		}
+		
+		/**
+		 * Marks this task as successfully completed.
+		 * @param perspective the result
+		 */
+		private void succeed( final CPerspective perspective ){
+			result = perspective;
+			done.countDown();
+			final long duration = System.nanoTime() - start;
+			invoke( new Runnable(){
+				public void run(){
+					for( CPerspectiveLoaderListener listener : listeners() ){
+						listener.finished( CPerspectiveLoader.this, source, perspective, duration );
+					}
+				}
+			});
+		}
+		
+		/**
+		 * Marks this task as failed.
+		 * @param cause the reason
+		 */
+		private void fail( final Throwable cause ){
+			error = cause;
+			done.countDown();
+			invoke( new Runnable(){
+				public void run(){
+					for( CPerspectiveLoaderListener listener : listeners() ){
+						listener.failed( CPerspectiveLoader.this, source, cause );
+					}
+				}
+			});
+		}
+		
+		/**
+		 * Executes <code>run</code> on the <code>EventDispatcherThread</code>.
+		 * @param run the code to execute
+		 */
+		private void invoke( Runnable run ){
+			if( EventQueue.isDispatchThread() ){
+				run.run();
+			}
+			else{
+				EventQueue.invokeLater( run );
+			}
+		}
+		
+		public boolean cancel( boolean mayInterruptIfRunning ){
+			if( isDone() ){
+				return false;
+			}
+			cancelled = true;
+			done.countDown();
+			return true;
+		}
+		
+		public boolean isCancelled(){
+			return cancelled;
+		}
+		
+		public boolean isDone(){
+			return done.getCount() == 0;
+		}
+		
+		public CPerspective get() throws InterruptedException, ExecutionException{
+			done.await();
+			return result();
+		}
+		
+		public CPerspective get( long timeout, TimeUnit unit ) throws InterruptedException, ExecutionException, TimeoutException{
+			if( !done.await( timeout, unit )){
+				throw new TimeoutException();
+			}
+			return result();
+		}
+		
+		/**
+		 * Gets the result of this completed task.
+		 * @return the result
+		 * @throws ExecutionException if this task failed
+		 */
+		private CPerspective result() throws ExecutionException{
+			if( cancelled ){
+				throw new CancellationException();
+			}
+			if( error != null ){
+				throw new ExecutionException( error );
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common.perspective;
+
+/**
+ * A listener added to a {@link CPerspectiveLoader}, informed about the progress of the
+ * layouts the loader reads. All methods are called on the <code>EventDispatcherThread</code>.
+ * @author Benjamin Sigg
+ */
+public interface CPerspectiveLoaderListener {
+	/**
+	 * Called when one step of reading a layout has finished.
+	 * @param loader the source of the event
+	 * @param source the file that is read
+	 * @param stage the step that finished
+	 * @param duration how long the step took, in nanoseconds
+	 */
+	public void progress( CPerspectiveLoader loader, Object source, CPerspectiveLoader.Stage stage, long duration );
+	
+	/**
+	 * Called once a layout has been read and, if requested, applied.
+	 * @param loader the source of the event
+	 * @param source the file that was read
+	 * @param perspective the layout that was read
+	 * @param duration how long all the steps together took, in nanoseconds
+	 */
+	public void finished( CPerspectiveLoader loader, Object source, CPerspective perspective, long duration );
+	
+	/**
+	 * Called if a layout could not be read or applied.
+	 * @param loader the source of the event
+	 * @param source the file that was read
+	 * @param cause the reason why the layout could not be read
+	 */
+	public void failed( CPerspectiveLoader loader, Object source, Throwable cause );
+}
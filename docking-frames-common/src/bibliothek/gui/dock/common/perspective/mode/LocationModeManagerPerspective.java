@@ -216,8 +216,16 @@ public class LocationModeManagerPerspective {
 	 * @return the contents of this object
 	 */
 	public ModeSettings<Location, Location> writeModes( CControlAccess control ){
-		ModeSettings<Location, Location> modes = new CLocationModeSettings<Location>( new LocationSettingConverter( control.getOwner().getController() ) );
-    	
+		return writeModes( control, new CLocationModeSettings<Location>( new LocationSettingConverter( control.getOwner().getController() ) ) );
+	}
+	
+	/**
+	 * Writes the location of all dockables and the settings of all modes into <code>modes</code>.
+	 * @param control the control associated with this perspective
+	 * @param modes the empty settings to fill, e.g. created in advance on the <code>EventDispatcherThread</code>
+	 * @return <code>modes</code>
+	 */
+	public ModeSettings<Location, Location> writeModes( CControlAccess control, ModeSettings<Location, Location> modes ){
     	LocationModeManagerPerspective manager = perspective.getLocationManager();
     	
     	Iterator<PerspectiveElement> elements = perspective.elements();
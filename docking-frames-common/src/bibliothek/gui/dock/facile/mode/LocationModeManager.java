@@ -57,6 +57,7 @@ import bibliothek.gui.dock.facile.mode.status.DefaultExtendedModeEnablement;
 import bibliothek.gui.dock.facile.mode.status.ExtendedModeEnablement;
 import bibliothek.gui.dock.facile.mode.status.ExtendedModeEnablementFactory;
 import bibliothek.gui.dock.facile.mode.status.ExtendedModeEnablementListener;
+import bibliothek.gui.dock.layout.DockableProperty;
 import bibliothek.gui.dock.layout.location.AsideRequest;
 import bibliothek.gui.dock.layout.location.AsideRequestFactory;
 import bibliothek.gui.dock.support.mode.AffectedSet;
@@ -371,6 +372,24 @@ public class LocationModeManager<M extends LocationMode> extends ModeManager<Loc
 		// ignore
 	}
 	
+	/**
+	 * Estimates the size of <code>history</code> assuming the object layout of a 64 bit VM. The numbers
+	 * are not measured: a {@link Location} and its root are counted with a fixed size plus 2 bytes per character,
+	 * each {@link DockableProperty} is counted with a fixed size no matter which fields it has.
+	 */
+	@Override
+	protected long estimateHistorySize( Location history ){
+		// the location itself, and the string of its root
+		long size = 32 + 40 + 2 * history.getRoot().length();
+		DockableProperty property = history.getLocation();
+		while( property != null ){
+			// an average property with a few fields
+			size += 64;
+			property = property.getSuccessor();
+		}
+		return size;
+	}
+	
 	@Override
 	public void apply( Dockable dockable, M mode, Location history, AffectedSet set ) {
 		super.apply( dockable, mode, history, set );
@@ -92,7 +92,9 @@ public class MaximizedMode<M extends MaximizedModeArea> extends AbstractLocation
 	private PropertyValue<KeyStroke> keyStrokeMaximizeChange = new PropertyValue<KeyStroke>( CControl.KEY_MAXIMIZE_CHANGE ){
 		@Override
 		protected void valueChanged( KeyStroke oldValue, KeyStroke newValue ) {
-			// ignore
+			for( KeyHook hook : hooks ){
+				hook.updateStroke();
+			}
 		}
 	};
 
@@ -617,7 +619,7 @@ public class MaximizedMode<M extends MaximizedModeArea> extends AbstractLocation
 
 
 	/**
-	 * Invoked whenever a key is pressed, released or typed.
+	 * Invoked whenever a key matching {@link CControl#KEY_MAXIMIZE_CHANGE} is pressed, released or typed.
 	 * @param dockable the element to which the event belongs
 	 * @param event the event
 	 * @return <code>true</code> if the event has been processed, <code>false</code>
@@ -674,6 +676,9 @@ public class MaximizedMode<M extends MaximizedModeArea> extends AbstractLocation
 
 		/** the controller on which this hook has registered its listeners */
 		private DockController controller;
+		
+		/** the {@link KeyStroke} with which this hook is registered at the {@link bibliothek.gui.dock.control.KeyboardController}, can be <code>null</code> */
+		private KeyStroke stroke;
 
 		/**
 		 * Creates a new hook
@@ -683,7 +688,7 @@ public class MaximizedMode<M extends MaximizedModeArea> extends AbstractLocation
 		public KeyHook( Dockable dockable ){
 			this.dockable = dockable;
 			controller = getController();
-			controller.getKeyboardController().addListener( this );
+			updateStroke();
 			controller.getRegister().addDockRegisterListener( this );
 			hooks.add( this );
 		}
@@ -700,13 +705,33 @@ public class MaximizedMode<M extends MaximizedModeArea> extends AbstractLocation
 		 * @param complete whether to remove <code>this</code> from {@link MaximizedMode#hooks}
 		 */
 		public void destroy( boolean complete ){
-			controller.getKeyboardController().removeListener( this );
+			if( stroke != null ){
+				controller.getKeyboardController().removeListener( stroke, this );
+				stroke = null;
+			}
 			controller.getRegister().removeDockRegisterListener( this );
 			if( complete ){
 				hooks.remove( this );
 			}
 		}
 
+		/**
+		 * Registers this hook at the {@link bibliothek.gui.dock.control.KeyboardController} using the current
+		 * value of {@link CControl#KEY_MAXIMIZE_CHANGE}.
+		 */
+		public void updateStroke(){
+			KeyStroke next = keyStrokeMaximizeChange.getValue();
+			if( next != stroke ){
+				if( stroke != null ){
+					controller.getKeyboardController().removeListener( stroke, this );
+				}
+				stroke = next;
+				if( stroke != null ){
+					controller.getKeyboardController().addListener( stroke, this );
+				}
+			}
+		}
+
 		public DockElement getTreeLocation() {
 			return dockable;
 		}
@@ -763,7 +788,12 @@ public class MaximizedMode<M extends MaximizedModeArea> extends AbstractLocation
 		}
 
 		public void dockableRemoved( ModeManager<? extends Location, ? extends LocationMode> manager, Dockable dockable ){
-			// ignore
+			// the hook would otherwise keep the dockable alive if it never was registered
+			for( KeyHook hook : new ArrayList<KeyHook>( hooks )){
+				if( hook.dockable == dockable ){
+					hook.destroy( true );
+				}
+			}
 		}
 
 		public void modeAdded( ModeManager<? extends Location, ? extends LocationMode> manager, LocationMode mode ){
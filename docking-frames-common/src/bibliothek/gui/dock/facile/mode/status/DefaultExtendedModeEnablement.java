@@ -97,7 +97,7 @@ public class DefaultExtendedModeEnablement extends AbstractExtendedModeEnablemen
 	public DefaultExtendedModeEnablement( LocationModeManager<?> manager ){
 		super( manager );
 		init();
-		List<ExtendedModeEnablementFactory> factories = manager.getController().getExtensions().load( new ExtensionName<ExtendedModeEnablementFactory>( EXTENSION, ExtendedModeEnablementFactory.class ));
+		List<ExtendedModeEnablementFactory> factories = manager.getController().getExtensions().load( new ExtensionName<ExtendedModeEnablementFactory>( EXTENSION, ExtendedModeEnablementFactory.class, true ));
 		extensions = new ExtendedModeEnablement[ factories.size() ];
 		int index = 0;
 		for( ExtendedModeEnablementFactory factory : factories ){
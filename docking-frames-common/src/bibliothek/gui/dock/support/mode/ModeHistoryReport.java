@@ -0,0 +1,116 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.support.mode;
+
+/**
+ * A snapshot describing how much information a {@link ModeManager} remembers about
+ * the {@link bibliothek.gui.Dockable}s it knows, or knew in the past. Created by
+ * {@link ModeManager#createHistoryReport()}.
+ * @author Benjamin Sigg
+ */
+public class ModeHistoryReport {
+	private int entries;
+	private int detachedEntries;
+	private int historyItems;
+	private int properties;
+	private int paths;
+	private long estimatedSize;
+
+	/**
+	 * Creates a new report.
+	 * @param entries the number of entries stored in the manager
+	 * @param detachedEntries the number of entries that are not associated with a {@link bibliothek.gui.Dockable}
+	 * @param historyItems the total length of all the histories
+	 * @param properties the total number of properties stored for the modes
+	 * @param paths the number of distinct {@link bibliothek.util.Path} objects used by the histories
+	 * @param estimatedSize an estimate of the number of bytes used by the histories
+	 */
+	public ModeHistoryReport( int entries, int detachedEntries, int historyItems, int properties, int paths, long estimatedSize ){
+		this.entries = entries;
+		this.detachedEntries = detachedEntries;
+		this.historyItems = historyItems;
+		this.properties = properties;
+		this.paths = paths;
+		this.estimatedSize = estimatedSize;
+	}
+
+	/**
+	 * Gets the number of entries stored in the manager.
+	 * @return the number of entries
+	 */
+	public int getEntries(){
+		return entries;
+	}
+
+	/**
+	 * Gets the number of entries which are not associated with any {@link bibliothek.gui.Dockable},
+	 * these entries are candidates for {@link ModeManager#evictDetachedEntries() eviction}.
+	 * @return the number of entries without {@link bibliothek.gui.Dockable}
+	 */
+	public int getDetachedEntries(){
+		return detachedEntries;
+	}
+
+	/**
+	 * Gets the total length of the histories of all entries.
+	 * @return the number of modes stored in all histories
+	 */
+	public int getHistoryItems(){
+		return historyItems;
+	}
+
+	/**
+	 * Gets the total number of properties stored for the modes of all entries.
+	 * @return the number of properties
+	 */
+	public int getProperties(){
+		return properties;
+	}
+
+	/**
+	 * Gets the number of distinct {@link bibliothek.util.Path} objects referenced by the histories. If
+	 * paths are shared properly, this number is close to the number of modes.
+	 * @return the number of distinct paths
+	 */
+	public int getPaths(){
+		return paths;
+	}
+
+	/**
+	 * Gets an estimate of how many bytes the histories use. The estimate includes the
+	 * collections of the manager and the estimate of {@link ModeManager#estimateHistorySize(Object)}.
+	 * @return the estimated size in bytes
+	 */
+	public long getEstimatedSize(){
+		return estimatedSize;
+	}
+
+	@Override
+	public String toString(){
+		return getClass().getSimpleName() + "[entries=" + entries + ", detached=" + detachedEntries + ", history=" + historyItems +
+			", properties=" + properties + ", paths=" + paths + ", estimatedSize=" + estimatedSize + "]";
+	}
+}
@@ -28,10 +28,11 @@ package bibliothek.gui.dock.support.mode;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -68,6 +69,18 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 	
 	/** list all {@link DockableHandle}s ever created and not dismissed by this manager */
 	private Map<String, DockableHandle> entries = new HashMap<String, DockableHandle>();
+	
+	/** all the {@link Path}s used by the histories of {@link #entries}, each path is stored only once */
+	private Map<Path, Path> paths = new HashMap<Path, Path>();
+	
+	/** the maximum number of entries without {@link Dockable} that are kept, -1 if there is no limit */
+	private int detachedEntryLimit = -1;
+	
+	/** the time in milliseconds an entry without {@link Dockable} is kept after its last use, -1 if there is no limit */
+	private long detachedEntryTimeout = -1;
+	
+	/** counts how often any {@link DockableHandle} was used, defines the order in which entries are evicted */
+	private long usages = 0;
 		
 	/** all the listeners that are registered at this manager */
 	private List<ModeManagerListener<? super H, ? super M>> listeners =
@@ -246,6 +259,179 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 		return null;
 	}
 	
+	/**
+	 * Sets the maximum number of entries which are not associated with a {@link Dockable}
+	 * that are kept by this manager. If there are more entries, then the entries that were not
+	 * used for the longest time are removed. This affects entries created by {@link #addEmpty(String)} and
+	 * {@link #reduceToEmpty(Dockable)} as well.
+	 * @param limit the maximum number of entries, -1 if there is no limit
+	 * @see #evictDetachedEntries()
+	 */
+	public void setDetachedEntryLimit( int limit ){
+		if( limit < -1 ){
+			throw new IllegalArgumentException( "limit must be -1 or at least 0: " + limit );
+		}
+		this.detachedEntryLimit = limit;
+		evictDetachedEntries();
+	}
+	
+	/**
+	 * Gets the maximum number of entries without {@link Dockable} which are kept.
+	 * @return the limit, -1 if there is no limit
+	 * @see #setDetachedEntryLimit(int)
+	 */
+	public int getDetachedEntryLimit(){
+		return detachedEntryLimit;
+	}
+	
+	/**
+	 * Sets the time an entry which is not associated with a {@link Dockable} is kept after it
+	 * was used for the last time. An entry is used whenever a {@link Dockable} is connected or disconnected,
+	 * or if the history of the entry changes.
+	 * @param timeout the time in milliseconds, -1 if entries are kept forever
+	 * @see #evictDetachedEntries()
+	 */
+	public void setDetachedEntryTimeout( long timeout ){
+		if( timeout < -1 ){
+			throw new IllegalArgumentException( "timeout must be -1 or at least 0: " + timeout );
+		}
+		this.detachedEntryTimeout = timeout;
+		evictDetachedEntries();
+	}
+	
+	/**
+	 * Gets the time an entry which is not associated with a {@link Dockable} is kept.
+	 * @return the time in milliseconds, -1 if there is no limit
+	 * @see #setDetachedEntryTimeout(long)
+	 */
+	public long getDetachedEntryTimeout(){
+		return detachedEntryTimeout;
+	}
+	
+	/**
+	 * Removes all entries which are not associated with a {@link Dockable} and which are either
+	 * older than the {@link #setDetachedEntryTimeout(long) timeout} or exceed the
+	 * {@link #setDetachedEntryLimit(int) limit}. This method is called automatically whenever an
+	 * entry loses its {@link Dockable}, but clients may call it to apply the timeout regularly.
+	 * @return the number of entries that were removed
+	 */
+	public int evictDetachedEntries(){
+		if( detachedEntryLimit == -1 && detachedEntryTimeout == -1 ){
+			return 0;
+		}
+		
+		List<DockableHandle> detached = new ArrayList<DockableHandle>();
+		for( DockableHandle entry : entries.values() ){
+			if( entry.dockable == null ){
+				detached.add( entry );
+			}
+		}
+		
+		int count = 0;
+		if( detachedEntryTimeout != -1 ){
+			long limit = System.currentTimeMillis() - detachedEntryTimeout;
+			Iterator<DockableHandle> iterator = detached.iterator();
+			while( iterator.hasNext() ){
+				DockableHandle entry = iterator.next();
+				if( entry.lastUsed < limit ){
+					iterator.remove();
+					entries.remove( entry.id );
+					count++;
+				}
+			}
+		}
+		
+		if( detachedEntryLimit != -1 && detached.size() > detachedEntryLimit ){
+			Collections.sort( detached, new Comparator<DockableHandle>(){
+				public int compare( DockableHandle a, DockableHandle b ){
+					return a.usage < b.usage ? -1 : (a.usage == b.usage ? 0 : 1);
+				}
+			});
+			for( int i = 0, n = detached.size() - detachedEntryLimit; i<n; i++ ){
+				entries.remove( detached.get( i ).id );
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Creates a report describing how many entries this manager remembers and how much memory
+	 * their histories use. The memory usage is not measured, it is only an estimate based on the
+	 * typical size of objects on a 64 bit VM with compressed references. The real size depends on the
+	 * VM and can differ considerably, the estimate is only useful to compare two reports.
+	 * @return the new report
+	 */
+	public ModeHistoryReport createHistoryReport(){
+		int detached = 0;
+		int historyItems = 0;
+		int properties = 0;
+		Set<Path> distinctPaths = Collections.newSetFromMap( new IdentityHashMap<Path, Boolean>() );
+		
+		// estimated sizes of the objects and collections owned by this manager on a 64 bit VM, these
+		// numbers are assumptions and not measured
+		long size = 0;
+		for( DockableHandle entry : entries.values() ){
+			if( entry.dockable == null ){
+				detached++;
+			}
+			historyItems += entry.history.size();
+			properties += entry.properties.size();
+			distinctPaths.addAll( entry.history );
+			distinctPaths.addAll( entry.properties.keySet() );
+			
+			// the handle and its identifier: object headers, fields and 2 bytes per character
+			size += 48 + 2 * entry.id.length();
+			// the list of the history: array list and one reference per item
+			size += 24 + 8 * entry.history.size();
+			// the map of the properties: hash map and one map entry per property
+			size += 48 + 48 * entry.properties.size();
+			for( H history : entry.properties.values() ){
+				if( history != null ){
+					size += estimateHistorySize( history );
+				}
+			}
+		}
+		for( Path path : distinctPaths ){
+			// the path, and one string with 2 bytes per character for each segment
+			size += 16;
+			for( int i = 0, n = path.getSegmentCount(); i<n; i++ ){
+				size += 40 + 2 * path.getSegment( i ).length();
+			}
+		}
+		
+		return new ModeHistoryReport( entries.size(), detached, historyItems, properties, distinctPaths.size(), size );
+	}
+	
+	/**
+	 * Estimates the number of bytes <code>history</code> uses. Called by {@link #createHistoryReport()}.
+	 * The result is not measured and does not have to be exact, it only needs to be in the right order
+	 * of magnitude. The default implementation returns the size of an object without any fields,
+	 * subclasses should override this method if they know the structure of their history objects.
+	 * @param history some history information, not <code>null</code>
+	 * @return an estimate of the size in bytes
+	 */
+	protected long estimateHistorySize( H history ){
+		return 16;
+	}
+	
+	/**
+	 * Gets an object equal to <code>path</code> which is shared by all the histories of this manager.
+	 * @param path the path to search, can be <code>null</code>
+	 * @return the shared path, <code>null</code> if <code>path</code> was <code>null</code>
+	 */
+	private Path intern( Path path ){
+		if( path == null ){
+			return null;
+		}
+		Path result = paths.get( path );
+		if( result == null ){
+			paths.put( path, path );
+			result = path;
+		}
+		return result;
+	}
+	
 	/**
 	 * Sets the current {@link HistoryRewriter}. The rewriter is invoked every time before
 	 * the {@link Mode#apply(Dockable, Object, AffectedSet) apply} method of a {@link Mode} is
@@ -365,6 +551,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
         }
         else{
             entry.dockable = dockable;
+            entry.touch();
         }
         
         dockables.put( dockable, entry );
@@ -400,6 +587,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
                 fireRemoved( entry.dockable );
             }
             entry.dockable = dockable;
+            entry.touch();
             dockables.put( dockable, entry );
         }
         else{
@@ -805,10 +993,12 @@ public abstract class ModeManager<H, M extends Mode<H>> {
      * @param dockable the element to reduce
      */
     public void reduceToEmpty( Dockable dockable ){
-        DockableHandle entry = dockables.get( dockable );
+        DockableHandle entry = dockables.remove( dockable );
         if( entry != null ){
             entry.dockable = null;
+            entry.compact();
             fireRemoved( dockable );
+            evictDetachedEntries();
         }
     }
     
@@ -840,11 +1030,23 @@ public abstract class ModeManager<H, M extends Mode<H>> {
      * information for a {@link Dockable} that has not yet been created. It is
      * helpful if the client intends to load first its properties and create
      * only those {@link Dockable}s which are visible.<br>
-     * Also an empty entry gets never deleted unless {@link #removeEmpty(String)} is called.
+     * Also an empty entry gets never deleted unless {@link #removeEmpty(String)} is called, or
+     * unless it is evicted because of the {@link #setDetachedEntryLimit(int) limit} or the
+     * {@link #setDetachedEntryTimeout(long) timeout} of detached entries.
      * @param key the name of the empty entry
      * @throws NullPointerException if <code>key</code> is <code>null</code>
      */
     public void addEmpty( String key ){
+        addEmptyEntry( key );
+        evictDetachedEntries();
+    }
+    
+    /**
+     * Adds an empty entry to this manager without {@link #evictDetachedEntries() evicting} other entries.
+     * @param key the name of the empty entry
+     * @throws NullPointerException if <code>key</code> is <code>null</code>
+     */
+    private void addEmptyEntry( String key ){
         if( key == null )
             throw new NullPointerException( "name must not be null" );
         
@@ -855,6 +1057,7 @@ public abstract class ModeManager<H, M extends Mode<H>> {
             entries.put( key, entry );
         }
         entry.empty = true;
+        entry.touch();
     }
     
     /**
@@ -1232,11 +1435,11 @@ public abstract class ModeManager<H, M extends Mode<H>> {
             
             if( entry == null ){
                 if( createEntryDuringRead( key )){
-                    addEmpty( key );
+                    addEmptyEntry( key );
                     entry = entries.get( key );
                 }
                 else if( pending != null && pending.createTemporaryDuringRead( key )){
-                	addEmpty( key );
+                	addEmptyEntry( key );
                 	entry = entries.get( key );
                 	temporary.add( key );
                 }
@@ -1257,9 +1460,17 @@ public abstract class ModeManager<H, M extends Mode<H>> {
                 
                 entry.history.clear();
                 for( Path next : settings.getHistory( i ))
-                    entry.history.add( next );
+                    entry.history.add( intern( next ));
                 
-                entry.properties = settings.getProperties( i );
+                Map<Path, H> properties = settings.getProperties( i );
+                entry.properties = new HashMap<Path, H>( Math.max( 4, properties.size() * 2 ) );
+                for( Map.Entry<Path, H> property : properties.entrySet() ){
+                	entry.properties.put( intern( property.getKey() ), property.getValue() );
+                }
+                entry.touch();
+                if( entry.dockable == null ){
+                	entry.compact();
+                }
                 
                 if( (old == null && current != null) || (old != null && !old.equals( current ))){
                     applyDuringRead( key, old, current, entry.dockable );
@@ -1277,6 +1488,9 @@ public abstract class ModeManager<H, M extends Mode<H>> {
 			}
 		}
 		
+		// evict only once, evicting for each new entry would sort all the detached entries again and again
+		evictDetachedEntries();
+		
 		if( pending == null ){
 			return null;
 		}
@@ -1380,11 +1594,17 @@ public abstract class ModeManager<H, M extends Mode<H>> {
         public Map<Path, H> properties;
 
         /** The modes this entry already visited. No mode is more than once in this list. */
-        private List<Path> history;
+        private ArrayList<Path> history;
         
         /** if <code>true</code>, then this entry is not deleted automatically */
         private boolean empty = false;
         
+        /** the last time when this entry was used */
+        private long lastUsed;
+        
+        /** the value of {@link ModeManager#usages} when this entry was used for the last time */
+        private long usage;
+        
         /**
          * Creates a new entry
          * @param dockable the element whose properties are stores in this entry
@@ -1394,8 +1614,25 @@ public abstract class ModeManager<H, M extends Mode<H>> {
             this.dockable = dockable;
             this.id = id;
             source = new MultiDockActionSource( new LocationHint( LocationHint.ACTION_GUARD, LocationHint.RIGHT ) );
-            properties = new HashMap<Path, H>();
-            history = new LinkedList<Path>();
+            properties = new HashMap<Path, H>( 4 );
+            history = new ArrayList<Path>( 4 );
+            touch();
+        }
+        
+        /**
+         * Marks this entry as used, an entry without {@link Dockable} that was not used for a long
+         * time may be {@link ModeManager#evictDetachedEntries() evicted}.
+         */
+        public void touch(){
+        	lastUsed = System.currentTimeMillis();
+        	usage = usages++;
+        }
+        
+        /**
+         * Releases memory that is not needed while this entry is not associated with a {@link Dockable}.
+         */
+        public void compact(){
+        	history.trimToSize();
         }
         
         /**
@@ -1444,6 +1681,8 @@ public abstract class ModeManager<H, M extends Mode<H>> {
          * @param data history data associated with mode <code>id</code>
          */
         public void addToHistory( Path id, H data ){
+        	id = intern( id );
+        	touch();
         	history.remove( id );
             history.add( id );
             properties.put( id, data );
@@ -0,0 +1,84 @@
+package bibliothek.test.layout;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import bibliothek.gui.dock.dockable.DefaultDockablePerspective;
+import bibliothek.gui.dock.perspective.PerspectiveDockable;
+import bibliothek.gui.dock.station.split.HeadlessSplitLayout;
+import bibliothek.gui.dock.station.split.PerspectiveSplitDockTree;
+import bibliothek.gui.dock.station.split.SplitDockPerspective;
+import bibliothek.gui.dock.station.split.SplitDockTree;
+
+/**
+ * Lays out many randomly generated {@link SplitDockPerspective}s with a {@link HeadlessSplitLayout},
+ * first with one thread, then with as many threads as there are processors.
+ */
+public class HeadlessLayoutBenchmark {
+	private static final int PERSPECTIVES = 5000;
+	private static final int DOCKABLES = 40;
+	private static final int ROUNDS = 5;
+	
+	public static void main( String[] args ) throws InterruptedException{
+		Random random = new Random( 42 );
+		List<SplitDockPerspective> perspectives = new ArrayList<SplitDockPerspective>();
+		for( int i = 0; i < PERSPECTIVES; i++ ){
+			perspectives.add( createPerspective( random ) );
+		}
+		
+		HeadlessSplitLayout engine = new HeadlessSplitLayout();
+		HeadlessSplitLayout.MinimumSizes<PerspectiveDockable> minimumSizes = new HeadlessSplitLayout.MinimumSizes<PerspectiveDockable>(){
+			public Dimension getMinimumSize( PerspectiveDockable dockable ){
+				return new Dimension( 20, 20 );
+			}
+		};
+		Dimension size = new Dimension( 1600, 1000 );
+		int processors = Runtime.getRuntime().availableProcessors();
+		
+		// warm up
+		engine.layout( perspectives, size, minimumSizes, processors );
+		
+		for( int round = 0; round < ROUNDS; round++ ){
+			long start = System.nanoTime();
+			List<Map<PerspectiveDockable, Rectangle>> single = engine.layout( perspectives, size, minimumSizes, 1 );
+			long middle = System.nanoTime();
+			List<Map<PerspectiveDockable, Rectangle>> multi = engine.layout( perspectives, size, minimumSizes, processors );
+			long end = System.nanoTime();
+			
+			if( !single.equals( multi )){
+				throw new IllegalStateException( "results differ" );
+			}
+			
+			System.out.println( "round " + round + ": 1 thread " + (middle - start) / 1000000 + " ms, " + 
+					processors + " threads " + (end - middle) / 1000000 + " ms" );
+		}
+	}
+	
+	private static SplitDockPerspective createPerspective( Random random ){
+		PerspectiveSplitDockTree tree = new PerspectiveSplitDockTree();
+		List<SplitDockTree<PerspectiveDockable>.Key> keys = new ArrayList<SplitDockTree<PerspectiveDockable>.Key>();
+		for( int i = 0; i < DOCKABLES; i++ ){
+			keys.add( tree.put( new DefaultDockablePerspective() ) );
+		}
+		while( keys.size() > 1 ){
+			SplitDockTree<PerspectiveDockable>.Key left = keys.remove( random.nextInt( keys.size() ) );
+			SplitDockTree<PerspectiveDockable>.Key right = keys.remove( random.nextInt( keys.size() ) );
+			double divider = 0.1 + 0.8 * random.nextDouble();
+			if( random.nextBoolean() ){
+				keys.add( tree.horizontal( left, right, divider ) );
+			}
+			else{
+				keys.add( tree.vertical( left, right, divider ) );
+			}
+		}
+		tree.root( keys.get( 0 ) );
+		
+		SplitDockPerspective perspective = new SplitDockPerspective();
+		perspective.read( tree, null );
+		return perspective;
+	}
+}
@@ -0,0 +1,122 @@
+package bibliothek.test.layout;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.awt.Rectangle;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.station.split.HeadlessSplitLayout;
+import bibliothek.gui.dock.station.split.SplitDockTree;
+import bibliothek.gui.dock.station.split.SplitNode;
+import bibliothek.util.Path;
+
+/**
+ * Lays out randomly generated {@link SplitDockTree}s once with a {@link SplitDockStation} and once with
+ * a {@link HeadlessSplitLayout}, and fails if the boundaries of any {@link Dockable} differ. Some of the
+ * leafs of the trees contain only placeholders and are invisible.
+ */
+public class HeadlessLayoutTest {
+	private static final int TREES = 200;
+	private static final int DOCKABLES = 12;
+	
+	public static void main( String[] args ) throws InterruptedException, InvocationTargetException{
+		DockController.disableCoreWarning();
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				Random random = new Random( 42 );
+				int checked = 0;
+				for( int i = 0; i < TREES; i++ ){
+					checked += test( random );
+				}
+				System.out.println( "compared " + checked + " dockables in " + TREES + " trees" );
+			}
+		});
+		System.exit( 0 );
+	}
+	
+	private static int test( Random random ){
+		DockController controller = new DockController();
+		try{
+			final SplitDockStation station = new SplitDockStation();
+			controller.add( station );
+			station.setDividerSize( 2 + random.nextInt( 6 ) );
+			
+			SplitDockTree<Dockable> tree = createTree( station, random );
+			station.dropTree( tree );
+			
+			Dimension size = new Dimension( 200 + random.nextInt( 1400 ), 200 + random.nextInt( 800 ) );
+			station.setBounds( 0, 0, size.width, size.height );
+			layout( station );
+			
+			HeadlessSplitLayout layout = new HeadlessSplitLayout();
+			layout.setDividerSize( station.getDividerSize() );
+			Map<Dockable, Rectangle> headless = layout.layout( tree, size, new HeadlessSplitLayout.MinimumSizes<Dockable>(){
+				public Dimension getMinimumSize( Dockable dockable ){
+					return station.getRoot().getLeaf( dockable ).getMinimumSize();
+				}
+			});
+			
+			if( headless.size() != station.getDockableCount() ){
+				throw new IllegalStateException( "expected " + station.getDockableCount() + " dockables, but found " + headless.size() );
+			}
+			for( int i = 0, n = station.getDockableCount(); i < n; i++ ){
+				Dockable dockable = station.getDockable( i );
+				SplitNode leaf = station.getRoot().getLeaf( dockable );
+				Rectangle expected = leaf.getBounds();
+				Rectangle actual = headless.get( dockable );
+				if( !expected.equals( actual )){
+					throw new IllegalStateException( "bounds of " + dockable.getTitleText() + " differ, station: " + expected + ", headless: " + actual );
+				}
+			}
+			return headless.size();
+		}
+		finally{
+			controller.kill();
+		}
+	}
+	
+	private static SplitDockTree<Dockable> createTree( SplitDockStation station, Random random ){
+		SplitDockTree<Dockable> tree = station.createTree();
+		List<SplitDockTree<Dockable>.Key> keys = new ArrayList<SplitDockTree<Dockable>.Key>();
+		for( int i = 0; i < DOCKABLES; i++ ){
+			if( i > 0 && random.nextInt( 4 ) == 0 ){
+				keys.add( tree.put( new Path[]{ new Path( "placeholder", String.valueOf( i ) ) }, null ) );
+			}
+			else{
+				keys.add( tree.put( new DefaultDockable( String.valueOf( i ) ) ) );
+			}
+		}
+		while( keys.size() > 1 ){
+			SplitDockTree<Dockable>.Key left = keys.remove( random.nextInt( keys.size() ) );
+			SplitDockTree<Dockable>.Key right = keys.remove( random.nextInt( keys.size() ) );
+			double divider = 0.05 + 0.9 * random.nextDouble();
+			if( random.nextBoolean() ){
+				keys.add( tree.horizontal( left, right, divider ) );
+			}
+			else{
+				keys.add( tree.vertical( left, right, divider ) );
+			}
+		}
+		tree.root( keys.get( 0 ) );
+		return tree;
+	}
+	
+	private static void layout( Component component ){
+		component.doLayout();
+		if( component instanceof Container ){
+			for( Component child : ((Container)component).getComponents() ){
+				layout( child );
+			}
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package bibliothek.test.mode;
+
+import java.awt.EventQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.DefaultSingleCDockable;
+import bibliothek.gui.dock.common.MissingCDockableStrategy;
+import bibliothek.gui.dock.common.mode.CLocationModeManager;
+import bibliothek.gui.dock.support.mode.ModeManager;
+
+/**
+ * Closes {@link Dockable}s whose locations are stored by a {@link ModeManager} that keeps only a few detached
+ * entries, and fails if the {@link Dockable}s of evicted entries cannot be garbage collected. The dockables are
+ * either {@link DefaultSingleCDockable}s removed from a {@link CControl}, or {@link DefaultDockable}s which are
+ * {@link ModeManager#reduceToEmpty(Dockable) reduced} directly.
+ */
+public class DetachedEntryEvictionTest {
+	private static final int DOCKABLES = 20;
+	private static final int LIMIT = 5;
+	
+	public static void main( String[] args ) throws InterruptedException, InvocationTargetException{
+		DockController.disableCoreWarning();
+		final WeakReference<?>[] removed = new WeakReference<?>[ DOCKABLES ];
+		final WeakReference<?>[] reduced = new WeakReference<?>[ DOCKABLES ];
+		final CControl[] control = new CControl[1];
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				control[0] = new CControl();
+				control[0].setMissingStrategy( MissingCDockableStrategy.STORE );
+				CLocationModeManager manager = control[0].getLocationManager();
+				manager.setDetachedEntryLimit( LIMIT );
+				
+				for( int i = 0; i < DOCKABLES; i++ ){
+					DefaultSingleCDockable dockable = new DefaultSingleCDockable( "removed" + i, "Removed " + i );
+					control[0].addDockable( dockable );
+					removed[i] = new WeakReference<Dockable>( dockable.intern() );
+					control[0].removeDockable( dockable );
+				}
+				
+				for( int i = 0; i < DOCKABLES; i++ ){
+					DefaultDockable dockable = new DefaultDockable( "Reduced " + i );
+					manager.add( "reduced" + i, dockable );
+					reduced[i] = new WeakReference<Dockable>( dockable );
+					manager.reduceToEmpty( dockable );
+				}
+			}
+		});
+		
+		int evicted = DOCKABLES - LIMIT;
+		for( int attempt = 0; attempt < 20 && count( removed, evicted ) + count( reduced, evicted ) > 0; attempt++ ){
+			System.gc();
+			Thread.sleep( 50 );
+		}
+		
+		check( "removed", removed, evicted );
+		check( "reduced", reduced, evicted );
+		
+		EventQueue.invokeAndWait( new Runnable(){
+			public void run(){
+				control[0].destroy();
+			}
+		});
+	}
+	
+	private static void check( String name, WeakReference<?>[] references, int evicted ){
+		int alive = count( references, evicted );
+		if( alive > 0 ){
+			throw new IllegalStateException( alive + " of " + evicted + " evicted " + name + " dockables are still reachable" );
+		}
+		System.out.println( "collected " + evicted + " evicted " + name + " dockables" );
+	}
+	
+	private static int count( WeakReference<?>[] references, int length ){
+		int alive = 0;
+		for( int i = 0; i < length; i++ ){
+			if( references[i].get() != null ){
+				alive++;
+			}
+		}
+		return alive;
+	}
+}
@@ -42,6 +42,7 @@ import bibliothek.extension.gui.dock.theme.eclipse.stack.tab.ArchGradientPainter
 import bibliothek.extension.gui.dock.theme.eclipse.stack.tab.BasicTabDockTitle;
 import bibliothek.extension.gui.dock.theme.eclipse.stack.tab.DockTitleTab;
 import bibliothek.extension.gui.dock.theme.eclipse.stack.tab.RectGradientPainter;
+import bibliothek.extension.gui.dock.theme.eclipse.stack.tab.TabImageCache;
 import bibliothek.extension.gui.dock.theme.eclipse.stack.tab.TabPainter;
 import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
@@ -123,6 +124,16 @@ public class EclipseTheme extends BasicTheme {
 		}
 	}, true );
 
+	/**
+	 * A cache for the images that are used by {@link ArchGradientPainter} and {@link RectGradientPainter} to
+	 * paint the background of their tabs. The default value is a new cache for each {@link DockController}.
+	 */
+	public static final PropertyKey<TabImageCache> TAB_IMAGE_CACHE = new PropertyKey<TabImageCache>( "dock.ui.EclipseTheme.TabImageCache", new DynamicPropertyFactory<TabImageCache>(){
+		public TabImageCache getDefault( PropertyKey<TabImageCache> key, DockProperties properties ){
+			return new TabImageCache();
+		}
+	}, true );
+
 	/**
 	 * The id of the {@link DockTitleVersion} that is intended to create
 	 * {@link DockTitle}s used as tabs by the {@link DockTitleTab}. Clients
@@ -44,6 +44,7 @@ import bibliothek.gui.dock.themes.color.TitleColor;
 import bibliothek.gui.dock.title.AbstractDockTitle;
 import bibliothek.gui.dock.title.DockTitleVersion;
 import bibliothek.gui.dock.util.Transparency;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 import bibliothek.util.Path;
 
 /**
@@ -146,6 +147,7 @@ public abstract class AbstractBubbleDockTitle extends AbstractDockTitle{
     	setTransparency( Transparency.DEFAULT );
     	
         animation = new BubbleColorAnimation();
+        animation.setComponent( this );
 
         updateAnimation();
 
@@ -161,8 +163,15 @@ public abstract class AbstractBubbleDockTitle extends AbstractDockTitle{
     @Override
     public void bind() {
         super.bind();
+        animation.setScheduler( AnimationScheduler.get( getDockable().getController() ) );
         animation.kick();
     }
+    
+    @Override
+    public void unbind() {
+        animation.kick();
+        super.unbind();
+    }
 
     @Override
     public void setActive( boolean active ) {
@@ -221,7 +230,7 @@ public abstract class AbstractBubbleDockTitle extends AbstractDockTitle{
      */
     protected void pulse(){
         setForeground( animation.getColor( ANIMATION_KEY_TEXT ));
-        repaint();
+        animation.repaint( this );
     }
 
     @Override
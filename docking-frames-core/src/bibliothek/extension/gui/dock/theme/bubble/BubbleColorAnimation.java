@@ -27,14 +27,14 @@
 package bibliothek.extension.gui.dock.theme.bubble;
 
 import java.awt.Color;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.Component;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.swing.Timer;
+import bibliothek.gui.dock.util.animation.Animation;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 
 /**
  * A <code>BubbleColorAnimation</code> has the ability to convert one or many color-pairs smoothly from source
@@ -42,7 +42,9 @@ import javax.swing.Timer;
  * Clients have to call {@link #putColor(String, Color)} to start an animation. They
  * can call {@link #getColor(String)} any time to get the current intermediate color. Adding a {@link #addTask(Runnable) task}
  * will allow a client to be informed whenever the colors change.<br>
- * The animation itself takes {@link #setDuration(int) duration} milliseconds.  
+ * The animation itself takes {@link #setDuration(int) duration} milliseconds. The steps of the animation
+ * are triggered by an {@link AnimationScheduler}, clients should {@link #setScheduler(AnimationScheduler) set}
+ * the scheduler of their {@link bibliothek.gui.DockController}.
  * @author Benjamin Sigg
  */
 public class BubbleColorAnimation {
@@ -51,8 +53,25 @@ public class BubbleColorAnimation {
     
     /** The color pairs that can be animated */
     private Map<String, Entry> colors = new HashMap<String, Entry>();
-    /** The timer that triggers steps of the animation */
-    private Timer timer;
+    /** The scheduler that triggers steps of the animation, <code>null</code> if the default scheduler is used */
+    private AnimationScheduler scheduler;
+    /** The component on which this animation is visible, can be <code>null</code> */
+    private Component component;
+    /** The link between {@link #scheduler} and this animation */
+    private Animation ticker = new Animation(){
+    	public boolean step( int delta ){
+    		pulse();
+    		return getScheduler().isRunning( this );
+    	}
+    	
+    	public void finish(){
+    		BubbleColorAnimation.this.finish();
+    	}
+    	
+    	public Component getComponent(){
+    		return component;
+    	}
+    };
     /** The current time in milliseconds*/
     private long time = 0;
     
@@ -63,12 +82,52 @@ public class BubbleColorAnimation {
      * Creates a new animation.
      */
     public BubbleColorAnimation(){
-    	timer = new Timer( 25, new ActionListener(){
-            public void actionPerformed( ActionEvent e ) {
-                pulse();
-            }
-        });
-    	timer.setCoalesce( true );
+    	// nothing to do
+    }
+    
+    /**
+     * Sets the scheduler which triggers the steps of this animation. A running animation
+     * is moved to the new scheduler.
+     * @param scheduler the new scheduler, can be <code>null</code> in which case the
+     * {@link AnimationScheduler#getDefault() default} scheduler is used
+     */
+    public void setScheduler( AnimationScheduler scheduler ){
+    	AnimationScheduler old = getScheduler();
+    	this.scheduler = scheduler;
+    	AnimationScheduler current = getScheduler();
+    	if( old != current && old.isRunning( ticker )){
+    		old.stop( ticker );
+    		current.start( ticker );
+    	}
+    }
+    
+    /**
+     * Gets the scheduler which triggers the steps of this animation.
+     * @return the scheduler, never <code>null</code>
+     */
+    public AnimationScheduler getScheduler(){
+    	if( scheduler == null ){
+    		return AnimationScheduler.getDefault();
+    	}
+    	return scheduler;
+    }
+    
+    /**
+     * Sets the component on which this animation is visible. The animation is paused
+     * while <code>component</code> is not showing.
+     * @param component the component, can be <code>null</code>
+     */
+    public void setComponent( Component component ){
+		this.component = component;
+	}
+    
+    /**
+     * Repaints <code>component</code>. Calling this method from a {@link #addTask(Runnable) task}
+     * allows the {@link #getScheduler() scheduler} to collect all repaints of one frame.
+     * @param component the component to repaint
+     */
+    public void repaint( Component component ){
+    	getScheduler().repaint( component );
     }
     
     /**
@@ -162,30 +221,38 @@ public class BubbleColorAnimation {
      *
      */
     public void stop(){
-        timer.stop();
+        getScheduler().stop( ticker );
     }
     
     /**
      * Immediately puts all colors to their final state and stops the animation.
      */
     public void kick(){
-        if( timer.isRunning() ){
+        if( getScheduler().isRunning( ticker ) ){
             stop();
-            for( Entry entry : colors.values() )
-                entry.kick();
-            
-            for( Runnable task : tasks )
-                task.run();
+            finish();
         }
     }
     
+    /**
+     * Puts all colors to their final state, does not stop the animation.
+     */
+    private void finish(){
+        for( Entry entry : colors.values() )
+            entry.kick();
+        
+        for( Runnable task : tasks )
+            task.run();
+    }
+    
     /**
      * Starts the animation if it is not yet running.
      */
     protected void start(){
-        if( !timer.isRunning() ){
+        AnimationScheduler scheduler = getScheduler();
+        if( !scheduler.isRunning( ticker ) ){
             time = System.currentTimeMillis();
-            timer.start();
+            scheduler.start( ticker );
         }
     }
     
@@ -202,7 +269,7 @@ public class BubbleColorAnimation {
             run = entry.step( delta ) | run;
         
         if( !run )
-            timer.stop();
+            stop();
         
         for( Runnable task : tasks )
             task.run();
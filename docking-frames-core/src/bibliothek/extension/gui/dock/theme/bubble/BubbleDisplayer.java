@@ -52,6 +52,7 @@ import bibliothek.gui.dock.themes.basic.TabDecorator;
 import bibliothek.gui.dock.themes.color.DisplayerColor;
 import bibliothek.gui.dock.title.DockTitle;
 import bibliothek.gui.dock.util.PropertyValue;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 import bibliothek.gui.dock.util.color.ColorCodes;
 
 /**
@@ -142,6 +143,7 @@ public class BubbleDisplayer extends BasicDockableDisplayer {
         this.dockable.setOpaque( false );
         openBorder = new DisplayerBorder( this.dockable, "bubble" );
         animation = new BubbleColorAnimation();
+        animation.setComponent( this );
         animation.addTask( new Runnable(){
             public void run() {
                 pulse();
@@ -214,7 +216,7 @@ public class BubbleDisplayer extends BasicDockableDisplayer {
      * be repainted.
      */
     protected void pulse(){
-        dockable.repaint();
+        animation.repaint( dockable );
     }
     
     @Override
@@ -243,6 +245,7 @@ public class BubbleDisplayer extends BasicDockableDisplayer {
         borderLowInactive.connect( controller );
         borderLowInactiveMouse.connect( controller );
         borderLowDisabled.connect( controller );
+        animation.setScheduler( AnimationScheduler.get( controller ) );
         animation.kick();
     }
     
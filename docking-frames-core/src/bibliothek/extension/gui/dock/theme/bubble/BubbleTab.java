@@ -72,6 +72,7 @@ import bibliothek.gui.dock.themes.font.TabFont;
 import bibliothek.gui.dock.util.BackgroundAlgorithm;
 import bibliothek.gui.dock.util.ConfiguredBackgroundPanel;
 import bibliothek.gui.dock.util.Transparency;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 import bibliothek.gui.dock.util.color.ColorCodes;
 import bibliothek.gui.dock.util.font.DockFont;
 import bibliothek.gui.dock.util.font.FontModifier;
@@ -222,6 +223,7 @@ public class BubbleTab extends ConfiguredBackgroundPanel implements CombinedTab,
 		setBackground( background );
 
 		animation = new BubbleColorAnimation();
+		animation.setComponent( this );
 		animation.addTask( this );
 
 		topMouse     = new BubbleTabColor( STATE_MOUSE, "stack.tab.background.top.mouse", "top", animation, dockable, Color.RED.brighter() );
@@ -417,6 +419,7 @@ public class BubbleTab extends ConfiguredBackgroundPanel implements CombinedTab,
 		
 
 		checkAnimation();
+		animation.setScheduler( AnimationScheduler.get( controller ) );
 		animation.kick();
 	}
 
@@ -442,7 +445,7 @@ public class BubbleTab extends ConfiguredBackgroundPanel implements CombinedTab,
 
 	public void run() {
 		label.setForeground( animation.getColor( "text" ));
-		repaint();
+		animation.repaint( this );
 	}
 
 	public Dimension getPreferredSize( Tab[] tabs ){
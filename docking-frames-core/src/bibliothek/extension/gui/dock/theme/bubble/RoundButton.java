@@ -50,6 +50,7 @@ import bibliothek.gui.dock.util.AbstractPaintableComponent;
 import bibliothek.gui.dock.util.BackgroundComponent;
 import bibliothek.gui.dock.util.BackgroundPaint;
 import bibliothek.gui.dock.util.Transparency;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 import bibliothek.gui.dock.util.color.AbstractDockColor;
 import bibliothek.gui.dock.util.color.ColorCodes;
 import bibliothek.gui.dock.util.color.DockColor;
@@ -119,6 +120,7 @@ public class RoundButton extends JComponent implements RoundButtonConnectable{
 				content.setLabelForeground( animation.getColor( "text" ) );
 			}
 		};
+		animation.setComponent( this );
 		
 		colors = createColors( dockable, action );
 		
@@ -145,7 +147,7 @@ public class RoundButton extends JComponent implements RoundButtonConnectable{
 
 		animation.addTask(new Runnable() {
 			public void run(){
-				repaint();	
+				animation.repaint( RoundButton.this );	
 			}
 		});
 		
@@ -244,6 +246,7 @@ public class RoundButton extends JComponent implements RoundButtonConnectable{
 	    for( AbstractDockColor color : colors )
 	        color.connect( controller );
 	    
+	    animation.setScheduler( AnimationScheduler.get( controller ) );
 	    animation.kick();
 	}
 	
@@ -50,6 +50,7 @@ import bibliothek.gui.dock.util.AbstractPaintableComponent;
 import bibliothek.gui.dock.util.BackgroundComponent;
 import bibliothek.gui.dock.util.BackgroundPaint;
 import bibliothek.gui.dock.util.Transparency;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 import bibliothek.gui.dock.util.color.ColorCodes;
 
 /**
@@ -131,6 +132,7 @@ public class RoundDropDownButton extends JComponent implements RoundButtonConnec
 				content.setLabelForeground( animation.getColor( "text" ) );
 			}
 		};
+		animation.setComponent( this );
         
         colors = new RoundActionColor[]{
                 new RoundActionColor( "action.dropdown", dockable, action, Color.WHITE ),
@@ -172,7 +174,7 @@ public class RoundDropDownButton extends JComponent implements RoundButtonConnec
         
         animation.addTask( new Runnable(){
             public void run() {
-                repaint();
+                animation.repaint( RoundDropDownButton.this );
             }
         });
         
@@ -224,6 +226,7 @@ public class RoundDropDownButton extends JComponent implements RoundButtonConnec
             color.connect( controller );
         }
         
+        animation.setScheduler( AnimationScheduler.get( controller ) );
         animation.kick();
     }
     
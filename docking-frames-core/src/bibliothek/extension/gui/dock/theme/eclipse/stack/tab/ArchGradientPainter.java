@@ -36,6 +36,7 @@ import java.awt.Polygon;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.Window;
+import java.awt.image.BufferedImage;
 
 import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
@@ -337,16 +338,24 @@ public class ArchGradientPainter extends BaseTabComponent {
 			switch( getOrientation() ){
 				case TOP_OF_DOCKABLE:
 				case LEFT_OF_DOCKABLE:
-					paintSelected( g2d, color1, color2 );
+					paintSelectedCached( g2d, color1, color2 );
 					break;
 				case BOTTOM_OF_DOCKABLE:
 				case RIGHT_OF_DOCKABLE:
-					paintSelected( g2d, color2, color1 );
+					paintSelectedCached( g2d, color2, color1 );
 					break;
 			}
 		}
 		else{
 			if( getTransparency() != Transparency.TRANSPARENT ){
+				TabImageCache cache = getTabImageCache();
+				if( cache != null && !color1.equals( color2 ) && h > 1 ){
+					// the gradient is the same along the x-axis, a stretched strip is enough
+					BufferedImage strip = cache.getGradientStrip( color1, color2, h, true );
+					g2d.drawImage( strip, x, y, x+w, y+h-1, 0, 0, 1, h-1, null );
+					return;
+				}
+				
 				GradientPaint gradient = color1.equals( color2 ) ? null : new GradientPaint( x, y, color1, x, y + h, color2 );
 				Paint old = g2d.getPaint();
 				if( gradient != null )
@@ -421,6 +430,41 @@ public class ArchGradientPainter extends BaseTabComponent {
 			return true;
 	}
 	
+	/**
+	 * Paints the background of a selected tab. The background is painted only once into an image,
+	 * which is stored in the {@link #getTabImageCache() cache} and reused as long as the properties of this
+	 * tab do not change.
+	 * @param g the graphics context to use
+	 * @param top the color at the top
+	 * @param bottom the color at the bottom
+	 */
+	private void paintSelectedCached( Graphics g, Color top, Color bottom ){
+		int w = getWidth();
+		int h = getHeight();
+		TabImageCache cache = getTabImageCache();
+		
+		if( cache == null || w <= 0 || h <= 0 ){
+			paintSelected( g, top, bottom );
+			return;
+		}
+		
+		TabPlacement orientation = getOrientation();
+		boolean nearBorder = getTabIndex() == 0 && (orientation.isHorizontal() ? getX() <= 1 : getY() <= 1);
+		
+		TabImageCache.Key key = new TabImageCache.Key( getClass(), w, h, orientation, top, bottom, 
+				colorStackBorder.value(), getBackground(), getTransparency(), nearBorder, labelMin() );
+		
+		BufferedImage image = cache.get( key );
+		if( image == null ){
+			image = new BufferedImage( w, h, BufferedImage.TYPE_INT_ARGB );
+			Graphics2D imageGraphics = image.createGraphics();
+			paintSelected( imageGraphics, top, bottom );
+			imageGraphics.dispose();
+			cache.put( key, image );
+		}
+		g.drawImage( image, 0, 0, null );
+	}
+	
 	/**
 	 * Paints the background of a selected tab.
 	 * @param g the graphics context to use
@@ -651,16 +695,7 @@ public class ArchGradientPainter extends BaseTabComponent {
 	 * @return the new polygon
 	 */
 	private Polygon rightSide( int x, int y, int w, int h ){
-		int labelMin = 6;
-		
-		if( getIcon() != null ){
-			if( getOrientation().isHorizontal() ){
-				labelMin += getIcon().getIconWidth() + getLabel().getIconOffset();
-			}
-			else{
-				labelMin += getIcon().getIconHeight() + getLabel().getIconOffset();
-			}
-		}
+		int labelMin = labelMin();
 		
 		if( getOrientation().isVertical() ){
 			int t = x;
@@ -677,6 +712,25 @@ public class ArchGradientPainter extends BaseTabComponent {
 		return polygon;
 	}
 	
+	/**
+	 * Gets the minimal space the label needs at the beginning of the tab.
+	 * @return the minimal space, depending on the size of the icon
+	 */
+	private int labelMin(){
+		int labelMin = 6;
+		
+		if( getIcon() != null ){
+			if( getOrientation().isHorizontal() ){
+				labelMin += getIcon().getIconWidth() + getLabel().getIconOffset();
+			}
+			else{
+				labelMin += getIcon().getIconHeight() + getLabel().getIconOffset();
+			}
+		}
+		
+		return labelMin;
+	}
+	
 	private Polygon rightSideTop( int x, int y, int w, int h, int labelMin ){
 		Arch arch = arch( Math.max( 1, Math.min( w-labelMin, h*34/22 ) ), h );
 		
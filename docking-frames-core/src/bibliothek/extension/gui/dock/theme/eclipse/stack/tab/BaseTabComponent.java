@@ -39,6 +39,7 @@ import javax.swing.Icon;
 import javax.swing.SwingUtilities;
 import javax.swing.event.MouseInputListener;
 
+import bibliothek.extension.gui.dock.theme.EclipseTheme;
 import bibliothek.extension.gui.dock.theme.eclipse.EclipseDockActionSource;
 import bibliothek.extension.gui.dock.theme.eclipse.EclipseTabStateInfo;
 import bibliothek.extension.gui.dock.theme.eclipse.stack.EclipseTab;
@@ -517,6 +518,20 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
     	}
     }
     
+    /**
+     * Gets the cache that stores images of tab backgrounds, the cache is shared by all
+     * tabs of the {@link DockController}.
+     * @return the cache or <code>null</code> if this tab is not connected to a controller
+     * @see EclipseTheme#TAB_IMAGE_CACHE
+     */
+    protected TabImageCache getTabImageCache(){
+    	DockController controller = getController();
+    	if( controller == null ){
+    		return null;
+    	}
+    	return controller.getProperties().get( EclipseTheme.TAB_IMAGE_CACHE );
+    }
+    
     /**
      * Gets the parent of this component.
      * @return the owner
@@ -33,6 +33,7 @@ import java.awt.Graphics2D;
 import java.awt.Insets;
 import java.awt.Paint;
 import java.awt.Window;
+import java.awt.image.BufferedImage;
 
 import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
@@ -285,6 +286,20 @@ public class RectGradientPainter extends BaseTabComponent {
         }
         
 		int tabIndex = getTabIndex();
+		TabImageCache cache = getTabImageCache();
+		
+		if( cache != null && width > 0 && height > 0 ){
+			if( isSelected ){
+				paintSelectedCached( g2d, cache, tabIndex, lineColor, color1, color2, gradient );
+				return;
+			}
+			else if( gradient != null ){
+				if( getTransparency() != Transparency.TRANSPARENT ){
+					paintUnselectedCached( g2d, cache, color1, color2 );
+				}
+				return;
+			}
+		}
 		
 		g2d.setColor( lineColor );
 		Paint old = g2d.getPaint();
@@ -341,6 +356,84 @@ public class RectGradientPainter extends BaseTabComponent {
 		}
 	}
 	
+	/**
+	 * Paints the background of a tab that is not selected by stretching a gradient strip
+	 * from <code>cache</code>.
+	 * @param g the graphics context to use
+	 * @param cache the cache providing the strip
+	 * @param color1 the color at the top or left side
+	 * @param color2 the color at the bottom or right side
+	 */
+	private void paintUnselectedCached( Graphics g, TabImageCache cache, Color color1, Color color2 ){
+		int width = getWidth();
+		int height = getHeight();
+		TabPlacement orientation = getOrientation();
+		
+		int x = 0, y = 0, w = width, h = height;
+		switch( orientation ){
+			case TOP_OF_DOCKABLE:
+				h = height-1;
+				break;
+			case BOTTOM_OF_DOCKABLE:
+				y = 1;
+				h = height-1;
+				break;
+			case LEFT_OF_DOCKABLE:
+				w = width-1;
+				break;
+			case RIGHT_OF_DOCKABLE:
+				x = 1;
+				w = width-1;
+				break;
+		}
+		
+		if( orientation.isHorizontal() ){
+			BufferedImage strip = cache.getGradientStrip( color1, color2, height, true );
+			g.drawImage( strip, x, y, x+w, y+h, 0, y, 1, y+h, null );
+		}
+		else{
+			BufferedImage strip = cache.getGradientStrip( color1, color2, width, false );
+			g.drawImage( strip, x, y, x+w, y+h, x, 0, x+w, 1, null );
+		}
+	}
+	
+	/**
+	 * Paints the background of a selected tab. The background is painted only once into an image,
+	 * which is stored in <code>cache</code> and reused as long as the properties of this tab do not change.
+	 * @param g the graphics context to use
+	 * @param cache the cache storing the image
+	 * @param tabIndex the index of this tab
+	 * @param lineColor the color of the border
+	 * @param color1 the color at the top or left side
+	 * @param color2 the color at the bottom or right side
+	 * @param gradient the gradient from <code>color1</code> to <code>color2</code>, can be <code>null</code>
+	 */
+	private void paintSelectedCached( Graphics g, TabImageCache cache, int tabIndex, Color lineColor, Color color1, Color color2, GradientPaint gradient ){
+		int width = getWidth();
+		int height = getHeight();
+		TabPlacement orientation = getOrientation();
+		boolean leftBorder = tabIndex != 0 || (orientation.isHorizontal() ? getX() : getY()) > 1;
+		
+		TabImageCache.Key key = new TabImageCache.Key( getClass(), width, height, orientation, 
+				lineColor, color1, color2, getTransparency(), leftBorder );
+		
+		BufferedImage image = cache.get( key );
+		if( image == null ){
+			image = new BufferedImage( width, height, BufferedImage.TYPE_INT_ARGB );
+			Graphics2D imageGraphics = image.createGraphics();
+			imageGraphics.setColor( lineColor );
+			Paint old = imageGraphics.getPaint();
+			if( gradient != null )
+				imageGraphics.setPaint( gradient );
+			else
+				imageGraphics.setPaint( color1 );
+			paintSelected( imageGraphics, tabIndex, old );
+			imageGraphics.dispose();
+			cache.put( key, image );
+		}
+		g.drawImage( image, 0, 0, null );
+	}
+	
 	private void paintSelected( Graphics2D g2d, int tabIndex, Paint normalBackground ){
 		TabPlacement orientation = getOrientation();
 		int width = getWidth();
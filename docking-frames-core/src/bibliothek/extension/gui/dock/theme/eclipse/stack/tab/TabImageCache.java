@@ -0,0 +1,217 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.extension.gui.dock.theme.eclipse.stack.tab;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import bibliothek.extension.gui.dock.theme.EclipseTheme;
+
+/**
+ * A cache for images that are used by {@link TabComponent}s to paint their background. Painting
+ * gradients and polygons is expensive, and tabs are repainted every time the mouse or the focus moves. 
+ * Images are stored with a {@link Key} describing all the properties that were used to paint them. If the cache
+ * grows beyond its {@link #setCapacity(int) capacity}, then the least recently used images are removed.<br>
+ * One cache is shared by all tabs of a {@link bibliothek.gui.DockController}, see {@link EclipseTheme#TAB_IMAGE_CACHE}.
+ * The cache is only to be used from the <code>EventDispatcherThread</code>.
+ * @author Benjamin Sigg
+ */
+public class TabImageCache {
+	/** the images, ordered by their last access */
+	private Map<Key, BufferedImage> images = new LinkedHashMap<Key, BufferedImage>( 16, 0.75f, true ){
+		@Override
+		protected boolean removeEldestEntry( Map.Entry<Key, BufferedImage> eldest ){
+			return size() > capacity;
+		}
+	};
+	
+	/** the maximum number of images stored in this cache */
+	private int capacity = 64;
+	
+	/** how many times an image was found in this cache */
+	private int hits = 0;
+	
+	/** how many times an image was not found in this cache */
+	private int misses = 0;
+	
+	/**
+	 * Sets the maximum number of images this cache can store.
+	 * @param capacity the maximum number of images, at least 0
+	 */
+	public void setCapacity( int capacity ){
+		if( capacity < 0 ){
+			throw new IllegalArgumentException( "capacity must not be negative" );
+		}
+		this.capacity = capacity;
+		Iterator<Key> keys = images.keySet().iterator();
+		while( images.size() > capacity ){
+			keys.next();
+			keys.remove();
+		}
+	}
+	
+	/**
+	 * Gets the maximum number of images this cache can store.
+	 * @return the maximum number of images
+	 */
+	public int getCapacity(){
+		return capacity;
+	}
+	
+	/**
+	 * Searches an image that was painted with the properties described by <code>key</code>.
+	 * @param key the description of the image
+	 * @return the image or <code>null</code> if not found. The image must not be modified.
+	 */
+	public BufferedImage get( Key key ){
+		BufferedImage image = images.get( key );
+		if( image == null ){
+			misses++;
+		}
+		else{
+			hits++;
+		}
+		return image;
+	}
+	
+	/**
+	 * Stores an image in this cache.
+	 * @param key the description of the image
+	 * @param image the new image, must not be modified after calling this method
+	 */
+	public void put( Key key, BufferedImage image ){
+		if( capacity > 0 ){
+			images.put( key, image );
+		}
+	}
+	
+	/**
+	 * Gets an image of size <code>length</code> x 1 or 1 x <code>length</code> that is filled
+	 * with a gradient from <code>from</code> to <code>to</code>. Since all the pixels along the other
+	 * axis would have the same color, such a strip can be stretched to fill a rectangle of any size.
+	 * @param from the color at the beginning of the strip
+	 * @param to the color at the end of the strip
+	 * @param length the length of the strip, at least 1
+	 * @param vertical if <code>true</code> the strip goes from top to bottom, otherwise from left to right
+	 * @return the strip, either cached or newly created, must not be modified
+	 */
+	public BufferedImage getGradientStrip( Color from, Color to, int length, boolean vertical ){
+		Key key = new Key( "strip", from, to, length, vertical );
+		BufferedImage image = get( key );
+		if( image == null ){
+			int width = vertical ? 1 : length;
+			int height = vertical ? length : 1;
+			image = new BufferedImage( width, height, BufferedImage.TYPE_INT_ARGB );
+			Graphics2D g = image.createGraphics();
+			if( vertical ){
+				g.setPaint( new GradientPaint( 0, 0, from, 0, length, to ) );
+			}
+			else{
+				g.setPaint( new GradientPaint( 0, 0, from, length, 0, to ) );
+			}
+			g.fillRect( 0, 0, width, height );
+			g.dispose();
+			put( key, image );
+		}
+		return image;
+	}
+	
+	/**
+	 * Removes all images from this cache.
+	 */
+	public void clear(){
+		images.clear();
+	}
+	
+	/**
+	 * Gets the number of images currently stored.
+	 * @return the number of images
+	 */
+	public int size(){
+		return images.size();
+	}
+	
+	/**
+	 * Gets the number of times {@link #get(Key)} found an image.
+	 * @return the number of hits
+	 */
+	public int getHitCount(){
+		return hits;
+	}
+	
+	/**
+	 * Gets the number of times {@link #get(Key)} did not find an image.
+	 * @return the number of misses
+	 */
+	public int getMissCount(){
+		return misses;
+	}
+	
+	/**
+	 * Describes how an image was painted. A key consists of a list of properties, e.g.
+	 * the size, the colors or the orientation of a tab. Two keys are equal if all their
+	 * properties are equal.
+	 * @author Benjamin Sigg
+	 */
+	public static final class Key{
+		private final Object[] properties;
+		private final int hash;
+		
+		/**
+		 * Creates a new key.
+		 * @param properties all the properties that were used to paint the image. The first 
+		 * property should be unique for the painting algorithm, e.g. the class of the tab. Properties
+		 * must be immutable.
+		 */
+		public Key( Object... properties ){
+			this.properties = properties;
+			this.hash = Arrays.hashCode( properties );
+		}
+		
+		@Override
+		public int hashCode(){
+			return hash;
+		}
+		
+		@Override
+		public boolean equals( Object obj ){
+			if( obj == this ){
+				return true;
+			}
+			if( !(obj instanceof Key) ){
+				return false;
+			}
+			Key other = (Key)obj;
+			return hash == other.hash && Arrays.equals( properties, other.properties );
+		}
+	}
+}
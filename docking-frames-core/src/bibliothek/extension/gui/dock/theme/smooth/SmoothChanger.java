@@ -26,17 +26,21 @@
 
 package bibliothek.extension.gui.dock.theme.smooth;
 
+import java.awt.Component;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
-import javax.swing.Timer;
+import bibliothek.gui.dock.util.animation.Animation;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 
 /**
  * A class which counts milliseconds from 0 to {@link #setDuration(int) duration}
  * or in the other direction. This class contains an array of states: one state is
  * counted upwards (the {@link #destination()}), all the other states are counted
  * downwards. Clients can use this class to smoothly switch between different states.<br>
- * This class works on the EDT, no new threads are created.
+ * This class works on the EDT, no new threads are created. The pulses are triggered
+ * by an {@link AnimationScheduler}, clients should {@link #setScheduler(AnimationScheduler) set} the
+ * scheduler of their {@link bibliothek.gui.DockController}.
  * @author Benjamin Sigg
  *
  */
@@ -50,8 +54,27 @@ public abstract class SmoothChanger implements ActionListener{
     /** the duration of the change */
     private int duration;
     
-    /** a timer which pulses this changer */
-    private Timer timer;
+    /** the scheduler which pulses this changer, <code>null</code> if the default scheduler is used */
+    private AnimationScheduler scheduler;
+    
+    /** the component on which the transition is visible */
+    private Component component;
+    
+    /** the link between {@link #scheduler} and this changer */
+    private Animation ticker = new Animation(){
+    	public boolean step( int delta ){
+    		last = System.currentTimeMillis();
+    		return pulse( delta );
+    	}
+    	
+    	public void finish(){
+    		SmoothChanger.this.finish();
+    	}
+    	
+    	public Component getComponent(){
+    		return component;
+    	}
+    };
     
     /**
      * Constructor, sets {@link #setDuration(int) duration} to 250 milliseconds.
@@ -69,7 +92,6 @@ public abstract class SmoothChanger implements ActionListener{
      */
     public SmoothChanger( int duration, int states ){
         this.duration = duration;
-        timer = new Timer( 15, this );
         current = new int[ states ];
     }
     
@@ -106,12 +128,80 @@ public abstract class SmoothChanger implements ActionListener{
         repaint( current );
     }
     
+    /**
+     * Sets the scheduler which pulses this changer. A running transition is moved
+     * to the new scheduler.
+     * @param scheduler the new scheduler, can be <code>null</code> in which case the
+     * {@link AnimationScheduler#getDefault() default} scheduler is used
+     */
+    public void setScheduler( AnimationScheduler scheduler ){
+    	AnimationScheduler old = getScheduler();
+    	this.scheduler = scheduler;
+    	AnimationScheduler current = getScheduler();
+    	if( old != current && old.isRunning( ticker )){
+    		old.stop( ticker );
+    		current.start( ticker );
+    	}
+    }
+    
+    /**
+     * Gets the scheduler which pulses this changer.
+     * @return the scheduler, never <code>null</code>
+     */
+    public AnimationScheduler getScheduler(){
+    	if( scheduler == null ){
+    		return AnimationScheduler.getDefault();
+    	}
+    	return scheduler;
+    }
+    
+    /**
+     * Sets the component on which the transition is visible. The transition is paused
+     * while <code>component</code> is not showing.
+     * @param component the component, can be <code>null</code>
+     */
+    public void setComponent( Component component ){
+		this.component = component;
+	}
+    
+    /**
+     * Repaints <code>component</code>. Calling this method from {@link #repaint(int[])}
+     * allows the {@link #getScheduler() scheduler} to collect all repaints of one frame.
+     * @param component the component to repaint
+     */
+    public void repaint( Component component ){
+    	getScheduler().repaint( component );
+    }
+    
     /**
      * Tells whether this changer is currently active or not.
      * @return <code>true</code> if active, <code>false</code> if not
      */
     public boolean isRunning(){
-    	return timer.isRunning();
+    	return getScheduler().isRunning( ticker );
+    }
+    
+    /**
+     * Stops the current transition immediately and puts this changer into the state
+     * it would have at the end of the transition.
+     */
+    public void stop(){
+    	if( isRunning() ){
+    		getScheduler().stop( ticker );
+    		finish();
+    	}
+    }
+    
+    /**
+     * Puts all counters to the values they have at the end of a transition towards
+     * {@link #destination()}.
+     */
+    private void finish(){
+    	int destination = destination();
+    	for( int i = 0; i < current.length; i++ ){
+    		current[i] = i == destination ? duration : 0;
+    	}
+    	repaint( current );
     }
     
     /**
@@ -127,7 +217,7 @@ public abstract class SmoothChanger implements ActionListener{
      * Starts a transition
      */
     public void trigger(){
-        timer.start();
+        getScheduler().start( ticker );
         last = System.currentTimeMillis();
     }
     
@@ -136,6 +226,17 @@ public abstract class SmoothChanger implements ActionListener{
         int delta = (int)( time - last );
         last = time;
         
+        if( !pulse( delta ) ){
+        	getScheduler().stop( ticker );
+        }
+    }
+    
+    /**
+     * Advances the transition by <code>delta</code> milliseconds.
+     * @param delta the time that passed since the last pulse
+     * @return <code>true</code> if the transition is not yet finished
+     */
+    private boolean pulse( int delta ){
         int destination = destination();
         boolean incomplete = false;
         
@@ -150,10 +251,7 @@ public abstract class SmoothChanger implements ActionListener{
         	}
         }
         
-        if( !incomplete ){
-        	timer.stop();
-        }
-                
         repaint( current );
+        return incomplete;
     }
 }
\ No newline at end of file
@@ -33,6 +33,7 @@ import bibliothek.gui.dock.FlapDockStation;
 import bibliothek.gui.dock.themes.basic.BasicButtonDockTitle;
 import bibliothek.gui.dock.title.DockTitleEvent;
 import bibliothek.gui.dock.title.DockTitleVersion;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 
 /**
  * A title intended for the {@link FlapDockStation}, this title changes its color
@@ -73,6 +74,19 @@ public class SmoothDefaultButtonTitle extends BasicButtonDockTitle {
 	 */
 	public SmoothDefaultButtonTitle( Dockable dockable, DockTitleVersion origin ){
 		super( dockable, origin );
+		changer.setComponent( this );
+	}
+	
+	@Override
+	public void bind(){
+		changer.setScheduler( AnimationScheduler.get( getDockable().getController() ) );
+		super.bind();
+	}
+	
+	@Override
+	public void unbind(){
+		changer.stop();
+		super.unbind();
 	}
 	
 
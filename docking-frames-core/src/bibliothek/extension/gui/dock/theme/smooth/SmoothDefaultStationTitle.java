@@ -31,6 +31,7 @@ import java.awt.Color;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.themes.basic.BasicStationTitle;
 import bibliothek.gui.dock.title.DockTitleVersion;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 import bibliothek.util.Colors;
 
 /**
@@ -92,6 +93,19 @@ public class SmoothDefaultStationTitle extends BasicStationTitle{
      */
     public SmoothDefaultStationTitle( Dockable dockable, DockTitleVersion origin ) {
         super(dockable, origin);
+        changer.setComponent( this );
+    }
+
+    @Override
+    public void bind(){
+    	changer.setScheduler( AnimationScheduler.get( getDockable().getController() ) );
+    	super.bind();
+    }
+    
+    @Override
+    public void unbind(){
+    	changer.stop();
+    	super.unbind();
     }
     
     /**
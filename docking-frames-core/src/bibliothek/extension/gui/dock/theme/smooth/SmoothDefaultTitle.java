@@ -36,6 +36,7 @@ import javax.swing.JComponent;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.themes.basic.BasicDockTitle;
 import bibliothek.gui.dock.title.DockTitleVersion;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 import bibliothek.util.Colors;
 
 /**
@@ -69,7 +70,7 @@ public class SmoothDefaultTitle extends BasicDockTitle{
         protected void repaint( int[] current ) {
             SmoothDefaultTitle.this.current = current;
             updateForegroundColor();
-            SmoothDefaultTitle.this.repaint();
+            repaint( SmoothDefaultTitle.this );
         }
     };
     
@@ -80,6 +81,19 @@ public class SmoothDefaultTitle extends BasicDockTitle{
      */
     public SmoothDefaultTitle( Dockable dockable, DockTitleVersion origin ) {
         super(dockable, origin);
+        changer.setComponent( this );
+    }
+
+    @Override
+    public void bind(){
+    	changer.setScheduler( AnimationScheduler.get( getDockable().getController() ) );
+    	super.bind();
+    }
+    
+    @Override
+    public void unbind(){
+    	changer.stop();
+    	super.unbind();
     }
     
     /**
@@ -66,6 +66,8 @@ import bibliothek.gui.dock.component.DockComponentRoot;
 import bibliothek.gui.dock.control.ComponentHierarchyObserver;
 import bibliothek.gui.dock.control.ControllerSetupCollection;
 import bibliothek.gui.dock.control.DefaultDockControllerFactory;
+import bibliothek.gui.dock.control.DockBatch;
+import bibliothek.gui.dock.control.DockBatchManager;
 import bibliothek.gui.dock.control.DockControllerFactory;
 import bibliothek.gui.dock.control.DockRegister;
 import bibliothek.gui.dock.control.DockRelocator;
@@ -94,6 +96,8 @@ import bibliothek.gui.dock.event.DockableFocusListener;
 import bibliothek.gui.dock.event.DockableListener;
 import bibliothek.gui.dock.event.DockableSelectionEvent;
 import bibliothek.gui.dock.event.DockableSelectionListener;
+import bibliothek.gui.dock.station.support.DockComponentPool;
+import bibliothek.gui.dock.station.support.DockableShowingQueue;
 import bibliothek.gui.dock.themes.ThemeManager;
 import bibliothek.gui.dock.title.ActivityDockTitleEvent;
 import bibliothek.gui.dock.title.DockTitle;
@@ -110,6 +114,7 @@ import bibliothek.gui.dock.util.UIScheme;
 import bibliothek.gui.dock.util.WindowProvider;
 import bibliothek.gui.dock.util.WindowProviderListener;
 import bibliothek.gui.dock.util.WindowProviderWrapper;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 import bibliothek.gui.dock.util.color.ColorManager;
 import bibliothek.gui.dock.util.extension.ExtensionManager;
 import bibliothek.gui.dock.util.font.FontManager;
@@ -120,6 +125,7 @@ import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
 import bibliothek.gui.dock.util.text.DefaultTextScheme;
 import bibliothek.gui.dock.util.text.TextBridge;
 import bibliothek.gui.dock.util.text.TextValue;
+import bibliothek.gui.dock.util.trace.DockTracer;
 import bibliothek.util.Todo;
 import bibliothek.util.Todo.Compatibility;
 import bibliothek.util.Todo.Version;
@@ -208,6 +214,16 @@ public class DockController {
     private FontManager fonts;
     /** extensions to this controller */
     private ExtensionManager extensions;
+    /** runs the animations of all the components */
+    private AnimationScheduler animations;
+    /** merges the visibility checks of all the stations */
+    private DockableShowingQueue showingQueue;
+    /** titles and displayers that can be reused */
+    private DockComponentPool componentPool;
+    /** collects events while many changes are made to the tree */
+    private DockBatchManager batches;
+    /** measures the duration of expensive operations */
+    private DockTracer tracer = new DockTracer();
     
     /** A list of sources for a {@link DockActionSource} */
     private List<ActionOffer> actionOffers = new ArrayList<ActionOffer>();
@@ -329,6 +345,10 @@ public class DockController {
         dockTitles = new DockTitleManager( this );
         texts = new TextManager( this );
         texts.setScheme( Priority.DEFAULT, createDefaultTextScheme() );
+        animations = new AnimationScheduler();
+        showingQueue = new DockableShowingQueue();
+        componentPool = new DockComponentPool( this );
+        batches = new DockBatchManager( this );
         
         theme.init();
         
@@ -454,6 +474,10 @@ public class DockController {
 	    theme.kill();
 	    extensions.kill();
 	    mouseDispatcher.kill();
+	    animations.kill();
+	    showingQueue.kill();
+	    componentPool.clear();
+	    tracer.kill();
     }
     
     /**
@@ -635,6 +659,27 @@ public class DockController {
     	return getRegister().isStalled();
     }
     
+    /**
+     * Opens a new {@link DockBatch}. While the batch is open, many {@link Dockable}s can be added, moved
+     * or removed without paying for the events each single change would trigger: register events and
+     * {@link bibliothek.gui.dock.event.DockHierarchyEvent}s are collected and compacted, the visibility of children is checked only once,
+     * and the stations are revalidated only once. The batch must be {@link DockBatch#commit() committed}, 
+     * preferably in a <code>finally</code> block. Batches can be nested.
+     * @return the new batch
+     * @see DockBatchManager
+     */
+    public DockBatch openBatch(){
+    	return batches.open();
+    }
+    
+    /**
+     * Gets the manager which handles the {@link DockBatch}es of this controller.
+     * @return the manager, not <code>null</code>
+     */
+    public DockBatchManager getBatchManager(){
+    	return batches;
+    }
+    
     /**
      * Melts a frozen layout (see {@link #freezeLayout()}).
      * @return <code>true</code> if the layout remains frozen, <code>false</code>
@@ -1156,6 +1201,42 @@ public class DockController {
 		return extensions;
 	}
     
+    /**
+     * Gets the scheduler which runs the animations of all the components that are
+     * associated with this controller.
+     * @return the scheduler, not <code>null</code>
+     */
+    public AnimationScheduler getAnimationScheduler(){
+		return animations;
+	}
+    
+    /**
+     * Gets the tracer which measures how long expensive operations like dragging, layouting or
+     * reading layouts take. The tracer is disabled by default.
+     * @return the tracer, not <code>null</code>
+     */
+    public DockTracer getTracer(){
+    	return tracer;
+    }
+    
+    /**
+     * Gets the queue which merges the visibility checks of all the {@link DockStation}s that
+     * are associated with this controller.
+     * @return the queue, not <code>null</code>
+     */
+    public DockableShowingQueue getDockableShowingQueue(){
+    	return showingQueue;
+    }
+    
+    /**
+     * Gets the pool which stores recently released {@link DockTitle}s and {@link bibliothek.gui.dock.station.DockableDisplayer}s
+     * such that they can be reused.
+     * @return the pool, not <code>null</code>
+     */
+    public DockComponentPool getComponentPool(){
+    	return componentPool;
+    }
+    
     /**
      * Sets the window that is used when dialogs have to be shown.
      * @param window the root window, can be <code>null</code>
@@ -69,6 +69,9 @@ import bibliothek.gui.dock.frontend.DockFrontendPerspective;
 import bibliothek.gui.dock.frontend.FrontendEntry;
 import bibliothek.gui.dock.frontend.FrontendPerspectiveCache;
 import bibliothek.gui.dock.frontend.LayoutChangeStrategy;
+import bibliothek.gui.dock.frontend.LayoutHistory;
+import bibliothek.gui.dock.frontend.LayoutSnapshot;
+import bibliothek.gui.dock.frontend.LayoutSnapshotPool;
 import bibliothek.gui.dock.frontend.MissingDockableStrategy;
 import bibliothek.gui.dock.frontend.Setting;
 import bibliothek.gui.dock.frontend.SettingsBlop;
@@ -1648,6 +1651,50 @@ public class DockFrontend {
         }
     }
     
+    /**
+     * Creates an immutable copy of the current layout. The copy shares all the parts that did not change
+     * with the other snapshots stored in <code>pool</code>.
+     * @param entry <code>true</code> if only the information for an ordinary
+     * entry should be stored, <code>false</code> if the snapshot should contain
+     * as much information as possible.
+     * @param pool the pool in which the parts of the snapshot are stored
+     * @return the new snapshot
+     * @see #setSnapshot(LayoutSnapshot)
+     * @see LayoutHistory
+     */
+    public LayoutSnapshot getSnapshot( boolean entry, LayoutSnapshotPool pool ){
+    	Setting setting = getSetting( entry );
+    	Internals internals = new Internals();
+    	DockSituation situation = layoutChangeStrategy.createSituation( internals, entry );
+    	PropertyTransformer properties = layoutChangeStrategy.createTransformer( internals );
+    	try{
+    		return LayoutSnapshot.create( setting, entry, situation, properties, pool );
+    	}
+    	catch( IOException e ){
+    		throw new IllegalArgumentException( "Cannot create snapshot", e );
+    	}
+    }
+    
+    /**
+     * Changes the layout according to <code>snapshot</code>. The {@link LayoutChangeStrategy} decides which
+     * parts of the current layout have to change, the {@link DefaultLayoutChangeStrategy} leaves root stations with 
+     * an unchanged layout alone.
+     * @param snapshot the new layout, created by {@link #getSnapshot(boolean, LayoutSnapshotPool)}
+     */
+    public void setSnapshot( LayoutSnapshot snapshot ){
+    	Internals internals = new Internals();
+    	DockSituation situation = layoutChangeStrategy.createSituation( internals, snapshot.isEntry() );
+    	PropertyTransformer properties = layoutChangeStrategy.createTransformer( internals );
+    	Setting setting;
+    	try{
+    		setting = snapshot.toSetting( createSetting(), situation, properties );
+    	}
+    	catch( IOException e ){
+    		throw new IllegalArgumentException( "Cannot read snapshot", e );
+    	}
+    	setSetting( setting, snapshot.isEntry() );
+    }
+    
     /**
      * Creates and returns a new {@link Perspective} which can be used to read, write and convert
      * {@link PerspectiveElement}s. This method creates a new {@link DefaultFrontendPerspectiveCache}.<br>
@@ -308,6 +308,7 @@ public class ScreenDockStation extends AbstractDockStation {
 	        @Override
 	        protected void valueChanged( ScreenDockWindowFactory oldValue, ScreenDockWindowFactory newValue ) {
 	        	updateWindows( true );   
+	        	prewarmWindows();
 	        }
     };
     
@@ -470,10 +471,22 @@ public class ScreenDockStation extends AbstractDockStation {
         	}
         	public void windowChanged (WindowProvider provider, Window window ){
         		updateWindows();
+        		prewarmWindows();
         	}
         });
     }
     
+    /**
+     * Called when either the owner or the {@link #getWindowFactory() window factory} of this station changed. If the
+     * factory is a {@link DefaultScreenDockWindowFactory}, then the factory is allowed to prepare the first window.
+     */
+    private void prewarmWindows(){
+    	ScreenDockWindowFactory factory = getWindowFactory();
+    	if( factory instanceof DefaultScreenDockWindowFactory ){
+    		((DefaultScreenDockWindowFactory)factory).prewarm( this );
+    	}
+    }
+    
     protected DockComponentRootHandler createRootHandler() {
     	return new DefaultDockStationComponentRootHandler( this, displayers );
     }
@@ -168,6 +168,7 @@ import bibliothek.gui.dock.util.extension.Extension;
 import bibliothek.gui.dock.util.icon.DockIcon;
 import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
 import bibliothek.gui.dock.util.property.DynamicPropertyFactory;
+import bibliothek.gui.dock.util.trace.DockTracer;
 import bibliothek.util.FrameworkOnly;
 import bibliothek.util.Path;
 import bibliothek.util.Todo;
@@ -417,6 +418,9 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	/** Information about the {@link Dockable} which is currently dragged onto this station. */
 	private PutInfo putInfo;
 	
+	/** The area in which {@link #putInfo} was painted, <code>null</code> if nothing was painted */
+	private Rectangle putInfoBounds;
+	
 	/** Information about the current {@link Span}s */
 	private SplitSpanStrategy spanStrategy;
 	
@@ -1717,7 +1721,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	protected void setDropInfo( PutInfo putInfo ){
 		this.putInfo = putInfo;
 		setPut( putInfo );
-		repaint();
+		repaintDropInfo();
 	}
 	
 	/**
@@ -1734,7 +1738,61 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	protected void unsetDropInfo(){
 		this.putInfo = null;
 		unsetPut();
-		repaint();
+		repaintDropInfo();
+	}
+	
+	/**
+	 * Repaints the area in which the old drop information was painted, and the area in which the
+	 * current drop information is painted. Only the overlay and the {@link Component}s underneath
+	 * these areas are repainted, not the entire station.
+	 */
+	private void repaintDropInfo(){
+		Rectangle oldBounds = putInfoBounds;
+		Rectangle newBounds = putInfo == null ? null : getDropInfoBounds( putInfo );
+		putInfoBounds = newBounds;
+		
+		Rectangle region;
+		if( oldBounds == null ){
+			region = newBounds;
+		}
+		else if( newBounds == null ){
+			region = oldBounds;
+		}
+		else{
+			region = oldBounds.union( newBounds );
+		}
+		
+		if( region != null ){
+			repaintOverlay( region.x, region.y, region.width, region.height );
+		}
+	}
+	
+	/**
+	 * Gets the area in which {@link #paintOverlay(Graphics)} paints <code>putInfo</code>. The area
+	 * is used to repaint only the parts of this station that actually change while the user drags
+	 * a {@link Dockable} over this station. Subclasses painting the drop information in a different
+	 * way should override this method as well.
+	 * @param putInfo the drop information, not <code>null</code>
+	 * @return the area in the coordinate system of the overlay, or <code>null</code> if nothing is painted
+	 */
+	protected Rectangle getDropInfoBounds( PutInfo putInfo ){
+		if( putInfo.willHaveNoEffect() ){
+			return null;
+		}
+		
+		SplitNode node = putInfo.getNode();
+		if( node == null ){
+			return new Rectangle( 0, 0, getWidth(), getHeight() );
+		}
+		
+		Rectangle bounds = node.getBounds();
+		if( putInfo.getCombinerTarget() == null && node.getParent() == getRoot() ){
+			bounds = bounds.union( getRoot().getBounds() );
+		}
+		
+		// some StationPaints draw lines that are slightly larger than the bounds
+		bounds.grow( 4, 4 );
+		return bounds;
 	}
 	
 	/**
@@ -3215,12 +3273,14 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 
 		SplitLayoutManager manager = layoutManager.getValue();
 
+		long trace = DockTracer.start( getController() );
 		if( factorW <= 0 || factorH <= 0 ) {
 			manager.updateBounds(root(), 0, 0, 0, 00);
 		}
 		else {
 			manager.updateBounds(root(), insets.left / factorW, insets.top / factorH, factorW, factorH);
 		}
+		DockTracer.stop( getController(), DockTracer.SPLIT_LAYOUT, null, trace );
 	}
 	
 	/**
@@ -219,6 +219,9 @@ public abstract class SimpleDockAction extends AbstractStandardDockAction implem
     
     public void setAccelerator( KeyStroke accelerator ){
 		this.accelerator = accelerator;
+		for( DockableKeyForwarder forwarder : forwarders.values() ){
+			forwarder.updateAccelerator();
+		}
 		fireActionTooltipTextChanged( getBoundDockables() );
 	}
     
@@ -255,6 +258,9 @@ public abstract class SimpleDockAction extends AbstractStandardDockAction implem
     	/** the controller which is currently observed by this forwarder, can be <code>null</code> */
     	private DockController controller;
     	
+    	/** the {@link KeyStroke} with which this forwarder is registered at {@link #controller}, can be <code>null</code> */
+    	private KeyStroke stroke;
+    	
     	/** whether this forwarder has been destroyed */
     	private boolean destroyed = false;
     	
@@ -277,8 +283,9 @@ public abstract class SimpleDockAction extends AbstractStandardDockAction implem
     	}
     	
     	private void setController( DockController controller ){
-    		if( this.controller != null )
-    			this.controller.getKeyboardController().removeListener( this );
+    		if( this.controller != null && stroke != null ){
+    			this.controller.getKeyboardController().removeListener( stroke, this );
+    		}
     		
     		if( destroyed ){
     			this.controller = null;
@@ -287,8 +294,18 @@ public abstract class SimpleDockAction extends AbstractStandardDockAction implem
     			this.controller = controller;
     		}
     		
-    		if( this.controller != null ){
-    			this.controller.getKeyboardController().addListener( this );
+    		stroke = accelerator;
+    		if( this.controller != null && stroke != null ){
+    			this.controller.getKeyboardController().addListener( stroke, this );
+    		}
+    	}
+    	
+    	/**
+    	 * Registers this forwarder with the current {@link SimpleDockAction#getAccelerator() accelerator}.
+    	 */
+    	public void updateAccelerator(){
+    		if( stroke != accelerator ){
+    			setController( controller );
     		}
     	}
     	
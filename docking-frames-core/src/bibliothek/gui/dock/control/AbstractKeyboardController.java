@@ -27,27 +27,53 @@ package bibliothek.gui.dock.control;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.KeyStroke;
 
 import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockElement;
 import bibliothek.gui.dock.DockElementRepresentative;
 import bibliothek.gui.dock.event.KeyboardListener;
+import bibliothek.gui.dock.event.LocatedListener;
 import bibliothek.gui.dock.event.LocatedListenerList;
 
 /**
  * Abstract implementation of {@link KeyboardController} offering methods to store and call
- * {@link KeyboardListener}s.
+ * {@link KeyboardListener}s.<br>
+ * Listeners are stored in arrays that are replaced whenever a listener is added or removed, and
+ * the number of listeners that were added together with a {@link KeyStroke} is stored in an index. Hence forwarding
+ * an event does not require any copies or temporary collections, and events which no listener is interested in
+ * are not forwarded at all.<br>
+ * This class offers an implementation for all the methods of {@link KeyboardController} that are about
+ * {@link KeyboardListener}s, subclasses only need to call the <code>fire</code> methods.
  * @author Benjamin Sigg
  */
 public abstract class AbstractKeyboardController implements KeyboardController{
+	/** an empty array of {@link KeyListener}s */
+	private static final KeyListener[] NO_LISTENERS = new KeyListener[0];
+	
+	/** type of event, a key was pressed */
+	private static final int PRESSED = 0;
+	/** type of event, a key was released */
+	private static final int RELEASED = 1;
+	/** type of event, a key was typed */
+	private static final int TYPED = 2;
+	
 	/** the list of listeners */
 	private LocatedListenerList<KeyboardListener> keyListeners = 
 		new LocatedListenerList<KeyboardListener>();
 	
-	/** the listeners which will be informed about any events */
-	private List<KeyListener> globalListeners = new ArrayList<KeyListener>();
+	/** for each {@link KeyStroke}, how many listeners of {@link #keyListeners} are only interested in that stroke */
+	private Map<KeyStroke, Integer> strokes = new HashMap<KeyStroke, Integer>();
+	
+	/** the total number of listeners of {@link #keyListeners} which are only interested in one {@link KeyStroke} */
+	private int strokeCount = 0;
+	
+	/** the listeners which will be informed about any events, this array is replaced when the listeners change */
+	private KeyListener[] globalListeners = NO_LISTENERS;
 	
 	/** the controller in whose realm this {@link KeyboardController} works */
 	private DockController controller;
@@ -64,11 +90,22 @@ public abstract class AbstractKeyboardController implements KeyboardController{
 	public void addGlobalListener( KeyListener listener ){
 	    if( listener == null )
 	        throw new IllegalArgumentException( "listener must not be null" );
-	    globalListeners.add( listener );
+	    KeyListener[] copy = new KeyListener[ globalListeners.length+1 ];
+	    System.arraycopy( globalListeners, 0, copy, 0, globalListeners.length );
+	    copy[ globalListeners.length ] = listener;
+	    globalListeners = copy;
 	}
 	
 	public void removeGlobalListener( KeyListener listener ){
-	    globalListeners.remove( listener );
+		for( int i = 0; i < globalListeners.length; i++ ){
+			if( globalListeners[i].equals( listener )){
+				KeyListener[] copy = new KeyListener[ globalListeners.length-1 ];
+				System.arraycopy( globalListeners, 0, copy, 0, i );
+				System.arraycopy( globalListeners, i+1, copy, i, copy.length-i );
+				globalListeners = copy;
+				return;
+			}
+		}
 	}
 
 	public void addListener( KeyboardListener listener ){
@@ -81,6 +118,38 @@ public abstract class AbstractKeyboardController implements KeyboardController{
 	public void removeListener( KeyboardListener listener ){
 		keyListeners.removeListener( listener );
 	}
+	
+	public void addListener( KeyStroke stroke, KeyboardListener listener ){
+		if( stroke == null )
+			throw new IllegalArgumentException( "stroke must not be null" );
+		if( listener == null )
+	        throw new IllegalArgumentException( "listener must not be null" );
+		
+		keyListeners.addListener( new StrokeListener( stroke, listener ) );
+		Integer count = strokes.get( stroke );
+		strokes.put( stroke, count == null ? 1 : count+1 );
+		strokeCount++;
+	}
+	
+	public void removeListener( KeyStroke stroke, KeyboardListener listener ){
+		for( LocatedListener next : keyListeners.getListeners() ){
+			if( next instanceof StrokeListener ){
+				StrokeListener bound = (StrokeListener)next;
+				if( bound.stroke.equals( stroke ) && bound.listener.equals( listener )){
+					keyListeners.removeListener( bound );
+					int count = strokes.get( stroke );
+					if( count == 1 ){
+						strokes.remove( stroke );
+					}
+					else{
+						strokes.put( stroke, count-1 );
+					}
+					strokeCount--;
+					return;
+				}
+			}
+		}
+	}
 
 	public DockController getController() {
         return controller;
@@ -93,22 +162,9 @@ public abstract class AbstractKeyboardController implements KeyboardController{
 	 * @param event the event to send
 	 */
 	protected void fireKeyPressed( KeyEvent event ){
-		if( !event.isConsumed() ){
-    		DockElementRepresentative representative = controller.searchElement( event.getComponent() );
-    		if( representative != null ){
-    		    DockElement element = representative.getElement();
-    		    
-        		List<KeyboardListener> list = keyListeners.affected( element );
-        		loop:for( KeyboardListener listener : list ){
-        			if( listener.keyPressed( element, event )){
-        				event.consume();
-        				break loop;
-        			}
-        		}
-    		}
-		}
+		fire( event, PRESSED );
 		
-		for( KeyListener listener : globalListeners.toArray( new KeyListener[ globalListeners.size() ] )){
+		for( KeyListener listener : globalListeners ){
 		    listener.keyPressed( event );
 		}
 	}
@@ -120,22 +176,9 @@ public abstract class AbstractKeyboardController implements KeyboardController{
 	 * @param event the event to send
 	 */
 	protected void fireKeyReleased( KeyEvent event ){
-		if( !event.isConsumed() ){
-			DockElementRepresentative representative = controller.searchElement( event.getComponent() );
-    		if( representative != null ){
-    		    DockElement element = representative.getElement();
-    		    
-        		List<KeyboardListener> list = keyListeners.affected( element );
-        		loop:for( KeyboardListener listener : list ){
-        			if( listener.keyReleased( element, event )){
-        				event.consume();
-        				break loop;
-        			}
-        		}
-    		}
-		}
+		fire( event, RELEASED );
 
-		for( KeyListener listener : globalListeners.toArray( new KeyListener[ globalListeners.size() ] )){
+		for( KeyListener listener : globalListeners ){
 		    listener.keyReleased( event );
 		}
 	}
@@ -147,22 +190,137 @@ public abstract class AbstractKeyboardController implements KeyboardController{
 	 * @param event the event to send
 	 */
 	protected void fireKeyTyped( KeyEvent event ){
-		if( !event.isConsumed() ){
-			DockElementRepresentative representative = controller.searchElement( event.getComponent() );
-    		if( representative != null ){
-    		    DockElement element = representative.getElement();
-        		List<KeyboardListener> list = keyListeners.affected( element );
-        		loop:for( KeyboardListener listener : list ){
-        			if( listener.keyTyped( element, event )){
-        				event.consume();
-        				break loop;
-        			}
-        		}
-    		}
-		}
+		fire( event, TYPED );
 
-		for( KeyListener listener : globalListeners.toArray( new KeyListener[ globalListeners.size() ] )){
+		for( KeyListener listener : globalListeners ){
 		    listener.keyTyped( event );
 		}
 	}
+	
+	/**
+	 * Forwards <code>event</code> to the {@link KeyboardListener}s, starting with the listeners 
+	 * nearest to the source of the event. The event is consumed once a listener processes it.
+	 * @param event the event to forward
+	 * @param type the type of the event
+	 */
+	private void fire( KeyEvent event, int type ){
+		if( event.isConsumed() ){
+			return;
+		}
+		
+		LocatedListener[] listeners = keyListeners.getListeners();
+		KeyStroke stroke = null;
+		if( strokeCount > 0 ){
+			stroke = KeyStroke.getKeyStrokeForEvent( event );
+			if( listeners.length == strokeCount && !strokes.containsKey( stroke )){
+				return;
+			}
+		}
+		
+		if( listeners.length == 0 ){
+			return;
+		}
+		
+		DockElementRepresentative representative = controller.searchElement( event.getComponent() );
+		if( representative == null ){
+			return;
+		}
+		DockElement element = representative.getElement();
+		
+		// from the source of the event up to the root
+		DockElement location = element;
+		while( location != null ){
+			if( fire( listeners, location, stroke, element, event, type )){
+				event.consume();
+				return;
+			}
+			Dockable dockable = location.asDockable();
+			location = dockable == null ? null : dockable.getDockParent();
+		}
+		
+		// listeners without location
+		if( fire( listeners, null, stroke, element, event, type )){
+			event.consume();
+		}
+	}
+	
+	/**
+	 * Forwards <code>event</code> to all the listeners of <code>listeners</code> whose
+	 * {@link LocatedListener#getTreeLocation() location} is <code>location</code>. The listeners are
+	 * called in the order in which they were added, listeners that are only interested in another
+	 * {@link KeyStroke} than <code>stroke</code> are skipped.
+	 * @param listeners the listeners to call
+	 * @param location the location of the listeners to call, <code>null</code> for the
+	 * listeners without location
+	 * @param stroke the stroke of <code>event</code>, can be <code>null</code> if there are no listeners
+	 * which are bound to a {@link KeyStroke}
+	 * @param element the source of the event
+	 * @param event the event to forward
+	 * @param type the type of the event
+	 * @return <code>true</code> if one listener processed the event
+	 */
+	private boolean fire( LocatedListener[] listeners, DockElement location, KeyStroke stroke, DockElement element, KeyEvent event, int type ){
+		for( LocatedListener next : listeners ){
+			if( next.getTreeLocation() == location ){
+				if( next instanceof StrokeListener && !((StrokeListener)next).stroke.equals( stroke )){
+					continue;
+				}
+				KeyboardListener listener = (KeyboardListener)next;
+				boolean processed;
+				switch( type ){
+					case PRESSED:
+						processed = listener.keyPressed( element, event );
+						break;
+					case RELEASED:
+						processed = listener.keyReleased( element, event );
+						break;
+					default:
+						processed = listener.keyTyped( element, event );
+						break;
+				}
+				if( processed ){
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * A {@link KeyboardListener} that was added together with a {@link KeyStroke}. These listeners are stored
+	 * in the same list as all the other listeners, hence all listeners are called in the order they were added.
+	 * @author Benjamin Sigg
+	 */
+	private static class StrokeListener implements KeyboardListener{
+		/** the only stroke {@link #listener} is interested in */
+		private final KeyStroke stroke;
+		/** the listener to call */
+		private final KeyboardListener listener;
+		
+		/**
+		 * Creates a new wrapper.
+		 * @param stroke the only stroke <code>listener</code> is interested in
+		 * @param listener the listener to call
+		 */
+		public StrokeListener( KeyStroke stroke, KeyboardListener listener ){
+			this.stroke = stroke;
+			this.listener = listener;
+		}
+		
+		public DockElement getTreeLocation(){
+			return listener.getTreeLocation();
+		}
+		
+		public boolean keyPressed( DockElement element, KeyEvent event ){
+			return listener.keyPressed( element, event );
+		}
+		
+		public boolean keyReleased( DockElement element, KeyEvent event ){
+			return listener.keyReleased( element, event );
+		}
+		
+		public boolean keyTyped( DockElement element, KeyEvent event ){
+			return listener.keyTyped( element, event );
+		}
+	}
 }
@@ -0,0 +1,90 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control;
+
+import bibliothek.gui.DockController;
+
+/**
+ * A {@link DockBatch} represents a set of changes in the tree of {@link bibliothek.gui.DockStation}s
+ * and {@link bibliothek.gui.Dockable}s that are executed together. While a batch is open, events are collected
+ * instead of being fired. Once the batch is {@link #commit() committed}, the tree is validated
+ * once and a compacted set of events is fired. Batches are created by {@link DockController#openBatch()}, 
+ * see {@link DockBatchManager} for details.<br>
+ * Clients should always commit a batch in a <code>finally</code> block:
+ * <pre>
+ * DockBatch batch = controller.openBatch();
+ * try{
+ *     // add, move and remove many Dockables
+ * }
+ * finally{
+ *     batch.commit();
+ * }
+ * </pre>
+ * @author Benjamin Sigg
+ */
+public class DockBatch {
+	/** the manager which created this batch */
+	private DockBatchManager manager;
+	
+	/** whether {@link #commit()} has already been called */
+	private boolean committed = false;
+	
+	/**
+	 * Creates a new batch.
+	 * @param manager the manager which created this batch
+	 */
+	protected DockBatch( DockBatchManager manager ){
+		this.manager = manager;
+	}
+	
+	/**
+	 * Gets the controller in whose realm this batch is executed.
+	 * @return the controller
+	 */
+	public DockController getController(){
+		return manager.getController();
+	}
+	
+	/**
+	 * Closes this batch. If this was the last open batch, then all collected events are fired.
+	 * @throws IllegalStateException if this batch was already committed
+	 */
+	public void commit(){
+		if( committed ){
+			throw new IllegalStateException( "batch already committed" );
+		}
+		committed = true;
+		manager.close( this );
+	}
+	
+	/**
+	 * Tells whether {@link #commit()} has already been called on this batch.
+	 * @return <code>true</code> if this batch is closed
+	 */
+	public boolean isCommitted(){
+		return committed;
+	}
+}
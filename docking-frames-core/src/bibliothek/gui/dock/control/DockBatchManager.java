@@ -0,0 +1,225 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.JComponent;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.dockable.DockHierarchyObserver;
+import bibliothek.gui.dock.event.DockHierarchyEvent;
+
+/**
+ * Manages the {@link DockBatch}es of a {@link DockController}. While at least one batch is open:
+ * <ul>
+ * 	<li>The {@link DockRegister} is {@link DockRegister#setStalled(boolean) stalled}, hence register events 
+ *  that cancel each other out are never fired, and {@link SingleParentRemover} cleans the tree only once.</li>
+ *  <li>{@link DockHierarchyEvent}s are collected. Once the last batch is committed, each {@link Dockable} whose
+ *  hierarchy changed receives exactly one event. Because events are forwarded from parents to their children,
+ *  no event is fired for a {@link Dockable} if one of its parents fires an event anyway.</li>
+ *  <li>The {@link bibliothek.gui.dock.station.support.DockableShowingQueue} is suspended, the visibility of the 
+ *  children of all stations is checked once after the last batch is committed.</li>
+ * </ul>
+ * When the last batch is committed, all the root stations which are {@link Dockable}s are revalidated once.<br>
+ * Events of {@link bibliothek.gui.dock.event.DockStationListener}s are not delayed, as the stations
+ * themselves depend on them. This class is not thread safe, it must only be used from the 
+ * <code>EventDispatcherThread</code>.
+ * @author Benjamin Sigg
+ */
+public class DockBatchManager {
+	/** the controller in whose realm this manager works */
+	private DockController controller;
+	
+	/** the batches that are currently open */
+	private List<DockBatch> batches = new ArrayList<DockBatch>();
+	
+	/** the observers which have to fire a {@link DockHierarchyEvent} */
+	private Map<Dockable, DockHierarchyObserver> hierarchyEvents = new LinkedHashMap<Dockable, DockHierarchyObserver>();
+	
+	/** the number of events that were collected while batches were open */
+	private int collectedEvents = 0;
+	
+	/** the number of events that were fired when the batches were committed */
+	private int firedEvents = 0;
+	
+	/**
+	 * Creates a new manager.
+	 * @param controller the controller in whose realm this manager works
+	 */
+	public DockBatchManager( DockController controller ){
+		if( controller == null ){
+			throw new IllegalArgumentException( "controller must not be null" );
+		}
+		this.controller = controller;
+	}
+	
+	/**
+	 * Gets the controller in whose realm this manager works.
+	 * @return the controller
+	 */
+	public DockController getController(){
+		return controller;
+	}
+	
+	/**
+	 * Opens a new batch. Batches can be nested, events are fired once the last open batch is committed.
+	 * @return the new batch, must be {@link DockBatch#commit() committed} by the caller
+	 */
+	public DockBatch open(){
+		DockBatch batch = new DockBatch( this );
+		if( batches.isEmpty() ){
+			controller.getRegister().setStalled( true );
+			controller.getDockableShowingQueue().suspend();
+		}
+		batches.add( batch );
+		return batch;
+	}
+	
+	/**
+	 * Tells whether at least one batch is currently open.
+	 * @return <code>true</code> if events are currently collected
+	 */
+	public boolean isOpen(){
+		return !batches.isEmpty();
+	}
+	
+	/**
+	 * Called by a {@link DockHierarchyObserver} which is about to fire a {@link DockHierarchyEvent}. If
+	 * a batch is open, then the event is collected instead of fired.
+	 * @param observer the observer which is about to fire an event
+	 * @param owner the owner of <code>observer</code>
+	 * @return <code>true</code> if the event was collected and must not be fired, <code>false</code> if 
+	 * the observer has to fire the event now
+	 */
+	public boolean delayHierarchyEvent( DockHierarchyObserver observer, Dockable owner ){
+		if( batches.isEmpty() ){
+			return false;
+		}
+		collectedEvents++;
+		hierarchyEvents.put( owner, observer );
+		return true;
+	}
+	
+	/**
+	 * Gets the number of events that were collected while batches were open.
+	 * @return the number of collected events
+	 */
+	public int getCollectedEventCount(){
+		return collectedEvents;
+	}
+	
+	/**
+	 * Gets the number of events that were fired because batches were committed. Events that were
+	 * forwarded from a {@link Dockable} to its children are not counted.
+	 * @return the number of events
+	 */
+	public int getFiredEventCount(){
+		return firedEvents;
+	}
+	
+	/**
+	 * Called by <code>batch</code> when it is committed.
+	 * @param batch the batch that is no longer open
+	 */
+	protected void close( DockBatch batch ){
+		if( !batches.contains( batch )){
+			throw new IllegalArgumentException( "batch is not open" );
+		}
+		if( batches.size() == 1 ){
+			try{
+				// stations may still reorganize their children while the register is released, their events are collected as well
+				try{
+					controller.getRegister().setStalled( false );
+				}
+				finally{
+					batches.remove( batch );
+				}
+				fireHierarchyEvents();
+			}
+			finally{
+				controller.getDockableShowingQueue().resume();
+			}
+			revalidate();
+		}
+		else{
+			batches.remove( batch );
+		}
+	}
+	
+	private void fireHierarchyEvents(){
+		if( hierarchyEvents.isEmpty() ){
+			return;
+		}
+		
+		Map<Dockable, DockHierarchyObserver> events = hierarchyEvents;
+		hierarchyEvents = new LinkedHashMap<Dockable, DockHierarchyObserver>();
+		
+		for( Map.Entry<Dockable, DockHierarchyObserver> event : events.entrySet() ){
+			if( !hasAncestor( event.getKey(), events )){
+				firedEvents++;
+				event.getValue().fireHierarchyChangedNow();
+			}
+		}
+	}
+	
+	private boolean hasAncestor( Dockable dockable, Map<Dockable, ?> set ){
+		DockStation parent = dockable.getDockParent();
+		while( parent != null ){
+			Dockable next = parent.asDockable();
+			if( next == null ){
+				return false;
+			}
+			if( set.containsKey( next )){
+				return true;
+			}
+			parent = next.getDockParent();
+		}
+		return false;
+	}
+	
+	private void revalidate(){
+		for( DockStation root : controller.getRegister().listRoots() ){
+			Dockable dockable = root.asDockable();
+			if( dockable != null ){
+				Component component = dockable.getComponent();
+				if( component instanceof JComponent ){
+					((JComponent)component).revalidate();
+				}
+				else{
+					component.invalidate();
+				}
+				component.repaint();
+			}
+		}
+	}
+}
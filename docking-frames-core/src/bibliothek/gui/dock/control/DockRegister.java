@@ -35,6 +35,8 @@ import bibliothek.gui.dock.event.DockStationAdapter;
 import bibliothek.gui.dock.event.DockStationListener;
 import bibliothek.gui.dock.station.LayoutLocked;
 import bibliothek.gui.dock.util.DockUtilities;
+import bibliothek.gui.dock.util.listener.ListenerList;
+import bibliothek.gui.dock.util.trace.DockTracer;
 
 /**
  * A set of all {@link bibliothek.gui.Dockable Dockables} and
@@ -55,7 +57,7 @@ public class DockRegister {
     private DockController controller;
     
     /** a list of registerListeners which are informed whenever the registered dockables and stations change */
-    private List<DockRegisterListener> registerListeners = new ArrayList<DockRegisterListener>();
+    private ListenerList<DockRegisterListener> registerListeners = new ListenerList<DockRegisterListener>( DockRegisterListener.class, "DockRegisterListener", null );
     
     /** an observer of the stations */
     private StationListener stationListener = new StationListener();
@@ -108,6 +110,25 @@ public class DockRegister {
     	registerListeners.remove( listener );
     }
     
+    /**
+     * Adds a listener to this register, but only stores a weak reference to <code>listener</code>. The
+     * listener is removed automatically once it is no longer used.
+     * @param listener the new listener
+     * @see ListenerList#addWeak(Object)
+     */
+    public void addWeakDockRegisterListener( DockRegisterListener listener ){
+    	registerListeners.addWeak( listener );
+    }
+    
+    /**
+     * Gets the list of {@link DockRegisterListener}s, the list also offers the number of listeners and how
+     * often events were fired.
+     * @return the list, not <code>null</code>
+     */
+    public ListenerList<DockRegisterListener> getDockRegisterListeners(){
+    	return registerListeners;
+    }
+    
     /**
      * Removes all registerListeners and connections to the stations and dockables
      * known to this register.
@@ -407,10 +428,10 @@ public class DockRegister {
 
     /**
      * Gets a list of all registerListeners which are registered.
-     * @return the list of registerListeners
+     * @return the list of registerListeners, the array must not be modified
      */
     protected DockRegisterListener[] listDockRegisterListeners(){
-    	return registerListeners.toArray( new DockRegisterListener[ registerListeners.size() ] );
+    	return registerListeners.get();
     }
     
     /**
@@ -418,8 +439,10 @@ public class DockRegister {
      * @param dockable the Dockable which will be registered
      */
     protected void fireDockableRegistering( Dockable dockable ){
+        long start = registerListeners.beginFire();
         for( DockRegisterListener listener : listDockRegisterListeners() )
             listener.dockableRegistering( controller, dockable );
+        registerListeners.endFire( start );
     }
     
     /**
@@ -427,8 +450,10 @@ public class DockRegister {
      * @param dockable the registered Dockable
      */
     protected void fireDockableRegistered( Dockable dockable ){
+        long start = registerListeners.beginFire();
         for( DockRegisterListener listener : listDockRegisterListeners() )
             listener.dockableRegistered( controller, dockable );
+        registerListeners.endFire( start );
     }
 
     /**
@@ -437,8 +462,10 @@ public class DockRegister {
      * @param dockable the unregistered Dockable
      */
     protected void fireDockableUnregistered( Dockable dockable ){
+        long start = registerListeners.beginFire();
         for( DockRegisterListener listener : listDockRegisterListeners() )
             listener.dockableUnregistered( controller, dockable );
+        registerListeners.endFire( start );
     }
 
     /**
@@ -446,8 +473,10 @@ public class DockRegister {
      * @param station the new station
      */
     protected void fireDockStationRegistering( DockStation station ){
+        long start = registerListeners.beginFire();
         for( DockRegisterListener listener : listDockRegisterListeners() )
             listener.dockStationRegistering( controller, station );
+        registerListeners.endFire( start );
     }
     
     /**
@@ -455,8 +484,10 @@ public class DockRegister {
      * @param station the new station
      */
     protected void fireDockStationRegistered( DockStation station ){
+        long start = registerListeners.beginFire();
         for( DockRegisterListener listener : listDockRegisterListeners() )
             listener.dockStationRegistered( controller, station );
+        registerListeners.endFire( start );
     }
     
     /**
@@ -464,8 +495,10 @@ public class DockRegister {
      * @param station the unregistered station
      */
     protected void fireDockStationUnregistered( DockStation station ){
+        long start = registerListeners.beginFire();
         for( DockRegisterListener listener : listDockRegisterListeners() )
             listener.dockStationUnregistered( controller, station );
+        registerListeners.endFire( start );
     }
     
     /**
@@ -474,8 +507,10 @@ public class DockRegister {
      * @param dockable the cycling element
      */
     protected void fireStalledChange( Dockable dockable ){
+        long start = registerListeners.beginFire();
         for( DockRegisterListener listener : listDockRegisterListeners() )
             listener.dockableCycledRegister( controller, dockable );
+        registerListeners.endFire( start );
     }
     
     /**
@@ -483,9 +518,11 @@ public class DockRegister {
      * stalled.
      */
     protected void fireStalled(){
+    	long start = registerListeners.beginFire();
     	for( DockRegisterListener listener : listDockRegisterListeners() ){
     		listener.registerStalled( controller );
     	}
+    	registerListeners.endFire( start );
     }
     
     /**
@@ -493,9 +530,11 @@ public class DockRegister {
      * no longer stalled.
      */
     protected void fireUnstalled(){
+    	long start = registerListeners.beginFire();
     	for( DockRegisterListener listener : listDockRegisterListeners() ){
     		listener.registerUnstalled( controller );
     	}
+    	registerListeners.endFire( start );
     }
     
     /**
@@ -519,18 +558,20 @@ public class DockRegister {
 			}
 		}
 		else{
+			long trace = controller.getTracer().start();
 			this.stalled--;
 			if( !isStalled() ){
 				fireUnstalled();
 			}
-		}
-		
-		// recover from too many false-stalled calls
-		if( this.stalled < 0 )
-			this.stalled = 0;
-		
-		if( this.stalled == 0 ){
-			stationListener.fire();
+			
+			// recover from too many false-stalled calls
+			if( this.stalled < 0 )
+				this.stalled = 0;
+			
+			if( this.stalled == 0 ){
+				stationListener.fire();
+				controller.getTracer().stop( DockTracer.REGISTER_FLUSH, trace );
+			}
 		}
 	}
     
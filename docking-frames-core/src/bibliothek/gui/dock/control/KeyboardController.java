@@ -29,13 +29,17 @@ package bibliothek.gui.dock.control;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 
+import javax.swing.KeyStroke;
+
 import bibliothek.gui.DockController;
 import bibliothek.gui.dock.event.KeyboardListener;
 import bibliothek.util.FrameworkOnly;
 
 /**
  * An observer of all {@link KeyEvent}, forwarding them to registered listeners. The
- * listeners are only informed about events that occurred in a part of the dock-tree below them.
+ * listeners are only informed about events that occurred in a part of the dock-tree below them.<br>
+ * Clients implementing this interface should extend {@link AbstractKeyboardController}, which already
+ * implements all the methods that store and call listeners.
  * @author Benjamin Sigg
  *
  */
@@ -68,6 +72,26 @@ public interface KeyboardController {
 	 */
 	public void removeListener( KeyboardListener listener );
 	
+	/**
+	 * Adds a listener to this controller which is only interested in events matching <code>stroke</code>.
+	 * The listener will be invoked when a {@link KeyEvent} occurs in the subtree below the listeners
+	 * {@link bibliothek.gui.dock.DockElement} and if {@link KeyStroke#getKeyStrokeForEvent(KeyEvent)}
+	 * equals <code>stroke</code>. The listeners are stored in an index, events that do not match
+	 * any {@link KeyStroke} never reach them. Otherwise the listener is treated like any other listener,
+	 * listeners with the same location are called in the order they were added. Accelerators should prefer this method over
+	 * {@link #addListener(KeyboardListener)}.
+	 * @param stroke the {@link KeyStroke} the listener is interested in, not <code>null</code>
+	 * @param listener the new listener
+	 */
+	public void addListener( KeyStroke stroke, KeyboardListener listener );
+	
+	/**
+	 * Removes a listener that was added with {@link #addListener(KeyStroke, KeyboardListener)}.
+	 * @param stroke the {@link KeyStroke} that was used to add <code>listener</code>
+	 * @param listener the listener to remove
+	 */
+	public void removeListener( KeyStroke stroke, KeyboardListener listener );
+	
 	/**
 	 * Gets the {@link DockController} in whose realm this {@link KeyboardController} works.
 	 * @return the owner of this controller
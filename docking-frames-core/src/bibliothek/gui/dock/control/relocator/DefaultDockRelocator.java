@@ -73,6 +73,7 @@ import bibliothek.gui.dock.util.PropertyKey;
 import bibliothek.gui.dock.util.PropertyValue;
 import bibliothek.gui.dock.util.extension.ExtensionName;
 import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
+import bibliothek.gui.dock.util.trace.DockTracer;
 import bibliothek.util.ClientOnly;
 import bibliothek.util.Path;
 import bibliothek.util.Workarounds;
@@ -209,6 +210,8 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     protected boolean executeOperation( Dockable dockable, RelocateOperation operation ){
         onPut = true;
         DockController controller = getController();
+        DockTracer tracer = controller.getTracer();
+        long trace = tracer.start();
         controller.getRegister().setStalled( true );
         disableAllModes();
         
@@ -262,6 +265,7 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
         	operation = null;
             onPut = false;
             controller.getRegister().setStalled( false );
+            tracer.stop( DockTracer.DRAG_DROP, trace );
         }
     }    
     
@@ -618,7 +622,10 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
             
             int distance = Math.abs( x - pressPointScreen.x ) + Math.abs( y - pressPointScreen.y );
             if( always || distance >= getDragDistance() ){
+            	DockTracer tracer = getController().getTracer();
+            	long trace = tracer.start();
             	Reaction result = initiateOperation( dockable, title, mouse, showMovingImage );
+            	tracer.stop( DockTracer.DRAG_INIT, trace );
             	if( !onMove && result != null ){
             		return result;
             	}
@@ -689,10 +696,13 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     	if( movingImageWindow != null )
             updateTitleWindowPosition( mouse );
         
+        DockTracer tracer = getController().getTracer();
+        long trace = tracer.start();
         RelocateOperation next = preparePut( 
                 mouse.x, mouse.y,
                 mouse.x - pressPointLocal.x, mouse.y - pressPointLocal.y,
                 dockable );
+        tracer.stop( DockTracer.DRAG_PREPARE, trace );
         
         boolean drop = false;
 
@@ -836,7 +846,10 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
                 RelocateOperation operation = this.operation;
                 
                 if( x != lastPoint.x || y != lastPoint.y ){
+                	DockTracer tracer = getController().getTracer();
+                	long trace = tracer.start();
                 	RelocateOperation next = preparePut( x, y, x - pressPointLocal.x, y - pressPointLocal.y, dockable );
+                	tracer.stop( DockTracer.DRAG_PREPARE, trace );
                 	
                     if( next != null ){
                     	Dockable[] implicit = next.getImplicit( dockable );
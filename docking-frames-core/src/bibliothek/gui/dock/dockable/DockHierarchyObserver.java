@@ -25,14 +25,14 @@
  */
 package bibliothek.gui.dock.dockable;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockElement;
+import bibliothek.gui.dock.control.DockBatch;
 import bibliothek.gui.dock.event.DockHierarchyEvent;
 import bibliothek.gui.dock.event.DockHierarchyListener;
+import bibliothek.gui.dock.util.listener.ListenerList;
 
 /**
  * A helper class that is able to send {@link DockHierarchyEvent}s to
@@ -48,7 +48,7 @@ public class DockHierarchyObserver implements DockHierarchyListener{
 	/** the currently observed parent */
 	private DockElement parent;
     /** a list of listeners which are informed when the hierarchy changes */
-    private List<DockHierarchyListener> hierarchyListeners = new ArrayList<DockHierarchyListener>();
+    private ListenerList<DockHierarchyListener> hierarchyListeners;
     
     /** The Dockable for which events are generated */
     private Dockable owner;
@@ -59,6 +59,7 @@ public class DockHierarchyObserver implements DockHierarchyListener{
      */
     public DockHierarchyObserver( Dockable owner ){
     	this.owner = owner;
+    	hierarchyListeners = new ListenerList<DockHierarchyListener>( DockHierarchyListener.class, "DockHierarchyListener", owner );
     }
 	
 	public void hierarchyChanged( DockHierarchyEvent event ){
@@ -85,6 +86,25 @@ public class DockHierarchyObserver implements DockHierarchyListener{
     	hierarchyListeners.add( listener );
     }
     
+	/**
+	 * Stores a listener which is informed when the path of the owner has changed, but only keeps a weak
+	 * reference to <code>listener</code>. The listener is removed automatically once it is no longer used.
+	 * @param listener the new listener
+	 * @see ListenerList#addWeak(Object)
+	 */
+	public void addWeakDockHierarchyListener( DockHierarchyListener listener ){
+		hierarchyListeners.addWeak( listener );
+	}
+	
+	/**
+	 * Gets the list of listeners, the list also offers the number of listeners and how often
+	 * events were fired.
+	 * @return the list, not <code>null</code>
+	 */
+	public ListenerList<DockHierarchyListener> getDockHierarchyListeners(){
+		return hierarchyListeners;
+	}
+    
 	/**
 	 * Removes an earlier stored listener.
 	 * @param listener the listener to remove
@@ -94,14 +114,67 @@ public class DockHierarchyObserver implements DockHierarchyListener{
     }
 	
     /**
-     * Fires a {@link DockHierarchyEvent} to all registered listeners.
+     * Fires a {@link DockHierarchyEvent} to all registered listeners. If a {@link DockBatch} is open,
+     * then the event is delayed until the batch is committed.
      */
     protected void fireHierarchyChanged(){
-    	if( !hierarchyListeners.isEmpty() ){
+    	fireHierarchyChanged( null );
+    }
+    
+    /**
+     * Fires a {@link DockHierarchyEvent} to all registered listeners. If a {@link DockBatch} is open,
+     * then the event is delayed until the batch is committed.
+     * @param oldParent the element that was the parent of the owner before the event, used to find the
+     * {@link DockController} if the owner was removed from the tree. Can be <code>null</code>
+     */
+    private void fireHierarchyChanged( DockElement oldParent ){
+    	DockController controller = getController();
+    	if( controller == null && oldParent != null ){
+    		controller = oldParent.getController();
+    	}
+    	if( controller != null && controller.getBatchManager().delayHierarchyEvent( this, owner )){
+    		return;
+    	}
+    	fireHierarchyChangedNow();
+    }
+    
+    /**
+     * Searches the {@link DockController} of the owner. While the {@link bibliothek.gui.dock.control.DockRegister}
+     * is stalled, new elements do not yet know their controller, hence the parents of the owner are searched as well.
+     * @return the controller or <code>null</code> if not found
+     */
+    private DockController getController(){
+    	Dockable dockable = owner;
+    	while( dockable != null ){
+    		DockController controller = dockable.getController();
+    		if( controller != null ){
+    			return controller;
+    		}
+    		DockStation parent = dockable.getDockParent();
+    		if( parent == null ){
+    			return null;
+    		}
+    		controller = parent.getController();
+    		if( controller != null ){
+    			return controller;
+    		}
+    		dockable = parent.asDockable();
+    	}
+    	return null;
+    }
+    
+    /**
+     * Fires a {@link DockHierarchyEvent} to all registered listeners, even if a {@link DockBatch} is open.
+     */
+    public void fireHierarchyChangedNow(){
+    	DockHierarchyListener[] listeners = hierarchyListeners.get();
+    	if( listeners.length > 0 ){
 	    	DockHierarchyEvent event = new DockHierarchyEvent( owner );
-	    	for( DockHierarchyListener listener : hierarchyListeners.toArray( new DockHierarchyListener[ hierarchyListeners.size() ] )){
+	    	long start = hierarchyListeners.beginFire();
+	    	for( DockHierarchyListener listener : listeners ){
 	    		listener.hierarchyChanged( event );
 	    	}
+	    	hierarchyListeners.endFire( start );
     	}
     }
     
@@ -110,11 +183,14 @@ public class DockHierarchyObserver implements DockHierarchyListener{
      * @param controller the new controller
      */
     protected void fireControllerChanged( DockController controller ){
-    	if( !hierarchyListeners.isEmpty() ){
+    	DockHierarchyListener[] listeners = hierarchyListeners.get();
+    	if( listeners.length > 0 ){
 	    	DockHierarchyEvent event = new DockHierarchyEvent( owner, controller );
-	    	for( DockHierarchyListener listener : hierarchyListeners.toArray( new DockHierarchyListener[ hierarchyListeners.size() ] )){
+	    	long start = hierarchyListeners.beginFire();
+	    	for( DockHierarchyListener listener : listeners ){
 	    		listener.controllerChanged( event );
 	    	}
+	    	hierarchyListeners.endFire( start );
     	}
     }
 	
@@ -133,7 +209,7 @@ public class DockHierarchyObserver implements DockHierarchyListener{
 	        if( parent != null && parent.asDockable() != null )
 	            parent.asDockable().addDockHierarchyListener( this );
 
-	        fireHierarchyChanged();
+	        fireHierarchyChanged( old );
 	    }
 	}
 }
\ No newline at end of file
@@ -26,8 +26,6 @@
 package bibliothek.gui.dock.dockable;
 
 import java.awt.EventQueue;
-import java.util.ArrayList;
-import java.util.List;
 
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
@@ -35,6 +33,7 @@ import bibliothek.gui.dock.event.DockHierarchyEvent;
 import bibliothek.gui.dock.event.DockHierarchyListener;
 import bibliothek.gui.dock.event.DockStationAdapter;
 import bibliothek.gui.dock.event.DockStationListener;
+import bibliothek.gui.dock.util.listener.ListenerList;
 
 /**
  * A handler for invoking {@link DockableStateListener}s. Can be used by {@link Dockable}s.<br>
@@ -49,7 +48,7 @@ import bibliothek.gui.dock.event.DockStationListener;
  */
 public class DockableStateListenerManager {
 	/** all the listeners that are currently registered */
-	private List<DockableStateListener> listeners = new ArrayList<DockableStateListener>();
+	private ListenerList<DockableStateListener> listeners;
 
 	/** the currently pending events */
 	private int current = 0;
@@ -152,6 +151,7 @@ public class DockableStateListenerManager {
 	 */
 	public DockableStateListenerManager( Dockable dockable ){
 		this.dockable = dockable;
+		listeners = new ListenerList<DockableStateListener>( DockableStateListener.class, "DockableStateListener", dockable );
 	}
 	
 	/**
@@ -181,6 +181,32 @@ public class DockableStateListenerManager {
 		}
 	}
 
+	/**
+	 * Adds a listener to this observer, but only stores a weak reference to <code>listener</code>. The
+	 * listener is removed automatically once it is no longer used.
+	 * @param listener the new listener
+	 * @see ListenerList#addWeak(Object)
+	 */
+	public void addWeakListener( DockableStateListener listener ){
+		if( listener == null ) {
+			throw new IllegalArgumentException( "listener must not be null" );
+		}
+		boolean has = hasListeners();
+		listeners.addWeak( listener );
+		if( !has && hasListeners() ) {
+			install();
+		}
+	}
+
+	/**
+	 * Gets the list of listeners, the list also offers the number of listeners and how often
+	 * events were fired.
+	 * @return the list, not <code>null</code>
+	 */
+	public ListenerList<DockableStateListener> getListeners(){
+		return listeners;
+	}
+
 	/**
 	 * Removes a listener from this observer
 	 * @param listener the listener to remove
@@ -198,7 +224,7 @@ public class DockableStateListenerManager {
 	 * @return whether there is at least one listener
 	 */
 	protected boolean hasListeners(){
-		return listeners.size() > 0;
+		return !listeners.isEmpty();
 	}
 
 	/**
@@ -224,12 +250,19 @@ public class DockableStateListenerManager {
 	 */
 	private void fireNow(){
 		if( current != 0 ) {
-			if( listeners.size() > 0 ) {
+			DockableStateListener[] all = listeners.get();
+			if( all.length > 0 ) {
 				DockableStateEvent event = new DockableStateEvent( dockable, current );
 				current = 0;
-				for( DockableStateListener listener : listeners.toArray( new DockableStateListener[listeners.size()] ) ) {
+				long start = listeners.beginFire();
+				for( DockableStateListener listener : all ) {
 					listener.changed( event );
 				}
+				listeners.endFire( start );
+			}
+			else if( !hasListeners() ){
+				// all the weak listeners are gone
+				uninstall();
 			}
 			current = 0;
 		}
@@ -26,7 +26,6 @@
 
 package bibliothek.gui.dock.event;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedList;
@@ -42,15 +41,21 @@ import bibliothek.gui.dock.util.DockUtilities;
  * @author Benjamin Sigg
  */
 public class LocatedListenerList<L extends LocatedListener> {
-	/** the listener of listeners known to this list */
-	private List<L> listeners = new ArrayList<L>();
+	/** an empty array of listeners */
+	private static final LocatedListener[] EMPTY = new LocatedListener[0];
+	
+	/** the listener of listeners known to this list, this array is replaced whenever the list changes */
+	private LocatedListener[] listeners = EMPTY;
 
 	/**
 	 * Adds a listener to the list of listeners.
 	 * @param listener the new listener
 	 */
 	public void addListener( L listener ){
-		listeners.add( listener );
+		LocatedListener[] copy = new LocatedListener[ listeners.length+1 ];
+		System.arraycopy( listeners, 0, copy, 0, listeners.length );
+		copy[ listeners.length ] = listener;
+		listeners = copy;
 	}
 	
 	/**
@@ -58,7 +63,20 @@ public class LocatedListenerList<L extends LocatedListener> {
 	 * @param listener the listener to remove
 	 */
 	public void removeListener( L listener ){
-		listeners.remove( listener );
+		for( int i = 0; i < listeners.length; i++ ){
+			if( listeners[i] == null ? listener == null : listeners[i].equals( listener )){
+				if( listeners.length == 1 ){
+					listeners = EMPTY;
+				}
+				else{
+					LocatedListener[] copy = new LocatedListener[ listeners.length-1 ];
+					System.arraycopy( listeners, 0, copy, 0, i );
+					System.arraycopy( listeners, i+1, copy, i, copy.length-i );
+					listeners = copy;
+				}
+				return;
+			}
+		}
 	}
 	
 	/**
@@ -66,7 +84,18 @@ public class LocatedListenerList<L extends LocatedListener> {
 	 * @return the number of listeners
 	 */
 	public int size(){
-		return listeners.size();
+		return listeners.length;
+	}
+	
+	/**
+	 * Gets all the listeners of this list. The array is never modified, adding or removing
+	 * listeners replaces the array. Hence the array can be used to iterate over the listeners
+	 * without creating a copy, even if the listeners modify this list.<br>
+	 * Clients must not modify the array, all its elements are of type <code>L</code>.
+	 * @return all the listeners, in the order they were added
+	 */
+	public LocatedListener[] getListeners(){
+		return listeners;
 	}
 	
     /**
@@ -78,7 +107,9 @@ public class LocatedListenerList<L extends LocatedListener> {
      */
     public List<L> affected( DockElement element ){
         List<L> list = new LinkedList<L>();
-        for( L listener : listeners ){
+        for( LocatedListener next : listeners ){
+            @SuppressWarnings("unchecked")
+            L listener = (L)next;
             DockElement location = listener.getTreeLocation();
             if( location == null )
                 list.add( listener );
@@ -25,9 +25,13 @@
  */
 package bibliothek.gui.dock.frontend;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -58,12 +62,40 @@ import bibliothek.util.xml.XException;
 
 /**
  * This default implementation of a {@link LayoutChangeStrategy} heavily depends on the methods of {@link PredefinedDockSituation}. It
- * also offers a set of methods that may be interesting for subclasses which do not use a {@link PredefinedDockSituation}.
+ * also offers a set of methods that may be interesting for subclasses which do not use a {@link PredefinedDockSituation}.<br>
+ * If {@link #setDiffLayout(boolean) enabled}, root stations whose layout does not change are not touched when applying
+ * a new layout: their children, titles, displayers and focus remain in place.
  * @author Benjamin Sigg
  */
 public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
 	private boolean updatingFullLayout = false;
 	
+	/** whether root stations with unchanged layouts are left alone */
+	private boolean diffLayout = true;
+	
+	/** the root stations whose layout does not change while a new layout is applied */
+	private Set<DockStation> unchangedRoots = Collections.emptySet();
+	
+	/**
+	 * Sets whether the current layout of each root station should be compared with the new layout
+	 * before applying a new {@link Setting}. Root stations whose layout does not change are neither
+	 * cleaned nor rebuilt. The comparison costs some time, but usually far less than rebuilding
+	 * the components of the station.
+	 * @param diffLayout whether to compare the layouts, the default is <code>true</code>
+	 */
+	public void setDiffLayout( boolean diffLayout ){
+		this.diffLayout = diffLayout;
+	}
+	
+	/**
+	 * Tells whether root stations with an unchanged layout are left alone.
+	 * @return whether the layouts are compared
+	 * @see #setDiffLayout(boolean)
+	 */
+	public boolean isDiffLayout(){
+		return diffLayout;
+	}
+	
 	public boolean setLayout( DockFrontendInternals frontend, Setting setting, boolean entry ) throws IOException, XException{
 		try{
 			updatingFullLayout = true;
@@ -81,9 +113,9 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
 	private boolean updateLayout( DockFrontendInternals frontend, Setting setting, boolean entry ) throws IOException, XException{
 		DockSituation situation = createSituation( frontend, entry, true );
         
-        DockSituationIgnore ignore = situation.getIgnore();
-        if( ignore == null ){
-            ignore = new DockSituationIgnore(){
+        DockSituationIgnore situationIgnore = situation.getIgnore();
+        if( situationIgnore == null ){
+            situationIgnore = new DockSituationIgnore(){
                 public boolean ignoreChildren( DockStation station ) {
                     return false;
                 }
@@ -106,16 +138,102 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
         	return false;
         }
         
-        // split up all child parent relations
-        frontend.clean( ignore );
-        
-        // apply the new layout
-        applyLayout( frontend, situation, access, entry );
-        applyInvisibleLayout( frontend, situation, access );
+        try{
+        	unchangedRoots = diffLayout ? listUnchangedRoots( frontend, situation, access ) : Collections.<DockStation>emptySet();
+        	
+        	final DockSituationIgnore ignore = situationIgnore;
+        	DockSituationIgnore cleanIgnore = ignore;
+        	if( !unchangedRoots.isEmpty() ){
+        		cleanIgnore = new DockSituationIgnore(){
+        			public boolean ignoreChildren( DockStation station ){
+        				return ignore.ignoreChildren( station );
+        			}
+        			public boolean ignoreElement( DockElement element ){
+        				return unchangedRoots.contains( element ) || ignore.ignoreElement( element );
+        			}
+        			public boolean ignoreChildren( PerspectiveStation station ){
+        				return ignore.ignoreChildren( station );
+        			}
+        			public boolean ignoreElement( PerspectiveElement element ){
+        				return ignore.ignoreElement( element );
+        			}
+        		};
+        	}
+        	
+	        // split up all child parent relations
+	        frontend.clean( cleanIgnore );
+	        
+	        // apply the new layout
+	        applyLayout( frontend, situation, access, entry );
+	        applyInvisibleLayout( frontend, situation, access );
+        }
+        finally{
+        	unchangedRoots = Collections.emptySet();
+        }
         
         return true;
 	}
 	
+	/**
+	 * Searches all the root stations whose current layout equals the layout described by <code>setting</code>.
+	 * These stations are neither cleaned nor rebuilt when applying <code>setting</code>.
+	 * @param frontend the caller of this method
+	 * @param situation used to convert the layout
+	 * @param setting the new layout
+	 * @return the stations whose layout does not change
+	 * @see #setDiffLayout(boolean)
+	 */
+	protected Set<DockStation> listUnchangedRoots( DockFrontendInternals frontend, DockSituation situation, SettingAccess setting ){
+		Set<DockStation> result = new HashSet<DockStation>();
+		for( RootInfo info : frontend.getRoots() ){
+			DockLayoutComposition layout = setting.getRoot( info.getName() );
+			if( layout != null && isUnchanged( situation, info.getStation(), layout )){
+				result.add( info.getStation() );
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Tells whether the current layout of <code>station</code> equals <code>layout</code>. This implementation
+	 * writes both layouts with <code>situation</code> and compares the bytes.
+	 * @param situation used to convert the layouts
+	 * @param station a root station
+	 * @param layout the new layout of <code>station</code>
+	 * @return <code>true</code> if applying <code>layout</code> would not change <code>station</code>
+	 */
+	protected boolean isUnchanged( DockSituation situation, DockStation station, DockLayoutComposition layout ){
+		try{
+			DockLayoutComposition current = situation.convert( station );
+			if( current == null ){
+				return false;
+			}
+			layout = situation.fillMissing( layout );
+			return Arrays.equals( toBytes( situation, current ), toBytes( situation, layout ));
+		}
+		catch( IOException e ){
+			return false;
+		}
+		catch( XException e ){
+			return false;
+		}
+		catch( IllegalArgumentException e ){
+			// unknown factory
+			return false;
+		}
+		catch( ClassCastException e ){
+			return false;
+		}
+	}
+	
+	private byte[] toBytes( DockSituation situation, DockLayoutComposition composition ) throws IOException{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream( bytes );
+		situation.writeComposition( composition, out );
+		out.close();
+		return bytes.toByteArray();
+	}
+	
 	/**
 	 * Creates a wrapper around <code>setting</code> that allows the algorithm of this 
 	 * {@link LayoutChangeStrategy} to access the setting.
@@ -278,7 +396,8 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
     /**
      * Applies the layout described in <code>setting</code> to the visible elements. 
      * This implementation tries to estimate the location of missing dockables using
-     * {@link #listEstimateLocations(DockSituation, DockLayoutComposition)}. 
+     * {@link #listEstimateLocations(DockSituation, DockLayoutComposition)}. Root stations whose
+     * layout does not change are not converted, see {@link #setDiffLayout(boolean)}.
      * @param frontend the caller of this method
      * @param situation used to convert the layout
      * @param setting the new layout
@@ -335,7 +454,9 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
                     
                 }
                 
-                situation.convert( layout );
+                if( !unchangedRoots.contains( info.getStation() )){
+                	situation.convert( layout );
+                }
             }
         }
     }
@@ -0,0 +1,201 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.frontend;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import bibliothek.gui.DockFrontend;
+
+/**
+ * A list of {@link LayoutSnapshot}s of one {@link DockFrontend}, offering undo and redo. All the snapshots
+ * share one {@link LayoutSnapshotPool}, hence storing many snapshots of similar layouts requires only little memory.<br>
+ * Clients call {@link #record()} once to store the initial layout, and then every time the user changed the
+ * layout, e.g. after a drag and drop operation. {@link #undo()} and {@link #redo()} apply the stored snapshots with
+ * {@link DockFrontend#setSnapshot(LayoutSnapshot)}.<br>
+ * A <code>CControl</code> can be observed by creating a history for <code>CControl.intern()</code>.
+ * @author Benjamin Sigg
+ */
+public class LayoutHistory {
+	/** the frontend whose layout is stored */
+	private DockFrontend frontend;
+	
+	/** whether the snapshots are entry layouts */
+	private boolean entry;
+	
+	/** the pool shared by all snapshots */
+	private LayoutSnapshotPool pool = new LayoutSnapshotPool();
+	
+	/** all the snapshots, from the oldest to the newest */
+	private List<LayoutSnapshot> snapshots = new ArrayList<LayoutSnapshot>();
+	
+	/** the index of the snapshot that describes the current layout, -1 if there are no snapshots */
+	private int current = -1;
+	
+	/** the maximum number of snapshots */
+	private int limit = 100;
+	
+	/**
+	 * Creates a new history storing full layouts.
+	 * @param frontend the frontend whose layout is stored, not <code>null</code>
+	 */
+	public LayoutHistory( DockFrontend frontend ){
+		this( frontend, false );
+	}
+	
+	/**
+	 * Creates a new history.
+	 * @param frontend the frontend whose layout is stored, not <code>null</code>
+	 * @param entry whether to store entry layouts, see {@link DockFrontend#getSetting(boolean)}
+	 */
+	public LayoutHistory( DockFrontend frontend, boolean entry ){
+		if( frontend == null ){
+			throw new IllegalArgumentException( "frontend must not be null" );
+		}
+		this.frontend = frontend;
+		this.entry = entry;
+	}
+	
+	/**
+	 * Sets the maximum number of snapshots this history stores. If there are too many
+	 * snapshots, then the oldest snapshots are removed.
+	 * @param limit the maximum number of snapshots, at least 1
+	 */
+	public void setLimit( int limit ){
+		if( limit < 1 ){
+			throw new IllegalArgumentException( "limit must be at least 1" );
+		}
+		this.limit = limit;
+		trim();
+	}
+	
+	/**
+	 * Gets the maximum number of snapshots this history stores.
+	 * @return the maximum number of snapshots
+	 */
+	public int getLimit(){
+		return limit;
+	}
+	
+	/**
+	 * Gets the pool which stores the parts of the snapshots.
+	 * @return the pool, can be used to find out how much memory the snapshots use
+	 */
+	public LayoutSnapshotPool getPool(){
+		return pool;
+	}
+	
+	/**
+	 * Gets the number of snapshots stored in this history.
+	 * @return the number of snapshots
+	 */
+	public int size(){
+		return snapshots.size();
+	}
+	
+	/**
+	 * Stores the current layout of the frontend. All the snapshots that could be {@link #redo() redone} are
+	 * removed. Nothing happens if the layout did not change since the last call to this method.
+	 * @return the new snapshot or the current snapshot if the layout did not change
+	 */
+	public LayoutSnapshot record(){
+		LayoutSnapshot snapshot = frontend.getSnapshot( entry, pool );
+		if( current >= 0 && snapshots.get( current ).isSameLayout( snapshot )){
+			return snapshots.get( current );
+		}
+		
+		while( snapshots.size() > current+1 ){
+			snapshots.remove( snapshots.size()-1 );
+		}
+		snapshots.add( snapshot );
+		current = snapshots.size()-1;
+		trim();
+		return snapshot;
+	}
+	
+	/**
+	 * Tells whether {@link #undo()} would change the layout.
+	 * @return whether there is an older snapshot
+	 */
+	public boolean canUndo(){
+		return current > 0;
+	}
+	
+	/**
+	 * Tells whether {@link #redo()} would change the layout.
+	 * @return whether there is a newer snapshot
+	 */
+	public boolean canRedo(){
+		return current+1 < snapshots.size();
+	}
+	
+	/**
+	 * Applies the snapshot that was recorded before the current snapshot.
+	 * @return <code>true</code> if the layout changed
+	 */
+	public boolean undo(){
+		if( !canUndo() ){
+			return false;
+		}
+		current--;
+		frontend.setSnapshot( snapshots.get( current ));
+		return true;
+	}
+	
+	/**
+	 * Applies the snapshot that was recorded after the current snapshot.
+	 * @return <code>true</code> if the layout changed
+	 */
+	public boolean redo(){
+		if( !canRedo() ){
+			return false;
+		}
+		current++;
+		frontend.setSnapshot( snapshots.get( current ));
+		return true;
+	}
+	
+	/**
+	 * Removes all snapshots from this history.
+	 */
+	public void clear(){
+		snapshots.clear();
+		current = -1;
+	}
+	
+	/**
+	 * Removes the oldest snapshots until there are at most {@link #getLimit() limit} snapshots.
+	 */
+	private void trim(){
+		while( snapshots.size() > limit ){
+			snapshots.remove( 0 );
+			current--;
+		}
+		if( current < 0 && !snapshots.isEmpty() ){
+			current = 0;
+		}
+	}
+}
@@ -0,0 +1,277 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.frontend;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.dock.frontend.LayoutSnapshotPool.Chunk;
+import bibliothek.gui.dock.frontend.LayoutSnapshotPool.Node;
+import bibliothek.gui.dock.layout.DockLayoutComposition;
+import bibliothek.gui.dock.layout.DockSituation;
+import bibliothek.gui.dock.layout.DockableProperty;
+import bibliothek.gui.dock.layout.PropertyTransformer;
+
+/**
+ * An immutable copy of a {@link Setting}. A {@link LayoutSnapshot} stores its layouts in serialized form, every 
+ * {@link DockLayoutComposition} and every {@link DockableProperty} is stored separately and shared with all the other
+ * snapshots that were created with the same {@link LayoutSnapshotPool}. Hence a snapshot of a layout in which only
+ * a few {@link bibliothek.gui.Dockable}s moved requires only little additional memory.<br>
+ * Snapshots are created by {@link DockFrontend#getSnapshot(boolean, LayoutSnapshotPool)} and applied by 
+ * {@link DockFrontend#setSnapshot(LayoutSnapshot)}, see also {@link LayoutHistory}.
+ * @author Benjamin Sigg
+ */
+public final class LayoutSnapshot {
+	/** whether this snapshot was created as entry layout */
+	private final boolean entry;
+	
+	/** the names of the root stations */
+	private final String[] rootKeys;
+	
+	/** the layouts of the root stations */
+	private final Node[] roots;
+	
+	/** the elements that are not visible */
+	private final Invisible[] invisibles;
+	
+	/** additional information of the {@link Setting}, see {@link Setting#writeAdditional(DataOutputStream)} */
+	private final Chunk additional;
+	
+	/**
+	 * Creates a new snapshot of <code>setting</code>.
+	 * @param setting the setting to copy
+	 * @param entry whether <code>setting</code> is an entry layout
+	 * @param situation used to write the {@link DockLayoutComposition}s
+	 * @param transformer used to write the {@link DockableProperty}s
+	 * @param pool the pool in which the parts of the snapshot are stored
+	 * @return the new snapshot
+	 * @throws IOException if <code>setting</code> cannot be written
+	 */
+	public static LayoutSnapshot create( Setting setting, boolean entry, DockSituation situation, PropertyTransformer transformer, LayoutSnapshotPool pool ) throws IOException{
+		return new LayoutSnapshot( setting, entry, situation, transformer, pool );
+	}
+	
+	private LayoutSnapshot( Setting setting, boolean entry, DockSituation situation, PropertyTransformer transformer, LayoutSnapshotPool pool ) throws IOException{
+		this.entry = entry;
+		
+		rootKeys = setting.getRootKeys();
+		Arrays.sort( rootKeys );
+		roots = new Node[ rootKeys.length ];
+		for( int i = 0; i < rootKeys.length; i++ ){
+			roots[i] = encode( setting.getRoot( rootKeys[i] ), situation, pool );
+		}
+		
+		invisibles = new Invisible[ setting.getInvisibleCount() ];
+		for( int i = 0; i < invisibles.length; i++ ){
+			Chunk location = null;
+			DockableProperty property = setting.getInvisibleLocation( i );
+			if( property != null ){
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream( bytes );
+				transformer.write( property, out );
+				out.close();
+				location = pool.intern( new Chunk( bytes.toByteArray() ) );
+			}
+			
+			DockLayoutComposition layout = setting.getInvisibleLayout( i );
+			invisibles[i] = new Invisible( setting.getInvisibleKey( i ), setting.getInvisibleRoot( i ), 
+					location, layout == null ? null : encode( layout, situation, pool ));
+		}
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream( bytes );
+		setting.writeAdditional( out );
+		out.close();
+		additional = pool.intern( new Chunk( bytes.toByteArray() ));
+	}
+	
+	/**
+	 * Converts <code>composition</code> and all its children into {@link Node}s.
+	 * @param composition the composition to convert
+	 * @param situation used to write the layout of <code>composition</code>
+	 * @param pool the pool in which the nodes are stored
+	 * @return the shared node
+	 * @throws IOException if the layout cannot be written
+	 */
+	private static Node encode( DockLayoutComposition composition, DockSituation situation, LayoutSnapshotPool pool ) throws IOException{
+		List<DockLayoutComposition> children = composition.getChildren();
+		Node[] nodes = new Node[ children.size() ];
+		for( int i = 0; i < nodes.length; i++ ){
+			nodes[i] = encode( children.get( i ), situation, pool );
+		}
+		
+		DockLayoutComposition single = new DockLayoutComposition( composition.getLayout(), composition.getAdjacent(), 
+				new ArrayList<DockLayoutComposition>( 0 ), composition.isIgnoreChildren() );
+		
+		Chunk data = null;
+		DockLayoutComposition raw = null;
+		try{
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream( bytes );
+			situation.writeComposition( single, out );
+			out.close();
+			data = pool.intern( new Chunk( bytes.toByteArray() ) );
+		}
+		catch( IllegalArgumentException e ){
+			// the layout is in a format that cannot be written into a stream
+			raw = single;
+		}
+		
+		return pool.intern( new Node( data, raw, nodes ) );
+	}
+	
+	/**
+	 * Converts <code>node</code> and all its children back into a {@link DockLayoutComposition}.
+	 * @param node the node to convert
+	 * @param situation used to read the layout of <code>node</code>
+	 * @return the composition or <code>null</code> if it cannot be read
+	 * @throws IOException if the layout cannot be read
+	 */
+	private static DockLayoutComposition decode( Node node, DockSituation situation ) throws IOException{
+		DockLayoutComposition single = node.getRaw();
+		if( single == null ){
+			single = situation.readComposition( new DataInputStream( new ByteArrayInputStream( node.getData().getData() ) ) );
+			if( single == null ){
+				return null;
+			}
+		}
+		
+		List<DockLayoutComposition> children = new ArrayList<DockLayoutComposition>( node.getChildren().length );
+		for( Node child : node.getChildren() ){
+			DockLayoutComposition composition = decode( child, situation );
+			if( composition != null ){
+				children.add( composition );
+			}
+		}
+		
+		return new DockLayoutComposition( single.getLayout(), single.getAdjacent(), children, single.isIgnoreChildren() );
+	}
+	
+	/**
+	 * Tells whether this snapshot was created for an entry layout or for a full layout.
+	 * @return <code>true</code> if this is an entry layout
+	 * @see DockFrontend#getSetting(boolean)
+	 */
+	public boolean isEntry(){
+		return entry;
+	}
+	
+	/**
+	 * Tells whether <code>snapshot</code> describes the same layout as <code>this</code>. The
+	 * snapshots must be created with the same {@link LayoutSnapshotPool}.
+	 * @param snapshot the snapshot to compare with
+	 * @return <code>true</code> if applying <code>snapshot</code> or <code>this</code> has the same effect
+	 */
+	public boolean isSameLayout( LayoutSnapshot snapshot ){
+		if( snapshot == this ){
+			return true;
+		}
+		if( snapshot == null || snapshot.entry != entry || snapshot.additional != additional ){
+			return false;
+		}
+		if( snapshot.roots.length != roots.length || snapshot.invisibles.length != invisibles.length ){
+			return false;
+		}
+		for( int i = 0; i < roots.length; i++ ){
+			if( roots[i] != snapshot.roots[i] || !rootKeys[i].equals( snapshot.rootKeys[i] )){
+				return false;
+			}
+		}
+		for( int i = 0; i < invisibles.length; i++ ){
+			if( !invisibles[i].isSame( snapshot.invisibles[i] )){
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Writes the content of this snapshot into <code>setting</code>.
+	 * @param setting an empty setting, usually created by {@link DockFrontend}
+	 * @param situation used to read the {@link DockLayoutComposition}s
+	 * @param transformer used to read the {@link DockableProperty}s
+	 * @return <code>setting</code>
+	 * @throws IOException if the snapshot cannot be read
+	 */
+	public Setting toSetting( Setting setting, DockSituation situation, PropertyTransformer transformer ) throws IOException{
+		for( int i = 0; i < roots.length; i++ ){
+			DockLayoutComposition root = decode( roots[i], situation );
+			if( root != null ){
+				setting.putRoot( rootKeys[i], root );
+			}
+		}
+		
+		for( Invisible invisible : invisibles ){
+			DockableProperty location = null;
+			if( invisible.location != null ){
+				location = transformer.read( new DataInputStream( new ByteArrayInputStream( invisible.location.getData() ) ) );
+			}
+			DockLayoutComposition layout = null;
+			if( invisible.layout != null ){
+				layout = decode( invisible.layout, situation );
+			}
+			setting.addInvisible( invisible.key, invisible.root, layout, location );
+		}
+		
+		setting.readAdditional( new DataInputStream( new ByteArrayInputStream( additional.getData() ) ) );
+		return setting;
+	}
+	
+	/**
+	 * Describes an element that was not visible.
+	 * @author Benjamin Sigg
+	 */
+	private static final class Invisible{
+		private final String key;
+		private final String root;
+		private final Chunk location;
+		private final Node layout;
+		
+		public Invisible( String key, String root, Chunk location, Node layout ){
+			this.key = key;
+			this.root = root;
+			this.location = location;
+			this.layout = layout;
+		}
+		
+		/**
+		 * Tells whether <code>other</code> describes the same element as <code>this</code>.
+		 * @param other the element to compare with
+		 * @return whether the elements are the same
+		 */
+		public boolean isSame( Invisible other ){
+			return key.equals( other.key ) && (root == null ? other.root == null : root.equals( other.root )) &&
+				location == other.location && layout == other.layout;
+		}
+	}
+}
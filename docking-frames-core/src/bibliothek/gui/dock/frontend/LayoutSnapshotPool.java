@@ -0,0 +1,210 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.frontend;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import bibliothek.gui.dock.layout.DockLayoutComposition;
+
+/**
+ * A {@link LayoutSnapshotPool} stores the parts of {@link LayoutSnapshot}s. {@link LayoutSnapshot}s that are
+ * created with the same pool share all the parts that are equal, e.g. the layout of a station that did not change
+ * between two snapshots is stored only once. Parts that are no longer used by any {@link LayoutSnapshot} are
+ * removed from the pool by the garbage collector.
+ * @author Benjamin Sigg
+ */
+public class LayoutSnapshotPool {
+	/** all the parts known to this pool */
+	private Map<Object, WeakReference<Object>> items = new WeakHashMap<Object, WeakReference<Object>>();
+	
+	/**
+	 * Searches a part that is equal to <code>item</code>, or stores <code>item</code> if there
+	 * is no such part yet.
+	 * @param <T> the type of the part
+	 * @param item the part to search
+	 * @return the shared part which is equal to <code>item</code>
+	 */
+	@SuppressWarnings("unchecked")
+	synchronized <T> T intern( T item ){
+		WeakReference<Object> reference = items.get( item );
+		if( reference != null ){
+			Object existing = reference.get();
+			if( existing != null ){
+				return (T)existing;
+			}
+		}
+		items.put( item, new WeakReference<Object>( item ) );
+		return item;
+	}
+	
+	/**
+	 * Gets the number of distinct parts that are currently stored in this pool.
+	 * @return the number of parts
+	 */
+	public synchronized int size(){
+		return items.size();
+	}
+	
+	/**
+	 * Gets the number of bytes that are used by the serialized layouts stored in this pool. This number does
+	 * not include the overhead of the objects.
+	 * @return the number of bytes
+	 */
+	public synchronized long getByteCount(){
+		long count = 0;
+		for( Object item : items.keySet() ){
+			if( item instanceof Chunk ){
+				count += ((Chunk)item).getData().length;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * An immutable array of bytes.
+	 * @author Benjamin Sigg
+	 */
+	static final class Chunk{
+		private final byte[] data;
+		private final int hash;
+		
+		/**
+		 * Creates a new chunk.
+		 * @param data the content of this chunk, must not be modified anymore
+		 */
+		public Chunk( byte[] data ){
+			this.data = data;
+			this.hash = Arrays.hashCode( data );
+		}
+		
+		/**
+		 * Gets the content of this chunk.
+		 * @return the content, must not be modified
+		 */
+		public byte[] getData(){
+			return data;
+		}
+		
+		@Override
+		public int hashCode(){
+			return hash;
+		}
+		
+		@Override
+		public boolean equals( Object obj ){
+			if( obj == this ){
+				return true;
+			}
+			if( obj instanceof Chunk ){
+				Chunk other = (Chunk)obj;
+				return other.hash == hash && Arrays.equals( other.data, data );
+			}
+			return false;
+		}
+	}
+	
+	/**
+	 * An immutable node of a tree of {@link DockLayoutComposition}s. The children of a node
+	 * are shared, hence two nodes are equal if their data is equal and if their children are identical.
+	 * @author Benjamin Sigg
+	 */
+	static final class Node{
+		private final Chunk data;
+		private final DockLayoutComposition raw;
+		private final Node[] children;
+		private final int hash;
+		
+		/**
+		 * Creates a new node.
+		 * @param data the serialized layout of this node, can be <code>null</code> if <code>raw</code> is set
+		 * @param raw the layout of this node if it could not be serialized, can be <code>null</code>
+		 * @param children the shared children of this node
+		 */
+		public Node( Chunk data, DockLayoutComposition raw, Node[] children ){
+			this.data = data;
+			this.raw = raw;
+			this.children = children;
+			
+			int hash = data == null ? System.identityHashCode( raw ) : data.hashCode();
+			for( Node child : children ){
+				hash = hash * 31 + System.identityHashCode( child );
+			}
+			this.hash = hash;
+		}
+		
+		/**
+		 * Gets the serialized layout of this node.
+		 * @return the layout, <code>null</code> if {@link #getRaw()} is set
+		 */
+		public Chunk getData(){
+			return data;
+		}
+		
+		/**
+		 * Gets the layout of this node if it could not be serialized.
+		 * @return the layout, usually <code>null</code>
+		 */
+		public DockLayoutComposition getRaw(){
+			return raw;
+		}
+		
+		/**
+		 * Gets the children of this node.
+		 * @return the children, must not be modified
+		 */
+		public Node[] getChildren(){
+			return children;
+		}
+		
+		@Override
+		public int hashCode(){
+			return hash;
+		}
+		
+		@Override
+		public boolean equals( Object obj ){
+			if( obj == this ){
+				return true;
+			}
+			if( obj instanceof Node ){
+				Node other = (Node)obj;
+				if( other.hash != hash || other.data != data || other.raw != raw || other.children.length != children.length ){
+					return false;
+				}
+				for( int i = 0; i < children.length; i++ ){
+					if( children[i] != other.children[i] ){
+						return false;
+					}
+				}
+				return true;
+			}
+			return false;
+		}
+	}
+}
@@ -157,6 +157,27 @@ public class Setting{
         }
     }
     
+    /**
+     * Writes all the properties of this setting that are neither the layout of a root station
+     * nor an invisible element. This method is used by {@link LayoutSnapshot}, subclasses storing
+     * additional properties should override this method and {@link #readAdditional(DataInputStream)}.
+     * The default implementation writes nothing.
+     * @param out the stream to write into
+     * @throws IOException if an I/O-error occurs
+     */
+    public void writeAdditional( DataOutputStream out ) throws IOException{
+    	// nothing to do
+    }
+    
+    /**
+     * Reads the properties that were written by {@link #writeAdditional(DataOutputStream)}.
+     * @param in the stream to read from
+     * @throws IOException if an I/O-error occurs
+     */
+    public void readAdditional( DataInputStream in ) throws IOException{
+    	// nothing to do
+    }
+    
     /**
      * Writes the properties of this setting into <code>out</code>.
      * @param situation can be used to write {@link DockLayout}s
@@ -0,0 +1,73 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.layout;
+
+import java.io.DataOutputStream;
+import java.io.OutputStream;
+
+import bibliothek.gui.dock.station.support.PlaceholderMap;
+
+/**
+ * A {@link DataOutputStream} telling the objects that write into it, that they are allowed to use
+ * compact formats that cannot be read by older versions of the framework. Currently only the
+ * {@link PlaceholderMap} has such a format.<br>
+ * {@link DockSituation} hands out this kind of stream to the {@link DockFactory}s if
+ * {@link DockSituation#setCompactFormat(boolean) enabled}. Factories that forward data through
+ * their own buffers should use {@link #wrap(OutputStream, DataOutputStream)} to keep the format.
+ * @author Benjamin Sigg
+ */
+public class CompactDataOutputStream extends DataOutputStream{
+	/**
+	 * Creates a new stream writing into <code>out</code>, the new stream is a {@link CompactDataOutputStream}
+	 * if <code>parent</code> is a {@link CompactDataOutputStream}.
+	 * @param out the stream to write into
+	 * @param parent the stream whose format should be used, can be <code>null</code>
+	 * @return the new stream
+	 */
+	public static DataOutputStream wrap( OutputStream out, DataOutputStream parent ){
+		if( isCompact( parent )){
+			return new CompactDataOutputStream( out );
+		}
+		return new DataOutputStream( out );
+	}
+
+	/**
+	 * Tells whether data written into <code>out</code> can use the compact format.
+	 * @param out some stream, can be <code>null</code>
+	 * @return <code>true</code> if <code>out</code> is a {@link CompactDataOutputStream}
+	 */
+	public static boolean isCompact( DataOutputStream out ){
+		return out instanceof CompactDataOutputStream;
+	}
+
+	/**
+	 * Creates a new stream.
+	 * @param out the stream to write into
+	 */
+	public CompactDataOutputStream( OutputStream out ){
+		super( out );
+	}
+}
@@ -58,6 +58,7 @@ import bibliothek.gui.dock.station.support.PlaceholderStrategy;
 import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.gui.dock.util.extension.ExtensionManager;
 import bibliothek.gui.dock.util.extension.ExtensionName;
+import bibliothek.gui.dock.util.trace.DockTracer;
 import bibliothek.util.Path;
 import bibliothek.util.Todo;
 import bibliothek.util.Version;
@@ -103,6 +104,12 @@ public class DockSituation {
     
     /** strategy used to filter placeholders when converting the intermediate format to real {@link DockElement}s */
     private PlaceholderStrategy placeholders;
+    
+    /** whether the compact binary format is written */
+    private boolean compactFormat = false;
+    
+    /** measures how long the factories take to read and write layouts, can be <code>null</code> */
+    private DockTracer tracer;
 
     /**
      * Constructs a new DockSituation and sets some factories which are
@@ -130,16 +137,18 @@ public class DockSituation {
                 new FlapDockStationFactory());
         
         @SuppressWarnings("rawtypes")
-		List<DockFactory> factories = controller.getExtensions().load( new ExtensionName<DockFactory>( DOCK_FACTORY_EXTENSION, DockFactory.class, EXTENSION_PARAM, this ) );
+		List<DockFactory> factories = controller.getExtensions().load( new ExtensionName<DockFactory>( DOCK_FACTORY_EXTENSION, DockFactory.class, EXTENSION_PARAM, this, true ) );
         for( DockFactory<?,?,?> factory : factories ){
         	add( factory );
         }
      
         @SuppressWarnings("rawtypes")
-		List<AdjacentDockFactory> adjacent = controller.getExtensions().load( new ExtensionName<AdjacentDockFactory>( ADJACENT_DOCK_FACTORY_EXTENSION, AdjacentDockFactory.class, EXTENSION_PARAM, this ) );
+		List<AdjacentDockFactory> adjacent = controller.getExtensions().load( new ExtensionName<AdjacentDockFactory>( ADJACENT_DOCK_FACTORY_EXTENSION, AdjacentDockFactory.class, EXTENSION_PARAM, this, true ) );
         for( AdjacentDockFactory<?> factory : adjacent ){
         	addAdjacent( factory );
         }
+        
+        tracer = controller.getTracer();
     }
 
     /**
@@ -164,6 +173,59 @@ public class DockSituation {
 		};
     }
     
+    /**
+     * Sets whether the binary format written by this situation is compact. If set, then the factories
+     * write into {@link CompactDataOutputStream}s, e.g. {@link bibliothek.gui.dock.station.support.PlaceholderMap}s
+     * are written with a dictionary of strings. Compact layouts cannot be read by versions of the framework
+     * older than {@link Version#VERSION_1_1_3}, hence the compact format has to be enabled explicitly. Both formats
+     * can always be read. The default value is <code>false</code>.
+     * @param compactFormat whether to use the compact format
+     */
+    public void setCompactFormat( boolean compactFormat ){
+        this.compactFormat = compactFormat;
+    }
+    
+    /**
+     * Tells whether the binary format written by this situation is compact.
+     * @return whether the compact format is used
+     * @see #setCompactFormat(boolean)
+     */
+    public boolean isCompactFormat(){
+        return compactFormat;
+    }
+    
+    /**
+     * Sets the tracer which measures how long each {@link DockFactory} takes to read and write its layouts. A
+     * {@link DockSituation} created with a {@link DockController} uses the {@link DockController#getTracer() tracer}
+     * of the controller.
+     * @param tracer the tracer, can be <code>null</code>
+     */
+    public void setTracer( DockTracer tracer ){
+        this.tracer = tracer;
+    }
+    
+    /**
+     * Gets the tracer which measures how long the factories take to read and write their layouts.
+     * @return the tracer, can be <code>null</code>
+     * @see #setTracer(DockTracer)
+     */
+    public DockTracer getTracer(){
+        return tracer;
+    }
+    
+    private long traceStart(){
+        if( tracer == null ){
+            return DockTracer.DISABLED;
+        }
+        return tracer.start();
+    }
+    
+    private void traceStop( Path operation, String factoryId, long start ){
+        if( tracer != null ){
+            tracer.stop( operation, factoryId, start );
+        }
+    }
+    
     /**
      * Sets a filter which decides, which elements (stations and dockables)
      * are stored.
@@ -434,7 +496,7 @@ public class DockSituation {
      * @throws IOException if an I/O-error occurs
      */
     public void writeComposition( DockLayoutComposition composition, DataOutputStream out ) throws IOException{
-        Version.write( out, Version.VERSION_1_0_8 );
+        Version.write( out, compactFormat ? Version.VERSION_1_1_3 : Version.VERSION_1_0_8 );
         writeCompositionStream( composition, out );
     }
 
@@ -473,8 +535,10 @@ public class DockSituation {
             
             // contents
             ByteArrayOutputStream bout = new ByteArrayOutputStream();
-            DataOutputStream dout = new DataOutputStream( bout );
+            DataOutputStream dout = createOutputStream( bout );
+            long trace = traceStart();
             factory.write( layout.getData(), dout );
+            traceStop( DockTracer.SITUATION_WRITE, layout.getFactoryID(), trace );
             dout.close();
 
             out.writeInt( bout.size() );
@@ -498,7 +562,7 @@ public class DockSituation {
                     throw new IOException( "Missing adjacent factory: " + adjacentLayout.getFactoryID() );
 
                 ByteArrayOutputStream adjacentBOut = new ByteArrayOutputStream();
-                DataOutputStream adjacentOut = new DataOutputStream( adjacentBOut );
+                DataOutputStream adjacentOut = createOutputStream( adjacentBOut );
                 adjacentFactory.write( adjacentLayout.getData(), adjacentOut );
                 adjacentOut.close();
 
@@ -519,6 +583,18 @@ public class DockSituation {
         }
     }
 
+    /**
+     * Creates the stream into which a factory writes its data.
+     * @param out the buffer to write into
+     * @return either a {@link DataOutputStream} or a {@link CompactDataOutputStream}
+     */
+    private DataOutputStream createOutputStream( ByteArrayOutputStream out ){
+    	if( compactFormat ){
+    		return new CompactDataOutputStream( out );
+    	}
+    	return new DataOutputStream( out );
+    }
+    
     /**
      * Reads one {@link DockLayoutComposition} and all its children.
      * @param in the stream to read from
@@ -527,10 +603,22 @@ public class DockSituation {
      */
     public DockLayoutComposition readComposition( DataInputStream in ) throws IOException{
         Version version = Version.read( in );
-        version.checkCurrent();
+        checkVersion( version );
         return readCompositionStream( in, version );
     }
 
+    /**
+     * Ensures that <code>version</code> is a format this situation can read. The compact format is marked with
+     * {@link Version#VERSION_1_1_3}, which may be newer than {@link Version#CURRENT}.
+     * @param version the version of a composition
+     * @throws IOException if <code>version</code> is unknown
+     */
+    private void checkVersion( Version version ) throws IOException{
+        if( !Version.VERSION_1_1_3.equals( version )){
+            version.checkCurrent();
+        }
+    }
+
     /**
      * Reads one {@link DockLayoutComposition} and all its children.
      * @param in the stream to read from
@@ -545,7 +633,7 @@ public class DockSituation {
     	
     	if( Version.VERSION_1_0_8.compareTo( version ) <= 0 ){
     		if( in.readBoolean() ){
-	    		entryPlaceholder = new Path( in.readUTF() );
+	    		entryPlaceholder = Path.valueOf( in.readUTF() );
 	   		}
     	}
     	
@@ -652,7 +740,9 @@ public class DockSituation {
             }
         }
         else{
+            long trace = traceStart();
             Object data = factory.read( entryIn, intermediatePlaceholders );
+            traceStop( DockTracer.SITUATION_READ, factoryId, trace );
             if( data == null ){
                 info = null;
             }
@@ -770,6 +860,19 @@ public class DockSituation {
         }
     }
 
+    /**
+     * Reads a map of {@link DockLayoutComposition}s written by {@link #writeCompositions(Map, DataOutputStream)}
+     * in any format, and writes the map again using the current {@link #setCompactFormat(boolean) format}.
+     * This method can be used to convert files written by older versions into the compact format.
+     * Elements whose factory is missing are copied without conversion.
+     * @param in the stream to read from
+     * @param out the stream to write into
+     * @throws IOException if an I/O-error occurs
+     */
+    public void convertCompositions( DataInputStream in, DataOutputStream out ) throws IOException{
+    	writeCompositions( readCompositions( in ), out );
+    }
+
     /**
      * Reads <code>data</code> as stream and returns the roots of the
      * {@link DockElement DockElements} which were found. 
@@ -858,7 +961,9 @@ public class DockSituation {
             if( placeholder != null ){
             	xfactory.addString( "placeholder", placeholder.toString() );
             }
+            long trace = traceStart();
             factory.write( layout.getData(), xfactory );
+            traceStop( DockTracer.SITUATION_WRITE, layout.getFactoryID(), trace );
         }
         else{
             // there is nothing to write...
@@ -951,11 +1056,13 @@ public class DockSituation {
             Path placeholder = null;
             XAttribute xplaceholder = element.getAttribute( "placeholder" );
             if( xplaceholder != null ){
-            	placeholder = new Path( xplaceholder.getString() );
+            	placeholder = Path.valueOf( xplaceholder.getString() );
             }
             DockFactory<DockElement,?,Object> factory = (DockFactory<DockElement,?,Object>)getFactory( factoryId );
             if( factory != null ){
+                long trace = traceStart();
                 Object data = factory.read( element, intermediatePlaceholders );
+                traceStop( DockTracer.SITUATION_READ, factoryId, trace );
                 if( data != null ){
                     layout = new DockLayoutInfo( new DockLayout<Object>( factoryId, data ) );
                     layout.setPlaceholder( placeholder );
@@ -35,6 +35,7 @@ import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.displayer.DisplayerRequest;
+import bibliothek.gui.dock.station.support.DockComponentPool;
 import bibliothek.gui.dock.themes.DefaultDisplayerFactoryValue;
 import bibliothek.gui.dock.title.DockTitle;
 import bibliothek.gui.dock.util.extension.Extension;
@@ -211,6 +212,32 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
         displayer.setController( null );
     }
     
+    /**
+     * Releases a displayer that was created by this collection, and allows the displayer to be reused 
+     * if a displayer for the same {@link Dockable} is {@link #fetch(Dockable, DockTitle) fetched} again
+     * soon. Reusing happens only if the {@link #setFactory(DisplayerFactory) factory} did not change
+     * in the meantime. Displayers that were not created by the factory of this collection, e.g. displayers
+     * provided by an {@link Extension} or by the {@link Dockable} itself, are only released.
+     * @param displayer the displayer to release
+     * @see DockComponentPool
+     */
+    public void recycle( DockableDisplayer displayer ){
+    	Dockable dockable = displayer.getDockable();
+    	DisplayerFactory creator = null;
+    	for( Handle handle : displayers ){
+    		if( handle.getAnswer() == displayer ){
+    			creator = handle.getCreator();
+    			break;
+    		}
+    	}
+    	
+    	release( displayer );
+    	
+    	if( controller != null && dockable != null && creator != null ){
+    		controller.getComponentPool().releaseDisplayer( creator, station, dockable, displayer );
+    	}
+    }
+    
     /**
      * Sets the factory that will create new {@link DockableDisplayer} when
      * needed.
@@ -242,14 +269,48 @@ public class DisplayerCollection implements Iterable<DockableDisplayer>{
      * @author Benjamin Sigg
      */
     private class Handle extends DisplayerRequest {
+		/** the factory that created {@link #created} */
+		private DisplayerFactory creator;
+		
+		/** the last displayer created by {@link #creator} */
+		private DockableDisplayer created;
+		
 		public Handle( Dockable target ){
 			super( station, target, new DisplayerFactory(){
 				public void request( DisplayerRequest request ){
-					DisplayerCollection.this.factory.request( request );
+					DisplayerFactory current = DisplayerCollection.this.factory;
+					DockController controller = request.getController();
+					DockableDisplayer displayer = null;
+					if( controller != null ){
+						displayer = controller.getComponentPool().acquireDisplayer( current, station, request.getTarget() );
+					}
+					if( displayer != null ){
+						request.answer( displayer );
+					}
+					else{
+						current.request( request );
+					}
+					
+					Handle handle = (Handle)request;
+					handle.creator = current;
+					handle.created = handle.getAnswer();
 				}
 			}, displayerId );
 		}
 		
+		/**
+		 * Gets the factory which created the current answer of this request.
+		 * @return the factory, or <code>null</code> if the current answer was not created by
+		 * the factory of the {@link DisplayerCollection}
+		 */
+		public DisplayerFactory getCreator(){
+			DockableDisplayer answer = getAnswer();
+			if( answer == null || answer != created ){
+				return null;
+			}
+			return creator;
+		}
+		
 		@Override
 		public void setController( DockController controller ){
 			super.setController( controller );
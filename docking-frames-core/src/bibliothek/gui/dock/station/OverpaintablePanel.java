@@ -162,6 +162,19 @@ public class OverpaintablePanel extends JLayeredPane {
         // do nothing
     }
     
+    /**
+     * Repaints a region of the overlay. Only the {@link Component}s of the "base pane" intersecting 
+     * the region are repainted as well, all other {@link Component}s remain untouched. Clients should 
+     * prefer this method over {@link #repaint()} if only a small part of the overlay changes. 
+     * @param x the x-coordinate of the region, in the coordinate system of the overlay
+     * @param y the y-coordinate of the region, in the coordinate system of the overlay
+     * @param width the width of the region
+     * @param height the height of the region
+     */
+    public void repaintOverlay( int x, int y, int width, int height ){
+    	overlay.repaint( x, y, width, height );
+    }
+    
     @Override
     public Dimension getMinimumSize(){
     	if( isMinimumSizeSet() ){
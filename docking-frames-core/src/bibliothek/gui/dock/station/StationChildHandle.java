@@ -25,10 +25,12 @@
  */
 package bibliothek.gui.dock.station;
 
+import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.event.DockableAdapter;
 import bibliothek.gui.dock.event.DockableListener;
+import bibliothek.gui.dock.station.support.DockComponentPool;
 import bibliothek.gui.dock.station.support.PlaceholderListItem;
 import bibliothek.gui.dock.title.DockTitle;
 import bibliothek.gui.dock.title.DockTitleRequest;
@@ -92,14 +94,20 @@ public class StationChildHandle implements PlaceholderListItem<Dockable>{
 	/**
 	 * Deletes all resources that were acquired by this handler. This includes the current
 	 * {@link DockableDisplayer}, the current {@link DockTitle} and the current {@link DockTitleRequest}.
+	 * The displayer and the title are handed over to the {@link DockComponentPool} and may be reused if
+	 * the {@link Dockable} is shown again soon.
 	 */
 	public void destroy(){
 		if( displayer != null ){
 			DockTitle title = displayer.getTitle();
 			if( title != null ){
 				dockable.unbind( title );
+				DockController controller = station.getController();
+				if( controller != null ){
+					controller.getComponentPool().releaseTitle( title );
+				}
 			}
-			displayers.release( displayer );
+			displayers.recycle( displayer );
 			displayer = null;
 		}
 		
@@ -68,6 +68,7 @@ import bibliothek.gui.dock.title.DockTitle;
 import bibliothek.gui.dock.title.DockTitleVersion;
 import bibliothek.gui.dock.util.BackgroundAlgorithm;
 import bibliothek.gui.dock.util.BackgroundPanel;
+import bibliothek.gui.dock.util.DialogPool;
 import bibliothek.gui.dock.util.Transparency;
 
 /**
@@ -724,4 +725,75 @@ public class DefaultFlapWindow implements FlapWindow, MouseListener, MouseMotion
 			dispose();	
 		}
 	}
+
+	/**
+	 * A parent of a {@link DefaultFlapWindow} that uses a {@link JDialog} of a {@link DialogPool}. The
+	 * dialog is given back to the pool when this parent is destroyed.
+	 * @author Benjamin Sigg
+	 */
+	public static class PooledParent implements Parent {
+		/** the station for which the dialog is used */
+		private FlapDockStation station;
+		
+		/** the pool which provided {@link #dialog} */
+		private DialogPool pool;
+		
+		/** the dialog showing the window, <code>null</code> if destroyed */
+		private JDialog dialog;
+		
+		/**
+		 * Creates a new parent.
+		 * @param pool the pool providing the dialog, not <code>null</code>
+		 * @param owner the owner of the dialog
+		 * @param station the station for which the dialog is used
+		 */
+		public PooledParent( DialogPool pool, Window owner, FlapDockStation station ){
+			this.pool = pool;
+			this.station = station;
+			dialog = pool.acquire( owner );
+		}
+		
+		public Component asComponent(){
+			return dialog;
+		}
+		
+		public boolean isParentValid(){
+			if( dialog == null ){
+				return false;
+			}
+			Window owner = SwingUtilities.getWindowAncestor(station.getComponent());
+			return dialog.getOwner() == owner;
+		}
+		
+		public void setParentLocation( Point location ){
+			dialog.setLocation( location );
+		}
+		
+		public void setSize( Dimension size ){
+			dialog.setSize( size );
+		}
+		
+		public boolean isVisible(){
+			return dialog != null && dialog.isVisible();
+		}
+		
+		public void setVisible( boolean flag ){
+			dialog.setVisible( flag );
+		}
+		
+		public void setContentPane( Container content ){
+			dialog.setContentPane( content );
+		}
+		
+		public Container getContentPane(){
+			return dialog.getContentPane();
+		}
+		
+		public void destroy(){
+			if( dialog != null ){
+				pool.release( dialog );
+				dialog = null;
+			}
+		}
+	}
 }
@@ -28,18 +28,51 @@ package bibliothek.gui.dock.station.flap;
 import java.awt.Dialog;
 import java.awt.Frame;
 import java.awt.Window;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.swing.JDesktopPane;
+import javax.swing.JDialog;
 import javax.swing.SwingUtilities;
 
 import bibliothek.gui.DockUI;
 import bibliothek.gui.dock.FlapDockStation;
+import bibliothek.gui.dock.util.DialogPool;
 
 /**
  * This default implementation of {@link FlapWindowFactory} creates new {@link DefaultFlapWindow}s.
  * @author Benjamin Sigg
  */
 public class DefaultFlapWindowFactory implements FlapWindowFactory{
+	/** the pool providing dialogs, can be <code>null</code> */
+	private DialogPool dialogPool;
+	
+	/** listeners added to the installed stations, waiting for the stations to be shown */
+	private Map<FlapDockStation, HierarchyListener> installed = new HashMap<FlapDockStation, HierarchyListener>();
+	
+	/**
+	 * Sets a pool which provides the {@link JDialog}s for new windows. The pool is not used if the
+	 * {@link FlapDockStation} is shown on a {@link JDesktopPane}. The pool is asked to {@link DialogPool#prewarm(Window) prepare}
+	 * a dialog as soon as an installed station is shown in a window, and after a dialog was taken from the pool, the pool
+	 * is asked to prepare the next dialog in the background. The pool should be set before the factory is installed,
+	 * otherwise clients should call {@link DialogPool#prewarm(Window)} themselves.
+	 * @param dialogPool the pool, can be <code>null</code> in which case each window creates its own dialog
+	 */
+	public void setDialogPool( DialogPool dialogPool ){
+		this.dialogPool = dialogPool;
+	}
+	
+	/**
+	 * Gets the pool which provides the {@link JDialog}s for new windows.
+	 * @return the pool, can be <code>null</code>
+	 * @see #setDialogPool(DialogPool)
+	 */
+	public DialogPool getDialogPool(){
+		return dialogPool;
+	}
+	
 	public FlapWindow create( FlapDockStation station, ButtonPane buttonPane ){
 		DefaultFlapWindow.Parent parent = null;
 		
@@ -56,7 +89,11 @@ public class DefaultFlapWindowFactory implements FlapWindowFactory{
 		else{
 			Window owner = SwingUtilities.getWindowAncestor( station.getComponent() );
 			
-			if( owner instanceof Dialog )
+			if( dialogPool != null && (owner instanceof Dialog || owner instanceof Frame) ){
+				parent = new DefaultFlapWindow.PooledParent( dialogPool, owner, station );
+				dialogPool.prewarm( owner );
+			}
+			else if( owner instanceof Dialog )
 				parent = new DefaultFlapWindow.DialogParent( (Dialog)owner, station );
 			else if( owner instanceof Frame )
 				parent = new DefaultFlapWindow.DialogParent( (Frame)owner, station );
@@ -67,8 +104,32 @@ public class DefaultFlapWindowFactory implements FlapWindowFactory{
 		return new DefaultFlapWindow( station, buttonPane, parent );
 	}
 
-	public void install( FlapDockStation station ){
-		// ignore
+	public void install( final FlapDockStation station ){
+		HierarchyListener listener = new HierarchyListener(){
+			public void hierarchyChanged( HierarchyEvent e ){
+				if( (e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 ){
+					prewarm( station );
+				}
+			}
+		};
+		installed.put( station, listener );
+		station.getComponent().addHierarchyListener( listener );
+		prewarm( station );
+	}
+	
+	/**
+	 * Asks the {@link #getDialogPool() pool} to prepare a dialog for <code>station</code> in the background,
+	 * this way already the first window of <code>station</code> does not have to wait for a new dialog. This
+	 * method does nothing if there is no pool, or if <code>station</code> is not yet showing.
+	 * @param station the station whose window is going to be created by this factory
+	 */
+	protected void prewarm( FlapDockStation station ){
+		if( dialogPool != null && station.getComponent().isShowing() && getDesktopPaneOf( station ) == null ){
+			Window owner = SwingUtilities.getWindowAncestor( station.getComponent() );
+			if( owner instanceof Dialog || owner instanceof Frame ){
+				dialogPool.prewarm( owner );
+			}
+		}
 	}
 
 	public boolean isValid( FlapWindow window, FlapDockStation station ){
@@ -78,7 +139,10 @@ public class DefaultFlapWindowFactory implements FlapWindowFactory{
 	}
 
 	public void uninstall( FlapDockStation station ){
-		// ignore
+		HierarchyListener listener = installed.remove( station );
+		if( listener != null ){
+			station.getComponent().removeHierarchyListener( listener );
+		}
 	}
 	
 	/**
@@ -38,6 +38,7 @@ import bibliothek.gui.dock.ScreenDockStation;
 import bibliothek.gui.dock.station.screen.ScreenDockWindow;
 import bibliothek.gui.dock.station.screen.ScreenDockWindowFactory;
 import bibliothek.gui.dock.title.DockTitle;
+import bibliothek.gui.dock.util.DialogPool;
 
 /**
  * A default implementation of {@link ScreenDockWindowFactory}.
@@ -67,6 +68,9 @@ public class DefaultScreenDockWindowFactory implements ScreenDockWindowFactory {
     /** text for the title */
     private String titleText = null;
     
+    /** the pool providing dialogs, can be <code>null</code> */
+    private DialogPool dialogPool = null;
+    
     /**
      * Sets the kind of window that this factory will create
      * @param kind the kind of window
@@ -156,6 +160,43 @@ public class DefaultScreenDockWindowFactory implements ScreenDockWindowFactory {
     }
     
     
+    /**
+     * Sets a pool which provides the {@link JDialog}s for new windows. The pool is only used for
+     * {@link Kind#DIALOG dialogs} that are {@link #isUndecorated() undecorated} and that do not require transparency
+     * or a shape. A {@link ScreenDockStation} using this factory asks the pool to {@link DialogPool#prewarm(Window) prepare}
+     * a dialog as soon as the station knows its owner, and after a dialog was taken from the pool, the pool is asked
+     * to prepare the next dialog in the background. The pool should be set before the factory is installed, otherwise
+     * clients should call {@link DialogPool#prewarm(Window)} themselves.
+     * @param dialogPool the pool, can be <code>null</code> in which case each window creates its own dialog
+     */
+    public void setDialogPool( DialogPool dialogPool ){
+        this.dialogPool = dialogPool;
+    }
+    
+    /**
+     * Gets the pool which provides the {@link JDialog}s for new windows.
+     * @return the pool, can be <code>null</code>
+     * @see #setDialogPool(DialogPool)
+     */
+    public DialogPool getDialogPool(){
+        return dialogPool;
+    }
+    
+    /**
+     * Asks the {@link #getDialogPool() pool} to prepare a dialog for <code>station</code> in the background,
+     * this way already the first window of <code>station</code> does not have to wait for a new dialog. This
+     * method does nothing if there is no pool, or if the windows of this factory cannot use the pool.
+     * @param station the station whose windows are going to be created by this factory
+     */
+    public void prewarm( ScreenDockStation station ){
+        if( dialogPool != null && kind == Kind.DIALOG && undecorated ){
+            Window owner = station.getOwner();
+            if( owner != null ){
+                dialogPool.prewarm( owner );
+            }
+        }
+    }
+    
     public ScreenDockWindow updateWindow( ScreenDockWindow window, WindowConfiguration configuration, ScreenDockStation station ){
     	return createWindow( station, configuration );
     }
@@ -167,6 +208,10 @@ public class DefaultScreenDockWindowFactory implements ScreenDockWindowFactory {
         if( kind == Kind.FRAME ){
             window = new ScreenDockFrame( station, configuration, undecorated );
         }
+        else if( dialogPool != null && undecorated && !configuration.isTransparent() && configuration.getShape() == null ){
+            window = new ScreenDockDialog( station, configuration, dialogPool );
+            dialogPool.prewarm( station.getOwner() );
+        }
         else{
             Window owner = station.getOwner();
             if( owner instanceof Frame )
@@ -37,6 +37,7 @@ import javax.swing.JRootPane;
 
 import bibliothek.gui.dock.ScreenDockStation;
 import bibliothek.gui.dock.station.screen.ScreenDockWindow;
+import bibliothek.gui.dock.util.DialogPool;
 import bibliothek.util.Workarounds;
 
 /**
@@ -47,6 +48,9 @@ import bibliothek.util.Workarounds;
  */
 public class ScreenDockDialog extends AbstractScreenDockWindow {
 	private JDialog dialog;
+	
+	/** the pool which created {@link #dialog}, can be <code>null</code> */
+	private DialogPool pool;
         
     /**
      * Creates a new dialog. Note that the constructors with
@@ -87,8 +91,26 @@ public class ScreenDockDialog extends AbstractScreenDockWindow {
         init( undecorated, configuration );
     }
     
+    /**
+     * Creates a new undecorated dialog using a {@link JDialog} of <code>pool</code>. The owner of
+     * the dialog is {@link ScreenDockStation#getOwner()}. The dialog is given back to <code>pool</code>
+     * when this window is {@link #destroy() destroyed}, unless <code>configuration</code> requires
+     * transparency or a shape.
+     * @param station the station to which this dialog is responsible
+     * @param configuration the configuration to apply during creation of this window
+     * @param pool the pool providing the dialog, not <code>null</code>
+     */
+    public ScreenDockDialog( ScreenDockStation station, WindowConfiguration configuration, DialogPool pool ){
+    	super( station, configuration );
+    	this.dialog = pool.acquire( station.getOwner() );
+    	if( !configuration.isTransparent() && configuration.getShape() == null ){
+    		this.pool = pool;
+    	}
+    	init( true, configuration );
+    }
+    
     private void init( boolean undecorated, WindowConfiguration configuration ){
-        if( undecorated ){
+        if( undecorated && !dialog.isUndecorated() ){
             dialog.setUndecorated( true );
             dialog.getRootPane().setWindowDecorationStyle( JRootPane.NONE );
         }
@@ -131,7 +153,12 @@ public class ScreenDockDialog extends AbstractScreenDockWindow {
 
     public void destroy() {
     	super.destroy();
-        dialog.dispose();
+    	if( pool == null ){
+    		dialog.dispose();
+    	}
+    	else{
+    		pool.release( dialog );
+    	}
     }
 
     public void toFront() {
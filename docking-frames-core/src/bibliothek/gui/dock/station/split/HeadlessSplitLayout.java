@@ -0,0 +1,524 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.SplitDockStation.Orientation;
+import bibliothek.gui.dock.perspective.PerspectiveDockable;
+import bibliothek.gui.dock.perspective.PerspectiveStation;
+import bibliothek.gui.dock.station.split.SplitDockPerspective.Entry;
+import bibliothek.gui.dock.station.split.SplitDockPerspective.Leaf;
+import bibliothek.gui.dock.station.split.SplitDockPerspective.Node;
+
+/**
+ * Calculates the boundaries of the leafs of a {@link SplitDockTree} or of a {@link SplitDockPerspective} without
+ * the need of a {@link SplitDockStation}, of any {@link java.awt.Component} or of a display. The boundaries are 
+ * calculated with the same rules that the {@link DefaultSplitLayoutManager} applies: dividers are moved such that 
+ * the minimum sizes of the leafs are respected, and leafs that do not show any element are invisible. A missing
+ * child of a node is not invisible, it takes its share of the space but nothing is shown there.<br>
+ * The minimum sizes of the elements are provided by a {@link MinimumSizes}. If a leaf of a {@link SplitDockPerspective}
+ * is itself a {@link SplitDockPerspective}, then its children are laid out as well.<br>
+ * This class does not have any mutable state besides its {@link #setDividerSize(int) divider size}, hence
+ * one instance can be used by many threads at the same time, e.g. by calling {@link #layout(List, Dimension, MinimumSizes, int)}.
+ * The trees that are laid out must not be modified while this class reads them.
+ * @author Benjamin Sigg
+ */
+public class HeadlessSplitLayout {
+	/** the size of the gap between two children of a node */
+	private volatile int dividerSize = 4;
+	
+	/**
+	 * Provides the minimum sizes of the elements that are laid out.
+	 * @author Benjamin Sigg
+	 * @param <D> the kind of elements
+	 */
+	public static interface MinimumSizes<D>{
+		/**
+		 * Gets the minimum size of <code>dockable</code>. This method may be called by many threads at the 
+		 * same time.
+		 * @param dockable some element of a tree
+		 * @return the minimum size, can be <code>null</code> which is interpreted as 0/0
+		 */
+		public Dimension getMinimumSize( D dockable );
+	}
+	
+	/**
+	 * Sets the size of the gap between two children of a node, the same value as
+	 * {@link SplitDockStation#setDividerSize(int)} should be used.
+	 * @param dividerSize the size of the divider, at least 0
+	 */
+	public void setDividerSize( int dividerSize ){
+		if( dividerSize < 0 ){
+			throw new IllegalArgumentException( "dividerSize must not be negative" );
+		}
+		this.dividerSize = dividerSize;
+	}
+	
+	/**
+	 * Gets the size of the gap between two children of a node.
+	 * @return the size of the divider
+	 */
+	public int getDividerSize(){
+		return dividerSize;
+	}
+	
+	/**
+	 * Calculates the boundaries of all the elements of <code>tree</code>. All elements of one leaf
+	 * get the same boundaries.
+	 * @param tree the tree to lay out, not <code>null</code>
+	 * @param size the size of the station that shows <code>tree</code>, not <code>null</code>
+	 * @param minimumSizes the minimum sizes of the elements, can be <code>null</code>
+	 * @return the boundaries of all the visible elements, in the order in which they appear in <code>tree</code>
+	 */
+	public <D> Map<D, Rectangle> layout( SplitDockTree<D> tree, Dimension size, MinimumSizes<? super D> minimumSizes ){
+		SplitDockTree<D>.Key root = tree.getRoot();
+		Map<D, Rectangle> result = new LinkedHashMap<D, Rectangle>();
+		if( root != null ){
+			int dividerSize = this.dividerSize;
+			layout( convert( tree, root, minimumSizes, dividerSize ), dividerSize, size, result );
+		}
+		return result;
+	}
+	
+	/**
+	 * Calculates the boundaries of all the elements of <code>perspective</code>. If an element is a 
+	 * {@link SplitDockPerspective} itself, then its children are laid out too.
+	 * @param perspective the perspective to lay out, not <code>null</code>
+	 * @param size the size of the station that shows <code>perspective</code>, not <code>null</code>
+	 * @param minimumSizes the minimum sizes of the elements, can be <code>null</code>
+	 * @return the boundaries of all the visible elements
+	 */
+	public Map<PerspectiveDockable, Rectangle> layout( SplitDockPerspective perspective, Dimension size, MinimumSizes<? super PerspectiveDockable> minimumSizes ){
+		Map<PerspectiveDockable, Rectangle> result = new LinkedHashMap<PerspectiveDockable, Rectangle>();
+		int dividerSize = this.dividerSize;
+		Cell<PerspectiveDockable> root = convert( perspective, minimumSizes, dividerSize );
+		if( root != null ){
+			layout( root, dividerSize, size, result );
+		}
+		return result;
+	}
+	
+	/**
+	 * Calculates the boundaries of all the elements of all the <code>perspectives</code>. The work is
+	 * distributed onto <code>threads</code> threads.
+	 * @param perspectives the perspectives to lay out
+	 * @param size the size of the stations showing the perspectives
+	 * @param minimumSizes the minimum sizes of the elements, can be <code>null</code>. Must be thread safe.
+	 * @param threads the number of threads to use, at least 1
+	 * @return the result of {@link #layout(SplitDockPerspective, Dimension, MinimumSizes)} for each perspective,
+	 * in the same order as <code>perspectives</code>
+	 * @throws InterruptedException if the current thread was interrupted while waiting for the results
+	 */
+	public List<Map<PerspectiveDockable, Rectangle>> layout( List<? extends SplitDockPerspective> perspectives, final Dimension size, final MinimumSizes<? super PerspectiveDockable> minimumSizes, int threads ) throws InterruptedException{
+		List<Callable<Map<PerspectiveDockable, Rectangle>>> tasks = new ArrayList<Callable<Map<PerspectiveDockable,Rectangle>>>( perspectives.size() );
+		for( final SplitDockPerspective perspective : perspectives ){
+			tasks.add( new Callable<Map<PerspectiveDockable,Rectangle>>(){
+				public Map<PerspectiveDockable, Rectangle> call(){
+					return layout( perspective, size, minimumSizes );
+				}
+			});
+		}
+		return invokeAll( tasks, threads );
+	}
+	
+	/**
+	 * Executes all <code>tasks</code> using <code>threads</code> threads. Runtime exceptions thrown by
+	 * one of the tasks are rethrown.
+	 * @param tasks the tasks to execute
+	 * @param threads the number of threads, at least 1
+	 * @return the results of the tasks, in the same order as <code>tasks</code>
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 */
+	protected <T> List<T> invokeAll( List<? extends Callable<T>> tasks, int threads ) throws InterruptedException{
+		if( threads < 1 ){
+			throw new IllegalArgumentException( "threads must be at least 1" );
+		}
+		
+		List<T> results = new ArrayList<T>( tasks.size() );
+		if( threads == 1 || tasks.size() < 2 ){
+			for( Callable<T> task : tasks ){
+				try{
+					results.add( task.call() );
+				}
+				catch( RuntimeException e ){
+					throw e;
+				}
+				catch( Exception e ){
+					throw new IllegalStateException( e );
+				}
+			}
+			return results;
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool( Math.min( threads, tasks.size() ) );
+		try{
+			for( Future<T> future : executor.invokeAll( tasks ) ){
+				try{
+					results.add( future.get() );
+				}
+				catch( ExecutionException e ){
+					Throwable cause = e.getCause();
+					if( cause instanceof RuntimeException ){
+						throw (RuntimeException)cause;
+					}
+					if( cause instanceof Error ){
+						throw (Error)cause;
+					}
+					throw new IllegalStateException( cause );
+				}
+			}
+		}
+		finally{
+			executor.shutdownNow();
+		}
+		return results;
+	}
+	
+	private <D> Cell<D> convert( SplitDockTree<D> tree, SplitDockTree<D>.Key key, MinimumSizes<? super D> minimumSizes, int dividerSize ){
+		if( tree.isNode( key )){
+			Cell<D> left = convert( tree, tree.getLeft( key ), minimumSizes, dividerSize );
+			Cell<D> right = convert( tree, tree.getRight( key ), minimumSizes, dividerSize );
+			return new NodeCell<D>( tree.isHorizontal( key ), tree.getDivider( key ), left, right, dividerSize );
+		}
+		else{
+			D[] dockables = tree.getDockables( key );
+			List<D> items = new ArrayList<D>();
+			Dimension minimum = new Dimension();
+			if( dockables != null ){
+				for( D dockable : dockables ){
+					if( dockable != null ){
+						items.add( dockable );
+						max( minimum, minimumSizes == null ? null : minimumSizes.getMinimumSize( dockable ));
+					}
+				}
+			}
+			return new LeafCell<D>( items, minimum, null );
+		}
+	}
+	
+	private Cell<PerspectiveDockable> convert( SplitDockPerspective perspective, MinimumSizes<? super PerspectiveDockable> minimumSizes, int dividerSize ){
+		Entry child = perspective.getRoot().getChild();
+		if( child == null ){
+			return null;
+		}
+		return convert( child, minimumSizes, dividerSize );
+	}
+	
+	private Cell<PerspectiveDockable> convert( Entry entry, MinimumSizes<? super PerspectiveDockable> minimumSizes, int dividerSize ){
+		Node node = entry.asNode();
+		if( node != null ){
+			Cell<PerspectiveDockable> left = node.getChildA() == null ? null : convert( node.getChildA(), minimumSizes, dividerSize );
+			Cell<PerspectiveDockable> right = node.getChildB() == null ? null : convert( node.getChildB(), minimumSizes, dividerSize );
+			return new NodeCell<PerspectiveDockable>( node.getOrientation() == Orientation.HORIZONTAL, node.getDivider(), left, right, dividerSize );
+		}
+		
+		Leaf leaf = entry.asLeaf();
+		List<PerspectiveDockable> items = new ArrayList<PerspectiveDockable>( 1 );
+		Dimension minimum = new Dimension();
+		Cell<PerspectiveDockable> nested = null;
+		
+		PerspectiveDockable dockable = leaf == null ? null : leaf.getDockable();
+		if( dockable != null ){
+			items.add( dockable );
+			max( minimum, minimumSizes == null ? null : minimumSizes.getMinimumSize( dockable ));
+			
+			PerspectiveStation station = dockable.asStation();
+			if( station instanceof SplitDockPerspective ){
+				nested = convert( (SplitDockPerspective)station, minimumSizes, dividerSize );
+				if( nested != null && nested.isVisible() ){
+					max( minimum, nested.getMinimumSize() );
+				}
+			}
+		}
+		return new LeafCell<PerspectiveDockable>( items, minimum, nested );
+	}
+	
+	private void max( Dimension base, Dimension size ){
+		if( size != null ){
+			base.width = Math.max( base.width, size.width );
+			base.height = Math.max( base.height, size.height );
+		}
+	}
+	
+	private <D> void layout( Cell<D> root, int dividerSize, Dimension size, Map<D, Rectangle> result ){
+		if( size.width > 0 && size.height > 0 ){
+			Rectangle base = new Rectangle( 0, 0, size.width, size.height );
+			root.layout( this, dividerSize, 0, 0, 1, 1, size.width, size.height, base, result );
+		}
+	}
+	
+	/**
+	 * Ensures that <code>divider</code> respects the minimum sizes of the children of a node. This 
+	 * is the same algorithm as {@link DefaultSplitLayoutManager#validateDivider(SplitDockStation, double, Dimension, Dimension, Orientation, double, double)}.
+	 * @param divider the divider to check
+	 * @param minimumLeft the minimum size of the left or top child
+	 * @param minimumRight the minimum size of the right or bottom child
+	 * @param horizontal the orientation of the node
+	 * @param dividerSize the size of the divider in pixels
+	 * @param width the relative width of the node
+	 * @param height the relative height of the node
+	 * @param factorW the factor to convert relative width to pixels
+	 * @param factorH the factor to convert relative height to pixels
+	 * @return the valid divider
+	 */
+	protected double validateDivider( double divider, Dimension minimumLeft, Dimension minimumRight, boolean horizontal, int dividerSize, double width, double height, double factorW, double factorH ){
+		divider = Math.min( 1, Math.max( 0, divider ));
+		
+		double factor;
+		double size;
+		int left, right;
+		
+		if( horizontal ){
+			factor = factorW;
+			size = width;
+			left = minimumLeft.width;
+			right = minimumRight.width;
+		}
+		else{
+			factor = factorH;
+			size = height;
+			left = minimumLeft.height;
+			right = minimumRight.height;
+		}
+		
+		if( factor <= 0 || Double.isNaN( factor ))
+			return divider;
+		
+		double leftNeed = left / factor;
+		double rightNeed = right / factor;
+		double dividerNeed = dividerSize / factor;
+		
+		if( leftNeed + rightNeed + dividerNeed >= size )
+			divider = (leftNeed + dividerNeed / 2) / ( leftNeed + rightNeed + dividerNeed );
+		else if( divider * size < leftNeed + dividerNeed / 2 )
+			divider = (leftNeed + dividerNeed / 2) / size;
+		else if( divider * size > size - rightNeed - dividerNeed / 2 )
+			divider = (size - rightNeed - dividerNeed / 2) / size;
+		
+		return divider;
+	}
+	
+	/**
+	 * An immutable copy of a node or a leaf.
+	 * @param <D> the type of elements
+	 */
+	private static abstract class Cell<D>{
+		/**
+		 * Tells whether this cell shows at least one element.
+		 * @return whether this cell is visible
+		 */
+		public abstract boolean isVisible();
+		
+		/**
+		 * Gets the minimum size of this cell in pixels.
+		 * @return the minimum size
+		 */
+		public abstract Dimension getMinimumSize();
+		
+		/**
+		 * Calculates the boundaries of the elements of this cell.
+		 * @param owner the algorithm that is executed
+		 * @param dividerSize the size of the dividers
+		 * @param x the relative x coordinate
+		 * @param y the relative y coordinate
+		 * @param width the relative width
+		 * @param height the relative height
+		 * @param factorW factor to convert relative coordinates into pixels
+		 * @param factorH factor to convert relative coordinates into pixels
+		 * @param base the boundaries of the root, in pixels
+		 * @param result collects the boundaries of all the elements
+		 */
+		public abstract void layout( HeadlessSplitLayout owner, int dividerSize, double x, double y, double width, double height, double factorW, double factorH, Rectangle base, Map<D, Rectangle> result );
+	}
+	
+	private static class NodeCell<D> extends Cell<D>{
+		private final boolean horizontal;
+		private final double divider;
+		private final Cell<D> left;
+		private final Cell<D> right;
+		private final boolean visible;
+		private final Dimension minimum;
+		
+		public NodeCell( boolean horizontal, double divider, Cell<D> left, Cell<D> right, int dividerSize ){
+			this.horizontal = horizontal;
+			this.divider = divider;
+			this.left = left;
+			this.right = right;
+			visible = left == null || right == null || left.isVisible() || right.isVisible();
+			
+			Dimension minLeft = isVisible( left ) ? getMinimumSize( left ) : null;
+			Dimension minRight = isVisible( right ) ? getMinimumSize( right ) : null;
+			
+			if( minLeft != null && minRight != null ){
+				if( horizontal ){
+					minimum = new Dimension( minLeft.width + dividerSize + minRight.width, Math.max( minLeft.height, minRight.height ));
+				}
+				else{
+					minimum = new Dimension( Math.max( minLeft.width, minRight.width ), minLeft.height + dividerSize + minRight.height );
+				}
+			}
+			else if( minLeft != null ){
+				minimum = minLeft;
+			}
+			else if( minRight != null ){
+				minimum = minRight;
+			}
+			else{
+				minimum = new Dimension();
+			}
+		}
+		
+		@Override
+		public boolean isVisible(){
+			return visible;
+		}
+		
+		@Override
+		public Dimension getMinimumSize(){
+			return minimum;
+		}
+		
+		/**
+		 * Tells whether <code>cell</code> is visible. A missing child is treated like a visible child without
+		 * content, the same way as {@link bibliothek.gui.dock.station.split.Node#updateBounds(double, double, double, double, double, double, boolean) Node}
+		 * does: it takes its share of the space, but nothing is shown there.
+		 * @param cell the child to check, can be <code>null</code>
+		 * @return whether <code>cell</code> occupies space
+		 */
+		private boolean isVisible( Cell<D> cell ){
+			return cell == null || cell.isVisible();
+		}
+		
+		private Dimension getMinimumSize( Cell<D> cell ){
+			return cell == null ? new Dimension() : cell.getMinimumSize();
+		}
+		
+		@Override
+		public void layout( HeadlessSplitLayout owner, int dividerSize, double x, double y, double width, double height, double factorW, double factorH, Rectangle base, Map<D, Rectangle> result ){
+			boolean leftVisible = isVisible( left );
+			boolean rightVisible = isVisible( right );
+			
+			if( leftVisible && !rightVisible ){
+				if( left != null ){
+					left.layout( owner, dividerSize, x, y, width, height, factorW, factorH, base, result );
+				}
+			}
+			else if( !leftVisible && rightVisible ){
+				if( right != null ){
+					right.layout( owner, dividerSize, x, y, width, height, factorW, factorH, base, result );
+				}
+			}
+			else if( leftVisible && rightVisible ){
+				double divider = owner.validateDivider( this.divider, getMinimumSize( left ), getMinimumSize( right ), horizontal, dividerSize, width, height, factorW, factorH );
+				
+				if( horizontal ){
+					double dividerWidth = factorW > 0 ? Math.max( 0, dividerSize / factorW ) : 0.0;
+					double dividerLocation = width * divider;
+					
+					if( left != null ){
+						left.layout( owner, dividerSize, x, y, dividerLocation - dividerWidth/2, height, factorW, factorH, base, result );
+					}
+					if( right != null ){
+						right.layout( owner, dividerSize, x + dividerLocation + dividerWidth/2, y, width - dividerLocation - dividerWidth/2, height, factorW, factorH, base, result );
+					}
+				}
+				else{
+					double dividerHeight = factorH > 0 ? Math.max( 0, dividerSize / factorH ) : 0.0;
+					double dividerLocation = height * divider;
+					
+					if( left != null ){
+						left.layout( owner, dividerSize, x, y, width, dividerLocation - dividerHeight/2, factorW, factorH, base, result );
+					}
+					if( right != null ){
+						right.layout( owner, dividerSize, x, y + dividerLocation + dividerHeight/2, width, height - dividerLocation - dividerHeight/2, factorW, factorH, base, result );
+					}
+				}
+			}
+		}
+	}
+	
+	private static class LeafCell<D> extends Cell<D>{
+		private final List<D> dockables;
+		private final Dimension minimum;
+		private final Cell<D> nested;
+		
+		public LeafCell( List<D> dockables, Dimension minimum, Cell<D> nested ){
+			this.dockables = dockables;
+			this.minimum = minimum;
+			this.nested = nested;
+		}
+		
+		@Override
+		public boolean isVisible(){
+			return !dockables.isEmpty();
+		}
+		
+		@Override
+		public Dimension getMinimumSize(){
+			return minimum;
+		}
+		
+		@Override
+		public void layout( HeadlessSplitLayout owner, int dividerSize, double x, double y, double width, double height, double factorW, double factorH, Rectangle base, Map<D, Rectangle> result ){
+			Rectangle bounds = new Rectangle( 
+					(int)(x * factorW + 0.5),
+					(int)(y * factorH + 0.5),
+					(int)(width * factorW + 0.5),
+					(int)(height * factorH + 0.5 ));
+			
+			bounds.x = Math.min( base.width, Math.max( base.x, bounds.x ));
+			bounds.y = Math.min( base.height, Math.max( base.y, bounds.y ));
+			bounds.width = Math.min( base.width - bounds.x + base.x, Math.max( 0, bounds.width ));
+			bounds.height = Math.min( base.height - bounds.y + base.y, Math.max( 0, bounds.height ));
+			
+			for( D dockable : dockables ){
+				result.put( dockable, new Rectangle( bounds ) );
+			}
+			
+			if( nested != null && nested.isVisible() && bounds.width > 0 && bounds.height > 0 ){
+				Map<D, Rectangle> children = new LinkedHashMap<D, Rectangle>();
+				nested.layout( owner, dividerSize, 0, 0, 1, 1, bounds.width, bounds.height, new Rectangle( 0, 0, bounds.width, bounds.height ), children );
+				for( Map.Entry<D, Rectangle> child : children.entrySet() ){
+					Rectangle childBounds = child.getValue();
+					childBounds.translate( bounds.x, bounds.y );
+					result.put( child.getKey(), childBounds );
+				}
+			}
+		}
+	}
+}
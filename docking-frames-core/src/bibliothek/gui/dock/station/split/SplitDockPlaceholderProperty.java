@@ -181,7 +181,7 @@ public class SplitDockPlaceholderProperty extends AbstractDockableProperty {
 	}
 	
 	public void load( DataInputStream in ) throws IOException{
-		placeholder = new Path( in.readUTF() );
+		placeholder = Path.valueOf( in.readUTF() );
 		switch( in.readByte() ){
 			case 0:
 				backup = null;
@@ -210,7 +210,7 @@ public class SplitDockPlaceholderProperty extends AbstractDockableProperty {
 	}
 	
 	public void load( XElement element ){
-		placeholder = new Path( element.getElement( "placeholder" ).getString() );
+		placeholder = Path.valueOf( element.getElement( "placeholder" ).getString() );
 		backup = null;
 		XElement xchild = element.getElement( "backup-path" );
 		if( xchild != null ){
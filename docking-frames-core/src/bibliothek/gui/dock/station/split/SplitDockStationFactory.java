@@ -504,7 +504,7 @@ public class SplitDockStationFactory implements DockFactory<SplitDockStation, Sp
     		if( hasPlaceholders ){
     			placeholders = new Path[ in.readInt() ];
     			for( int i = 0; i < placeholders.length; i++ ){
-    				placeholders[i] = new Path( in.readUTF() );
+    				placeholders[i] = Path.valueOf( in.readUTF() );
     			}
     		}
     		
@@ -558,7 +558,7 @@ public class SplitDockStationFactory implements DockFactory<SplitDockStation, Sp
     	int length = in.readInt();
     	List<Path> result = new ArrayList<Path>( length );
     	for( int i = 0; i < length; i++ ){
-    		Path placeholder = new Path( in.readUTF() );
+    		Path placeholder = Path.valueOf( in.readUTF() );
     		if( placeholders == null || placeholders.isValidPlaceholder( placeholder )){
     			result.add( placeholder );
     		}
@@ -656,7 +656,7 @@ public class SplitDockStationFactory implements DockFactory<SplitDockStation, Sp
     		if( xchildren.length > 0 ){
     			List<Path> collection = new ArrayList<Path>( xchildren.length );
     			for( int i = 0; i < xchildren.length; i++ ){
-    				Path placeholder = new Path( xchildren[i].getString() );
+    				Path placeholder = Path.valueOf( xchildren[i].getString() );
     				if( strategy == null || strategy.isValidPlaceholder( placeholder )){
     					collection.add( placeholder );
     				}
@@ -69,8 +69,11 @@ public class DockActionDistributorSource extends AbstractDockActionSource{
 		}
 	};
 	
+	/** a key that is only used until the real key is set, shared by all sources as each {@link PropertyKey} occupies a slot */
+	private static final PropertyKey<DockActionDistributor> EMPTY_KEY = new PropertyKey<DockActionDistributor>( "dock.empty" );
+	
 	/** The {@link DockActionDistributor} that should be used to create new {@link DockActionSource}s. */
-	private PropertyValue<DockActionDistributor> distributor = new PropertyValue<DockActionDistributor>( new PropertyKey<DockActionDistributor>( "dock.empty" ) ){
+	private PropertyValue<DockActionDistributor> distributor = new PropertyValue<DockActionDistributor>( EMPTY_KEY ){
 		@Override
 		protected void valueChanged( DockActionDistributor oldValue, DockActionDistributor newValue ){
 			buildSource( false );
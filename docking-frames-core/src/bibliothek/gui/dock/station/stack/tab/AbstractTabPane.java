@@ -35,6 +35,7 @@ import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.station.stack.tab.layouting.TabPlacement;
 import bibliothek.gui.dock.util.PropertyValue;
+import bibliothek.gui.dock.util.trace.DockTracer;
 
 /**
  * An abstract implementation of {@link TabPane}. This class handles creation,
@@ -126,7 +127,9 @@ public abstract class AbstractTabPane<T extends Tab, M extends TabMenu, I extend
 		TabLayoutManager layout = layoutManager.getValue();
 		
 		if( layout != null ){
+			long trace = DockTracer.start( getController() );
 			layout.layout( this );
+			DockTracer.stop( getController(), DockTracer.STACK_LAYOUT, null, trace );
 		}
 	}
 	
@@ -27,9 +27,9 @@ package bibliothek.gui.dock.station.stack.tab;
 
 import bibliothek.gui.dock.station.stack.tab.MenuLineLayoutOrder.Item;
 import bibliothek.gui.dock.station.stack.tab.layouting.LayoutBlock;
-import bibliothek.gui.dock.station.stack.tab.layouting.LineTabsLayoutBlock;
 import bibliothek.gui.dock.station.stack.tab.layouting.MenuLayoutBlock;
 import bibliothek.gui.dock.station.stack.tab.layouting.TabsLayoutBlock;
+import bibliothek.gui.dock.station.stack.tab.layouting.VirtualLineTabsLayoutBlock;
 
 /**
  * Default implementation of {@link MenuLineLayoutFactory}.
@@ -50,8 +50,12 @@ public class DefaultMenuLineLayoutFactory implements MenuLineLayoutFactory{
 		return block;
 	}
 	
+	/**
+	 * Creates a {@link VirtualLineTabsLayoutBlock}, which behaves like a {@link bibliothek.gui.dock.station.stack.tab.layouting.LineTabsLayoutBlock}
+	 * unless <code>pane</code> has a lot of children.
+	 */
 	public TabsLayoutBlock createTabs( MenuLineLayout layout, TabPane pane ){
-		LineTabsLayoutBlock block = new LineTabsLayoutBlock();
+		VirtualLineTabsLayoutBlock block = new VirtualLineTabsLayoutBlock();
 		block.setPane( pane );
 		return block;
 	}
@@ -235,48 +235,61 @@ public abstract class AbstractTabsLayoutBlock implements TabsLayoutBlock{
 	 * @throws IllegalStateException if {@link #getPane()} returns <code>null</code>
 	 */
 	public Tab[] getTabsOrderedByImportance(){
+		Dockable[] dockables = getDockablesOrderedByImportance();
+		Tab[] result = new Tab[ dockables.length ];
+		for( int i = 0; i < dockables.length; i++ ){
+			result[i] = pane.getOnTab( dockables[i] );
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets all {@link Dockable}s whose tabs could, in theory, be displayed on this block. The
+	 * order is the same as in {@link #getTabsOrderedByImportance()}, but this method does not
+	 * create any {@link Tab}s.
+	 * @return all dockables, ordered by importance
+	 * @throws IllegalStateException if {@link #getPane()} returns <code>null</code>
+	 */
+	public Dockable[] getDockablesOrderedByImportance(){
 		if( pane == null )
 			throw new IllegalStateException( "no TabPane available" );
 		
-		Dockable[] dockables = pane.getDockables();
-		Tab[] allTabs = new Tab[ dockables.length ];
+		Dockable[] allDockables = pane.getDockables().clone();
 		int[] visibleToInvisible = getOriginalTabLocations();
-		    
-		for( int i = 0; i < allTabs.length; i++ ){
-			allTabs[i] = pane.getOnTab( dockables[i] );
-		}
 		
-		Tab[] result = new Tab[ allTabs.length ];
+		Dockable[] result = new Dockable[ allDockables.length ];
 		int resultIndex = 0;
 		
-		// search selected tab
+		// search selected dockable
 		Dockable selectedDockable = pane.getSelectedDockable();
-		Tab selected = null;
-		for( Tab tab : allTabs ){
-			if( tab.getDockable() == selectedDockable ){
-				selected = tab;
-				break;
-			}
-		}
-		
-		for( int i = 0; i < allTabs.length; i++ ){
-			if( selected == allTabs[i] ){
-				allTabs[i] = null;
+		Dockable selected = null;
+		for( int i = 0; i < allDockables.length; i++ ){
+			if( selectedDockable != null && allDockables[i] == selectedDockable ){
+				selected = selectedDockable;
+				allDockables[i] = null;
 				result[ resultIndex++ ] = selected;
 				break;
 			}
 		}
 		
 		// search visible tabs
-		int selectedIndex = selected == null ? -1 : indexOfTab( selected );
+		int selectedIndex = -1;
+		if( selected != null ){
+			for( int i = 0, n = tabs.size(); i < n; i++ ){
+				if( tabs.get( i ).getDockable() == selected ){
+					selectedIndex = i;
+					break;
+				}
+			}
+		}
 		
 		if( selectedIndex == -1 ){
 			for( int i = 0; i < visibleToInvisible.length; i++ ){
 				if( visibleToInvisible[i] != -1 ){
-					Tab tab = allTabs[ visibleToInvisible[ i ]];
-					if( tab != null ){
-						result[ resultIndex++ ] = tab; 
-						allTabs[ visibleToInvisible[i] ] = null;
+					Dockable dockable = allDockables[ visibleToInvisible[ i ]];
+					if( dockable != null ){
+						result[ resultIndex++ ] = dockable; 
+						allDockables[ visibleToInvisible[i] ] = null;
 					}
 				}
 			}
@@ -284,19 +297,19 @@ public abstract class AbstractTabsLayoutBlock implements TabsLayoutBlock{
 		else{
 			for( int i = selectedIndex-1; i >= 0; i-- ){
 				if( visibleToInvisible[i] != -1 ){
-					Tab tab = allTabs[ visibleToInvisible[ i ]];
-					if( tab != null ){
-						result[ resultIndex++ ] = tab; 
-						allTabs[ visibleToInvisible[i] ] = null;
+					Dockable dockable = allDockables[ visibleToInvisible[ i ]];
+					if( dockable != null ){
+						result[ resultIndex++ ] = dockable; 
+						allDockables[ visibleToInvisible[i] ] = null;
 					}
 				}
 			}
 			for( int i = selectedIndex+1; i < visibleToInvisible.length; i++ ){
 				if( visibleToInvisible[i] != -1 ){
-					Tab tab = allTabs[ visibleToInvisible[ i ]];
-					if( tab != null ){
-						result[ resultIndex++ ] = tab;
-						allTabs[ visibleToInvisible[i] ] = null;
+					Dockable dockable = allDockables[ visibleToInvisible[ i ]];
+					if( dockable != null ){
+						result[ resultIndex++ ] = dockable;
+						allDockables[ visibleToInvisible[i] ] = null;
 					}
 				}
 			}
@@ -308,39 +321,39 @@ public abstract class AbstractTabsLayoutBlock implements TabsLayoutBlock{
 		int leftMostVisible = -1;
 		int rightMostVisible = -1;
 		
-		for( int i = 0; i < allTabs.length; i++ ){
-			if( allTabs[i] == null ){
+		for( int i = 0; i < allDockables.length; i++ ){
+			if( allDockables[i] == null ){
 				leftMostVisible = i;
 				break;
 			}
 		}
-		for( int i = allTabs.length-1; i >= 0; i-- ){
-			if( allTabs[i] == null ){
+		for( int i = allDockables.length-1; i >= 0; i-- ){
+			if( allDockables[i] == null ){
 				rightMostVisible = i;
 				break;
 			}
 		}
 		
 		for( int i = leftMostVisible+1; i < rightMostVisible; i++ ){
-			if( allTabs[i] != null ){
-				result[ resultIndex++ ] = allTabs[i];
-				allTabs[i] = null;
+			if( allDockables[i] != null ){
+				result[ resultIndex++ ] = allDockables[i];
+				allDockables[i] = null;
 			}
 		}
 		
 		// now fill up tabs to the left of the visible tabs
 		for( int i = leftMostVisible-1; i >= 0; i-- ){
-			if( allTabs[i] != null ){
-				result[ resultIndex++ ] = allTabs[i];
-				allTabs[i] = null;
+			if( allDockables[i] != null ){
+				result[ resultIndex++ ] = allDockables[i];
+				allDockables[i] = null;
 			}
 		}
 		
 		// now fill up tabs to the right of the visible tabs
-		for( int i = Math.max( 0, rightMostVisible ); i < allTabs.length; i++ ){
-			if( allTabs[i] != null ){
-				result[ resultIndex++ ] = allTabs[i];
-				allTabs[i] = null;
+		for( int i = Math.max( 0, rightMostVisible ); i < allDockables.length; i++ ){
+			if( allDockables[i] != null ){
+				result[ resultIndex++ ] = allDockables[i];
+				allDockables[i] = null;
 			}
 		}
 		
@@ -0,0 +1,369 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.stack.tab.layouting;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.station.stack.tab.AbstractTabPaneComponent;
+import bibliothek.gui.dock.station.stack.tab.Tab;
+import bibliothek.gui.dock.station.stack.tab.TabMenu;
+import bibliothek.gui.dock.station.stack.tab.TabPane;
+
+/**
+ * A {@link LineTabsLayoutBlock} optimized for {@link TabPane}s with a large number of {@link Dockable}s. While the
+ * original {@link LineTabsLayoutBlock} measures every {@link Tab} again for every possible subset of tabs, this 
+ * block:
+ * <ul>
+ * 	<li>measures each tab only once, the measurements are cached until the content of the tab changes.</li>
+ * 	<li>creates tabs only for the {@link Dockable}s that could be visible. The required lengths of the tabs are
+ * summed up in order of their importance, and as soon as the sum exceeds the available space no further tabs are
+ * created. The remaining {@link Dockable}s end up on a {@link TabMenu}, their sizes are estimated.</li>
+ * 	<li>offers only the sizes near the number of tabs that actually fit into the available space, this
+ * reduces the number of layouts the {@link bibliothek.gui.dock.station.stack.tab.MenuLineLayout} has to compare.</li>
+ * </ul>
+ * If the {@link TabPane} does not have more than {@link #getThreshold() threshold} children, then the algorithm
+ * of {@link LineTabsLayoutBlock} is used. Otherwise overlapping tabs are ignored, as a result the
+ * calculated sizes are a bit too large.
+ * @author Benjamin Sigg
+ */
+public class VirtualLineTabsLayoutBlock extends LineTabsLayoutBlock{
+	/** the minimum number of dockables required to activate the virtual layout */
+	private int threshold = 50;
+	
+	/** how many additional sizes with less tabs than possible are offered */
+	private int window = 8;
+	
+	/** cached sizes of the tabs */
+	private Map<Dockable, Measurement> measurements = new HashMap<Dockable, Measurement>();
+	
+	/**
+	 * Sets the number of children a {@link TabPane} must have until this block starts
+	 * its optimized algorithm.
+	 * @param threshold the minimum number of children, at least 0
+	 */
+	public void setThreshold( int threshold ){
+		if( threshold < 0 ){
+			throw new IllegalArgumentException( "threshold must not be negative" );
+		}
+		this.threshold = threshold;
+	}
+	
+	/**
+	 * Gets the number of children a {@link TabPane} must have until this block starts
+	 * its optimized algorithm.
+	 * @return the minimum number of children
+	 */
+	public int getThreshold(){
+		return threshold;
+	}
+	
+	/**
+	 * Sets the number of additional sizes this block offers. Each size shows one tab less than
+	 * the previous size. These sizes are required if the menu and the info component
+	 * need some of the available space.
+	 * @param window the number of additional sizes, at least 0
+	 */
+	public void setWindow( int window ){
+		if( window < 0 ){
+			throw new IllegalArgumentException( "window must not be negative" );
+		}
+		this.window = window;
+	}
+	
+	/**
+	 * Gets the number of additional sizes this block offers.
+	 * @return the number of sizes
+	 * @see #setWindow(int)
+	 */
+	public int getWindow(){
+		return window;
+	}
+	
+	/**
+	 * Removes all cached measurements, all tabs will be measured again.
+	 */
+	public void invalidateMeasurements(){
+		measurements.clear();
+	}
+	
+	@Override
+	public LineSize[] getSizes(){
+		TabPane pane = getPane();
+		if( pane.getDockables().length <= threshold ){
+			measurements.clear();
+			return super.getSizes();
+		}
+		
+		Dockable[] dockables = getDockablesOrderedByImportance();
+		removeOldMeasurements( dockables );
+		
+		boolean horizontal = getOrientation().isHorizontal();
+		int available = horizontal ? pane.getAvailableArea().width : pane.getAvailableArea().height;
+		
+		// prefix sums of the required lengths, prefix[i] is the length required to show the first i tabs
+		int[] prefixMinimum = new int[ dockables.length+1 ];
+		int[] prefixPreferred = new int[ dockables.length+1 ];
+		int[] prefixBreadth = new int[ dockables.length+1 ];
+		int[] prefixPreferredBreadth = new int[ dockables.length+1 ];
+		
+		Tab[] tabs = new Tab[ dockables.length ];
+		int created = 0;
+		
+		int measuredCount = 0;
+		long measuredMinimum = 0;
+		long measuredPreferred = 0;
+		
+		for( int i = 0; i < dockables.length; i++ ){
+			Measurement measurement;
+			if( i == 0 || prefixMinimum[i] <= available ){
+				tabs[i] = pane.getOnTab( dockables[i] );
+				created = i+1;
+				measurement = measure( dockables[i], tabs[i] );
+			}
+			else{
+				measurement = measurements.get( dockables[i] );
+			}
+			
+			int minimum, preferred, breadth, preferredBreadth;
+			if( measurement == null ){
+				// estimate, there is at least one measured tab
+				minimum = (int)(measuredMinimum / measuredCount);
+				preferred = (int)(measuredPreferred / measuredCount);
+				breadth = prefixBreadth[i];
+				preferredBreadth = prefixPreferredBreadth[i];
+			}
+			else{
+				minimum = length( measurement.minimum, horizontal );
+				preferred = length( measurement.preferred, horizontal );
+				breadth = Math.max( prefixBreadth[i], breadth( measurement.minimum, horizontal ));
+				preferredBreadth = Math.max( prefixPreferredBreadth[i], breadth( measurement.preferred, horizontal ));
+				
+				measuredCount++;
+				measuredMinimum += minimum;
+				measuredPreferred += preferred;
+			}
+			
+			prefixMinimum[i+1] = prefixMinimum[i] + minimum;
+			prefixPreferred[i+1] = prefixPreferred[i] + preferred;
+			prefixBreadth[i+1] = breadth;
+			prefixPreferredBreadth[i+1] = preferredBreadth;
+		}
+		
+		// the number of tabs that fit, at least one tab is always shown
+		int fitting = Math.max( 1, search( prefixMinimum, available ));
+		int first = Math.max( 1, fitting - window );
+		int last = Math.min( Math.min( dockables.length, fitting+1 ), created );
+		
+		int count = last - first + 1;
+		if( first > 1 ){
+			count++;
+		}
+		
+		LineSize[] result = new LineSize[ count+1 ];
+		int index = 0;
+		
+		if( first > 1 ){
+			result[ index++ ] = createSize( Size.Type.MINIMUM, prefixMinimum, prefixBreadth, 1, dockables, tabs, horizontal );
+		}
+		for( int i = first; i <= last; i++ ){
+			result[ index++ ] = createSize( Size.Type.MINIMUM, prefixMinimum, prefixBreadth, i, dockables, tabs, horizontal );
+		}
+		result[ index ] = createSize( Size.Type.PREFERRED, prefixPreferred, prefixPreferredBreadth, dockables.length, dockables, tabs, horizontal );
+		return result;
+	}
+	
+	/**
+	 * Searches the largest <code>i</code> such that <code>prefix[i] &lt;= available</code>.
+	 * @param prefix a monotonically increasing array
+	 * @param available the available space
+	 * @return the largest index that fits into <code>available</code>, 0 if none fits
+	 */
+	private int search( int[] prefix, int available ){
+		int low = 0;
+		int high = prefix.length-1;
+		
+		while( low < high ){
+			int middle = (low + high + 1) / 2;
+			if( prefix[ middle ] <= available ){
+				low = middle;
+			}
+			else{
+				high = middle-1;
+			}
+		}
+		return low;
+	}
+	
+	private LineSize createSize( Size.Type type, int[] prefixLength, int[] prefixBreadth, int count, Dockable[] dockables, Tab[] tabs, boolean horizontal ){
+		Dimension size;
+		if( horizontal ){
+			size = new Dimension( prefixLength[ count ], prefixBreadth[ count ] );
+		}
+		else{
+			size = new Dimension( prefixBreadth[ count ], prefixLength[ count ] );
+		}
+		
+		Dockable[] selectedDockables = new Dockable[ count ];
+		System.arraycopy( dockables, 0, selectedDockables, 0, count );
+		Tab[] selectedTabs = new Tab[ count ];
+		System.arraycopy( tabs, 0, selectedTabs, 0, count );
+		
+		double score = type == Size.Type.PREFERRED ? 1.0 : (count-1) / (double)dockables.length;
+		return new VirtualLineSize( type, size, selectedDockables, selectedTabs, count == dockables.length, score );
+	}
+	
+	private int length( Dimension size, boolean horizontal ){
+		return horizontal ? size.width : size.height;
+	}
+	
+	private int breadth( Dimension size, boolean horizontal ){
+		return horizontal ? size.height : size.width;
+	}
+	
+	/**
+	 * Removes the measurements of those {@link Dockable}s that are no longer shown by the {@link TabPane}.
+	 * @param dockables the current children of the {@link TabPane}
+	 */
+	private void removeOldMeasurements( Dockable[] dockables ){
+		if( measurements.size() > dockables.length ){
+			Set<Dockable> current = new HashSet<Dockable>();
+			for( Dockable dockable : dockables ){
+				current.add( dockable );
+			}
+			Iterator<Dockable> keys = measurements.keySet().iterator();
+			while( keys.hasNext() ){
+				if( !current.contains( keys.next() )){
+					keys.remove();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Gets the minimum and preferred size of <code>tab</code>. The sizes are cached and 
+	 * only calculated if the content of <code>tab</code> changed.
+	 * @param dockable the element shown by <code>tab</code>
+	 * @param tab the tab to measure
+	 * @return the size of <code>tab</code>
+	 */
+	private Measurement measure( Dockable dockable, Tab tab ){
+		TabPlacement orientation = getOrientation();
+		Measurement measurement = measurements.get( dockable );
+		if( measurement == null || !measurement.isValid( tab, orientation )){
+			Tab[] single = new Tab[]{ tab };
+			measurement = new Measurement( tab, orientation, tab.getMinimumSize( single ), tab.getPreferredSize( single ) );
+			measurements.put( dockable, measurement );
+		}
+		return measurement;
+	}
+	
+	/**
+	 * The cached size of a {@link Tab}.
+	 * @author Benjamin Sigg
+	 */
+	private static class Measurement{
+		private final Tab tab;
+		private final TabPlacement orientation;
+		private final Dimension minimum;
+		private final Dimension preferred;
+		
+		public Measurement( Tab tab, TabPlacement orientation, Dimension minimum, Dimension preferred ){
+			this.tab = tab;
+			this.orientation = orientation;
+			this.minimum = minimum;
+			this.preferred = preferred;
+		}
+		
+		/**
+		 * Tells whether this measurement still describes <code>tab</code>. A measurement is
+		 * no longer valid if the tab was replaced, or if the tab's {@link Component} was invalidated.
+		 * @param tab the tab that is currently used
+		 * @param orientation the current orientation of the tabs
+		 * @return whether this measurement can be used
+		 */
+		public boolean isValid( Tab tab, TabPlacement orientation ){
+			if( this.tab != tab || this.orientation != orientation ){
+				return false;
+			}
+			if( tab instanceof AbstractTabPaneComponent ){
+				return ((AbstractTabPaneComponent)tab).getComponent().isValid();
+			}
+			return false;
+		}
+	}
+	
+	/**
+	 * A {@link LineSize} that creates its tabs only when they are needed.
+	 * @author Benjamin Sigg
+	 */
+	protected class VirtualLineSize extends LineSize{
+		private Dockable[] dockables;
+		private Tab[] tabs;
+		
+		/**
+		 * Creates a new size
+		 * @param type the kind of size this is
+		 * @param size the amount of needed pixels
+		 * @param dockables the elements whose tabs are shown with this size
+		 * @param tabs the tabs shown with this size, can contain <code>null</code> entries for tabs that
+		 * were not yet created
+		 * @param allTabs whether <code>dockables</code> includes all available elements
+		 * @param score how well this size is liked
+		 */
+		public VirtualLineSize( Type type, Dimension size, Dockable[] dockables, Tab[] tabs, boolean allTabs, double score ){
+			super( type, size, tabs, allTabs, score );
+			this.dockables = dockables;
+			this.tabs = tabs;
+		}
+		
+		@Override
+		public Tab[] getTabs(){
+			for( int i = 0; i < tabs.length; i++ ){
+				if( tabs[i] == null ){
+					tabs[i] = getPane().getOnTab( dockables[i] );
+				}
+			}
+			return tabs;
+		}
+		
+		@Override
+		public int getTabCount(){
+			return dockables.length;
+		}
+		
+		@Override
+		public String toString(){
+			return "[width=" + getWidth() + ", height=" + getHeight() + ", tabs=" + getTabCount() + "]";
+		}
+	}
+}
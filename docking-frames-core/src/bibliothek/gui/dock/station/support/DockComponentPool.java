@@ -0,0 +1,335 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.support;
+
+import java.awt.EventQueue;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.DockTheme;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.event.UIListener;
+import bibliothek.gui.dock.station.DisplayerCollection;
+import bibliothek.gui.dock.station.DisplayerFactory;
+import bibliothek.gui.dock.station.DockableDisplayer;
+import bibliothek.gui.dock.station.StationChildHandle;
+import bibliothek.gui.dock.title.DockTitle;
+import bibliothek.gui.dock.title.DockTitleFactory;
+import bibliothek.gui.dock.title.DockTitleVersion;
+
+/**
+ * A pool of {@link DockTitle}s and {@link DockableDisplayer}s that were released recently. Many operations
+ * release the title and the displayer of a {@link Dockable} only to request a new title and a new displayer
+ * for the very same {@link Dockable} a moment later, e.g. if a {@link Dockable} is dragged to another location
+ * on the same station, or is moved between two stations using the same {@link DockTitleVersion}. Instead of 
+ * creating new {@link java.awt.Component}s, the released ones are reused.<br>
+ * A title is only reused if it is requested for the same {@link Dockable} from the same {@link DockTitleVersion}
+ * and the same {@link DockTitleFactory} that originally created it. A displayer is only reused if it is requested 
+ * for the same {@link Dockable} by the same {@link DockStation} and {@link DisplayerFactory}. Released resources
+ * are kept until the end of the current cycle of the <code>EventDispatcherThread</code>, then they are discarded. The
+ * pool is also cleared whenever the {@link DockTheme} or the {@link javax.swing.LookAndFeel} changes, because some
+ * factories forward their calls to the factories of the current theme.<br>
+ * {@link DockTitleVersion}, {@link DisplayerCollection} and {@link StationChildHandle} use the pool automatically. 
+ * Each {@link DockController} has its own pool, accessible through {@link DockController#getComponentPool()}.<br>
+ * This class is not thread safe, it must only be used from the <code>EventDispatcherThread</code>. Resources released
+ * on another thread are not pooled.
+ * @author Benjamin Sigg
+ */
+public class DockComponentPool {
+	/** the titles that were released, and that can be reused */
+	private Map<Key, DockTitle> titles = new LinkedHashMap<Key, DockTitle>();
+	
+	/** the displayers that were released, and that can be reused */
+	private Map<Key, DockableDisplayer> displayers = new LinkedHashMap<Key, DockableDisplayer>();
+	
+	/** the factories that created the titles */
+	private Map<DockTitle, DockTitleFactory> titleFactories = new WeakHashMap<DockTitle, DockTitleFactory>();
+	
+	/** the maximum number of titles or displayers stored in this pool */
+	private int capacity = 256;
+	
+	/** whether this pool stores any resources at all */
+	private boolean enabled = true;
+	
+	/** whether {@link #clear()} is already scheduled */
+	private boolean scheduled = false;
+	
+	/** number of titles that were reused */
+	private int titleHits = 0;
+	
+	/** number of titles that had to be created */
+	private int titleMisses = 0;
+	
+	/** number of displayers that were reused */
+	private int displayerHits = 0;
+	
+	/** number of displayers that had to be created */
+	private int displayerMisses = 0;
+	
+	/**
+	 * Creates a new pool.
+	 * @param controller the controller in whose realm this pool is used
+	 */
+	public DockComponentPool( DockController controller ){
+		controller.getThemeManager().addUIListener( new UIListener(){
+			public void updateUI( DockController controller ){
+				clear();
+			}
+			
+			public void themeWillChange( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
+				clear();
+			}
+			
+			public void themeChanged( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
+				clear();
+			}
+		});
+	}
+	
+	/**
+	 * Enables or disables this pool. A disabled pool does not store any resources.
+	 * @param enabled whether to reuse resources
+	 */
+	public void setEnabled( boolean enabled ){
+		this.enabled = enabled;
+		if( !enabled ){
+			clear();
+		}
+	}
+	
+	/**
+	 * Tells whether this pool stores resources.
+	 * @return whether resources are reused
+	 */
+	public boolean isEnabled(){
+		return enabled;
+	}
+	
+	/**
+	 * Sets the maximum number of titles and the maximum number of displayers this pool stores.
+	 * @param capacity the maximum number of resources of each kind, at least 0
+	 */
+	public void setCapacity( int capacity ){
+		if( capacity < 0 ){
+			throw new IllegalArgumentException( "capacity must not be negative" );
+		}
+		this.capacity = capacity;
+		trim( titles );
+		trim( displayers );
+	}
+	
+	/**
+	 * Gets the maximum number of resources of each kind this pool stores.
+	 * @return the capacity
+	 */
+	public int getCapacity(){
+		return capacity;
+	}
+	
+	/**
+	 * Searches a title that can be reused.
+	 * @param factory the factory that would create the new title
+	 * @param version the version for which the title is requested
+	 * @param dockable the element for which the title is requested
+	 * @return a title that is not bound, or <code>null</code> if there is no such title
+	 */
+	public DockTitle acquireTitle( DockTitleFactory factory, DockTitleVersion version, Dockable dockable ){
+		DockTitle title = titles.remove( new Key( factory, version, dockable ));
+		if( title != null ){
+			titleHits++;
+		}
+		return title;
+	}
+	
+	/**
+	 * Informs this pool that <code>factory</code> created <code>title</code>.
+	 * @param factory the factory that created the title
+	 * @param title the new title, can be <code>null</code>
+	 */
+	public void titleCreated( DockTitleFactory factory, DockTitle title ){
+		if( title != null && !titleFactories.containsKey( title )){
+			titleMisses++;
+			titleFactories.put( title, factory );
+		}
+	}
+	
+	/**
+	 * Informs this pool that <code>title</code> is no longer used. The title must already be unbound.
+	 * @param title the title that is no longer used
+	 */
+	public void releaseTitle( DockTitle title ){
+		if( !accept() ){
+			return;
+		}
+		DockTitleFactory factory = titleFactories.get( title );
+		if( factory != null ){
+			titles.put( new Key( factory, title.getOrigin(), title.getDockable() ), title );
+			trim( titles );
+			schedule();
+		}
+	}
+	
+	/**
+	 * Searches a displayer that can be reused. The {@link DockableDisplayer#getDockable() dockable} of the
+	 * displayer is already set to <code>dockable</code>.
+	 * @param factory the factory that would create the new displayer
+	 * @param station the station which is going to show the displayer
+	 * @param dockable the element for which the displayer is requested
+	 * @return a displayer that is not used, or <code>null</code> if there is no such displayer
+	 */
+	public DockableDisplayer acquireDisplayer( DisplayerFactory factory, DockStation station, Dockable dockable ){
+		DockableDisplayer displayer = displayers.remove( new Key( factory, station, dockable ));
+		if( displayer == null ){
+			displayerMisses++;
+		}
+		else{
+			displayerHits++;
+			displayer.setDockable( dockable );
+		}
+		return displayer;
+	}
+	
+	/**
+	 * Informs this pool that <code>displayer</code> is no longer used. The displayer must already be
+	 * detached from its {@link Dockable}, station and controller.
+	 * @param factory the factory that was used to create <code>displayer</code>
+	 * @param station the station that showed <code>displayer</code>
+	 * @param dockable the element that was shown in <code>displayer</code>
+	 * @param displayer the displayer that is no longer used
+	 */
+	public void releaseDisplayer( DisplayerFactory factory, DockStation station, Dockable dockable, DockableDisplayer displayer ){
+		if( !accept() ){
+			return;
+		}
+		displayers.put( new Key( factory, station, dockable ), displayer );
+		trim( displayers );
+		schedule();
+	}
+	
+	/**
+	 * Discards all the resources that are stored in this pool.
+	 */
+	public void clear(){
+		titles.clear();
+		displayers.clear();
+	}
+	
+	/**
+	 * Gets the number of titles that were reused.
+	 * @return the number of reused titles
+	 */
+	public int getTitleHitCount(){
+		return titleHits;
+	}
+	
+	/**
+	 * Gets the number of titles that were created because no title could be reused.
+	 * @return the number of created titles
+	 */
+	public int getTitleMissCount(){
+		return titleMisses;
+	}
+	
+	/**
+	 * Gets the number of displayers that were reused.
+	 * @return the number of reused displayers
+	 */
+	public int getDisplayerHitCount(){
+		return displayerHits;
+	}
+	
+	/**
+	 * Gets the number of displayers that were created because no displayer could be reused.
+	 * @return the number of created displayers
+	 */
+	public int getDisplayerMissCount(){
+		return displayerMisses;
+	}
+	
+	private boolean accept(){
+		return enabled && capacity > 0 && EventQueue.isDispatchThread();
+	}
+	
+	private void schedule(){
+		if( !scheduled ){
+			scheduled = true;
+			EventQueue.invokeLater( new Runnable(){
+				public void run(){
+					scheduled = false;
+					clear();
+				}
+			});
+		}
+	}
+	
+	private void trim( Map<Key, ?> map ){
+		Iterator<Key> keys = map.keySet().iterator();
+		while( map.size() > capacity ){
+			keys.next();
+			keys.remove();
+		}
+	}
+	
+	/**
+	 * A key made of three objects which are compared by identity.
+	 * @author Benjamin Sigg
+	 */
+	private static class Key{
+		private final Object factory;
+		private final Object owner;
+		private final Object dockable;
+		
+		public Key( Object factory, Object owner, Object dockable ){
+			this.factory = factory;
+			this.owner = owner;
+			this.dockable = dockable;
+		}
+		
+		@Override
+		public int hashCode(){
+			int hash = System.identityHashCode( factory );
+			hash = hash * 31 + System.identityHashCode( owner );
+			hash = hash * 31 + System.identityHashCode( dockable );
+			return hash;
+		}
+		
+		@Override
+		public boolean equals( Object obj ){
+			if( obj == this ){
+				return true;
+			}
+			if( !(obj instanceof Key) ){
+				return false;
+			}
+			Key other = (Key)obj;
+			return factory == other.factory && owner == other.owner && dockable == other.dockable;
+		}
+	}
+}
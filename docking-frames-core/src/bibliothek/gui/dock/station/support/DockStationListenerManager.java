@@ -26,12 +26,10 @@
 
 package bibliothek.gui.dock.station.support;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.event.DockStationListener;
+import bibliothek.gui.dock.util.listener.ListenerList;
 
 /**
  * This manager stores {@link DockStationListener DockStationListeners}
@@ -40,7 +38,7 @@ import bibliothek.gui.dock.event.DockStationListener;
  *
  */
 public class DockStationListenerManager {
-	private List<DockStationListener> listeners = new ArrayList<DockStationListener>();
+	private ListenerList<DockStationListener> listeners;
     private DockStation station;
     
     /**
@@ -52,6 +50,7 @@ public class DockStationListenerManager {
     		throw new IllegalArgumentException( "station must not be null" );
     	
     	this.station = station;
+    	listeners = new ListenerList<DockStationListener>( DockStationListener.class, "DockStationListener", station );
     }
     
     /**
@@ -77,6 +76,25 @@ public class DockStationListenerManager {
     public void removeListener( DockStationListener listener ){
     	listeners.remove( listener );
     }
+    
+    /**
+     * Adds a listener to this manager, but only stores a weak reference to <code>listener</code>. The
+     * listener is removed automatically once it is no longer used.
+     * @param listener the new listener
+     * @see ListenerList#addWeak(Object)
+     */
+    public void addWeakListener( DockStationListener listener ){
+    	listeners.addWeak( listener );
+    }
+    
+    /**
+     * Gets the list of listeners, the list also offers the number of listeners and how often
+     * events were fired.
+     * @return the list, not <code>null</code>
+     */
+    public ListenerList<DockStationListener> getListeners(){
+    	return listeners;
+    }
 	
 	/**
      * Invokes the method {@link DockStationListener#dockableShowingChanged(DockStation, Dockable, boolean)}
@@ -85,8 +103,10 @@ public class DockStationListenerManager {
      * @param value the new state
      */
     public void fireDockableVisibilitySet( Dockable dockable, boolean value ){
-    	for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+    	long start = listeners.beginFire();
+    	for( DockStationListener listener : listeners.get() )
             listener.dockableShowingChanged( station, dockable, value );
+    	listeners.endFire( start );
     }
     
     /**
@@ -95,8 +115,10 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which was added
      */
     public void fireDockableAdded( Dockable dockable ){
-        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+        long start = listeners.beginFire();
+        for( DockStationListener listener : listeners.get() )
             listener.dockableAdded( station, dockable );
+        listeners.endFire( start );
     }
     
     /**
@@ -105,8 +127,10 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which was removed
      */
     public void fireDockableRemoved( Dockable dockable ){
-        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+        long start = listeners.beginFire();
+        for( DockStationListener listener : listeners.get() )
             listener.dockableRemoved( station, dockable );
+        listeners.endFire( start );
     }
     
     /**
@@ -115,8 +139,10 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which will be added
      */
     public void fireDockableAdding( Dockable dockable ){
-        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+        long start = listeners.beginFire();
+        for( DockStationListener listener : listeners.get() )
             listener.dockableAdding( station, dockable );
+        listeners.endFire( start );
     }
     
     /**
@@ -125,8 +151,10 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which will be removed
      */
     public void fireDockableRemoving( Dockable dockable ){
-        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+        long start = listeners.beginFire();
+        for( DockStationListener listener : listeners.get() )
             listener.dockableRemoving( station, dockable );
+        listeners.endFire( start );
     }
     
     /**
@@ -136,8 +164,10 @@ public class DockStationListenerManager {
      * @param newSelected the selected {@link Dockable}
      */
     public void fireDockableSelected( Dockable oldSelected, Dockable newSelected ){
-        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+        long start = listeners.beginFire();
+        for( DockStationListener listener : listeners.get() )
             listener.dockableSelected( station, oldSelected, newSelected );
+        listeners.endFire( start );
     }
     
     /**
@@ -146,7 +176,9 @@ public class DockStationListenerManager {
      * @param dockables the elements that have a new position
      */
     public void fireDockablesRepositioned( Dockable... dockables ){
-    	for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+    	long start = listeners.beginFire();
+    	for( DockStationListener listener : listeners.get() )
             listener.dockablesRepositioned( station, dockables );
+    	listeners.endFire( start );
     }
 }
@@ -29,6 +29,7 @@ package bibliothek.gui.dock.station.support;
 import java.util.HashMap;
 import java.util.Map;
 
+import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.event.DockStationAdapter;
@@ -39,7 +40,10 @@ import bibliothek.gui.dock.event.DockStationAdapter;
  * if the visibility of some children has changed. The manager fires events
  * automatically if a {@link Dockable} is added or removed from the 
  * parent station. The manager tries to minimize the number of messages
- * sent to the listeners.
+ * sent to the listeners.<br>
+ * If the station is registered at a {@link DockController}, then {@link #fire()} does not check
+ * the children immediately, instead the {@link DockableShowingQueue} of the controller merges
+ * all the calls of one cycle of the <code>EventDispatcherThread</code>.
  * @author Benjamin Sigg
  */
 public class DockableShowingManager extends DockStationAdapter{
@@ -59,10 +63,33 @@ public class DockableShowingManager extends DockStationAdapter{
     }
     
     /**
-     * Checks which {@link Dockable Dockables} have changed their state and
-     * fires events for them.
+     * Gets the station whose children are observed by this manager.
+     * @return the station, not <code>null</code>
+     */
+    public DockStation getStation(){
+    	return listeners.getStation();
+    }
+    
+    /**
+     * Requests that this manager checks which {@link Dockable Dockables} have changed their 
+     * state and fires events for them. The check may be delayed by the {@link DockableShowingQueue}
+     * of the {@link DockController}.
      */
     public void fire(){
+    	DockController controller = listeners.getStation().getController();
+    	if( controller == null ){
+    		fireNow();
+    	}
+    	else{
+    		controller.getDockableShowingQueue().schedule( this );
+    	}
+    }
+    
+    /**
+     * Checks which {@link Dockable Dockables} have changed their state and
+     * fires events for them. This method is executed immediately.
+     */
+    public void fireNow(){
         DockStation station = listeners.getStation();
         for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
             Dockable dockable = station.getDockable(i);
@@ -0,0 +1,245 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.support;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+
+/**
+ * Collects the {@link DockableShowingManager}s of all the {@link DockStation}s of a {@link DockController}
+ * whose children may have changed their visibility. Instead of checking the children of a station every time
+ * {@link DockableShowingManager#fire()} is called, the stations are checked once at the end of the current
+ * cycle of the <code>EventDispatcherThread</code>. Stations are checked from the roots to the leaves of the
+ * tree of {@link DockStation}s, a station whose parent reports a change during the same pass is checked in the
+ * same pass. As a result each station is usually checked only once, and events are fired only for those
+ * {@link Dockable}s whose visibility really changed.<br>
+ * Calls from a thread other than the <code>EventDispatcherThread</code> are not delayed, the
+ * manager fires its events immediately.<br>
+ * Each {@link DockController} has its own queue, accessible through {@link DockController#getDockableShowingQueue()}.
+ * @author Benjamin Sigg
+ */
+public class DockableShowingQueue {
+	/** the managers that have to be checked at the end of the current cycle */
+	private Set<DockableShowingManager> pending = new LinkedHashSet<DockableShowingManager>();
+	
+	/** the managers that have to be checked during the current pass */
+	private PriorityQueue<Item> queue;
+	
+	/** the managers that are in {@link #queue} */
+	private Set<DockableShowingManager> queued;
+	
+	/** whether {@link #flush()} is already scheduled */
+	private boolean scheduled = false;
+	
+	/** whether this queue delays any events at all */
+	private boolean enabled = true;
+	
+	/** how many times {@link #suspend()} was called without {@link #resume()} */
+	private int suspended = 0;
+	
+	/** how many passes were executed */
+	private int passes = 0;
+	
+	/** how many times a manager was checked */
+	private int checks = 0;
+	
+	/**
+	 * Enables or disables this queue. A disabled queue does not delay any events, every
+	 * {@link DockableShowingManager} fires its events immediately. Pending managers are
+	 * {@link #flush() flushed} when the queue gets disabled.
+	 * @param enabled whether to delay and merge events
+	 */
+	public void setEnabled( boolean enabled ){
+		this.enabled = enabled;
+		if( !enabled ){
+			flush();
+		}
+	}
+	
+	/**
+	 * Tells whether this queue delays events.
+	 * @return whether events are delayed and merged
+	 * @see #setEnabled(boolean)
+	 */
+	public boolean isEnabled(){
+		return enabled;
+	}
+	
+	/**
+	 * Requests that the children of the station of <code>manager</code> are checked. Depending on the state
+	 * of this queue the check happens now, or at the end of the current cycle of the <code>EventDispatcherThread</code>.
+	 * @param manager the manager whose station may have changed
+	 */
+	public void schedule( DockableShowingManager manager ){
+		if( suspended > 0 ){
+			pending.add( manager );
+		}
+		else if( queue != null ){
+			enqueue( manager );
+		}
+		else if( !enabled || !EventQueue.isDispatchThread() ){
+			checks++;
+			manager.fireNow();
+		}
+		else{
+			pending.add( manager );
+			if( !scheduled ){
+				scheduled = true;
+				EventQueue.invokeLater( new Runnable(){
+					public void run(){
+						scheduled = false;
+						flush();
+					}
+				});
+			}
+		}
+	}
+	
+	/**
+	 * Suspends this queue, no manager is checked until {@link #resume()} is called as often as this
+	 * method was called. Calls from other threads are delayed as well.
+	 * @see bibliothek.gui.dock.control.DockBatch
+	 */
+	public void suspend(){
+		suspended++;
+	}
+	
+	/**
+	 * Resumes this queue after it was {@link #suspend() suspended}. If the queue is no longer suspended, then
+	 * all pending managers are checked immediately.
+	 */
+	public void resume(){
+		if( suspended > 0 ){
+			suspended--;
+			if( suspended == 0 ){
+				flush();
+			}
+		}
+	}
+	
+	/**
+	 * Immediately checks all the managers that are pending. Clients may call this method if they need
+	 * all events to be fired right now.
+	 */
+	public void flush(){
+		if( suspended > 0 || queue != null || pending.isEmpty() ){
+			return;
+		}
+		
+		passes++;
+		queue = new PriorityQueue<Item>();
+		queued = new HashSet<DockableShowingManager>();
+		
+		try{
+			List<DockableShowingManager> managers = new ArrayList<DockableShowingManager>( pending );
+			pending.clear();
+			for( DockableShowingManager manager : managers ){
+				enqueue( manager );
+			}
+			
+			while( !queue.isEmpty() ){
+				DockableShowingManager next = queue.poll().manager;
+				queued.remove( next );
+				checks++;
+				next.fireNow();
+			}
+		}
+		finally{
+			queue = null;
+			queued = null;
+		}
+	}
+	
+	/**
+	 * Removes all pending managers without checking them.
+	 */
+	public void kill(){
+		pending.clear();
+	}
+	
+	/**
+	 * Gets the number of passes this queue executed.
+	 * @return the number of passes
+	 */
+	public int getPassCount(){
+		return passes;
+	}
+	
+	/**
+	 * Gets the number of times a {@link DockableShowingManager} was checked.
+	 * @return the number of checks
+	 */
+	public int getCheckCount(){
+		return checks;
+	}
+	
+	private void enqueue( DockableShowingManager manager ){
+		if( queued.add( manager )){
+			queue.add( new Item( manager, depth( manager.getStation() ) ));
+		}
+	}
+	
+	private int depth( DockStation station ){
+		int depth = 0;
+		Dockable dockable = station.asDockable();
+		while( dockable != null ){
+			DockStation parent = dockable.getDockParent();
+			if( parent == null ){
+				break;
+			}
+			depth++;
+			dockable = parent.asDockable();
+		}
+		return depth;
+	}
+	
+	/**
+	 * A manager and the depth of its station in the tree.
+	 * @author Benjamin Sigg
+	 */
+	private static class Item implements Comparable<Item>{
+		private final DockableShowingManager manager;
+		private final int depth;
+		
+		public Item( DockableShowingManager manager, int depth ){
+			this.manager = manager;
+			this.depth = depth;
+		}
+		
+		public int compareTo( Item o ){
+			return depth < o.depth ? -1 : (depth == o.depth ? 0 : 1);
+		}
+	}
+}
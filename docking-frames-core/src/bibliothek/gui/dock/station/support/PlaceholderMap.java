@@ -25,15 +25,20 @@
  */
 package bibliothek.gui.dock.station.support;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import bibliothek.gui.dock.layout.CompactDataOutputStream;
 import bibliothek.util.Path;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
@@ -49,7 +54,10 @@ import bibliothek.util.xml.XException;
  *  <li>If using non-shared keys, this map will use the <code>==</code> operator to compare keys</li>
  * </ul>
  * This data structure can work together with a {@link PlaceholderStrategy} to automatically delete
- * entries that are no longer valid. 
+ * entries that are no longer valid.<br>
+ * The binary format of this map comes in two flavors: the original format, and a {@link #writeCompact(DataOutputStream) compact}
+ * format which stores each string only once and reuses equal sub-maps. The compact format is used if writing into
+ * a {@link CompactDataOutputStream}, both formats can always be read.
  * @author Benjamin Sigg
  */
 public class PlaceholderMap {
@@ -96,12 +104,16 @@ public class PlaceholderMap {
 		setPlaceholderStrategy( strategy );
 		
 		Version version = Version.read( in );
+		if( Version.VERSION_1_1_3.equals( version )){
+			new CompactReader( strategy ).read( in, this );
+			return;
+		}
 		if( Version.VERSION_1_1_1a.compareTo( version ) < 0 ){
 			throw new IOException( "unknown version: " + version );
 		}
 		
 		this.version = in.readInt();
-		format = new Path( in.readUTF() );
+		format = Path.valueOf( in.readUTF() );
 	
 		int size = in.readInt();
 		
@@ -147,7 +159,7 @@ public class PlaceholderMap {
 		if( xformat == null ){
 			throw new XException( "missing element 'format'" );
 		}
-		format = new Path( xformat.getString() );
+		format = Path.valueOf( xformat.getString() );
 		
 		for( int i = 0, n = in.getElementCount(); i<n; i++ ){
 			XElement xentry = in.getElement( i );
@@ -172,11 +184,17 @@ public class PlaceholderMap {
 	}
 	
 	/**
-	 * Writes the contents of this map into <code>out</code>.
+	 * Writes the contents of this map into <code>out</code>. If <code>out</code> is a
+	 * {@link CompactDataOutputStream}, then the {@link #writeCompact(DataOutputStream) compact} format is used.
 	 * @param out the stream to write into
 	 * @throws IOException in case of an I/O error
 	 */
 	public void write( DataOutputStream out ) throws IOException{
+		if( CompactDataOutputStream.isCompact( out )){
+			writeCompact( out );
+			return;
+		}
+		
 		Version.write( out, Version.VERSION_1_1_1a );
 		out.writeInt( version );
 		out.writeUTF( format.toString() );
@@ -193,6 +211,20 @@ public class PlaceholderMap {
 		}
 	}
 
+	/**
+	 * Writes the contents of this map into <code>out</code> using a compact format. Each string and each
+	 * {@link Path} is written only once into a dictionary, numbers and lengths are written with a variable
+	 * number of bytes, and equal sub-maps are written only once. The compact format can be read by
+	 * {@link #PlaceholderMap(DataInputStream, PlaceholderStrategy)}, but not by versions of the framework
+	 * older than {@link Version#VERSION_1_1_3}.
+	 * @param out the stream to write into
+	 * @throws IOException in case of an I/O error
+	 */
+	public void writeCompact( DataOutputStream out ) throws IOException{
+		Version.write( out, Version.VERSION_1_1_3 );
+		new CompactWriter().write( this, out );
+	}
+	
 	private void write( Object value, DataOutputStream out ) throws IOException{
 		if( value instanceof String ){
 			out.writeByte( 0 );
@@ -251,7 +283,7 @@ public class PlaceholderMap {
 					result[i] = read( in, strategy );
 				}
 				return result;
-			case 7: return new Path( in.readUTF() );
+			case 7: return Path.valueOf( in.readUTF() );
 		}
 		throw new IOException( "illegal format" );
 	}
@@ -346,7 +378,7 @@ public class PlaceholderMap {
 			return result;
 		}
 		if( "t".equals( type )){
-			return new Path( in.getString() );
+			return Path.valueOf( in.getString() );
 		}
 		else{
 			throw new XException( "unknown type: " + type );
@@ -1051,6 +1083,348 @@ public class PlaceholderMap {
 		public boolean isShared();
 	}
 	
+	/**
+	 * Writes a {@link PlaceholderMap} and all its sub-maps in the compact format. The format consists
+	 * of a dictionary of strings, followed by all the distinct maps. A map can only reference maps that
+	 * were written before itself, the root map is written last.
+	 * @author Benjamin Sigg
+	 */
+	private static class CompactWriter{
+		/** all the strings that are stored in the dictionary */
+		private Map<String, Integer> strings = new LinkedHashMap<String, Integer>();
+		/** the encoded maps */
+		private List<byte[]> maps = new ArrayList<byte[]>();
+		/** the indices of the maps in {@link #maps} */
+		private Map<Bytes, Integer> mapIndices = new HashMap<Bytes, Integer>();
+		
+		/**
+		 * Writes <code>map</code> into <code>out</code>.
+		 * @param map the map to write
+		 * @param out the stream to write into
+		 * @throws IOException in case of an I/O error
+		 */
+		public void write( PlaceholderMap map, DataOutputStream out ) throws IOException{
+			encode( map );
+			
+			writeVarInt( out, strings.size() );
+			for( String string : strings.keySet() ){
+				out.writeUTF( string );
+			}
+			writeVarInt( out, maps.size() );
+			for( byte[] encoded : maps ){
+				out.write( encoded );
+			}
+		}
+		
+		private int string( String value ){
+			Integer index = strings.get( value );
+			if( index == null ){
+				index = strings.size();
+				strings.put( value, index );
+			}
+			return index;
+		}
+		
+		private int encode( PlaceholderMap map ) throws IOException{
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream( buffer );
+			
+			writeVarInt( out, zigZag( map.version ));
+			writeVarInt( out, string( map.format.toString() ));
+			writeVarInt( out, map.data.size() );
+			
+			for( Map.Entry<Key, Map<String, Object>> entry : map.data.entrySet() ){
+				PlaceholderKey key = (PlaceholderKey)entry.getKey();
+				String anchor = key.getAnchor();
+				out.writeByte( (key.isShared() ? 1 : 0) | (anchor == null ? 0 : 2) );
+				if( anchor != null ){
+					writeVarInt( out, string( anchor ));
+				}
+				Path[] placeholders = key.getPlaceholders();
+				writeVarInt( out, placeholders.length );
+				for( Path placeholder : placeholders ){
+					writeVarInt( out, string( placeholder.toString() ));
+				}
+				
+				Map<String, Object> items = entry.getValue();
+				writeVarInt( out, items.size() );
+				for( Map.Entry<String, Object> item : items.entrySet() ){
+					writeVarInt( out, string( item.getKey() ));
+					encode( item.getValue(), out );
+				}
+			}
+			out.close();
+			
+			Bytes bytes = new Bytes( buffer.toByteArray() );
+			Integer index = mapIndices.get( bytes );
+			if( index == null ){
+				index = maps.size();
+				maps.add( bytes.data );
+				mapIndices.put( bytes, index );
+			}
+			return index;
+		}
+		
+		private void encode( Object value, DataOutputStream out ) throws IOException{
+			if( value instanceof String ){
+				out.writeByte( 0 );
+				writeVarInt( out, string( (String)value ));
+			}
+			else if( value instanceof Integer ){
+				out.writeByte( 1 );
+				writeVarInt( out, zigZag( (Integer)value ));
+			}
+			else if( value instanceof Long ){
+				out.writeByte( 2 );
+				writeVarLong( out, zigZag( (Long)value ));
+			}
+			else if( value instanceof Double ){
+				out.writeByte( 3 );
+				out.writeDouble( (Double)value );
+			}
+			else if( value instanceof Boolean ){
+				out.writeByte( 4 );
+				out.writeBoolean( (Boolean)value );
+			}
+			else if( value instanceof PlaceholderMap ){
+				int index = encode( (PlaceholderMap)value );
+				out.writeByte( 5 );
+				writeVarInt( out, index );
+			}
+			else if( value instanceof Object[] ){
+				out.writeByte( 6 );
+				Object[] array = (Object[])value;
+				writeVarInt( out, array.length );
+				for( Object item : array ){
+					encode( item, out );
+				}
+			}
+			else if( value instanceof Path ){
+				out.writeByte( 7 );
+				writeVarInt( out, string( value.toString() ));
+			}
+			else{
+				throw new IOException( "unknown type: " + value.getClass() );
+			}
+		}
+		
+		private static int zigZag( int value ){
+			return (value << 1) ^ (value >> 31);
+		}
+		
+		private static long zigZag( long value ){
+			return (value << 1) ^ (value >> 63);
+		}
+		
+		private static void writeVarInt( DataOutputStream out, int value ) throws IOException{
+			while( (value & ~0x7F) != 0 ){
+				out.writeByte( (value & 0x7F) | 0x80 );
+				value >>>= 7;
+			}
+			out.writeByte( value );
+		}
+		
+		private static void writeVarLong( DataOutputStream out, long value ) throws IOException{
+			while( (value & ~0x7FL) != 0 ){
+				out.writeByte( (int)(value & 0x7F) | 0x80 );
+				value >>>= 7;
+			}
+			out.writeByte( (int)value );
+		}
+	}
+	
+	/**
+	 * An array of bytes that can be used as key in a {@link Map}.
+	 * @author Benjamin Sigg
+	 */
+	private static class Bytes{
+		private final byte[] data;
+		private final int hash;
+		
+		public Bytes( byte[] data ){
+			this.data = data;
+			this.hash = Arrays.hashCode( data );
+		}
+		
+		@Override
+		public int hashCode(){
+			return hash;
+		}
+		
+		@Override
+		public boolean equals( Object obj ){
+			if( obj == this ){
+				return true;
+			}
+			if( !(obj instanceof Bytes) ){
+				return false;
+			}
+			Bytes other = (Bytes)obj;
+			return hash == other.hash && Arrays.equals( data, other.data );
+		}
+	}
+	
+	/**
+	 * Reads the format written by {@link CompactWriter}.
+	 * @author Benjamin Sigg
+	 */
+	private static class CompactReader{
+		/** the strategy to apply to all the maps that are read */
+		private PlaceholderStrategy strategy;
+		/** the dictionary of strings */
+		private String[] strings;
+		/** all the maps that were read so far */
+		private PlaceholderMap[] maps;
+		/** whether the map with the same index was already used as a value */
+		private boolean[] used;
+		
+		/**
+		 * Creates a new reader.
+		 * @param strategy the strategy to apply to all the maps, can be <code>null</code>
+		 */
+		public CompactReader( PlaceholderStrategy strategy ){
+			this.strategy = strategy;
+		}
+		
+		/**
+		 * Reads a map from <code>in</code>. The {@link Version} must already be read.
+		 * @param in the stream to read from
+		 * @param root the map which is filled with the root map
+		 * @throws IOException in case of an I/O error
+		 */
+		public void read( DataInputStream in, PlaceholderMap root ) throws IOException{
+			strings = new String[ readVarInt( in ) ];
+			for( int i = 0; i < strings.length; i++ ){
+				strings[i] = in.readUTF();
+			}
+			int count = readVarInt( in );
+			if( count < 1 ){
+				throw new IOException( "illegal format: no root map" );
+			}
+			maps = new PlaceholderMap[ count ];
+			used = new boolean[ count ];
+			for( int i = 0; i < count-1; i++ ){
+				maps[i] = readMap( in, null );
+			}
+			readMap( in, root );
+		}
+		
+		private String string( DataInputStream in ) throws IOException{
+			int index = readVarInt( in );
+			if( index < 0 || index >= strings.length ){
+				throw new IOException( "illegal format: unknown string " + index );
+			}
+			return strings[ index ];
+		}
+		
+		private PlaceholderMap readMap( DataInputStream in, PlaceholderMap target ) throws IOException{
+			int version = unZigZag( readVarInt( in ));
+			Path format = Path.valueOf( string( in ));
+			if( target == null ){
+				target = new PlaceholderMap( format, version );
+				target.setPlaceholderStrategy( strategy );
+			}
+			else{
+				target.format = format;
+				target.version = version;
+			}
+			
+			int size = readVarInt( in );
+			for( int i = 0; i < size; i++ ){
+				int flags = in.readByte();
+				String anchor = null;
+				if( (flags & 2) != 0 ){
+					anchor = string( in );
+				}
+				Path[] placeholders = new Path[ readVarInt( in ) ];
+				for( int j = 0; j < placeholders.length; j++ ){
+					placeholders[j] = Path.valueOf( string( in ));
+				}
+				
+				PlaceholderKey key = target.new PlaceholderKey( anchor, placeholders, (flags & 1) != 0 );
+				key = key.shrink( strategy );
+				Map<String, Object> items = null;
+				if( key != null ){
+					target.add( key );
+					items = target.data.get( key );
+				}
+				
+				int length = readVarInt( in );
+				for( int j = 0; j < length; j++ ){
+					String subkey = string( in );
+					Object value = readValue( in );
+					if( items != null ){
+						items.put( subkey, value );
+					}
+				}
+			}
+			return target;
+		}
+		
+		private Object readValue( DataInputStream in ) throws IOException{
+			byte kind = in.readByte();
+			switch( kind ){
+				case 0: return string( in );
+				case 1: return unZigZag( readVarInt( in ));
+				case 2: return unZigZag( readVarLong( in ));
+				case 3: return in.readDouble();
+				case 4: return in.readBoolean();
+				case 5:
+					int index = readVarInt( in );
+					if( index < 0 || index >= maps.length || maps[index] == null ){
+						throw new IOException( "illegal format: unknown map " + index );
+					}
+					if( !used[index] ){
+						used[index] = true;
+						return maps[index];
+					}
+					PlaceholderMap copy = maps[index].copy();
+					copy.setPlaceholderStrategy( strategy );
+					return copy;
+				case 6:
+					Object[] result = new Object[ readVarInt( in ) ];
+					for( int i = 0; i < result.length; i++ ){
+						result[i] = readValue( in );
+					}
+					return result;
+				case 7: return Path.valueOf( string( in ));
+			}
+			throw new IOException( "illegal format" );
+		}
+		
+		private static int unZigZag( int value ){
+			return (value >>> 1) ^ -(value & 1);
+		}
+		
+		private static long unZigZag( long value ){
+			return (value >>> 1) ^ -(value & 1);
+		}
+		
+		private static int readVarInt( DataInputStream in ) throws IOException{
+			int result = 0;
+			for( int shift = 0; shift < 35; shift += 7 ){
+				int next = in.readUnsignedByte();
+				result |= (next & 0x7F) << shift;
+				if( (next & 0x80) == 0 ){
+					return result;
+				}
+			}
+			throw new IOException( "illegal format: malformed number" );
+		}
+		
+		private static long readVarLong( DataInputStream in ) throws IOException{
+			long result = 0;
+			for( int shift = 0; shift < 70; shift += 7 ){
+				int next = in.readUnsignedByte();
+				result |= (long)(next & 0x7F) << shift;
+				if( (next & 0x80) == 0 ){
+					return result;
+				}
+			}
+			throw new IOException( "illegal format: malformed number" );
+		}
+	}
+
 	/**
 	 * Standard implementation of {@link PlaceholderMap.Key}.
 	 * @author Benjamin Sigg
@@ -1094,7 +1468,7 @@ public class PlaceholderMap {
 			
 			placeholders = new Path[ in.readInt() ];
 			for( int i = 0; i < placeholders.length; i++ ){
-				placeholders[i] = new Path( in.readUTF() );
+				placeholders[i] = Path.valueOf( in.readUTF() );
 			}
 		}
 		
@@ -1109,7 +1483,7 @@ public class PlaceholderMap {
 			XElement[] xplaceholders = in.getElements( "placeholder" );
 			placeholders = new Path[ xplaceholders.length ];
 			for( int i = 0; i < xplaceholders.length; i++ ){
-				placeholders[i] = new Path( xplaceholders[i].getString() );
+				placeholders[i] = Path.valueOf( xplaceholders[i].getString() );
 			}
 		}
 		
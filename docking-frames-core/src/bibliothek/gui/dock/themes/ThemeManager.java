@@ -56,6 +56,7 @@ import bibliothek.gui.dock.util.TypedUIProperties;
 import bibliothek.gui.dock.util.UIBridge;
 import bibliothek.gui.dock.util.UIValue;
 import bibliothek.gui.dock.util.extension.ExtensionName;
+import bibliothek.gui.dock.util.trace.DockTracer;
 import bibliothek.util.ClientOnly;
 import bibliothek.util.FrameworkOnly;
 import bibliothek.util.Path;
@@ -262,6 +263,8 @@ public class ThemeManager extends TypedUIProperties{
     		DockRegister register = controller.getRegister();
     		DockTheme oldTheme = this.theme;
     		Dockable focused = null;
+    		DockTracer tracer = controller.getTracer();
+    		long trace = tracer.start();
     		try{
     			register.setStalled( true );
     			focused = controller.getFocusedDockable();
@@ -272,7 +275,7 @@ public class ThemeManager extends TypedUIProperties{
 	    		this.theme = theme;
 	    		
 	    		ExtensionName<DockThemeExtension> name = new ExtensionName<DockThemeExtension>( 
-	    				DockThemeExtension.DOCK_THEME_EXTENSION, DockThemeExtension.class, DockThemeExtension.THEME_PARAMETER, theme );
+	    				DockThemeExtension.DOCK_THEME_EXTENSION, DockThemeExtension.class, DockThemeExtension.THEME_PARAMETER, theme, true );
 	    		List<DockThemeExtension> extensions = controller.getExtensions().load( name );
 	    		
 	    		theme.install( controller, extensions.toArray( new DockThemeExtension[ extensions.size() ] ) );
@@ -287,6 +290,7 @@ public class ThemeManager extends TypedUIProperties{
     		}
     		finally{
     			register.setStalled( false );
+    			tracer.stop( DockTracer.THEME_INSTALL, theme.getClass().getName(), trace );
     		}
 	    		
     		controller.setFocusedDockable( new DefaultFocusRequest( focused, null, true ));
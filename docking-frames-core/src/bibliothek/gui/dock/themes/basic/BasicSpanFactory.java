@@ -25,29 +25,28 @@
  */
 package bibliothek.gui.dock.themes.basic;
 
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.util.Collection;
+import java.awt.Component;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 
-import javax.swing.Timer;
-
+import bibliothek.gui.DockController;
+import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.station.span.Span;
 import bibliothek.gui.dock.station.span.SpanCallback;
 import bibliothek.gui.dock.station.span.SpanFactory;
 import bibliothek.gui.dock.station.span.SpanMode;
+import bibliothek.gui.dock.util.animation.Animation;
+import bibliothek.gui.dock.util.animation.AnimationScheduler;
 
 /**
- * The {@link BasicSpanFactory} uses a small animation to expand and to shrink its {@link Span}s.
+ * The {@link BasicSpanFactory} uses a small animation to expand and to shrink its {@link Span}s. The
+ * animations are run by the {@link AnimationScheduler} of the {@link DockController} of the station
+ * that is using a {@link Span}.
  * @author Benjamin Sigg
  */
 public class BasicSpanFactory implements SpanFactory{
 	private int duration;
 	private int minSpeed;
-	private Timer timer;
-	private Collection<BasicSpan> ticking = new HashSet<BasicSpan>(); 
 	
 	/**
 	 * Creates a new factory
@@ -57,15 +56,6 @@ public class BasicSpanFactory implements SpanFactory{
 	public BasicSpanFactory( int duration, int minSpeed ){
 		setDuration( duration );
 		setMinSpeed( minSpeed );
-		timer = new Timer( 0, new ActionListener(){
-			public void actionPerformed( ActionEvent e ){
-				tick();
-			}
-		} );
-		timer.setRepeats( true );
-		timer.setCoalesce( true );
-		timer.setDelay( 20 );
-		timer.setInitialDelay( 0 );
 	}
 	
 	/**
@@ -102,39 +92,15 @@ public class BasicSpanFactory implements SpanFactory{
 		return new BasicSpan( callback );
 	}
 	
-	private synchronized void start( BasicSpan span ){
-		if( ticking.isEmpty() ){
-			ticking.add( span );
-			timer.start();
-		}
-		else{
-			ticking.add( span );
-		}
-	}
-	
-	private synchronized void stop( BasicSpan span ){
-		ticking.remove( span );
-		if( ticking.isEmpty() ){
-			timer.stop();
-		}
-	}
-	
-	private synchronized void tick(){
-		long now = System.nanoTime();
-		for( BasicSpan span : ticking.toArray( new BasicSpan[ ticking.size() ] ) ){
-			span.tick( now );
-		}
-	}
-	
-	private class BasicSpan implements Span {
+	private class BasicSpan implements Span, Animation {
 		private SpanCallback callback;
+		private AnimationScheduler scheduler;
 		private Map<SpanMode, Integer> sizes = new HashMap<SpanMode, Integer>( 2 );
 		private SpanMode currentMode;
 		
 		private int sizeStart;
 		private int sizeTarget;
 		private int animationDuration = -1;
-		private long animationStart = -1;
 		private int duration;
 		
 		public BasicSpan( SpanCallback callback ){
@@ -153,13 +119,12 @@ public class BasicSpanFactory implements SpanFactory{
 				}
 				
 				animationDuration = 0;
-				animationStart = -1;
-				start( this );
+				start();
 			}
 		}
 
 		public void set( SpanMode mode ){
-			stop( this );
+			stop();
 			animationDuration = -1;
 			sizeTarget = getSize( mode );
 			callback.resized();
@@ -182,16 +147,42 @@ public class BasicSpanFactory implements SpanFactory{
 			}
 		}
 		
-		public void tick( long now ){
-			if( animationStart == -1 ){
-				animationStart = now;
+		private void start(){
+			stop();
+			DockController controller = callback.getStation().getController();
+			scheduler = AnimationScheduler.get( controller );
+			scheduler.start( this );
+		}
+		
+		private void stop(){
+			if( scheduler != null ){
+				scheduler.stop( this );
+				scheduler = null;
 			}
-			animationDuration = (int)((now - animationStart) / 1000000);
+		}
+		
+		public boolean step( int delta ){
+			animationDuration += delta;
 			if( animationDuration >= duration ){
 				animationDuration = -1;
-				stop( this );
+				scheduler = null;
 			}
 			callback.resized();
+			return animationDuration != -1;
+		}
+		
+		public void finish(){
+			animationDuration = -1;
+			scheduler = null;
+			callback.resized();
+		}
+		
+		public Component getComponent(){
+			Dockable dockable = callback.getStation().asDockable();
+			if( dockable == null ){
+				return null;
+			}
+			return dockable.getComponent();
 		}
 
 		public int getSize(){
@@ -61,7 +61,7 @@ import bibliothek.gui.dock.title.DockTitle;
 import bibliothek.gui.dock.title.DockTitle.Orientation;
 import bibliothek.gui.dock.util.BackgroundComponent;
 import bibliothek.gui.dock.util.BackgroundPaint;
-import bibliothek.gui.dock.util.DockUtilities;
+import bibliothek.gui.dock.util.icon.DisabledIconCache;
 import bibliothek.util.container.Triple;
 
 /**
@@ -630,7 +630,7 @@ public class BasicButtonModel {
     			if( !enabled && modifier.isEnabled() ){
     				Icon disabled = disabledIcons.get( modifier );
     				if( disabled == null && !disabledIcons.containsKey( modifier )){
-    					disabled = DockUtilities.disabledIcon( owner, icon );
+    					disabled = DisabledIconCache.get( controller ).get( owner, icon );
     					disabledIcons.put( modifier, disabled );
     				}
     				if( disabled != null ){
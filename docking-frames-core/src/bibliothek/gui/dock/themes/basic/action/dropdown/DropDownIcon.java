@@ -39,10 +39,10 @@ import bibliothek.gui.dock.action.DockActionIcon;
 import bibliothek.gui.dock.action.DropDownAction;
 import bibliothek.gui.dock.action.view.ViewItem;
 import bibliothek.gui.dock.themes.color.ActionColor;
-import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.gui.dock.util.IconManager;
 import bibliothek.gui.dock.util.PropertyValue;
 import bibliothek.gui.dock.util.color.ColorCodes;
+import bibliothek.gui.dock.util.icon.DisabledIconCache;
 
 /**
  * This {@link Icon} is painted on buttons for {@link DropDownAction}s. Usually this icon
@@ -358,7 +358,7 @@ public class DropDownIcon implements Icon{
 			if( disabledIconInvalid || disabled == null || lastForeground == null || !lastForeground.equals( currentForeground ) ){
 				disabledIconInvalid = false;
 				lastForeground = currentForeground;
-				disabled = DockUtilities.disabledIcon( getParent(), icon );
+				disabled = DisabledIconCache.get( dockable == null ? null : dockable.getController() ).get( getParent(), icon );
 			}
 
 			disabled.paintIcon( c, g, x, y );
@@ -39,7 +39,7 @@ import bibliothek.gui.dock.action.ActionContentModifier;
 import bibliothek.gui.dock.action.DockAction;
 import bibliothek.gui.dock.action.StandardDockAction;
 import bibliothek.gui.dock.event.StandardDockActionListener;
-import bibliothek.gui.dock.util.DockUtilities;
+import bibliothek.gui.dock.util.icon.DisabledIconCache;
 
 /**
  * A handler that connects a {@link JMenuItem} with a {@link DockAction}.
@@ -125,7 +125,7 @@ public abstract class AbstractMenuHandler<I extends JMenuItem, D extends Standar
     	Icon icon = getIcon( ActionContentModifier.DISABLED_HORIZONTAL, ActionContentModifier.NONE_HORIZONTAL, ActionContentModifier.NONE );
     	if( icon == null ){
     		icon = getIcon( ActionContentModifier.NONE_HORIZONTAL );
-    		icon = DockUtilities.disabledIcon( getItem(), icon );
+    		icon = DisabledIconCache.get( dockable.getController() ).get( getItem(), icon );
     	}
     	
     	item.setDisabledIcon( icon );
@@ -61,7 +61,6 @@ import bibliothek.gui.dock.themes.font.TitleFont;
 import bibliothek.gui.dock.util.BackgroundAlgorithm;
 import bibliothek.gui.dock.util.ConfiguredBackgroundPanel;
 import bibliothek.gui.dock.util.DockProperties;
-import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.gui.dock.util.PropertyValue;
 import bibliothek.gui.dock.util.Transparency;
 import bibliothek.gui.dock.util.UIValue;
@@ -70,6 +69,7 @@ import bibliothek.gui.dock.util.color.ColorManager;
 import bibliothek.gui.dock.util.font.AbstractDockFont;
 import bibliothek.gui.dock.util.font.FontManager;
 import bibliothek.gui.dock.util.font.FontModifier;
+import bibliothek.gui.dock.util.icon.DisabledIconCache;
 import bibliothek.gui.dock.util.render.DockRenderingHints;
 import bibliothek.gui.dock.util.swing.OrientedLabel;
 import bibliothek.util.Condition;
@@ -438,7 +438,7 @@ public abstract class AbstractMultiDockTitle extends ConfiguredBackgroundPanel i
     	if( icon != null ){
     		if( isDisabled() ){
     			if( disabledIcon == null ){
-    				disabledIcon = DockUtilities.disabledIcon( component, icon );
+    				disabledIcon = DisabledIconCache.get( getDockable().getController() ).get( component, icon );
     			}
     			icon = disabledIcon;
     		}
@@ -34,6 +34,7 @@ import bibliothek.gui.DockTheme;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.event.UIListener;
+import bibliothek.gui.dock.station.support.DockComponentPool;
 import bibliothek.gui.dock.util.Priority;
 import bibliothek.gui.dock.util.extension.Extension;
 import bibliothek.gui.dock.util.extension.ExtensionName;
@@ -103,7 +104,7 @@ public class DockTitleVersion implements DockTitleFactory{
 			}
 		});
         
-        List<DockTitleFactory> list = controller.getExtensions().load( new ExtensionName<DockTitleFactory>( DOCK_TITLE_VERSION_EXTENSION, DockTitleFactory.class, DOCK_TITLE_VERSION_EXTENSION_PARAMETER, this ) );
+        List<DockTitleFactory> list = controller.getExtensions().load( new ExtensionName<DockTitleFactory>( DOCK_TITLE_VERSION_EXTENSION, DockTitleFactory.class, DOCK_TITLE_VERSION_EXTENSION_PARAMETER, this, true ) );
         if( !list.isEmpty() ){
         	extensionFactories = list.toArray( new DockTitleFactory[ list.size() ] );
         }
@@ -147,13 +148,13 @@ public class DockTitleVersion implements DockTitleFactory{
     public void request( DockTitleRequest request ){
     	DockTitleFactory client = getFactory( Priority.CLIENT );
     	if( client != null ){
-    		client.request( request );
+    		request( client, request );
     		return;
     	}
     	
     	if( extensionFactories != null ){
     		for( DockTitleFactory factory : extensionFactories ){
-    			factory.request( request );
+    			request( factory, request );
     			if( request.isAnswered() ){
     				return;
     			}
@@ -162,7 +163,27 @@ public class DockTitleVersion implements DockTitleFactory{
     	
     	DockTitleFactory factory = getFactory();
     	if( factory != null ){
-    		factory.request( request );
+    		request( factory, request );
+    	}
+    }
+    
+    /**
+     * Asks <code>factory</code> to answer <code>request</code>, or answers <code>request</code> with
+     * a title that was created by <code>factory</code> and is stored in the {@link DockComponentPool}.
+     * @param factory the factory to ask
+     * @param request the request to answer
+     */
+    private void request( DockTitleFactory factory, DockTitleRequest request ){
+    	DockComponentPool pool = controller.getComponentPool();
+    	DockTitle title = pool.acquireTitle( factory, request.getVersion(), request.getTarget() );
+    	if( title != null ){
+    		request.answer( title );
+    		return;
+    	}
+    	
+    	factory.request( request );
+    	if( request.isAnswered() ){
+    		pool.titleCreated( factory, request.getAnswer() );
     	}
     }
     
@@ -0,0 +1,429 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util;
+
+import java.awt.BorderLayout;
+import java.awt.Dialog;
+import java.awt.Frame;
+import java.awt.GraphicsEnvironment;
+import java.awt.Window;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentListener;
+import java.awt.event.WindowFocusListener;
+import java.awt.event.WindowListener;
+import java.awt.event.WindowStateListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.swing.JDialog;
+import javax.swing.JPanel;
+import javax.swing.JRootPane;
+import javax.swing.Timer;
+
+import bibliothek.gui.dock.station.flap.DefaultFlapWindowFactory;
+import bibliothek.gui.dock.station.screen.window.DefaultScreenDockWindowFactory;
+
+/**
+ * A {@link DialogPool} keeps a number of undecorated, non modal {@link JDialog}s alive. Creating the native
+ * resources of a window takes a lot of time, hence showing the first externalized {@link bibliothek.gui.Dockable}
+ * or opening the first flap may be delayed noticeably. A pool can {@link #prewarm(Window) prepare} dialogs in the
+ * background, and it recycles dialogs that are no longer used instead of disposing them.<br>
+ * A pool is used by the {@link DefaultScreenDockWindowFactory} and the {@link DefaultFlapWindowFactory}, if
+ * the pool is set explicitly. These factories prepare a dialog as soon as their stations know their owner.
+ * Clients that want to avoid the delay in any case, e.g. because they set the pool late, should call
+ * {@link #prewarm(Window) prewarm} with their main frame at startup. Dialogs are grouped by their owner, a
+ * dialog can only be reused for the same owner.<br>
+ * This class is not thread safe, all methods must be called from the <code>EventDispatcherThread</code>.
+ * @author Benjamin Sigg
+ */
+public class DialogPool {
+	/** the delay between creating two dialogs in the background, in milliseconds */
+	public static final int PREWARM_DELAY = 50;
+
+	/** the dialogs that are currently not used */
+	private List<JDialog> idle = new ArrayList<JDialog>();
+
+	/** the state of all the dialogs that were created by this pool */
+	private Map<JDialog, Baseline> baselines = new WeakHashMap<JDialog, Baseline>();
+
+	/** the owners for which dialogs still need to be created */
+	private List<Window> pending = new ArrayList<Window>();
+
+	/** the timer creating new dialogs, <code>null</code> if not running */
+	private Timer timer;
+
+	/** the maximum number of idle dialogs */
+	private int capacity;
+
+	/** the number of idle dialogs {@link #prewarm(Window)} prepares for each owner */
+	private int prewarmCount;
+
+	/** how often an idle dialog could be reused */
+	private long hits = 0;
+
+	/** how often a new dialog had to be created */
+	private long misses = 0;
+
+	/** how many dialogs were put back into the pool */
+	private long recycled = 0;
+
+	/** how many dialogs were created in the background */
+	private long prewarmed = 0;
+
+	/**
+	 * Creates a new pool that stores up to 4 dialogs and prepares 1 dialog for each owner.
+	 */
+	public DialogPool(){
+		this( 4, 1 );
+	}
+
+	/**
+	 * Creates a new pool.
+	 * @param capacity the maximum number of idle dialogs
+	 * @param prewarmCount the number of dialogs {@link #prewarm(Window)} prepares for each owner
+	 */
+	public DialogPool( int capacity, int prewarmCount ){
+		setCapacity( capacity );
+		setPrewarmCount( prewarmCount );
+	}
+
+	/**
+	 * Sets the maximum number of idle dialogs. Dialogs that do not fit into the pool are disposed.
+	 * @param capacity the maximum number of idle dialogs, at least 0
+	 */
+	public void setCapacity( int capacity ){
+		if( capacity < 0 ){
+			throw new IllegalArgumentException( "capacity must not be negative: " + capacity );
+		}
+		this.capacity = capacity;
+		while( idle.size() > capacity ){
+			idle.remove( idle.size()-1 ).dispose();
+		}
+	}
+
+	/**
+	 * Gets the maximum number of idle dialogs.
+	 * @return the capacity
+	 */
+	public int getCapacity(){
+		return capacity;
+	}
+
+	/**
+	 * Sets the number of dialogs which are prepared by {@link #prewarm(Window)} for each owner.
+	 * @param prewarmCount the number of dialogs, at least 0
+	 */
+	public void setPrewarmCount( int prewarmCount ){
+		if( prewarmCount < 0 ){
+			throw new IllegalArgumentException( "prewarmCount must not be negative: " + prewarmCount );
+		}
+		this.prewarmCount = prewarmCount;
+	}
+
+	/**
+	 * Gets the number of dialogs which are prepared by {@link #prewarm(Window)} for each owner.
+	 * @return the number of dialogs
+	 */
+	public int getPrewarmCount(){
+		return prewarmCount;
+	}
+
+	/**
+	 * Gets a dialog whose owner is <code>owner</code>. If possible an idle dialog is reused, otherwise
+	 * a new dialog is created. The dialog is undecorated, not modal and does nothing if the user
+	 * tries to close it. The dialog may already be displayable, hence its decorations must not be changed.
+	 * @param owner the owner of the dialog, should be a {@link Frame} or a {@link Dialog}, can be <code>null</code>
+	 * @return the dialog, to be given back with {@link #release(JDialog)}
+	 */
+	public JDialog acquire( Window owner ){
+		owner = normalize( owner );
+		for( int i = 0, n = idle.size(); i < n; i++ ){
+			JDialog dialog = idle.get( i );
+			if( baselines.get( dialog ).owner == owner ){
+				idle.remove( i );
+				hits++;
+				return dialog;
+			}
+		}
+		misses++;
+		return create( owner );
+	}
+
+	/**
+	 * Gives back a dialog that was created by {@link #acquire(Window)}. The dialog is made invisible and
+	 * all the listeners and components that were added to the dialog are removed. If there is not enough
+	 * space in this pool, or if <code>dialog</code> was not created by this pool, then the dialog is disposed.
+	 * @param dialog the dialog which is no longer used
+	 */
+	public void release( JDialog dialog ){
+		if( idle.contains( dialog )){
+			return;
+		}
+		Baseline baseline = baselines.get( dialog );
+		if( baseline == null || idle.size() >= capacity ){
+			dialog.dispose();
+			return;
+		}
+		dialog.setVisible( false );
+		baseline.restore( dialog );
+		idle.add( dialog );
+		recycled++;
+	}
+
+	/**
+	 * Creates dialogs for <code>owner</code> in the background, until there are {@link #getPrewarmCount()}
+	 * idle dialogs for <code>owner</code> or until this pool is full. The dialogs are created one by one,
+	 * with a short delay in between, in order not to block the <code>EventDispatcherThread</code>.
+	 * Creating a dialog also creates the native resources of <code>owner</code>.
+	 * This method does nothing in a headless environment.
+	 * @param owner the owner of the new dialogs, can be <code>null</code>
+	 */
+	public void prewarm( Window owner ){
+		if( GraphicsEnvironment.isHeadless() ){
+			return;
+		}
+		owner = normalize( owner );
+		if( !pending.contains( owner )){
+			pending.add( owner );
+		}
+		if( timer == null ){
+			timer = new Timer( PREWARM_DELAY, new ActionListener(){
+				public void actionPerformed( ActionEvent e ){
+					prewarmStep();
+				}
+			});
+			timer.start();
+		}
+	}
+
+	private void prewarmStep(){
+		while( !pending.isEmpty() ){
+			Window owner = pending.get( 0 );
+			if( idle.size() >= capacity || getIdleCount( owner ) >= prewarmCount ){
+				pending.remove( 0 );
+			}
+			else{
+				JDialog dialog = create( owner );
+				dialog.addNotify();
+				idle.add( dialog );
+				prewarmed++;
+				return;
+			}
+		}
+		timer.stop();
+		timer = null;
+	}
+
+	/**
+	 * Gets the number of idle dialogs which can be used for <code>owner</code>.
+	 * @param owner the owner of the dialogs, can be <code>null</code>
+	 * @return the number of idle dialogs
+	 */
+	public int getIdleCount( Window owner ){
+		owner = normalize( owner );
+		int count = 0;
+		for( JDialog dialog : idle ){
+			if( baselines.get( dialog ).owner == owner ){
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the number of idle dialogs.
+	 * @return the number of idle dialogs
+	 */
+	public int getIdleCount(){
+		return idle.size();
+	}
+
+	/**
+	 * Disposes all idle dialogs and stops creating new dialogs. Should be called once the owners of the
+	 * dialogs are no longer used, as the dialogs keep their owners alive.
+	 */
+	public void clear(){
+		if( timer != null ){
+			timer.stop();
+			timer = null;
+		}
+		pending.clear();
+		for( JDialog dialog : idle ){
+			dialog.dispose();
+		}
+		idle.clear();
+	}
+
+	/**
+	 * Gets how often {@link #acquire(Window)} could reuse an idle dialog.
+	 * @return the number of hits
+	 */
+	public long getHits(){
+		return hits;
+	}
+
+	/**
+	 * Gets how often {@link #acquire(Window)} had to create a new dialog.
+	 * @return the number of misses
+	 */
+	public long getMisses(){
+		return misses;
+	}
+
+	/**
+	 * Gets the fraction of calls to {@link #acquire(Window)} which could reuse an idle dialog.
+	 * @return the hit rate, a number between 0 and 1, 0 if no dialog was acquired yet
+	 */
+	public double getHitRate(){
+		long total = hits + misses;
+		if( total == 0 ){
+			return 0;
+		}
+		return hits / (double)total;
+	}
+
+	/**
+	 * Gets how many dialogs were put back into this pool by {@link #release(JDialog)}.
+	 * @return the number of recycled dialogs
+	 */
+	public long getRecycledCount(){
+		return recycled;
+	}
+
+	/**
+	 * Gets how many dialogs were created by {@link #prewarm(Window)}.
+	 * @return the number of prepared dialogs
+	 */
+	public long getPrewarmedCount(){
+		return prewarmed;
+	}
+
+	/**
+	 * Sets all the counters of this pool back to 0.
+	 */
+	public void resetCounters(){
+		hits = 0;
+		misses = 0;
+		recycled = 0;
+		prewarmed = 0;
+	}
+
+	@Override
+	public String toString(){
+		return getClass().getSimpleName() + "[idle=" + idle.size() + ", capacity=" + capacity + ", hits=" + hits +
+			", misses=" + misses + ", recycled=" + recycled + ", prewarmed=" + prewarmed + "]";
+	}
+
+	/**
+	 * Creates a new dialog for <code>owner</code>.
+	 * @param owner the owner of the dialog, already {@link #normalize(Window) normalized}
+	 * @return the new dialog
+	 */
+	protected JDialog create( Window owner ){
+		JDialog dialog;
+		if( owner instanceof Frame ){
+			dialog = new JDialog( (Frame)owner, false );
+		}
+		else if( owner instanceof Dialog ){
+			dialog = new JDialog( (Dialog)owner, false );
+		}
+		else{
+			dialog = new JDialog( (Frame)null, false );
+		}
+		dialog.setUndecorated( true );
+		dialog.getRootPane().setWindowDecorationStyle( JRootPane.NONE );
+		dialog.setDefaultCloseOperation( JDialog.DO_NOTHING_ON_CLOSE );
+		baselines.put( dialog, new Baseline( owner, dialog ) );
+		return dialog;
+	}
+
+	private Window normalize( Window owner ){
+		if( owner instanceof Frame || owner instanceof Dialog ){
+			return owner;
+		}
+		return null;
+	}
+
+	/**
+	 * The state of a dialog directly after it was created.
+	 * @author Benjamin Sigg
+	 */
+	private static class Baseline{
+		/** the owner that was requested for the dialog */
+		private final Window owner;
+		/** the component listeners that were present after creation */
+		private final List<ComponentListener> componentListeners;
+		/** the window listeners that were present after creation */
+		private final List<WindowListener> windowListeners;
+		/** the window focus listeners that were present after creation */
+		private final List<WindowFocusListener> windowFocusListeners;
+		/** the window state listeners that were present after creation */
+		private final List<WindowStateListener> windowStateListeners;
+
+		public Baseline( Window owner, JDialog dialog ){
+			this.owner = owner;
+			componentListeners = Arrays.asList( dialog.getComponentListeners() );
+			windowListeners = Arrays.asList( dialog.getWindowListeners() );
+			windowFocusListeners = Arrays.asList( dialog.getWindowFocusListeners() );
+			windowStateListeners = Arrays.asList( dialog.getWindowStateListeners() );
+		}
+
+		/**
+		 * Removes all the listeners and components that were added to <code>dialog</code> after it was created.
+		 * @param dialog the dialog to clean up
+		 */
+		public void restore( JDialog dialog ){
+			for( ComponentListener listener : dialog.getComponentListeners() ){
+				if( !componentListeners.contains( listener )){
+					dialog.removeComponentListener( listener );
+				}
+			}
+			for( WindowListener listener : dialog.getWindowListeners() ){
+				if( !windowListeners.contains( listener )){
+					dialog.removeWindowListener( listener );
+				}
+			}
+			for( WindowFocusListener listener : dialog.getWindowFocusListeners() ){
+				if( !windowFocusListeners.contains( listener )){
+					dialog.removeWindowFocusListener( listener );
+				}
+			}
+			for( WindowStateListener listener : dialog.getWindowStateListeners() ){
+				if( !windowStateListeners.contains( listener )){
+					dialog.removeWindowStateListener( listener );
+				}
+			}
+			dialog.setContentPane( new JPanel( new BorderLayout() ) );
+			dialog.setTitle( "" );
+			dialog.setCursor( null );
+			dialog.setFocusableWindowState( true );
+		}
+	}
+}
@@ -27,21 +27,26 @@
 package bibliothek.gui.dock.util;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import bibliothek.gui.DockController;
 
 /**
  * A set of properties that are used at different places all over the framework.
  * The map uses a {@link Priority} based system, allowing clients to override
- * behavior of themes or set default values in case a theme does not set one.
+ * behavior of themes or set default values in case a theme does not set one.<br>
+ * Entries are stored in an array indexed by the {@link PropertyKey#getSlot() slot} of their key. Each
+ * time a value changes the {@link #getVersion() version} of the map is increased, allowing clients
+ * to cache values read from this map.
  * @author Benjamin Sigg
  */
 public class DockProperties {
-	/** the map of values */
-	private Map<PropertyKey<?>, Entry<?>> map = new HashMap<PropertyKey<?>, Entry<?>>();
+	/** the entries of this map, indexed by {@link PropertyKey#getSlot()} */
+	private Entry<?>[] entries = new Entry<?>[ 64 ];
+	
+	/** increased whenever the value of any entry changes */
+	private int version = 0;
 
 	/** the owner of this map */
 	private DockController controller;
@@ -65,6 +70,16 @@ public class DockProperties {
 		return controller;
 	}
 	
+	/**
+	 * Gets the version of this map. The version changes every time the value of any
+	 * key changes. A client that read a value from this map can use the cached value
+	 * as long as the version does not change.
+	 * @return the current version
+	 */
+	public int getVersion(){
+		return version;
+	}
+	
 	/**
 	 * Sets a value. This is equivalent to calling <code>set( key, value, Priority.CLIENT )</code>.
 	 * @param <A> the type of the value
@@ -236,10 +251,17 @@ public class DockProperties {
 	 */
 	@SuppressWarnings( "unchecked" )
 	private <A> Entry<A> getEntry( PropertyKey<A> key, boolean createIfNull ){
-		Entry<?> entry = map.get( key );
+		int slot = key.getSlot();
+		Entry<?> entry = null;
+		if( slot < entries.length ){
+			entry = entries[ slot ];
+		}
 		if( entry == null && createIfNull ){
+			if( slot >= entries.length ){
+				entries = Arrays.copyOf( entries, Math.max( slot+1, entries.length*2 ) );
+			}
 			entry = new Entry<A>( key );
-			map.put( key, entry );
+			entries[ slot ] = entry;
 		}
 		return (Entry<A>)entry;
 	}
@@ -250,7 +272,7 @@ public class DockProperties {
 	 */
 	private void check( Entry<?> entry ){
 		if( entry.removeable() ){
-			map.remove( entry.getKey() );
+			entries[ entry.getKey().getSlot() ] = null;
 		}
 	}
 	
@@ -310,6 +332,7 @@ public class DockProperties {
 				(oldValue != null && newValue == null) ||
 				(oldValue != null && !oldValue.equals( newValue ))){
 			
+				version++;
 				for( DockPropertyListener<A> listener : (DockPropertyListener<A>[])listeners.toArray( new DockPropertyListener<?>[ listeners.size() ] ))
 					listener.propertyChanged( DockProperties.this, key, oldValue, newValue );
 			}
@@ -333,6 +356,7 @@ public class DockProperties {
 				(oldValue != null && newValue == null) ||
 				(oldValue != null && !oldValue.equals( newValue ))){
 			
+				version++;
 				for( DockPropertyListener<A> listener : (DockPropertyListener<A>[])listeners.toArray( new DockPropertyListener<?>[ listeners.size() ] ))
 					listener.propertyChanged( DockProperties.this, key, oldValue, newValue );
 			}
@@ -62,6 +62,7 @@ import bibliothek.gui.dock.perspective.PerspectiveStation;
 import bibliothek.gui.dock.station.LayoutLocked;
 import bibliothek.gui.dock.station.support.PlaceholderStrategy;
 import bibliothek.gui.dock.title.DockTitle;
+import bibliothek.gui.dock.util.icon.LazyImageIcon;
 import bibliothek.util.Path;
 
 /**
@@ -549,7 +550,8 @@ public class DockUtilities {
     }
     
     /**
-     * Loads a map of icons.
+     * Loads a map of icons. The icons are {@link LazyImageIcon}s, their images are not decoded until
+     * they are used for the first time.
      * @param list a path to a property-file containing key-path-pairs.
      * @param path the base path to the icons, will be added before any
      * path of the property file, can be <code>null</code>
@@ -562,7 +564,8 @@ public class DockUtilities {
     }
     
     /**
-     * Loads a map of icons.
+     * Loads a map of icons. The icons are {@link LazyImageIcon}s, their images are not decoded until
+     * they are used for the first time.
      * @param list a path to a property-file containing key-path-pairs.
      * @param path the base path to the icons, will be added before any
      * path of the property file, can be <code>null</code>
@@ -605,12 +608,12 @@ public class DockUtilities {
 	                    System.err.println( "Missing file: " + file );
 	                }
 	                else{
-	                    ImageIcon icon = new ImageIcon( url );
-	                    result.put( key, icon );
+	                    result.put( key, new LazyImageIcon( url ) );
 	                }
                 }
             }
             
+            LazyImageIcon.preload( result.values() );
             return result;
         }
         catch( IOException ex ){
@@ -35,6 +35,7 @@ import bibliothek.gui.DockController;
 import bibliothek.gui.DockUI;
 import bibliothek.gui.dock.action.DropDownAction;
 import bibliothek.gui.dock.themes.basic.action.dropdown.DropDownIcon;
+import bibliothek.gui.dock.util.icon.DisabledIconCache;
 import bibliothek.gui.dock.util.icon.DockIcon;
 import bibliothek.gui.dock.util.icon.DockIconBridge;
 import bibliothek.gui.dock.util.property.ConstantPropertyFactory;
@@ -66,6 +67,9 @@ public class IconManager extends UIProperties<Icon, DockIcon, DockIconBridge>{
 	public static final PropertyKey<Dimension> MINIMUM_ICON_SIZE = new PropertyKey<Dimension>( "dock.icon.minimumSize", 
 			new ConstantPropertyFactory<Dimension>( new Dimension( 16, 16 )), true );
 	
+	/** the disabled versions of the icons shown by the components of the controller */
+	private DisabledIconCache disabledIcons = new DisabledIconCache();
+	
     /**
      * Creates a new {@link IconManager}.
      * @param controller the owner of this map
@@ -84,7 +88,17 @@ public class IconManager extends UIProperties<Icon, DockIcon, DockIconBridge>{
      */
     public void setIcon( String key, Priority priority, Icon icon ){
      	put( priority, key, icon );
+     	disabledIcons.clear();
     }
+    
+    /**
+     * Gets the cache which stores the disabled versions of icons. The cache is shared by all the
+     * components of the {@link DockController} and cleared whenever an icon of this manager changes.
+     * @return the cache, not <code>null</code>
+     */
+    public DisabledIconCache getDisabledIconCache(){
+		return disabledIcons;
+	}
 
     /**
      * Sets an icon with default-priority.
@@ -39,6 +39,9 @@ import bibliothek.gui.dock.util.property.PropertyFactory;
  * @param <A> the type of entry
  */
 public class PropertyKey<A> {
+	/** the number of keys that were created so far, must be initialized before the constants of this class */
+	private static int slots = 0;
+	
 	/**
 	 * The Icon used for a {@link Dockable} if it has no icon.<br>
 	 * This key should only be used for writing the icon, reading the icon should be done through the {@link IconManager}
@@ -73,6 +76,9 @@ public class PropertyKey<A> {
 	/** a unique identifier */
 	private String id;
 	
+	/** a unique and dense index of this key, used by {@link DockProperties} to find entries without hashing */
+	private final int slot;
+	
 	/** default value */
 	private PropertyFactory<A> value;
 
@@ -118,6 +124,25 @@ public class PropertyKey<A> {
 		this.value = value;
 		this.id = id;
 		this.nullValueReplacedByDefault = nullValueReplacedByDefault;
+		this.slot = nextSlot();
+	}
+	
+	/**
+	 * Reserves a new slot for a key.
+	 * @return the new slot
+	 */
+	private static synchronized int nextSlot(){
+		return slots++;
+	}
+	
+	/**
+	 * Gets the slot of this key. Each key has a unique slot, the slots are assigned in the
+	 * order in which the keys are created, starting with 0. Hence keys should be created
+	 * once and stored in constants.
+	 * @return the slot, at least 0
+	 */
+	public final int getSlot(){
+		return slot;
 	}
 	
 	/**
@@ -45,6 +45,13 @@ public abstract class PropertyValue<A> {
 	/** a listener to {@link #properties} */
 	private DockPropertyListener<A> listener;
 	
+	/** the last value read from {@link #properties} */
+	private A cachedValue;
+	/** the {@link DockProperties#getVersion() version} of {@link #properties} when {@link #cachedValue} was read */
+	private int cachedVersion;
+	/** whether {@link #cachedValue} was read from the current {@link #properties} with the current {@link #key} */
+	private boolean cached = false;
+	
 	/**
 	 * Creates a new value.
 	 * @param key the key used to access the value in {@link DockProperties}
@@ -91,8 +98,10 @@ public abstract class PropertyValue<A> {
 	 * @param properties the new properties, can be <code>null</code>
 	 */
 	public void setProperties( DockProperties properties ){
-		if( value != null )
+		if( value != null ){
 			this.properties = properties;
+			cached = false;
+		}
 		else{
 			A oldValue = getValue();
 			
@@ -100,6 +109,7 @@ public abstract class PropertyValue<A> {
 				this.properties.removeListener( key, listener );
 			
 			this.properties = properties;
+			cached = false;
 			
 			if( properties != null )
 				properties.addListener( key, listener );
@@ -140,11 +150,13 @@ public abstract class PropertyValue<A> {
 		
 		if( properties == null ){
 			this.key = key;
+			cached = false;
 		}
 		else{
 			A oldValue = getValue();
 			properties.removeListener( this.key, listener );
 			this.key = key;
+			cached = false;
 			properties.addListener( this.key, listener );
 
 			A newValue = getValue();
@@ -162,15 +174,24 @@ public abstract class PropertyValue<A> {
 	 * the argument was not <code>null</code>, or else the value read from
 	 * the {@link #setProperties(DockProperties) properties}.<br>
 	 * Note that this method can return <code>null</code> even if the
-	 * {@link PropertyKey} has a non-<code>null</code> default value.
+	 * {@link PropertyKey} has a non-<code>null</code> default value.<br>
+	 * The value read from the properties is cached until the {@link DockProperties#getVersion() version}
+	 * of the properties changes.
 	 * @return the value or <code>null</code> if no value was found at all
 	 */
 	public A getValue(){
 		if( value != null )
 			return value;
 		
-		if( properties != null )
-			return properties.get( key );
+		if( properties != null ){
+			int version = properties.getVersion();
+			if( !cached || cachedVersion != version ){
+				cachedValue = properties.get( key );
+				cachedVersion = version;
+				cached = true;
+			}
+			return cachedValue;
+		}
 		
 		return key.getDefault( null );
 	}
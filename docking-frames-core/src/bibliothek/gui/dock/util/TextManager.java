@@ -65,6 +65,6 @@ public class TextManager extends UIProperties<String, TextValue, TextBridge>{
 	 * @return the loaded bundles, may be empty
 	 */
 	public List<ResourceBundle> loadExtensionBundles( Locale locale ){
-		return getController().getExtensions().load( new ExtensionName<ResourceBundle>( TEXT_EXTENSION, ResourceBundle.class, TEXT_EXTENSION_LOCALE, locale ) );
+		return getController().getExtensions().load( new ExtensionName<ResourceBundle>( TEXT_EXTENSION, ResourceBundle.class, TEXT_EXTENSION_LOCALE, locale, true ) );
 	}
 }
@@ -0,0 +1,61 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.animation;
+
+import java.awt.Component;
+
+/**
+ * An {@link Animation} is a piece of code that needs to be called regularly for some time. Animations
+ * are not run by themselves, instead they are {@link AnimationScheduler#start(Animation) started} on an
+ * {@link AnimationScheduler} which calls all the animations with one single timer.
+ * @author Benjamin Sigg
+ */
+public interface Animation {
+	/**
+	 * Performs the next step of this animation. This method is always called from the
+	 * <code>EventDispatcherThread</code>.
+	 * @param delta the number of milliseconds that passed since the last step, or since this animation
+	 * was started
+	 * @return <code>true</code> if this animation needs more steps, <code>false</code> if this animation
+	 * is finished and can be removed from the {@link AnimationScheduler}
+	 */
+	public boolean step( int delta );
+
+	/**
+	 * Called if the {@link AnimationScheduler} removes this animation before it is finished, e.g. because
+	 * its {@link #getComponent() component} is no longer displayable. This animation has to jump to its
+	 * final state. This method is always called from the <code>EventDispatcherThread</code>.
+	 */
+	public void finish();
+
+	/**
+	 * Gets the {@link Component} on which this animation is visible. If the {@link Component} is not
+	 * showing, then this animation is paused.
+	 * @return the component showing this animation, can be <code>null</code> in which case this animation
+	 * is never paused
+	 */
+	public Component getComponent();
+}
@@ -0,0 +1,380 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.animation;
+
+import java.awt.Component;
+import java.awt.Frame;
+import java.awt.Rectangle;
+import java.awt.Window;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import bibliothek.gui.DockController;
+
+/**
+ * An {@link AnimationScheduler} runs any number of {@link Animation}s with one single {@link Timer}. All
+ * the animations are called once per frame, and all the {@link #repaint(Component) repaints} they
+ * request during a frame are collected and forwarded to the {@link Component}s once all animations
+ * have been called. Animations whose {@link Animation#getComponent() component} is not showing, or
+ * whose window is minimized, are paused. If only paused animations remain, then the timer is stopped
+ * until one of the components is shown again. Paused animations whose component is no longer displayable
+ * are {@link Animation#finish() finished} and removed.<br>
+ * Each {@link DockController} has its own scheduler, accessible through {@link DockController#getAnimationScheduler()}.
+ * Animations that do not yet know their controller can use the {@link #getDefault() default} scheduler.<br>
+ * This class is not thread safe, it must only be used from the <code>EventDispatcherThread</code>.
+ * @author Benjamin Sigg
+ */
+public class AnimationScheduler {
+	/** the scheduler that is used if no {@link DockController} is available */
+	private static AnimationScheduler defaultScheduler;
+
+	/** the timer calling {@link #tick()} */
+	private Timer timer;
+
+	/** all the animations that are currently running, and the time of their last step */
+	private Map<Animation, Long> animations = new LinkedHashMap<Animation, Long>();
+
+	/** the areas that have to be repainted at the end of the current frame, <code>null</code> means the entire component */
+	private Map<Component, Rectangle> dirty = new LinkedHashMap<Component, Rectangle>();
+
+	/** whether {@link #tick()} is currently running */
+	private boolean ticking = false;
+
+	/** the components which are observed because their animations are paused */
+	private Set<Component> pausedComponents = new HashSet<Component>();
+
+	/** the windows which are observed because they are minimized */
+	private Set<Window> pausedWindows = new HashSet<Window>();
+
+	/** listener added to {@link #pausedComponents} */
+	private HierarchyListener showingListener = new HierarchyListener(){
+		public void hierarchyChanged( HierarchyEvent e ){
+			if( (e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 ){
+				resume();
+			}
+		}
+	};
+
+	/** listener added to {@link #pausedWindows} */
+	private WindowAdapter windowListener = new WindowAdapter(){
+		@Override
+		public void windowDeiconified( WindowEvent e ){
+			resume();
+		}
+	};
+
+	/**
+	 * Gets a scheduler that is shared by all the animations which do not have access to a {@link DockController}.
+	 * @return the shared scheduler, never <code>null</code>
+	 */
+	public static AnimationScheduler getDefault(){
+		if( defaultScheduler == null ){
+			defaultScheduler = new AnimationScheduler();
+		}
+		return defaultScheduler;
+	}
+
+	/**
+	 * Gets the scheduler of <code>controller</code>, or the {@link #getDefault() default} scheduler.
+	 * @param controller the controller whose scheduler is searched, can be <code>null</code>
+	 * @return the scheduler that should be used, never <code>null</code>
+	 */
+	public static AnimationScheduler get( DockController controller ){
+		if( controller == null ){
+			return getDefault();
+		}
+		return controller.getAnimationScheduler();
+	}
+
+	/**
+	 * Creates a new scheduler calling its animations every 15 milliseconds.
+	 */
+	public AnimationScheduler(){
+		timer = new Timer( 15, new ActionListener(){
+			public void actionPerformed( ActionEvent e ){
+				tick();
+			}
+		});
+		timer.setRepeats( true );
+		timer.setCoalesce( true );
+		timer.setInitialDelay( 0 );
+	}
+
+	/**
+	 * Sets the time between two frames.
+	 * @param delay the delay in milliseconds, at least 1
+	 */
+	public void setFrameDelay( int delay ){
+		if( delay < 1 ){
+			throw new IllegalArgumentException( "delay must be at least 1 millisecond" );
+		}
+		timer.setDelay( delay );
+	}
+
+	/**
+	 * Gets the time between two frames.
+	 * @return the delay in milliseconds
+	 */
+	public int getFrameDelay(){
+		return timer.getDelay();
+	}
+
+	/**
+	 * Starts <code>animation</code>. Nothing happens if <code>animation</code> is already running.
+	 * @param animation the new animation, not <code>null</code>
+	 */
+	public void start( Animation animation ){
+		if( animation == null ){
+			throw new IllegalArgumentException( "animation must not be null" );
+		}
+		if( !animations.containsKey( animation )){
+			animations.put( animation, System.currentTimeMillis() );
+			resume();
+		}
+	}
+
+	/**
+	 * Stops <code>animation</code>, the animation will not be called anymore.
+	 * @param animation the animation to stop
+	 */
+	public void stop( Animation animation ){
+		animations.remove( animation );
+		if( animations.isEmpty() ){
+			timer.stop();
+			release();
+		}
+	}
+
+	/**
+	 * Tells whether <code>animation</code> is currently registered at this scheduler. Paused animations
+	 * are running as well.
+	 * @param animation the animation to search
+	 * @return whether <code>animation</code> is running
+	 */
+	public boolean isRunning( Animation animation ){
+		return animations.containsKey( animation );
+	}
+
+	/**
+	 * Gets the number of animations that are currently running.
+	 * @return the number of animations
+	 */
+	public int getAnimationCount(){
+		return animations.size();
+	}
+
+	/**
+	 * Repaints <code>component</code>. If called while the animations are executed, then the repaint
+	 * is delayed until all animations have been called.
+	 * @param component the component to repaint
+	 */
+	public void repaint( Component component ){
+		if( ticking ){
+			dirty.put( component, null );
+		}
+		else{
+			component.repaint();
+		}
+	}
+
+	/**
+	 * Repaints a part of <code>component</code>. If called while the animations are executed, then
+	 * the repaint is delayed until all animations have been called, and all the regions of the same component
+	 * are united.
+	 * @param component the component to repaint
+	 * @param x the x-coordinate of the region to repaint
+	 * @param y the y-coordinate of the region to repaint
+	 * @param width the width of the region to repaint
+	 * @param height the height of the region to repaint
+	 */
+	public void repaint( Component component, int x, int y, int width, int height ){
+		if( ticking ){
+			if( dirty.containsKey( component )){
+				Rectangle region = dirty.get( component );
+				if( region != null ){
+					region.add( new Rectangle( x, y, width, height ) );
+				}
+			}
+			else{
+				dirty.put( component, new Rectangle( x, y, width, height ));
+			}
+		}
+		else{
+			component.repaint( x, y, width, height );
+		}
+	}
+
+	/**
+	 * Stops all animations and releases all resources of this scheduler.
+	 */
+	public void kill(){
+		animations.clear();
+		dirty.clear();
+		timer.stop();
+		release();
+	}
+
+	/**
+	 * Calls all animations that are currently running and then repaints all the regions that
+	 * were marked as dirty.
+	 */
+	protected void tick(){
+		long now = System.currentTimeMillis();
+		boolean active = false;
+
+		ticking = true;
+		try{
+			for( Map.Entry<Animation, Long> entry : new ArrayList<Map.Entry<Animation, Long>>( animations.entrySet() ) ){
+				Animation animation = entry.getKey();
+				if( animations.containsKey( animation )){
+					if( isPaused( animation.getComponent() )){
+						animations.put( animation, now );
+					}
+					else{
+						int delta = (int)(now - entry.getValue());
+						animations.put( animation, now );
+						if( animation.step( delta ) ){
+							active = true;
+						}
+						else{
+							animations.remove( animation );
+						}
+					}
+				}
+			}
+		}
+		finally{
+			ticking = false;
+			flush();
+		}
+
+		if( !active ){
+			pause();
+		}
+	}
+
+	/**
+	 * Repaints all the regions that were marked as dirty during the last frame.
+	 */
+	private void flush(){
+		if( !dirty.isEmpty() ){
+			Map<Component, Rectangle> regions = dirty;
+			dirty = new LinkedHashMap<Component, Rectangle>();
+			for( Map.Entry<Component, Rectangle> region : regions.entrySet() ){
+				Component component = region.getKey();
+				Rectangle bounds = region.getValue();
+				if( bounds == null ){
+					component.repaint();
+				}
+				else{
+					component.repaint( bounds.x, bounds.y, bounds.width, bounds.height );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tells whether an animation that is shown on <code>component</code> should be paused.
+	 * @param component the component showing an animation, can be <code>null</code>
+	 * @return <code>true</code> if <code>component</code> is invisible or minimized
+	 */
+	protected boolean isPaused( Component component ){
+		if( component == null ){
+			return false;
+		}
+		if( !component.isShowing() ){
+			return true;
+		}
+		Window window = component instanceof Window ? (Window)component : SwingUtilities.getWindowAncestor( component );
+		if( window instanceof Frame ){
+			return (((Frame)window).getExtendedState() & Frame.ICONIFIED) != 0;
+		}
+		return false;
+	}
+
+	/**
+	 * Stops the timer. Animations whose component is no longer {@link Component#isDisplayable() displayable}
+	 * are removed, they would otherwise keep their component alive. These animations are
+	 * {@link Animation#finish() finished}, hence their component shows the final state once it is displayed. If there are still animations left,
+	 * then listeners are added to their components such that the timer is started again once one of them
+	 * becomes visible.
+	 */
+	private void pause(){
+		timer.stop();
+
+		for( Animation animation : new ArrayList<Animation>( animations.keySet() ) ){
+			Component component = animation.getComponent();
+			if( component != null && !component.isDisplayable() ){
+				animations.remove( animation );
+				animation.finish();
+			}
+			else if( component != null && pausedComponents.add( component )){
+				component.addHierarchyListener( showingListener );
+
+				Window window = component instanceof Window ? (Window)component : SwingUtilities.getWindowAncestor( component );
+				if( window != null && pausedWindows.add( window )){
+					window.addWindowListener( windowListener );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all listeners that were added by {@link #pause()} and starts the timer.
+	 */
+	private void resume(){
+		release();
+		if( !animations.isEmpty() && !timer.isRunning() ){
+			timer.start();
+		}
+	}
+
+	/**
+	 * Removes all listeners that were added by {@link #pause()}.
+	 */
+	private void release(){
+		for( Component component : pausedComponents ){
+			component.removeHierarchyListener( showingListener );
+		}
+		pausedComponents.clear();
+		for( Window window : pausedWindows ){
+			window.removeWindowListener( windowListener );
+		}
+		pausedWindows.clear();
+	}
+}
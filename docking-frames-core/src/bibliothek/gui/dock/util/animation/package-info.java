@@ -0,0 +1,5 @@
+/**
+ * Animations and the {@link bibliothek.gui.dock.util.animation.AnimationScheduler} which runs all the animations
+ * of one {@link bibliothek.gui.DockController} with a single timer.
+ */
+package bibliothek.gui.dock.util.animation;
\ No newline at end of file
@@ -30,13 +30,21 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 
 import bibliothek.gui.DockController;
 
 /**
- * Manages a set of {@link Extension}s.
+ * Manages a set of {@link Extension}s.<br>
+ * The results of {@link #load(ExtensionName)} are remembered for {@link ExtensionName#isCacheable() cacheable} names,
+ * as long as no {@link Extension} is added or removed, loading the same {@link ExtensionName} again does not call the
+ * {@link Extension}s. The cache can be disabled with {@link #setCaching(boolean)}.<br>
+ * If enabled with {@link #setServiceDiscovery(boolean)}, additional {@link Extension}s are discovered with a
+ * {@link ServiceLoader} once the first extension is loaded.
  * @author Benjamin Sigg
  */
 public class ExtensionManager {
@@ -52,6 +60,26 @@ public class ExtensionManager {
 	/** all shared extensions */
 	private Map<ExtensionName<?>, Share<?>> shared = new HashMap<ExtensionName<?>, Share<?>>();
 	
+	/** the maximum number of results stored in {@link #cache} */
+	private int cacheCapacity = 256;
+	
+	/** whether {@link #cache} is used */
+	private boolean caching = true;
+	
+	/** the results of {@link #load(ExtensionName)}, ordered by their last access */
+	private Map<ExtensionName<?>, Object[]> cache = new LinkedHashMap<ExtensionName<?>, Object[]>( 16, 0.75f, true ){
+		@Override
+		protected boolean removeEldestEntry( Map.Entry<ExtensionName<?>, Object[]> eldest ){
+			return size() > cacheCapacity;
+		}
+	};
+	
+	/** whether {@link ServiceLoader} should be used to find additional {@link Extension}s */
+	private boolean serviceDiscovery = false;
+	
+	/** whether the {@link ServiceLoader} was already used */
+	private boolean discovered = false;
+	
 	/**
 	 * Creates a new manager.
 	 * @param controller the controller in whose realm this manager works
@@ -96,6 +124,7 @@ public class ExtensionManager {
 	 */
 	public void add( Extension extension ){
 		extensions.add( extension );
+		clearCache();
 		if( alive ){
 			extension.install( controller );
 		}
@@ -107,6 +136,7 @@ public class ExtensionManager {
 	 */
 	public void remove( Extension extension ){
 		if( extensions.remove( extension ) ){
+			clearCache();
 			if( alive ){
 				extension.uninstall( controller );
 			}
@@ -118,6 +148,7 @@ public class ExtensionManager {
 	 * @return the list of extensions
 	 */
 	public Extension[] getExtensions(){
+		discover();
 		return extensions.toArray( new Extension[ extensions.size() ] );
 	}
 	
@@ -127,17 +158,149 @@ public class ExtensionManager {
 	 * @param name the name of the extensions
 	 * @return a list containing all non-<code>null</code> extensions, may be empty
 	 */
+	@SuppressWarnings("unchecked")
 	public <E> List<E> load( ExtensionName<E> name ){
-		List<E> result = new ArrayList<E>();
-		for( Extension extension : extensions ){
-			Collection<E> es = extension.load( controller, name );
-			if( es != null ){
-				result.addAll( es );
+		discover();
+		
+		boolean cacheable = caching && name.isCacheable();
+		Object[] cached = null;
+		if( cacheable ){
+			synchronized( cache ){
+				cached = cache.get( name );
 			}
 		}
+		
+		if( cached == null ){
+			List<E> result = new ArrayList<E>();
+			for( Extension extension : extensions.toArray( new Extension[ extensions.size() ] ) ){
+				Collection<E> es = extension.load( controller, name );
+				if( es != null ){
+					result.addAll( es );
+				}
+			}
+			if( cacheable ){
+				synchronized( cache ){
+					cache.put( name.toKey(), result.toArray() );
+				}
+			}
+			return result;
+		}
+		
+		List<E> result = new ArrayList<E>( cached.length );
+		for( Object item : cached ){
+			result.add( (E)item );
+		}
 		return result;
 	}
 	
+	/**
+	 * Sets whether the results of {@link #load(ExtensionName)} are remembered. Caching should only be
+	 * disabled if some {@link Extension} returns different results for the same {@link ExtensionName}.
+	 * @param caching whether to use the cache
+	 */
+	public void setCaching( boolean caching ){
+		this.caching = caching;
+		if( !caching ){
+			clearCache();
+		}
+	}
+	
+	/**
+	 * Tells whether the results of {@link #load(ExtensionName)} are remembered.
+	 * @return whether the cache is used
+	 * @see #setCaching(boolean)
+	 */
+	public boolean isCaching(){
+		return caching;
+	}
+	
+	/**
+	 * Sets the maximum number of {@link ExtensionName}s whose results are remembered. If the
+	 * limit is reached, the least recently used results are forgotten.
+	 * @param capacity the maximum number of results, at least 0
+	 */
+	public void setCacheCapacity( int capacity ){
+		if( capacity < 0 ){
+			throw new IllegalArgumentException( "capacity must not be negative" );
+		}
+		synchronized( cache ){
+			cacheCapacity = capacity;
+			Iterator<ExtensionName<?>> names = cache.keySet().iterator();
+			while( cache.size() > capacity ){
+				names.next();
+				names.remove();
+			}
+		}
+	}
+	
+	/**
+	 * Gets the maximum number of {@link ExtensionName}s whose results are remembered.
+	 * @return the maximum number of results
+	 */
+	public int getCacheCapacity(){
+		return cacheCapacity;
+	}
+	
+	/**
+	 * Forgets all the results of {@link #load(ExtensionName)}. This method is called automatically
+	 * if an {@link Extension} is added or removed, clients only need to call it if an {@link Extension}
+	 * changed its behavior.
+	 */
+	public void clearCache(){
+		synchronized( cache ){
+			cache.clear();
+		}
+		for( Share<?> share : shared.values() ){
+			share.clear();
+		}
+	}
+	
+	/**
+	 * Sets whether a {@link ServiceLoader} should be used to find additional {@link Extension}s. The
+	 * {@link ServiceLoader} searches for service providers of {@link Extension} when the first extension
+	 * is {@link #load(ExtensionName) loaded}. {@link Extension}s whose class is already known to this
+	 * manager are ignored.
+	 * @param serviceDiscovery whether to search for additional extensions, the default is <code>false</code>
+	 */
+	public void setServiceDiscovery( boolean serviceDiscovery ){
+		this.serviceDiscovery = serviceDiscovery;
+	}
+	
+	/**
+	 * Tells whether a {@link ServiceLoader} is used to find additional {@link Extension}s.
+	 * @return whether to search for additional extensions
+	 * @see #setServiceDiscovery(boolean)
+	 */
+	public boolean isServiceDiscovery(){
+		return serviceDiscovery;
+	}
+	
+	/**
+	 * Uses a {@link ServiceLoader} to find additional {@link Extension}s, does nothing if
+	 * the {@link ServiceLoader} was already used or if {@link #isServiceDiscovery() service discovery}
+	 * is disabled.
+	 */
+	protected synchronized void discover(){
+		if( discovered || !serviceDiscovery ){
+			return;
+		}
+		discovered = true;
+		
+		try{
+			loop:for( Extension extension : ServiceLoader.load( Extension.class ) ){
+				for( Extension existing : extensions ){
+					if( existing.getClass() == extension.getClass() ){
+						continue loop;
+					}
+				}
+				add( extension );
+			}
+		}
+		catch( ServiceConfigurationError e ){
+			System.err.println( "Can't discover extensions, service discovery disabled: " + e.getMessage() );
+		}
+	}
+	
 	/**
 	 * Creates a new {@link SharedExtension} object which uses <code>name</code> as key to read 
 	 * extensions. The {@link SharedExtension} object can be {@link SharedExtension#bind() bound} 
@@ -232,6 +395,13 @@ public class ExtensionManager {
 			}
 		}
 		
+		/**
+		 * Forgets the content of this cache.
+		 */
+		public void clear(){
+			extensions = null;
+		}
+		
 		/**
 		 * Gets the content of this cache.
 		 * @return the content
@@ -258,6 +428,8 @@ public class ExtensionManager {
 	 * Stops and removes all extensions.
 	 */
 	public void kill(){
+		discovered = true;
+		clearCache();
 		if( alive ){
 			alive = false;
 			for( Extension extension : extensions ){
@@ -42,6 +42,7 @@ public class ExtensionName<E> {
 	private Map<String, Object> parameters;
 	private Path name;
 	private Class<E> type;
+	private boolean cacheable = false;
 	
 	/**
 	 * Creates a new name.
@@ -52,6 +53,18 @@ public class ExtensionName<E> {
 		this( name, type, null );
 	}
 	
+	/**
+	 * Creates a new name without parameters.
+	 * @param name the unique identifier of this extension
+	 * @param type the type of this extension
+	 * @param cacheable whether the {@link ExtensionManager} may remember the extensions that were loaded
+	 * for this name, see {@link #isCacheable()}
+	 */
+	public ExtensionName( Path name, Class<E> type, boolean cacheable ){
+		this( name, type, null );
+		this.cacheable = cacheable;
+	}
+	
 	/**
 	 * Creates a new name.
 	 * @param name the unique identifier of this extension
@@ -70,6 +83,19 @@ public class ExtensionName<E> {
 		this.parameters = parameters;
 	}
 	
+	/**
+	 * Creates a new name.
+	 * @param name the unique identifier of this extension
+	 * @param type the type of this extension
+	 * @param parameters all the parameters for this extension, can be <code>null</code>
+	 * @param cacheable whether the {@link ExtensionManager} may remember the extensions that were loaded
+	 * for this name, see {@link #isCacheable()}
+	 */
+	public ExtensionName( Path name, Class<E> type, Map<String, Object> parameters, boolean cacheable ){
+		this( name, type, parameters );
+		this.cacheable = cacheable;
+	}
+	
 	/**
 	 * Creates a new name.
 	 * @param name the unique identifier of this extension
@@ -83,6 +109,20 @@ public class ExtensionName<E> {
 		parameters = new HashMap<String, Object>();
 		parameters.put( parameterKey, parameterValue );
 	}
+	
+	/**
+	 * Creates a new name.
+	 * @param name the unique identifier of this extension
+	 * @param type the type of this extension
+	 * @param parameterKey the key of the only parameter of this {@link ExtensionName}
+	 * @param parameterValue the value of the only parameter of this {@link ExtensionName}
+	 * @param cacheable whether the {@link ExtensionManager} may remember the extensions that were loaded
+	 * for this name, see {@link #isCacheable()}
+	 */
+	public ExtensionName( Path name, Class<E> type, String parameterKey, Object parameterValue, boolean cacheable ){
+		this( name, type, parameterKey, parameterValue );
+		this.cacheable = cacheable;
+	}
 		
 	/**
 	 * Gets the unique name of this extension.
@@ -100,6 +140,30 @@ public class ExtensionName<E> {
 		return type;
 	}
 	
+	/**
+	 * Tells whether the {@link ExtensionManager} may remember the result of loading this name, and
+	 * give the same objects to all callers which use an equal name. Two names are equal if their
+	 * identifiers, types and parameters are equal, parameters are compared using {@link Object#equals(Object)}.
+	 * This is only allowed if the extensions that are loaded for this name depend on nothing but the name and its
+	 * parameters, and if they can be shared.
+	 * @return whether the result of loading this name may be cached
+	 */
+	public boolean isCacheable(){
+		return cacheable;
+	}
+	
+	/**
+	 * Creates a copy of this name which can be used as key in a cache. The copy has its own map of parameters,
+	 * hence it does not change if the map of this name is modified.
+	 * @return the copy, equal to this name
+	 */
+	ExtensionName<E> toKey(){
+		if( parameters == null ){
+			return new ExtensionName<E>( name, type, null, cacheable );
+		}
+		return new ExtensionName<E>( name, type, new HashMap<String, Object>( parameters ), cacheable );
+	}
+	
 	/**
 	 * Gets an additional parameter of this extension. The name, type and meaning of the
 	 * parameter depends on the extensions name.
@@ -0,0 +1,236 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.icon;
+
+import java.awt.Color;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.Icon;
+import javax.swing.JComponent;
+import javax.swing.LookAndFeel;
+import javax.swing.UIManager;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.util.DockUtilities;
+import bibliothek.gui.dock.util.IconManager;
+
+/**
+ * A cache for the disabled versions of {@link Icon}s. Creating a disabled icon may require to paint the original
+ * icon onto an image and to convert that image, see {@link DockUtilities#disabledIcon(JComponent, Icon)}. This
+ * cache ensures that each icon is converted only once, no matter how many components show the icon.<br>
+ * Icons are compared by identity and stored with weak references, the cache does not prevent icons from
+ * being garbage collected. Because some icons paint themselves with the foreground color of their component,
+ * a disabled icon is only reused if the foreground color did not change. The cache is cleared whenever the
+ * {@link LookAndFeel} changes.<br>
+ * Each {@link IconManager} has its own cache, accessible through {@link IconManager#getDisabledIconCache()}. 
+ * Components that do not know their {@link DockController} can use the {@link #getDefault() default} cache.<br>
+ * This class is not thread safe, it must only be used from the <code>EventDispatcherThread</code>.
+ * @author Benjamin Sigg
+ */
+public class DisabledIconCache {
+	/** the cache used if no {@link DockController} is available */
+	private static DisabledIconCache defaultCache;
+	
+	/** the disabled icons */
+	private Map<IconKey, Item> items = new HashMap<IconKey, Item>();
+	
+	/** the keys of icons that were garbage collected */
+	private ReferenceQueue<Icon> queue = new ReferenceQueue<Icon>();
+	
+	/** the {@link LookAndFeel} that was used to create the disabled icons */
+	private LookAndFeel lookAndFeel;
+	
+	/** how many times a disabled icon was found in this cache */
+	private int hits = 0;
+	
+	/** how many times a disabled icon had to be created */
+	private int misses = 0;
+	
+	/**
+	 * Gets a cache that is shared by all the components which do not have access to a {@link DockController}.
+	 * @return the shared cache, never <code>null</code>
+	 */
+	public static DisabledIconCache getDefault(){
+		if( defaultCache == null ){
+			defaultCache = new DisabledIconCache();
+		}
+		return defaultCache;
+	}
+	
+	/**
+	 * Gets the cache of <code>controller</code>, or the {@link #getDefault() default} cache.
+	 * @param controller the controller whose cache is searched, can be <code>null</code>
+	 * @return the cache that should be used, never <code>null</code>
+	 */
+	public static DisabledIconCache get( DockController controller ){
+		if( controller == null ){
+			return getDefault();
+		}
+		return controller.getIcons().getDisabledIconCache();
+	}
+	
+	/**
+	 * Gets the disabled version of <code>icon</code>. The icon is either read from this cache, or
+	 * created by {@link DockUtilities#disabledIcon(JComponent, Icon)}.
+	 * @param parent the component on which the icon is painted, can be <code>null</code>
+	 * @param icon the icon to convert, can be <code>null</code>
+	 * @return the disabled icon or <code>null</code> if <code>icon</code> was <code>null</code>
+	 */
+	public Icon get( JComponent parent, Icon icon ){
+		if( icon == null ){
+			return null;
+		}
+		
+		validate();
+		
+		Color foreground = parent == null ? null : parent.getForeground();
+		IconKey key = new IconKey( icon, null );
+		Item item = items.get( key );
+		if( item != null && equals( item.foreground, foreground )){
+			hits++;
+			return item.disabled == null ? icon : item.disabled;
+		}
+		
+		misses++;
+		Icon disabled = DockUtilities.disabledIcon( parent, icon );
+		
+		item = new Item();
+		item.foreground = foreground;
+		// a strong reference to the original icon would prevent the key from being collected
+		item.disabled = disabled == icon ? null : disabled;
+		items.put( new IconKey( icon, queue ), item );
+		
+		return disabled;
+	}
+	
+	/**
+	 * Removes all icons from this cache. Should be called if icons change in a way that cannot be
+	 * detected by this cache.
+	 */
+	public void clear(){
+		items.clear();
+		while( queue.poll() != null ){
+			// ignore
+		}
+	}
+	
+	/**
+	 * Gets the number of disabled icons that are currently stored.
+	 * @return the number of icons
+	 */
+	public int size(){
+		expunge();
+		return items.size();
+	}
+	
+	/**
+	 * Gets the number of times {@link #get(JComponent, Icon)} found a disabled icon in this cache.
+	 * @return the number of hits
+	 */
+	public int getHitCount(){
+		return hits;
+	}
+	
+	/**
+	 * Gets the number of times {@link #get(JComponent, Icon)} had to create a new disabled icon.
+	 * @return the number of misses
+	 */
+	public int getMissCount(){
+		return misses;
+	}
+	
+	/**
+	 * Clears this cache if the {@link LookAndFeel} changed, and removes the icons that were
+	 * garbage collected.
+	 */
+	private void validate(){
+		LookAndFeel current = UIManager.getLookAndFeel();
+		if( current != lookAndFeel ){
+			lookAndFeel = current;
+			clear();
+		}
+		else{
+			expunge();
+		}
+	}
+	
+	private void expunge(){
+		Reference<? extends Icon> reference;
+		while( (reference = queue.poll()) != null ){
+			items.remove( reference );
+		}
+	}
+	
+	private boolean equals( Color a, Color b ){
+		return a == null ? b == null : a.equals( b );
+	}
+	
+	/**
+	 * A weak reference to an {@link Icon} which is compared by identity.
+	 * @author Benjamin Sigg
+	 */
+	private static class IconKey extends WeakReference<Icon>{
+		private final int hash;
+		
+		public IconKey( Icon icon, ReferenceQueue<Icon> queue ){
+			super( icon, queue );
+			hash = System.identityHashCode( icon );
+		}
+		
+		@Override
+		public int hashCode(){
+			return hash;
+		}
+		
+		@Override
+		public boolean equals( Object obj ){
+			if( obj == this ){
+				return true;
+			}
+			if( !(obj instanceof IconKey) ){
+				return false;
+			}
+			IconKey other = (IconKey)obj;
+			Icon icon = get();
+			return icon != null && icon == other.get();
+		}
+	}
+	
+	/**
+	 * The disabled version of an icon.
+	 * @author Benjamin Sigg
+	 */
+	private static class Item{
+		/** the disabled icon, <code>null</code> if the disabled icon is the original icon */
+		public Icon disabled;
+		/** the foreground color of the component that was used to create {@link #disabled} */
+		public Color foreground;
+	}
+}
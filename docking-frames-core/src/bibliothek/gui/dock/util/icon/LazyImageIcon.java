@@ -0,0 +1,249 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.icon;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.Toolkit;
+import java.net.URL;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+
+import bibliothek.gui.dock.util.DockUtilities;
+
+/**
+ * An {@link ImageIcon} that does not decode its image until the image is actually needed, e.g. because
+ * the icon is painted or its size is requested. {@link DockUtilities#loadIcons(String, String, ClassLoader)} creates
+ * {@link LazyImageIcon}s, hence icons that are never shown are never decoded.<br>
+ * Optionally the icons can be {@link #setPreloading(boolean) preloaded} by a pool of background threads, in this case 
+ * most of the icons are already decoded when they are shown for the first time.<br>
+ * This class collects statistics about how many icons were decoded by the background threads, and how many
+ * icons had to be decoded on demand.
+ * @author Benjamin Sigg
+ */
+public class LazyImageIcon extends ImageIcon {
+	/** the number of icons that were created */
+	private static final AtomicInteger created = new AtomicInteger();
+	
+	/** the number of icons that were decoded by the background threads */
+	private static final AtomicInteger preloaded = new AtomicInteger();
+	
+	/** the number of icons that were decoded when they were first used */
+	private static final AtomicInteger loadedOnDemand = new AtomicInteger();
+	
+	/** whether new icons are decoded by background threads */
+	private static volatile boolean preloading = false;
+	
+	/** the threads decoding icons in the background, lazily created */
+	private static ExecutorService pool;
+	
+	/** where to read the image */
+	private final URL url;
+	
+	/** whether the image has been decoded */
+	private volatile boolean loaded = false;
+	
+	/**
+	 * Creates a new icon. The image of the icon is decoded when it is needed for the first time.
+	 * @param url the location of the image, not <code>null</code>
+	 */
+	public LazyImageIcon( URL url ){
+		if( url == null ){
+			throw new IllegalArgumentException( "url must not be null" );
+		}
+		this.url = url;
+		setDescription( url.toExternalForm() );
+		created.incrementAndGet();
+	}
+	
+	/**
+	 * Sets whether icons are to be decoded by background threads. The setting applies to all icons
+	 * that are {@link #preload(Collection) preloaded} from now on. The default value is <code>false</code>.
+	 * @param preloading whether to decode icons in the background
+	 */
+	public static void setPreloading( boolean preloading ){
+		LazyImageIcon.preloading = preloading;
+	}
+	
+	/**
+	 * Tells whether icons are decoded by background threads.
+	 * @return whether icons are decoded in the background
+	 * @see #setPreloading(boolean)
+	 */
+	public static boolean isPreloading(){
+		return preloading;
+	}
+	
+	/**
+	 * Decodes all the {@link LazyImageIcon}s of <code>icons</code> using a pool of background threads, 
+	 * but only if {@link #isPreloading() preloading} is enabled. Any other kind of {@link Icon} is ignored.
+	 * @param icons the icons to decode
+	 */
+	public static void preload( Collection<? extends Icon> icons ){
+		if( !preloading ){
+			return;
+		}
+		ExecutorService pool = getPool();
+		for( Icon icon : icons ){
+			if( icon instanceof LazyImageIcon ){
+				final LazyImageIcon lazy = (LazyImageIcon)icon;
+				if( !lazy.loaded ){
+					pool.execute( new Runnable(){
+						public void run(){
+							lazy.load( true );
+						}
+					});
+				}
+			}
+		}
+	}
+	
+	private static synchronized ExecutorService getPool(){
+		if( pool == null ){
+			int threads = Math.max( 1, Runtime.getRuntime().availableProcessors() - 1 );
+			pool = Executors.newFixedThreadPool( threads, new ThreadFactory(){
+				private int count = 0;
+				
+				public Thread newThread( Runnable r ){
+					Thread thread = new Thread( r, "DockingFrames icon loader " + (count++) );
+					thread.setDaemon( true );
+					thread.setPriority( Thread.MIN_PRIORITY );
+					return thread;
+				}
+			});
+		}
+		return pool;
+	}
+	
+	/**
+	 * Gets the number of {@link LazyImageIcon}s that were created.
+	 * @return the number of icons
+	 */
+	public static int getCreatedCount(){
+		return created.get();
+	}
+	
+	/**
+	 * Gets the number of {@link LazyImageIcon}s that were decoded by the background threads.
+	 * @return the number of preloaded icons
+	 */
+	public static int getPreloadedCount(){
+		return preloaded.get();
+	}
+	
+	/**
+	 * Gets the number of {@link LazyImageIcon}s that were decoded because they were needed and not yet preloaded.
+	 * @return the number of icons decoded on demand
+	 */
+	public static int getLoadedOnDemandCount(){
+		return loadedOnDemand.get();
+	}
+	
+	/**
+	 * Gets the location of the image of this icon.
+	 * @return the location, not <code>null</code>
+	 */
+	public URL getURL(){
+		return url;
+	}
+	
+	/**
+	 * Tells whether the image of this icon has already been decoded.
+	 * @return whether the image is available
+	 */
+	public boolean isLoaded(){
+		return loaded;
+	}
+	
+	/**
+	 * Ensures that the image of this icon is decoded. Does nothing if the image is already available.
+	 */
+	public void load(){
+		load( false );
+	}
+	
+	private void load( boolean background ){
+		if( !loaded ){
+			synchronized( this ){
+				if( !loaded ){
+					super.setImage( Toolkit.getDefaultToolkit().getImage( url ) );
+					loaded = true;
+					if( background ){
+						preloaded.incrementAndGet();
+					}
+					else{
+						loadedOnDemand.incrementAndGet();
+					}
+				}
+			}
+		}
+	}
+	
+	@Override
+	public void setImage( Image image ){
+		synchronized( this ){
+			super.setImage( image );
+			loaded = true;
+		}
+	}
+	
+	@Override
+	public Image getImage(){
+		load();
+		return super.getImage();
+	}
+	
+	@Override
+	public int getImageLoadStatus(){
+		load();
+		return super.getImageLoadStatus();
+	}
+	
+	@Override
+	public int getIconWidth(){
+		load();
+		return super.getIconWidth();
+	}
+	
+	@Override
+	public int getIconHeight(){
+		load();
+		return super.getIconHeight();
+	}
+	
+	@Override
+	public synchronized void paintIcon( Component c, Graphics g, int x, int y ){
+		load();
+		super.paintIcon( c, g, x, y );
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.listener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DockElement;
+import bibliothek.gui.dock.control.DockRegister;
+
+/**
+ * A {@link ListenerLeakReport} lists all the {@link ListenerList}s whose owner is no longer registered
+ * at a {@link DockController}, but which still contain listeners. Such listeners may keep alive
+ * {@link Dockable}s that have been closed long ago, or may keep alive objects of the application
+ * that should have been removed together with the {@link Dockable}.<br>
+ * A report is a snapshot, it does not change once created.
+ * @author Benjamin Sigg
+ */
+public class ListenerLeakReport {
+	/** all the suspicious lists */
+	private List<Entry> entries;
+
+	/**
+	 * Creates a new report for all the {@link ListenerList}s whose owner is not registered at <code>controller</code>.
+	 * Elements which are registered at another {@link DockController} are ignored.
+	 * @param controller the controller whose {@link DockRegister} is checked, not <code>null</code>
+	 * @return the new report
+	 */
+	public static ListenerLeakReport create( DockController controller ){
+		return create( controller, Collections.<DockElement>emptySet() );
+	}
+
+	/**
+	 * Creates a new report for all the {@link ListenerList}s whose owner is not registered at <code>controller</code>.
+	 * Elements which are registered at another {@link DockController}, and elements which are in <code>managed</code>,
+	 * are ignored. The application may still use elements that are not registered, e.g. a {@link Dockable} that is
+	 * only hidden, such elements must be put into <code>managed</code>.
+	 * @param controller the controller whose {@link DockRegister} is checked, not <code>null</code>
+	 * @param managed elements which are still in use although they may not be registered, not <code>null</code>
+	 * @return the new report
+	 */
+	public static ListenerLeakReport create( DockController controller, Collection<? extends DockElement> managed ){
+		if( controller == null ){
+			throw new IllegalArgumentException( "controller must not be null" );
+		}
+
+		DockRegister register = controller.getRegister();
+		Set<DockStation> stations = new HashSet<DockStation>();
+		for( DockStation station : register.listDockStations() ){
+			stations.add( station );
+		}
+
+		Set<DockElement> ignored = new HashSet<DockElement>( managed );
+
+		List<Entry> entries = new ArrayList<Entry>();
+		for( ListenerList<?> list : ListenerList.getLists() ){
+			DockElement owner = list.getOwner();
+			if( owner != null && !ignored.contains( owner ) && !isRegistered( controller, register, stations, owner )){
+				Object[] listeners = list.get();
+				if( listeners.length > 0 ){
+					entries.add( new Entry( owner, list.getName(), listeners ) );
+				}
+			}
+		}
+		return new ListenerLeakReport( entries );
+	}
+
+	private static boolean isRegistered( DockController controller, DockRegister register, Set<DockStation> stations, DockElement owner ){
+		Dockable dockable = owner.asDockable();
+		if( dockable != null ){
+			if( register.isRegistered( dockable )){
+				return true;
+			}
+			DockController other = dockable.getController();
+			return other != null && other != controller;
+		}
+		DockStation station = owner.asDockStation();
+		if( station != null ){
+			if( stations.contains( station )){
+				return true;
+			}
+			DockController other = station.getController();
+			return other != null && other != controller;
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a new report.
+	 * @param entries the suspicious lists
+	 */
+	public ListenerLeakReport( List<Entry> entries ){
+		this.entries = Collections.unmodifiableList( new ArrayList<Entry>( entries ) );
+	}
+
+	/**
+	 * Gets all the lists whose owner is not registered.
+	 * @return the suspicious lists, not <code>null</code>
+	 */
+	public List<Entry> getEntries(){
+		return entries;
+	}
+
+	/**
+	 * Gets the total number of listeners whose owner is not registered.
+	 * @return the number of listeners
+	 */
+	public int getListenerCount(){
+		int count = 0;
+		for( Entry entry : entries ){
+			count += entry.getListeners().length;
+		}
+		return count;
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder builder = new StringBuilder();
+		builder.append( getClass().getSimpleName() ).append( "[lists=" ).append( entries.size() );
+		builder.append( ", listeners=" ).append( getListenerCount() ).append( "]" );
+		for( Entry entry : entries ){
+			builder.append( "\n  " ).append( entry );
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Describes one {@link ListenerList} whose owner is not registered.
+	 * @author Benjamin Sigg
+	 */
+	public static class Entry{
+		private final DockElement owner;
+		private final String name;
+		private final Object[] listeners;
+
+		/**
+		 * Creates a new entry.
+		 * @param owner the owner of the list
+		 * @param name the name of the list
+		 * @param listeners the listeners that are still stored in the list
+		 */
+		public Entry( DockElement owner, String name, Object[] listeners ){
+			this.owner = owner;
+			this.name = name;
+			this.listeners = listeners;
+		}
+
+		/**
+		 * Gets the element which owns the list.
+		 * @return the owner, not <code>null</code>
+		 */
+		public DockElement getOwner(){
+			return owner;
+		}
+
+		/**
+		 * Gets the name of the list.
+		 * @return the name, can be <code>null</code>
+		 */
+		public String getName(){
+			return name;
+		}
+
+		/**
+		 * Gets the listeners that were still stored in the list when the report was created.
+		 * @return the listeners, must not be modified
+		 */
+		public Object[] getListeners(){
+			return listeners;
+		}
+
+		@Override
+		public String toString(){
+			StringBuilder builder = new StringBuilder();
+			builder.append( name ).append( " of " ).append( owner ).append( ": " );
+			for( int i = 0; i < listeners.length; i++ ){
+				if( i > 0 ){
+					builder.append( ", " );
+				}
+				builder.append( listeners[i].getClass().getName() );
+			}
+			return builder.toString();
+		}
+	}
+}
@@ -0,0 +1,390 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.listener;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import bibliothek.gui.dock.DockElement;
+
+/**
+ * A {@link ListenerList} stores the listeners of one kind of event. The listeners are stored in
+ * an array that is replaced whenever a listener is added or removed, hence firing an event does not
+ * require a copy of the list.<br>
+ * Listeners can be added with a {@link #addWeak(Object) weak reference}, such listeners are removed
+ * automatically once they are no longer used by anybody else. Weak listeners are useful for objects
+ * that have a shorter life than the source of the events, and that may not be able to remove their listeners.<br>
+ * Each list counts how often an event was fired, and if {@link #setMeasuring(boolean) measuring} is enabled, how
+ * long firing the events took. All lists are known to the {@link #getLists() registry}, the registry is used
+ * to create a {@link ListenerLeakReport}.<br>
+ * This class is not thread safe, it is intended to be used only by the <code>EventDispatcherThread</code>. A typical
+ * usage is:
+ * <pre>
+ * long start = list.beginFire();
+ * for( Listener listener : list.get() ){
+ *     listener.event();
+ * }
+ * list.endFire( start );
+ * </pre>
+ * @author Benjamin Sigg
+ * @param <L> the type of the listeners
+ */
+public class ListenerList<L> {
+	/** all the lists that exist */
+	private static final Map<ListenerList<?>, Boolean> lists = Collections.synchronizedMap( new WeakHashMap<ListenerList<?>, Boolean>() );
+
+	/** whether the duration of firing events is measured */
+	private static volatile boolean measuring = false;
+
+	/** the entries of this list, either listeners or {@link WeakReference}s to listeners */
+	private Object[] entries = new Object[0];
+
+	/** the cached result of {@link #get()}, <code>null</code> if invalid */
+	private L[] listeners;
+
+	/** the number of {@link WeakReference}s in {@link #entries} */
+	private int weakCount = 0;
+
+	/** the type of the listeners */
+	private final Class<L> type;
+
+	/** a human readable name of this list */
+	private final String name;
+
+	/** the element to which the listeners were added, can be <code>null</code> */
+	private DockElement owner;
+
+	/** how often events were fired */
+	private long fireCount = 0;
+
+	/** the sum of the time used to fire events */
+	private long fireDuration = 0;
+
+	/**
+	 * Enables or disables measuring how long firing events takes. This setting affects all
+	 * lists, the default value is <code>false</code>. The number of fired events is always counted.
+	 * @param measuring whether to measure the duration of firing events
+	 */
+	public static void setMeasuring( boolean measuring ){
+		ListenerList.measuring = measuring;
+	}
+
+	/**
+	 * Tells whether the duration of firing events is measured.
+	 * @return whether measuring is enabled
+	 * @see #setMeasuring(boolean)
+	 */
+	public static boolean isMeasuring(){
+		return measuring;
+	}
+
+	/**
+	 * Gets all the {@link ListenerList}s that are currently in use.
+	 * @return all the lists, the order is not specified
+	 */
+	public static ListenerList<?>[] getLists(){
+		synchronized( lists ){
+			return lists.keySet().toArray( new ListenerList<?>[ lists.size() ] );
+		}
+	}
+
+	/**
+	 * Creates a new list.
+	 * @param type the type of the listeners, not <code>null</code>
+	 * @param name a human readable name of this list, used for reports
+	 * @param owner the element to which the listeners are added, can be <code>null</code>
+	 */
+	public ListenerList( Class<L> type, String name, DockElement owner ){
+		if( type == null ){
+			throw new IllegalArgumentException( "type must not be null" );
+		}
+		this.type = type;
+		this.name = name;
+		this.owner = owner;
+		lists.put( this, Boolean.TRUE );
+	}
+
+	/**
+	 * Gets the type of the listeners.
+	 * @return the type
+	 */
+	public Class<L> getType(){
+		return type;
+	}
+
+	/**
+	 * Gets the human readable name of this list.
+	 * @return the name, can be <code>null</code>
+	 */
+	public String getName(){
+		return name;
+	}
+
+	/**
+	 * Sets the element to which the listeners of this list are added. The owner is used
+	 * by the {@link ListenerLeakReport}.
+	 * @param owner the owner, can be <code>null</code>
+	 */
+	public void setOwner( DockElement owner ){
+		this.owner = owner;
+	}
+
+	/**
+	 * Gets the element to which the listeners of this list are added.
+	 * @return the owner, can be <code>null</code>
+	 */
+	public DockElement getOwner(){
+		return owner;
+	}
+
+	/**
+	 * Adds <code>listener</code> to this list.
+	 * @param listener the new listener, not <code>null</code>
+	 */
+	public void add( L listener ){
+		if( listener == null ){
+			throw new IllegalArgumentException( "listener must not be null" );
+		}
+		append( listener );
+	}
+
+	/**
+	 * Adds <code>listener</code> to this list, but only stores a {@link WeakReference} to
+	 * <code>listener</code>. The listener is removed automatically once the garbage collector
+	 * decides to collect it. Clients must store a strong reference to <code>listener</code> for as
+	 * long as the listener is needed.
+	 * @param listener the new listener, not <code>null</code>
+	 */
+	public void addWeak( L listener ){
+		if( listener == null ){
+			throw new IllegalArgumentException( "listener must not be null" );
+		}
+		append( new WeakReference<L>( listener ) );
+		weakCount++;
+	}
+
+	private void append( Object entry ){
+		Object[] next = new Object[ entries.length+1 ];
+		System.arraycopy( entries, 0, next, 0, entries.length );
+		next[ entries.length ] = entry;
+		entries = next;
+		listeners = null;
+	}
+
+	/**
+	 * Removes the first occurrence of <code>listener</code>, regardless of whether it was added
+	 * as normal or as weak listener. Listeners are compared using {@link Object#equals(Object)}.
+	 * @param listener the listener to remove
+	 */
+	public void remove( L listener ){
+		if( listener == null ){
+			return;
+		}
+		for( int i = 0; i < entries.length; i++ ){
+			Object entry = entries[i];
+			if( entry instanceof WeakReference<?> ){
+				entry = ((WeakReference<?>)entry).get();
+			}
+			if( entry == listener || listener.equals( entry )){
+				removeAt( i );
+				return;
+			}
+		}
+	}
+
+	private void removeAt( int index ){
+		if( entries[ index ] instanceof WeakReference<?> ){
+			weakCount--;
+		}
+		Object[] next = new Object[ entries.length-1 ];
+		System.arraycopy( entries, 0, next, 0, index );
+		System.arraycopy( entries, index+1, next, index, next.length-index );
+		entries = next;
+		listeners = null;
+	}
+
+	/**
+	 * Removes all listeners from this list.
+	 */
+	public void clear(){
+		entries = new Object[0];
+		weakCount = 0;
+		listeners = null;
+	}
+
+	/**
+	 * Removes all weak listeners that were already collected by the garbage collector.
+	 */
+	public void purge(){
+		if( weakCount > 0 ){
+			for( int i = entries.length-1; i >= 0; i-- ){
+				Object entry = entries[i];
+				if( entry instanceof WeakReference<?> && ((WeakReference<?>)entry).get() == null ){
+					removeAt( i );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of listeners in this list.
+	 * @return the number of listeners
+	 */
+	public int size(){
+		purge();
+		return entries.length;
+	}
+
+	/**
+	 * Tells whether this list is empty.
+	 * @return <code>true</code> if there are no listeners
+	 */
+	public boolean isEmpty(){
+		return size() == 0;
+	}
+
+	/**
+	 * Gets the number of listeners that were added by {@link #addWeak(Object)} and which are still alive.
+	 * @return the number of weak listeners
+	 */
+	public int getWeakCount(){
+		purge();
+		return weakCount;
+	}
+
+	/**
+	 * Gets all the listeners of this list. If there are no weak listeners, then the same array
+	 * is returned until this list is modified, hence the result must not be modified.
+	 * @return the listeners, not <code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public L[] get(){
+		L[] result = listeners;
+		if( result != null ){
+			return result;
+		}
+
+		if( weakCount == 0 ){
+			result = (L[])Array.newInstance( type, entries.length );
+			System.arraycopy( entries, 0, result, 0, entries.length );
+			listeners = result;
+			return result;
+		}
+
+		// weak listeners must not be cached in a strong array
+		purge();
+		result = (L[])Array.newInstance( type, entries.length );
+		int count = 0;
+		for( Object entry : entries ){
+			Object listener = entry;
+			if( entry instanceof WeakReference<?> ){
+				listener = ((WeakReference<?>)entry).get();
+			}
+			if( listener != null ){
+				result[ count++ ] = (L)listener;
+			}
+		}
+		if( count < result.length ){
+			L[] copy = (L[])Array.newInstance( type, count );
+			System.arraycopy( result, 0, copy, 0, count );
+			result = copy;
+		}
+		if( weakCount == 0 ){
+			listeners = result;
+		}
+		return result;
+	}
+
+	/**
+	 * To be called before an event is fired.
+	 * @return a value that has to be forwarded to {@link #endFire(long)}
+	 */
+	public long beginFire(){
+		fireCount++;
+		if( measuring ){
+			return System.nanoTime();
+		}
+		return 0;
+	}
+
+	/**
+	 * To be called after an event was fired.
+	 * @param start the result of {@link #beginFire()}
+	 */
+	public void endFire( long start ){
+		if( start != 0 ){
+			fireDuration += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Gets the number of events that were fired.
+	 * @return the number of events
+	 */
+	public long getFireCount(){
+		return fireCount;
+	}
+
+	/**
+	 * Gets the sum of the time that was spent firing events while {@link #isMeasuring() measuring}
+	 * was enabled.
+	 * @return the duration in nanoseconds
+	 */
+	public long getFireDuration(){
+		return fireDuration;
+	}
+
+	/**
+	 * Sets the counters of {@link #getFireCount()} and {@link #getFireDuration()} back to 0.
+	 */
+	public void resetCounters(){
+		fireCount = 0;
+		fireDuration = 0;
+	}
+
+	/**
+	 * Gets a list of all the listeners, the result is independent of this list.
+	 * @return the listeners
+	 */
+	public List<L> toList(){
+		List<L> result = new ArrayList<L>();
+		for( L listener : get() ){
+			result.add( listener );
+		}
+		return result;
+	}
+
+	@Override
+	public String toString(){
+		return getClass().getSimpleName() + "[name=" + name + ", listeners=" + entries.length + ", weak=" + weakCount +
+			", fired=" + fireCount + ", duration=" + fireDuration + "]";
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * The {@link bibliothek.gui.dock.util.listener.ListenerList} which is used by many classes to store their listeners,
+ * and the {@link bibliothek.gui.dock.util.listener.ListenerLeakReport} which finds listeners of elements that are
+ * no longer in use.
+ */
+package bibliothek.gui.dock.util.listener;
@@ -10,9 +10,9 @@ import javax.swing.Icon;
 import javax.swing.border.EmptyBorder;
 
 import bibliothek.gui.dock.util.ConfiguredBackgroundPanel;
-import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.gui.dock.util.Transparency;
 import bibliothek.gui.dock.util.font.FontModifier;
+import bibliothek.gui.dock.util.icon.DisabledIconCache;
 
 /**
  * A label which draws some text, and can change the layout of the text 
@@ -372,7 +372,7 @@ public class OrientedLabel extends ConfiguredBackgroundPanel{
         		Icon icon = this.icon;
         		if( !isEnabled() && paintDisabledIcon ){
         			if( disabledIcon == null ){
-        				disabledIcon = DockUtilities.disabledIcon( this, icon );
+        				disabledIcon = DisabledIconCache.getDefault().get( this, icon );
         			}
         			icon = disabledIcon;
         		}
@@ -0,0 +1,242 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.trace;
+
+import bibliothek.util.Path;
+
+/**
+ * A {@link DockTraceHistogram} collects the durations of one kind of operation. The durations are sorted
+ * into buckets whose size grows exponentially: bucket <code>0</code> contains all durations below 2 microseconds,
+ * and bucket <code>i</code> contains the durations between 2<sup>i</sup> and 2<sup>i+1</sup> microseconds.<br>
+ * Histograms returned by a {@link DockTracer} are copies and are not modified anymore.
+ * @author Benjamin Sigg
+ */
+public class DockTraceHistogram {
+	/** the number of buckets of each histogram */
+	public static final int BUCKETS = 32;
+
+	/** the kind of operation that was measured */
+	private final Path operation;
+
+	/** additional information about the operation, can be <code>null</code> */
+	private final String detail;
+
+	/** how many durations fell into each bucket */
+	private final long[] buckets = new long[ BUCKETS ];
+
+	/** the number of measurements */
+	private long count;
+
+	/** the sum of all durations */
+	private long total;
+
+	/** the shortest duration */
+	private long min = Long.MAX_VALUE;
+
+	/** the longest duration */
+	private long max = 0;
+
+	/**
+	 * Creates a new, empty histogram.
+	 * @param operation the kind of operation that is measured, not <code>null</code>
+	 * @param detail additional information about the operation, can be <code>null</code>
+	 */
+	public DockTraceHistogram( Path operation, String detail ){
+		if( operation == null ){
+			throw new IllegalArgumentException( "operation must not be null" );
+		}
+		this.operation = operation;
+		this.detail = detail;
+	}
+
+	/**
+	 * Creates a copy of this histogram.
+	 * @return the independent copy
+	 */
+	public DockTraceHistogram copy(){
+		DockTraceHistogram copy = new DockTraceHistogram( operation, detail );
+		System.arraycopy( buckets, 0, copy.buckets, 0, BUCKETS );
+		copy.count = count;
+		copy.total = total;
+		copy.min = min;
+		copy.max = max;
+		return copy;
+	}
+
+	/**
+	 * Adds one measurement to this histogram.
+	 * @param duration the duration in nanoseconds
+	 */
+	public void add( long duration ){
+		if( duration < 0 ){
+			duration = 0;
+		}
+		buckets[ getBucket( duration ) ]++;
+		count++;
+		total += duration;
+		min = Math.min( min, duration );
+		max = Math.max( max, duration );
+	}
+
+	/**
+	 * Gets the index of the bucket into which <code>duration</code> falls.
+	 * @param duration some duration in nanoseconds
+	 * @return the index of the bucket
+	 */
+	public static int getBucket( long duration ){
+		long micros = duration / 1000;
+		if( micros < 2 ){
+			return 0;
+		}
+		int index = 63 - Long.numberOfLeadingZeros( micros );
+		return Math.min( index, BUCKETS-1 );
+	}
+
+	/**
+	 * Gets the smallest duration which falls into the bucket <code>index</code>.
+	 * @param index the index of a bucket
+	 * @return the lower bound of the bucket in nanoseconds
+	 */
+	public static long getBucketLowerBound( int index ){
+		if( index == 0 ){
+			return 0;
+		}
+		return (1L << index) * 1000;
+	}
+
+	/**
+	 * Gets the smallest duration which no longer falls into the bucket <code>index</code>.
+	 * @param index the index of a bucket
+	 * @return the upper bound of the bucket in nanoseconds, {@link Long#MAX_VALUE} for the last bucket
+	 */
+	public static long getBucketUpperBound( int index ){
+		if( index == BUCKETS-1 ){
+			return Long.MAX_VALUE;
+		}
+		return (1L << (index+1)) * 1000;
+	}
+
+	/**
+	 * Gets the kind of operation whose durations are collected.
+	 * @return the operation, not <code>null</code>
+	 */
+	public Path getOperation(){
+		return operation;
+	}
+
+	/**
+	 * Gets additional information about the operation, e.g. the identifier of a factory.
+	 * @return the detail, can be <code>null</code>
+	 */
+	public String getDetail(){
+		return detail;
+	}
+
+	/**
+	 * Gets the number of measurements which fell into the bucket <code>index</code>.
+	 * @param index the index of the bucket
+	 * @return the number of measurements
+	 */
+	public long getBucketCount( int index ){
+		return buckets[ index ];
+	}
+
+	/**
+	 * Gets the number of measurements.
+	 * @return the number of measurements
+	 */
+	public long getCount(){
+		return count;
+	}
+
+	/**
+	 * Gets the sum of all durations.
+	 * @return the sum in nanoseconds
+	 */
+	public long getTotal(){
+		return total;
+	}
+
+	/**
+	 * Gets the shortest duration.
+	 * @return the shortest duration in nanoseconds, 0 if this histogram is empty
+	 */
+	public long getMin(){
+		if( count == 0 ){
+			return 0;
+		}
+		return min;
+	}
+
+	/**
+	 * Gets the longest duration.
+	 * @return the longest duration in nanoseconds
+	 */
+	public long getMax(){
+		return max;
+	}
+
+	/**
+	 * Gets the average duration.
+	 * @return the average in nanoseconds, 0 if this histogram is empty
+	 */
+	public long getMean(){
+		if( count == 0 ){
+			return 0;
+		}
+		return total / count;
+	}
+
+	/**
+	 * Estimates the duration below which <code>fraction</code> of all measurements are. The estimate
+	 * is the upper bound of the bucket containing the percentile, but never more than {@link #getMax()}.
+	 * @param fraction a number between 0 and 1, e.g. 0.99 for the 99th percentile
+	 * @return the estimated percentile in nanoseconds
+	 */
+	public long getPercentile( double fraction ){
+		if( fraction < 0 || fraction > 1 ){
+			throw new IllegalArgumentException( "fraction must be between 0 and 1: " + fraction );
+		}
+		if( count == 0 ){
+			return 0;
+		}
+		long limit = (long)Math.ceil( count * fraction );
+		long sum = 0;
+		for( int i = 0; i < BUCKETS; i++ ){
+			sum += buckets[i];
+			if( sum >= limit && sum > 0 ){
+				return Math.min( getBucketUpperBound( i ), max );
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public String toString(){
+		return getClass().getSimpleName() + "[operation=" + operation + ", detail=" + detail + ", count=" + count +
+			", mean=" + getMean() + ", min=" + getMin() + ", max=" + max + ", p99=" + getPercentile( 0.99 ) + "]";
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.trace;
+
+import bibliothek.util.Path;
+
+/**
+ * A {@link DockTraceListener} is informed about every operation a {@link DockTracer} measures. Listeners
+ * are called on the thread that executed the operation, which usually is the <code>EventDispatcherThread</code>,
+ * but reading and writing layouts may happen on other threads. Listeners should be fast, e.g. they can forward
+ * the measurements to a profiler like the <i>Java Flight Recorder</i> by committing custom events.
+ * @author Benjamin Sigg
+ */
+public interface DockTraceListener {
+	/**
+	 * Called after an operation finished.
+	 * @param tracer the tracer which measured the operation
+	 * @param operation the kind of operation, e.g. {@link DockTracer#DRAG_DROP}
+	 * @param detail additional information about the operation, e.g. the identifier of a factory, can be <code>null</code>
+	 * @param duration how long the operation took, in nanoseconds
+	 */
+	public void traced( DockTracer tracer, Path operation, String detail, long duration );
+}
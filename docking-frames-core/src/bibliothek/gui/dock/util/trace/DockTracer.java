@@ -0,0 +1,376 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.trace;
+
+import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.Timer;
+
+import bibliothek.gui.DockController;
+import bibliothek.util.Path;
+
+/**
+ * A {@link DockTracer} measures how long expensive operations of the framework take. Every {@link DockController}
+ * has its own tracer, accessible through {@link DockController#getTracer()}. Tracing is disabled by default,
+ * once {@link #setEnabled(boolean) enabled} the durations are collected in {@link DockTraceHistogram}s and forwarded to
+ * {@link DockTraceListener}s.<br>
+ * The operations are identified by a {@link Path} and an optional detail, e.g. reading a layout is identified by
+ * {@link #SITUATION_READ} and the identifier of the factory that was used. Clients can measure their own operations
+ * with {@link #start()} and {@link #stop(Path, String, long)}.<br>
+ * An additional probe, enabled by {@link #setLatencyProbe(int)}, measures how long a task has to wait until the
+ * <code>EventDispatcherThread</code> executes it.<br>
+ * This class is thread safe, durations can be recorded by any thread.
+ * @author Benjamin Sigg
+ */
+public class DockTracer {
+	/** a drag and drop operation starts, the user grabbed a {@link bibliothek.gui.Dockable} */
+	public static final Path DRAG_INIT = new Path( "dock.trace.drag.init" );
+	/** searching the station under the mouse during a drag and drop operation */
+	public static final Path DRAG_PREPARE = new Path( "dock.trace.drag.prepare" );
+	/** a drag and drop operation ends and the {@link bibliothek.gui.Dockable} is moved to its new parent */
+	public static final Path DRAG_DROP = new Path( "dock.trace.drag.drop" );
+	/** a {@link bibliothek.gui.dock.SplitDockStation} updates the boundaries of its children */
+	public static final Path SPLIT_LAYOUT = new Path( "dock.trace.split.layout" );
+	/** the tabs of a {@link bibliothek.gui.dock.StackDockStation} are layouted */
+	public static final Path STACK_LAYOUT = new Path( "dock.trace.stack.layout" );
+	/** a {@link bibliothek.gui.dock.DockTheme} is installed, the detail is the name of the theme */
+	public static final Path THEME_INSTALL = new Path( "dock.trace.theme.install" );
+	/** a {@link bibliothek.gui.dock.layout.DockSituation} reads a layout, the detail is the identifier of the factory */
+	public static final Path SITUATION_READ = new Path( "dock.trace.situation.read" );
+	/** a {@link bibliothek.gui.dock.layout.DockSituation} writes a layout, the detail is the identifier of the factory */
+	public static final Path SITUATION_WRITE = new Path( "dock.trace.situation.write" );
+	/** a {@link bibliothek.gui.dock.control.DockRegister} is no longer stalled and fires the collected events */
+	public static final Path REGISTER_FLUSH = new Path( "dock.trace.register.flush" );
+	/** the time a task has to wait until it is executed by the <code>EventDispatcherThread</code> */
+	public static final Path EDT_LATENCY = new Path( "dock.trace.edt.latency" );
+
+	/** the result of {@link #start()} if tracing is disabled */
+	public static final long DISABLED = Long.MIN_VALUE;
+
+	/** whether durations are recorded */
+	private volatile boolean enabled = false;
+
+	/** all the histograms, guarded by itself */
+	private final Map<Key, DockTraceHistogram> histograms = new LinkedHashMap<Key, DockTraceHistogram>();
+
+	/** the observers of this tracer */
+	private volatile DockTraceListener[] listeners = new DockTraceListener[0];
+
+	/** the timer running the latency probe, <code>null</code> if the probe is not running */
+	private Timer latencyProbe;
+
+	/** the time between two probes in milliseconds, 0 if disabled */
+	private int latencyInterval = 0;
+
+	/**
+	 * Starts measuring an operation, the result of this method has to be handed over to
+	 * {@link #stop(Path, String, long)} once the operation is finished.
+	 * @param controller the controller in whose realm the operation is executed, can be <code>null</code>
+	 * @return the current time or {@link #DISABLED}
+	 */
+	public static long start( DockController controller ){
+		if( controller == null ){
+			return DISABLED;
+		}
+		return controller.getTracer().start();
+	}
+
+	/**
+	 * Stops measuring an operation that was started with {@link #start(DockController)}.
+	 * @param controller the controller in whose realm the operation was executed, can be <code>null</code>
+	 * @param operation the kind of operation
+	 * @param detail additional information about the operation, can be <code>null</code>
+	 * @param start the result of {@link #start(DockController)}
+	 */
+	public static void stop( DockController controller, Path operation, String detail, long start ){
+		if( start != DISABLED && controller != null ){
+			controller.getTracer().stop( operation, detail, start );
+		}
+	}
+
+	/**
+	 * Enables or disables this tracer. A disabled tracer does not collect any data, the histograms
+	 * that were collected so far remain available.
+	 * @param enabled whether to measure operations
+	 */
+	public void setEnabled( boolean enabled ){
+		this.enabled = enabled;
+		updateLatencyProbe();
+	}
+
+	/**
+	 * Tells whether this tracer is measuring operations.
+	 * @return whether this tracer is enabled
+	 */
+	public boolean isEnabled(){
+		return enabled;
+	}
+
+	/**
+	 * Sets how often the latency of the <code>EventDispatcherThread</code> is measured. The probe only runs
+	 * while this tracer is {@link #isEnabled() enabled}. Each probe posts an empty task into the
+	 * {@link EventQueue} and records the time until the task is executed as {@link #EDT_LATENCY}.
+	 * @param interval the time between two probes in milliseconds, 0 to disable the probe
+	 */
+	public void setLatencyProbe( int interval ){
+		if( interval < 0 ){
+			throw new IllegalArgumentException( "interval must not be negative: " + interval );
+		}
+		latencyInterval = interval;
+		updateLatencyProbe();
+	}
+
+	/**
+	 * Gets the time between two probes of the latency of the <code>EventDispatcherThread</code>.
+	 * @return the time in milliseconds, 0 if the probe is disabled
+	 */
+	public int getLatencyProbe(){
+		return latencyInterval;
+	}
+
+	private void updateLatencyProbe(){
+		boolean run = enabled && latencyInterval > 0;
+		if( !run ){
+			if( latencyProbe != null ){
+				latencyProbe.stop();
+				latencyProbe = null;
+			}
+		}
+		else{
+			if( latencyProbe == null ){
+				latencyProbe = new Timer( latencyInterval, new ActionListener(){
+					public void actionPerformed( ActionEvent e ){
+						final long posted = start();
+						if( posted != DISABLED ){
+							EventQueue.invokeLater( new Runnable(){
+								public void run(){
+									stop( EDT_LATENCY, null, posted );
+								}
+							});
+						}
+					}
+				});
+				latencyProbe.setRepeats( true );
+				latencyProbe.start();
+			}
+			else{
+				latencyProbe.setDelay( latencyInterval );
+			}
+		}
+	}
+
+	/**
+	 * Adds an observer to this tracer, the observer is informed about every measured operation.
+	 * @param listener the new observer, not <code>null</code>
+	 */
+	public synchronized void addListener( DockTraceListener listener ){
+		if( listener == null ){
+			throw new IllegalArgumentException( "listener must not be null" );
+		}
+		DockTraceListener[] next = new DockTraceListener[ listeners.length+1 ];
+		System.arraycopy( listeners, 0, next, 0, listeners.length );
+		next[ listeners.length ] = listener;
+		listeners = next;
+	}
+
+	/**
+	 * Removes an observer from this tracer.
+	 * @param listener the observer to remove
+	 */
+	public synchronized void removeListener( DockTraceListener listener ){
+		for( int i = 0; i < listeners.length; i++ ){
+			if( listeners[i] == listener ){
+				DockTraceListener[] next = new DockTraceListener[ listeners.length-1 ];
+				System.arraycopy( listeners, 0, next, 0, i );
+				System.arraycopy( listeners, i+1, next, i, next.length-i );
+				listeners = next;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Starts measuring an operation.
+	 * @return the current time in nanoseconds, or {@link #DISABLED} if this tracer is not enabled
+	 */
+	public long start(){
+		if( enabled ){
+			return System.nanoTime();
+		}
+		return DISABLED;
+	}
+
+	/**
+	 * Stops measuring an operation.
+	 * @param operation the kind of operation, not <code>null</code>
+	 * @param start the result of {@link #start()}
+	 */
+	public void stop( Path operation, long start ){
+		stop( operation, null, start );
+	}
+
+	/**
+	 * Stops measuring an operation. Nothing happens if <code>start</code> is {@link #DISABLED}.
+	 * @param operation the kind of operation, not <code>null</code>
+	 * @param detail additional information about the operation, can be <code>null</code>
+	 * @param start the result of {@link #start()}
+	 */
+	public void stop( Path operation, String detail, long start ){
+		if( start != DISABLED ){
+			record( operation, detail, System.nanoTime() - start );
+		}
+	}
+
+	/**
+	 * Records the duration of an operation, does nothing if this tracer is not {@link #isEnabled() enabled}.
+	 * @param operation the kind of operation, not <code>null</code>
+	 * @param detail additional information about the operation, can be <code>null</code>
+	 * @param duration the duration in nanoseconds
+	 */
+	public void record( Path operation, String detail, long duration ){
+		if( !enabled ){
+			return;
+		}
+		if( operation == null ){
+			throw new IllegalArgumentException( "operation must not be null" );
+		}
+
+		Key key = new Key( operation, detail );
+		synchronized( histograms ){
+			DockTraceHistogram histogram = histograms.get( key );
+			if( histogram == null ){
+				histogram = new DockTraceHistogram( operation, detail );
+				histograms.put( key, histogram );
+			}
+			histogram.add( duration );
+		}
+
+		for( DockTraceListener listener : listeners ){
+			listener.traced( this, operation, detail, duration );
+		}
+	}
+
+	/**
+	 * Gets a copy of the histogram of one operation.
+	 * @param operation the kind of operation
+	 * @param detail additional information about the operation, can be <code>null</code>
+	 * @return a copy of the histogram, or <code>null</code> if the operation was never measured
+	 */
+	public DockTraceHistogram getHistogram( Path operation, String detail ){
+		synchronized( histograms ){
+			DockTraceHistogram histogram = histograms.get( new Key( operation, detail ) );
+			if( histogram == null ){
+				return null;
+			}
+			return histogram.copy();
+		}
+	}
+
+	/**
+	 * Gets a copy of all the histograms whose operation is <code>operation</code>, regardless of their detail.
+	 * @param operation the kind of operation
+	 * @return copies of the histograms, in the order they were created
+	 */
+	public DockTraceHistogram[] getHistograms( Path operation ){
+		List<DockTraceHistogram> result = new ArrayList<DockTraceHistogram>();
+		synchronized( histograms ){
+			for( DockTraceHistogram histogram : histograms.values() ){
+				if( histogram.getOperation().equals( operation )){
+					result.add( histogram.copy() );
+				}
+			}
+		}
+		return result.toArray( new DockTraceHistogram[ result.size() ] );
+	}
+
+	/**
+	 * Gets a copy of all the histograms.
+	 * @return copies of the histograms, in the order they were created
+	 */
+	public DockTraceHistogram[] getHistograms(){
+		synchronized( histograms ){
+			DockTraceHistogram[] result = new DockTraceHistogram[ histograms.size() ];
+			int index = 0;
+			for( DockTraceHistogram histogram : histograms.values() ){
+				result[ index++ ] = histogram.copy();
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Deletes all the histograms.
+	 */
+	public void reset(){
+		synchronized( histograms ){
+			histograms.clear();
+		}
+	}
+
+	/**
+	 * Stops the latency probe and disables this tracer.
+	 */
+	public void kill(){
+		setEnabled( false );
+	}
+
+	/**
+	 * The key of a {@link DockTraceHistogram}.
+	 * @author Benjamin Sigg
+	 */
+	private static class Key{
+		private final Path operation;
+		private final String detail;
+
+		public Key( Path operation, String detail ){
+			this.operation = operation;
+			this.detail = detail;
+		}
+
+		@Override
+		public int hashCode(){
+			return operation.hashCode() * 31 + (detail == null ? 0 : detail.hashCode());
+		}
+
+		@Override
+		public boolean equals( Object obj ){
+			if( obj == this ){
+				return true;
+			}
+			if( !(obj instanceof Key) ){
+				return false;
+			}
+			Key other = (Key)obj;
+			return operation.equals( other.operation ) && (detail == null ? other.detail == null : detail.equals( other.detail ));
+		}
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * The {@link bibliothek.gui.dock.util.trace.DockTracer} which measures how long expensive operations
+ * like dragging, layouting or reading layouts take, and collects the durations in histograms.
+ */
+package bibliothek.gui.dock.util.trace;
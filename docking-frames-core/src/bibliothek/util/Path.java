@@ -25,9 +25,13 @@
  */
 package bibliothek.util;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.KeyStroke;
 
@@ -39,10 +43,27 @@ import bibliothek.gui.dock.control.ModifierMask;
  * A path is a description of the position of some resource. A path consists
  * of segments where a segment can be any kind of string (preferably a segment is a 
  * valid java-identifier). A path can be converted into a string, the segments will
- * be {@link #encodeSegment(String) encoded} when doing that.
+ * be {@link #encodeSegment(String) encoded} when doing that.<br>
+ * Paths can be {@link #intern() interned}: there is at most one interned path for any sequence
+ * of segments, and two interned paths can be compared by identity. Readers of layouts should use
+ * {@link #valueOf(String)} to create paths, as layouts tend to contain the same paths over and over again.
  * @author Benjamin Sigg
  */
 public final class Path {
+	/** all the paths that are currently interned */
+	private static final Map<Path, WeakReference<Path>> interned = new WeakHashMap<Path, WeakReference<Path>>();
+	
+	/** the maximum number of entries of {@link #parsed} */
+	private static final int PARSED_CAPACITY = 1024;
+	
+	/** the paths that were recently parsed by {@link #valueOf(String)} */
+	private static final Map<String, Path> parsed = new LinkedHashMap<String, Path>( 64, 0.75f, true ){
+		@Override
+		protected boolean removeEldestEntry( Map.Entry<String, Path> eldest ){
+			return size() > PARSED_CAPACITY;
+		}
+	};
+	
     /** standard path for {@link Integer}  */
     public static final Path TYPE_INT_PATH = new Path( "java.lang.Integer" );
     
@@ -130,6 +151,67 @@ public final class Path {
     /** the segments of this path */
     private String[] segments;
     
+    /** the cached hash code of this path, 0 if not yet computed */
+    private int hash;
+    
+    /** whether this path is the one interned instance for its segments */
+    private volatile boolean internedInstance = false;
+    
+    /**
+     * Parses <code>path</code> and returns the {@link #intern() interned} path. Recently parsed
+     * strings are remembered, hence parsing the same string twice is cheap.
+     * @param path the dot-separated segments of the path, see {@link #Path(String)}
+     * @return the interned path, not <code>null</code>
+     * @throws IllegalArgumentException if <code>path</code> is not a valid path
+     */
+    public static Path valueOf( String path ){
+    	if( path == null )
+    		throw new IllegalArgumentException( "path must not be null" );
+    	
+    	synchronized( parsed ){
+    		Path result = parsed.get( path );
+    		if( result != null ){
+    			return result;
+    		}
+    	}
+    	
+    	Path result = new Path( path ).intern();
+    	synchronized( parsed ){
+    		parsed.put( path, result );
+    	}
+    	return result;
+    }
+    
+    /**
+     * Gets the interned version of this path. The interned version is equal to this path, and
+     * for each sequence of segments there is only one interned path. Interned paths are not
+     * kept in memory if they are no longer used.
+     * @return the interned path, may be <code>this</code>
+     */
+    public Path intern(){
+    	if( internedInstance ){
+    		return this;
+    	}
+    	synchronized( interned ){
+    		WeakReference<Path> reference = interned.get( this );
+    		Path result = reference == null ? null : reference.get();
+    		if( result == null ){
+    			internedInstance = true;
+    			interned.put( this, new WeakReference<Path>( this ) );
+    			result = this;
+    		}
+    		return result;
+    	}
+    }
+    
+    /**
+     * Tells whether this path is the {@link #intern() interned} instance of its segments.
+     * @return <code>true</code> if this path is interned
+     */
+    public boolean isInterned(){
+    	return internedInstance;
+    }
+    
     /**
      * Tells whether <code>path</code> is a valid path or not
      * @param path the path to test
@@ -340,7 +422,12 @@ public final class Path {
     
     @Override
     public int hashCode() {
-        return Arrays.hashCode( segments );
+    	int result = hash;
+    	if( result == 0 ){
+    		result = Arrays.hashCode( segments );
+    		hash = result;
+    	}
+        return result;
     }
 
     @Override
@@ -352,6 +439,10 @@ public final class Path {
         if( getClass() != obj.getClass() )
             return false;
         final Path other = (Path)obj;
+        if( internedInstance && other.internedInstance )
+        	return false;
+        if( hashCode() != other.hashCode() )
+        	return false;
         if( !Arrays.equals( segments, other.segments ) )
             return false;
         return true;
@@ -67,6 +67,9 @@ public final class Version implements Comparable<Version>{
     /** version 1.1.2 */
     public static final Version VERSION_1_1_2 = new Version( 1, 1, 2, null );
     
+    /** version 1.1.3, introduces the compact format of {@link bibliothek.gui.dock.station.support.PlaceholderMap} */
+    public static final Version VERSION_1_1_3 = new Version( 1, 1, 3, null );
+    
     /** The current version of this library. This constant will be changed for every release. */
     public static final Version CURRENT = VERSION_1_1_2;
     
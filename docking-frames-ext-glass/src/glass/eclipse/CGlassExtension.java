@@ -10,6 +10,7 @@ import bibliothek.gui.dock.util.*;
 import bibliothek.gui.dock.util.extension.*;
 import bibliothek.gui.dock.util.property.*;
 import glass.eclipse.theme.*;
+import glass.eclipse.theme.utils.*;
 
 
 /**
@@ -20,6 +21,15 @@ import glass.eclipse.theme.*;
 public class CGlassExtension implements Extension {
    public static final PropertyKey<Boolean> SMALL_TAB_SIZE = new PropertyKey<Boolean>("Glass eclipse theme tab size", new ConstantPropertyFactory<Boolean>(false), true);
 
+   /**
+    * The cache storing the rendered glass images, shared by all the tabs of one {@link DockController}.
+    */
+   public static final PropertyKey<CGlassImageCache> IMAGE_CACHE = new PropertyKey<CGlassImageCache>("Glass eclipse theme image cache", new DynamicPropertyFactory<CGlassImageCache>() {
+      public CGlassImageCache getDefault (PropertyKey<CGlassImageCache> key, DockProperties properties) {
+         return (new CGlassImageCache());
+      }
+   }, true);
+
    public void install (DockController controller) {
       DockProperties properties = controller.getProperties();
 
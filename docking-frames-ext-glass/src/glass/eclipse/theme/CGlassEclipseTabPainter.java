@@ -133,10 +133,18 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
    PropertyValue<IGlassParameterFactory> propValueFactory = new PropertyValue<IGlassParameterFactory>(EclipseThemeExtension.GLASS_FACTORY) {
       @Override
       protected void valueChanged (IGlassParameterFactory paramA1, IGlassParameterFactory paramA2) {
+         clearImageCache();
          CGlassEclipseTabPainter.this.update();
       }
    };
 
+   PropertyValue<CGlassImageCache> propValueCache = new PropertyValue<CGlassImageCache>(CGlassExtension.IMAGE_CACHE) {
+      @Override
+      protected void valueChanged (CGlassImageCache oldValue, CGlassImageCache newValue) {
+         CGlassEclipseTabPainter.this.repaint();
+      }
+   };
+
    private boolean bSmallerTabs = false;
 
    /**
@@ -158,6 +166,7 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
       if (getController() != null) {
          propValueSmall.setProperties(getController());
          propValueFactory.setProperties(getController());
+         propValueCache.setProperties(getController());
       }
 
       bSmallerTabs = propValueSmall.getValue();
@@ -174,12 +183,65 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
       // unregister listener
       propValueSmall.setProperties((DockController)null);
       propValueFactory.setProperties((DockController)null);
+      propValueCache.setProperties((DockController)null);
    }
 
    protected IGlassParameterFactory getGlassParameterFactory () {
       return (propValueFactory.getValue());
    }
 
+   /**
+    * Gets the cache storing the rendered glass images.
+    * @return the cache or <code>null</code> if this painter is not connected to a controller
+    */
+   protected CGlassImageCache getImageCache () {
+      return (propValueCache.getValue());
+   }
+
+   /**
+    * Removes all images from the {@link #getImageCache() image cache}. The cache is shared by all painters,
+    * hence this method is only called if the glass factory changes.
+    */
+   protected void clearImageCache () {
+      CGlassImageCache cache = getImageCache();
+      if (cache != null) {
+         cache.clear();
+      }
+   }
+
+   /**
+    * Renders a glass effect, or reuses an image from the {@link #getImageCache() image cache}.
+    * @param parameter the parameters of the glass
+    * @param fallback the parameters used if <code>parameter</code> cannot be rendered
+    * @param size the size of the image
+    * @return the rendered glass, must not be modified
+    */
+   protected BufferedImage renderGlass (IGlassFactory.SGlassParameter parameter, IGlassFactory.SGlassParameter fallback, Dimension size) {
+      CGlassImageCache cache = getImageCache();
+      CGlassImageCache.Key key = null;
+      BufferedImage bimg = null;
+
+      if (cache != null) {
+         key = new CGlassImageCache.Key("glass", parameter, size.width, size.height, null, 0);
+         bimg = cache.get(key);
+         if (bimg != null) {
+            return (bimg);
+         }
+      }
+
+      try {
+         bimg = glass.RenderBufferedImage(parameter, size, true);
+      }
+      catch (Exception e) {
+         bimg = glass.RenderBufferedImage(fallback, size, true);
+      }
+
+      if (cache != null) {
+         cache.put(key, bimg);
+      }
+      return (bimg);
+   }
+
    /**
     * Initializes additional colors for painting the glass effect.
     */
@@ -547,25 +609,38 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
 
          Shape sTab = createUnSelectedTabShape(isHorizontal() ? w : w, isHorizontal() ? h : h, false, true);
 
-         BufferedImage img;
+         BufferedImage img = null;
          dImg = new Dimension(isHorizontal() ? w + CORNER_RADIUS : h + CORNER_RADIUS, isHorizontal() ? h : w);
          if (glassUnSelected != null) {
-            img = new BufferedImage(dImg.width, dImg.height, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D gg = img.createGraphics();
+            CGlassImageCache cache = getImageCache();
+            CGlassImageCache.Key key = null;
+            if (cache != null) {
+               key = new CGlassImageCache.Key("unselected", glassUnSelected, w, h, getOrientation(), getTabIndex() < getSelectedIndex() ? 1 : 0);
+               img = cache.get(key);
+            }
 
-            gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            gg.setColor(Color.WHITE);
-            gg.fill(sTab);
+            if (img == null) {
+               img = new BufferedImage(dImg.width, dImg.height, BufferedImage.TYPE_INT_ARGB);
+               Graphics2D gg = img.createGraphics();
 
-            gg.setComposite(AlphaComposite.SrcIn);
-            try {
-               glass.Render2Graphics(dImg, gg, glassUnSelected, true);
-            }
-            catch (Exception e) {
-               glass.Render2Graphics(dImg, gg, CGlassFactory.VALUE_STEEL, true);
-            }
+               gg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+               gg.setColor(Color.WHITE);
+               gg.fill(sTab);
+
+               gg.setComposite(AlphaComposite.SrcIn);
+               try {
+                  glass.Render2Graphics(dImg, gg, glassUnSelected, true);
+               }
+               catch (Exception e) {
+                  glass.Render2Graphics(dImg, gg, CGlassFactory.VALUE_STEEL, true);
+               }
 
-            gg.dispose();
+               gg.dispose();
+
+               if (cache != null) {
+                  cache.put(key, img);
+               }
+            }
 
             if ( !isHorizontal()) {
                AffineTransform atTrans = AffineTransform.getTranslateInstance(x/* + w*/, y + h);
@@ -630,63 +705,62 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
 
          // draw glass 
          // first render to image because glass is transparent and we would see the inactive tab in background
-         BufferedImage bimg = null;
+         IGlassFactory.SGlassParameter parameter = null;
+         IGlassFactory.SGlassParameter fallback = null;
          dImg = new Dimension(isHorizontal() ? w : h, isHorizontal() ? h : w);
          if( !isEnabled() ){
-        	 if(glassDisabled != null){
-        		 try {
-                     bimg = glass.RenderBufferedImage(glassDisabled, dImg, true);
-				 }
-				 catch( Exception e ) {
-					 bimg = glass.RenderBufferedImage( CGlassFactory.VALUE_GRAY, dImg, true );
-				 } 
-        	 }
+            parameter = glassDisabled;
+            fallback = CGlassFactory.VALUE_GRAY;
          }
          else if (bActive) {
-            if (glassFocused != null) {
-               try {
-                  bimg = glass.RenderBufferedImage(glassFocused, dImg, true);
-               }
-               catch (Exception e) {
-                  bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_STEEL, dImg, true);
-               }
-            }
+            parameter = glassFocused;
+            fallback = CGlassFactory.VALUE_STEEL;
          }
          else {
-            if (glassSelected != null) {
-               try {
-                  bimg = glass.RenderBufferedImage(glassSelected, dImg, true);
-               }
-               catch (Exception e) {
-                  bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_DARKENED_PLAIN, dImg, true);
-               }
-            }
+            parameter = glassSelected;
+            fallback = CGlassFactory.VALUE_DARKENED_PLAIN;
          }
 
-         if (bimg != null) {
-            // glass is translucent, so we could see the sharp edge of an unselected tab behind
-            // So, we paint the glass image onto a other image were only the glass part is visible (white)
-            BufferedImage b = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D gg2d = b.createGraphics();
-            gg2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+         if (parameter != null) {
+            CGlassImageCache cache = getImageCache();
+            CGlassImageCache.Key key = null;
+            BufferedImage b = null;
+            if (cache != null) {
+               key = new CGlassImageCache.Key("selected", parameter, w, h, getOrientation(), getTabIndex() == 0 ? 1 : 0);
+               b = cache.get(key);
+            }
 
-            gg2d.setColor(Color.WHITE);
-            gg2d.fill(sTab);
+            if (b == null) {
+               BufferedImage bimg = renderGlass(parameter, fallback, dImg);
 
-            gg2d.setClip(sTab);
-            gg2d.setComposite(AlphaComposite.SrcAtop);
-            if ( !isHorizontal()) {
-               AffineTransform atTrans = AffineTransform.getTranslateInstance(0/*w*/, h);
-               atTrans.concatenate(COutlineHelper.tRot90CCW);
+               // glass is translucent, so we could see the sharp edge of an unselected tab behind
+               // So, we paint the glass image onto a other image were only the glass part is visible (white)
+               b = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+               Graphics2D gg2d = b.createGraphics();
+               gg2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-               gg2d.drawImage(bimg, atTrans, null);
-            }
-            else {
+               gg2d.setColor(Color.WHITE);
+               gg2d.fill(sTab);
 
-               gg2d.drawImage(bimg, 0, 0, null);
-            }
+               gg2d.setClip(sTab);
+               gg2d.setComposite(AlphaComposite.SrcAtop);
+               if ( !isHorizontal()) {
+                  AffineTransform atTrans = AffineTransform.getTranslateInstance(0/*w*/, h);
+                  atTrans.concatenate(COutlineHelper.tRot90CCW);
+
+                  gg2d.drawImage(bimg, atTrans, null);
+               }
+               else {
+
+                  gg2d.drawImage(bimg, 0, 0, null);
+               }
+
+               gg2d.dispose();
 
-            gg2d.dispose();
+               if (cache != null) {
+                  cache.put(key, b);
+               }
+            }
 
             g2d.drawImage(b, x, y, null);
          }
@@ -733,12 +807,7 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
 
       if (dImg.width > 0 && dImg.height > 0) {
          if (glassUnSelected != null) {
-            try {
-               bimg = glass.RenderBufferedImage(glassUnSelected, dImg, true);
-            }
-            catch (Exception e) {
-               bimg = glass.RenderBufferedImage(CGlassFactory.VALUE_RED, dImg, true);
-            }
+            bimg = renderGlass(glassUnSelected, CGlassFactory.VALUE_RED, dImg);
 
             if ( !isHorizontal()) {
                AffineTransform atTrans = AffineTransform.getTranslateInstance(/*r.width*/0, CORNER_RADIUS/*-getHeight()*/);
@@ -866,6 +935,7 @@ public class CGlassEclipseTabPainter extends BaseTabComponent {
 
       @Override
       protected void changed (Color oldColor, Color newColor) {
+         // the colors are part of the keys of the image cache, old images are not found anymore and evicted eventually
          updateGlass();
          repaint();
       }
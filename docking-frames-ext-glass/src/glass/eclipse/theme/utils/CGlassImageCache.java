@@ -0,0 +1,177 @@
+package glass.eclipse.theme.utils;
+
+import java.awt.image.*;
+import java.util.*;
+import kux.glass.IGlassFactory.*;
+
+
+/**
+ * A cache for images rendered by the glass library. Rendering a glass effect is expensive, and
+ * the tabs of the glass theme are repainted every time the mouse or the focus moves. Images are stored
+ * with a {@link Key} describing how they were rendered. If the cache grows beyond its
+ * {@link #setCapacity(int) capacity}, the least recently used images are removed.<br>
+ * One cache is shared by all tabs of a {@link bibliothek.gui.DockController}, see
+ * {@link glass.eclipse.CGlassExtension#IMAGE_CACHE}. The cache is only to be used from the
+ * <code>EventDispatcherThread</code>.
+ * @author Benjamin Sigg
+ */
+public class CGlassImageCache {
+   /** the images, ordered by their last access */
+   private LinkedHashMap<Key, BufferedImage> images = new LinkedHashMap<Key, BufferedImage>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry (Map.Entry<Key, BufferedImage> eldest) {
+         return (size() > capacity);
+      }
+   };
+
+   /** the maximum number of images stored in this cache */
+   private int capacity = 128;
+
+   /** how many times an image was found in this cache */
+   private int hits = 0;
+
+   /** how many times an image was not found in this cache */
+   private int misses = 0;
+
+   /**
+    * Sets the maximum number of images this cache can store.
+    * @param capacity the maximum number of images, at least 0
+    */
+   public void setCapacity (int capacity) {
+      if (capacity < 0) {
+         throw new IllegalArgumentException("capacity must not be negative");
+      }
+      this.capacity = capacity;
+      if (images.size() > capacity) {
+         Iterator<Key> keys = images.keySet().iterator();
+         while (images.size() > capacity) {
+            keys.next();
+            keys.remove();
+         }
+      }
+   }
+
+   /**
+    * Gets the maximum number of images this cache can store.
+    * @return the maximum number of images
+    */
+   public int getCapacity () {
+      return (capacity);
+   }
+
+   /**
+    * Searches an image that was rendered with the settings described by <code>key</code>.
+    * @param key the description of the image
+    * @return the image or <code>null</code> if not found. The image must not be modified.
+    */
+   public BufferedImage get (Key key) {
+      BufferedImage image = images.get(key);
+      if (image == null) {
+         misses++;
+      }
+      else {
+         hits++;
+      }
+      return (image);
+   }
+
+   /**
+    * Stores an image in this cache.
+    * @param key the description of the image
+    * @param image the new image, must not be modified anymore after calling this method
+    */
+   public void put (Key key, BufferedImage image) {
+      if (capacity > 0) {
+         images.put(key, image);
+      }
+   }
+
+   /**
+    * Removes all images from this cache. Should be called if colors change, as the old
+    * images are not going to be used anymore.
+    */
+   public void clear () {
+      images.clear();
+   }
+
+   /**
+    * Gets the number of images currently stored.
+    * @return the number of images
+    */
+   public int size () {
+      return (images.size());
+   }
+
+   /**
+    * Gets the number of times {@link #get(Key)} found an image.
+    * @return the number of hits
+    */
+   public int getHitCount () {
+      return (hits);
+   }
+
+   /**
+    * Gets the number of times {@link #get(Key)} did not find an image.
+    * @return the number of misses
+    */
+   public int getMissCount () {
+      return (misses);
+   }
+
+   /**
+    * Describes how an image was rendered.
+    * @author Benjamin Sigg
+    */
+   public static class Key {
+      private final String kind;
+      private final SGlassParameter parameter;
+      private final int width;
+      private final int height;
+      private final Object orientation;
+      private final int flags;
+      private final int hash;
+
+      /**
+       * Creates a new key.
+       * @param kind what kind of image is described, e.g. "selected"
+       * @param parameter the parameters of the glass effect, this key stores a copy of <code>parameter</code>
+       * @param width the width of the image
+       * @param height the height of the image
+       * @param orientation the orientation of the tab, can be <code>null</code>
+       * @param flags additional state of the tab that influences the image
+       */
+      public Key (String kind, SGlassParameter parameter, int width, int height, Object orientation, int flags) {
+         this.kind = kind;
+         this.parameter = parameter == null ? null : parameter.clone();
+         this.width = width;
+         this.height = height;
+         this.orientation = orientation;
+         this.flags = flags;
+
+         int h = kind.hashCode();
+         h = h * 31 + (parameter == null ? 0 : parameter.hashCode());
+         h = h * 31 + width;
+         h = h * 31 + height;
+         h = h * 31 + (orientation == null ? 0 : orientation.hashCode());
+         h = h * 31 + flags;
+         hash = h;
+      }
+
+      @Override
+      public int hashCode () {
+         return (hash);
+      }
+
+      @Override
+      public boolean equals (Object obj) {
+         if (obj == this) {
+            return (true);
+         }
+         if ( !(obj instanceof Key)) {
+            return (false);
+         }
+         Key other = (Key)obj;
+         return (hash == other.hash && width == other.width && height == other.height && flags == other.flags && kind.equals(other.kind) && (orientation == null ? other.orientation == null : orientation.equals(other.orientation)) && (parameter == null ? other.parameter == null : parameter.equals(other.parameter)));
+      }
+   }
+}
@@ -1,9 +1,16 @@
 package bibliothek.gui.dock.toolbar.item;
 
 import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics;
 import java.awt.GridLayout;
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import javax.swing.JComponent;
 import javax.swing.JPanel;
@@ -15,13 +22,25 @@ import bibliothek.gui.Dockable;
 import bibliothek.gui.Orientation;
 import bibliothek.gui.dock.ToolbarItem;
 import bibliothek.gui.dock.ToolbarItemDockable;
+import bibliothek.gui.dock.action.ActionContentModifier;
 import bibliothek.gui.dock.action.DockAction;
+import bibliothek.gui.dock.action.StandardDockAction;
 import bibliothek.gui.dock.action.view.ViewTarget;
+import bibliothek.gui.dock.event.StandardDockActionListener;
 import bibliothek.gui.dock.event.UIListener;
 import bibliothek.gui.dock.themes.basic.action.BasicTitleViewItem;
+import bibliothek.gui.dock.toolbar.expand.ExpandableToolbarItem;
+import bibliothek.gui.dock.toolbar.expand.ExpandableToolbarItemListener;
+import bibliothek.gui.dock.toolbar.expand.ExpandedState;
+import bibliothek.gui.dock.util.PropertyKey;
+import bibliothek.gui.dock.util.PropertyValue;
 
 /**
- * A wrapper around a {@link DockAction} allowing the action to show up on a toolbar.
+ * A wrapper around a {@link DockAction} allowing the action to show up on a toolbar.<br>
+ * If a {@link FlyweightToolbarItemRenderer} is set with the property {@link #RENDERER}, then this item does not
+ * create the view of its action until the view is really needed. Until then the item is painted by the renderer.
+ * The real view is created once the mouse enters the item, the item gains the focus, or the {@link ToolbarItemDockable}
+ * is no longer in state {@link ExpandedState#SHRUNK}.
  * @author Benjamin Sigg
  */
 public class DockActionItem implements ToolbarItem {
@@ -31,9 +50,16 @@ public class DockActionItem implements ToolbarItem {
 	 */
 	public static final ViewTarget<BasicTitleViewItem<JComponent>> TOOLBAR =
 			new ViewTarget<BasicTitleViewItem<JComponent>>( "target TOOLBAR" );
+	
+	/**
+	 * The renderer painting items whose views were not yet created. The default value is <code>null</code>, meaning
+	 * that each item always creates its view.
+	 */
+	public static final PropertyKey<FlyweightToolbarItemRenderer> RENDERER =
+			new PropertyKey<FlyweightToolbarItemRenderer>( "dock.toolbar.item.renderer" );
 
 	/** the panel actually showing {@link #view} */
-	private JPanel content = new JPanel( new GridLayout( 1, 1 ) );
+	private Content content = new Content();
 	
 	/** the action shown on this dockable */
 	private DockAction action;
@@ -51,11 +77,31 @@ public class DockActionItem implements ToolbarItem {
 	private DockController controller;
 	
 	/** the owner of this item */
-	private Dockable dockable;
+	private ToolbarItemDockable dockable;
 	
 	/** whether this item is in use or not */
 	private boolean bound = false;
 	
+	/** whether this item must show its real {@link #view} */
+	private boolean realized = false;
+	
+	/** whether this item is currently painted by the {@link #renderer} */
+	private boolean stamped = false;
+	
+	/** observes this item while it is painted by the {@link #renderer} */
+	private Stub stub = new Stub();
+	
+	/** the renderer painting this item until its view is created */
+	private PropertyValue<FlyweightToolbarItemRenderer> renderer = new PropertyValue<FlyweightToolbarItemRenderer>( RENDERER ){
+		@Override
+		protected void valueChanged( FlyweightToolbarItemRenderer oldValue, FlyweightToolbarItemRenderer newValue ){
+			if( view != null || stamped ){
+				destroyView();
+				createView();
+			}
+		}
+	};
+	
 	/** Called if the current {@link DockTheme} changes */
 	private UIListener uiListener = new UIListener(){
 		@Override
@@ -69,6 +115,10 @@ public class DockActionItem implements ToolbarItem {
 		}
 		@Override
 		public void updateUI( DockController controller ){
+			FlyweightToolbarItemRenderer flyweight = renderer.getValue();
+			if( flyweight != null ){
+				flyweight.updateUI();
+			}
 			destroyView();
 			createView();	
 		}
@@ -98,6 +148,7 @@ public class DockActionItem implements ToolbarItem {
 				destroyView();
 			}
 			this.controller = controller;
+			renderer.setProperties( controller );
 			if( controller != null ){
 				createView();
 				controller.getThemeManager().addUIListener( uiListener );
@@ -105,6 +156,7 @@ public class DockActionItem implements ToolbarItem {
 		}
 		else{
 			this.controller = controller;
+			renderer.setProperties( controller );
 		}
 	}
 	
@@ -120,7 +172,51 @@ public class DockActionItem implements ToolbarItem {
 		destroyView();
 	}
 	
+	/**
+	 * Creates the real view of the action, if this item is currently painted by a {@link FlyweightToolbarItemRenderer}.
+	 * Once realized, an item keeps its view.
+	 */
+	public void realize(){
+		if( !realized ){
+			realized = true;
+			if( stamped ){
+				destroyView();
+				createView();
+				content.revalidate();
+				content.repaint();
+			}
+		}
+	}
+	
+	/**
+	 * Tells whether this item is currently painted by a {@link FlyweightToolbarItemRenderer} instead of
+	 * showing the real view of its action.
+	 * @return <code>true</code> if there is no real view
+	 */
+	public boolean isStamped(){
+		return stamped;
+	}
+	
+	private boolean isShrunk(){
+		return dockable == null || dockable.getExpandedState() == ExpandedState.SHRUNK;
+	}
+	
 	private void destroyView(){
+		if( stamped ){
+			stamped = false;
+			((StandardDockAction)action).removeDockActionListener( stub );
+			content.removeMouseListener( stub );
+			content.removeFocusListener( stub );
+			content.setToolTipText( null );
+			content.setFocusable( false );
+			for( MouseInputListener listener : mouseListeners ){
+				content.removeMouseListener( listener );
+				content.removeMouseMotionListener( listener );
+			}
+			if( dockable != null ){
+				dockable.removeExpandableListener( stub );
+			}
+		}
 		if( view != null ){
 			JComponent item = view.getItem();
 			for( MouseInputListener listener : mouseListeners ){
@@ -141,6 +237,24 @@ public class DockActionItem implements ToolbarItem {
 			}
 			
 			action.bind( dockable );
+			
+			FlyweightToolbarItemRenderer flyweight = renderer.getValue();
+			if( !realized && flyweight != null && flyweight.canRender( action ) && isShrunk() ){
+				stamped = true;
+				StandardDockAction standard = (StandardDockAction)action;
+				standard.addDockActionListener( stub );
+				content.addMouseListener( stub );
+				content.addFocusListener( stub );
+				content.setToolTipText( standard.getTooltipText( dockable ) );
+				content.setFocusable( true );
+				for( MouseInputListener listener : mouseListeners ){
+					content.addMouseListener( listener );
+					content.addMouseMotionListener( listener );
+				}
+				dockable.addExpandableListener( stub );
+				return;
+			}
+			
 			view = action.createView( TOOLBAR, controller.getActionViewConverter(), dockable );
 			if( view != null ){
 				updateOrientation();
@@ -151,6 +265,9 @@ public class DockActionItem implements ToolbarItem {
 					item.addMouseListener( listener );
 					item.addMouseMotionListener( listener );
 				}
+				if( flyweight != null ){
+					flyweight.learn( action, dockable, item );
+				}
 			}
 		}
 	}
@@ -162,6 +279,10 @@ public class DockActionItem implements ToolbarItem {
 			view.getItem().addMouseListener( listener );
 			view.getItem().addMouseMotionListener( listener );
 		}
+		else if( stamped ){
+			content.addMouseListener( listener );
+			content.addMouseMotionListener( listener );
+		}
 	}
 	
 	public void removeMouseInputListener( MouseInputListener listener ){
@@ -170,6 +291,10 @@ public class DockActionItem implements ToolbarItem {
 			view.getItem().removeMouseListener( listener );
 			view.getItem().removeMouseMotionListener( listener );
 		}
+		else if( stamped ){
+			content.removeMouseListener( listener );
+			content.removeMouseMotionListener( listener );
+		}
 	}
 	
 	@Override
@@ -179,7 +304,9 @@ public class DockActionItem implements ToolbarItem {
 	
 	@Override
 	public void setSelected( boolean selected ){
-		// ignore
+		if( selected && stamped && !isShrunk() ){
+			realize();
+		}
 	}
 
 	@Override
@@ -197,4 +324,114 @@ public class DockActionItem implements ToolbarItem {
 			}
 		}
 	}
+	
+	/**
+	 * The panel showing the view, or being painted by the {@link FlyweightToolbarItemRenderer}. While painted by the
+	 * renderer, the panel is focusable and forwards the focus to the real view, which is created at that moment.
+	 * Hence keyboard users can reach stamped items.
+	 * @author Benjamin Sigg
+	 */
+	private class Content extends JPanel{
+		public Content(){
+			super( new GridLayout( 1, 1 ) );
+			setFocusable( false );
+		}
+		
+		@Override
+		public Dimension getPreferredSize(){
+			FlyweightToolbarItemRenderer flyweight = renderer.getValue();
+			if( stamped && flyweight != null ){
+				return flyweight.getPreferredSize( (StandardDockAction)action, dockable );
+			}
+			return super.getPreferredSize();
+		}
+		
+		@Override
+		public Dimension getMinimumSize(){
+			if( stamped ){
+				return getPreferredSize();
+			}
+			return super.getMinimumSize();
+		}
+		
+		@Override
+		public Dimension getMaximumSize(){
+			if( stamped ){
+				return getPreferredSize();
+			}
+			return super.getMaximumSize();
+		}
+		
+		@Override
+		protected void paintComponent( Graphics g ){
+			super.paintComponent( g );
+			FlyweightToolbarItemRenderer flyweight = renderer.getValue();
+			if( stamped && flyweight != null ){
+				flyweight.paint( g, this, (StandardDockAction)action, dockable );
+			}
+		}
+	}
+	
+	/**
+	 * Decides when the real view has to be created, and keeps the painting of the {@link FlyweightToolbarItemRenderer}
+	 * up to date.
+	 * @author Benjamin Sigg
+	 */
+	private class Stub extends MouseAdapter implements FocusListener, StandardDockActionListener, ExpandableToolbarItemListener{
+		@Override
+		public void mouseEntered( MouseEvent e ){
+			realize();
+		}
+		
+		@Override
+		public void focusGained( FocusEvent e ){
+			realize();
+			if( view != null ){
+				view.getItem().requestFocusInWindow();
+			}
+		}
+		
+		@Override
+		public void focusLost( FocusEvent e ){
+			// ignore
+		}
+		
+		@Override
+		public void changed( ExpandableToolbarItem item, ExpandedState oldState, ExpandedState newState ){
+			if( newState != ExpandedState.SHRUNK ){
+				realize();
+			}
+		}
+		
+		@Override
+		public void enablementChanged( ExpandableToolbarItem item, ExpandedState state, boolean enabled ){
+			// ignore
+		}
+		
+		@Override
+		public void actionTextChanged( StandardDockAction action, Set<Dockable> dockables ){
+			// ignore
+		}
+		
+		@Override
+		public void actionTooltipTextChanged( StandardDockAction action, Set<Dockable> dockables ){
+			content.setToolTipText( action.getTooltipText( dockable ) );
+		}
+		
+		@Override
+		public void actionIconChanged( StandardDockAction action, ActionContentModifier modifier, Set<Dockable> dockables ){
+			content.revalidate();
+			content.repaint();
+		}
+		
+		@Override
+		public void actionEnabledChanged( StandardDockAction action, Set<Dockable> dockables ){
+			content.repaint();
+		}
+		
+		@Override
+		public void actionRepresentativeChanged( StandardDockAction action, Set<Dockable> dockables ){
+			// ignore
+		}
+	}
 }
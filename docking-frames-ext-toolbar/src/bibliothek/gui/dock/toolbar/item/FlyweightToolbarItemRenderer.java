@@ -0,0 +1,202 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2016 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.toolbar.item;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Insets;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.CellRendererPane;
+import javax.swing.Icon;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.SwingConstants;
+import javax.swing.border.EmptyBorder;
+
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.ToolbarDockStation;
+import bibliothek.gui.dock.action.ActionContentModifier;
+import bibliothek.gui.dock.action.ButtonDockAction;
+import bibliothek.gui.dock.action.DockAction;
+import bibliothek.gui.dock.action.DropDownAction;
+import bibliothek.gui.dock.action.MenuDockAction;
+import bibliothek.gui.dock.action.SelectableDockAction;
+import bibliothek.gui.dock.action.StandardDockAction;
+
+/**
+ * A {@link FlyweightToolbarItemRenderer} paints {@link DockActionItem}s whose real view was not yet created. A toolbar
+ * with hundreds of items would otherwise create hundreds of buttons, models and listeners, even if the user never
+ * touches most of them. All the items that use the same renderer are painted by one single {@link JLabel}, in the
+ * same way as a {@link javax.swing.JTable} paints its cells.<br>
+ * A renderer does not know how the real view looks like, it only knows the icon of the action. Hence the first
+ * item of each type of {@link DockAction} always creates its real view, and the renderer {@link #learn(DockAction, Dockable, Component) learns}
+ * how much space the view needs around the icon. All the other items of the same type are painted by the renderer
+ * until they are realized.<br>
+ * The renderer is installed by setting the property {@link DockActionItem#RENDERER}.
+ * @author Benjamin Sigg
+ * @see ToolbarDockStation
+ */
+public class FlyweightToolbarItemRenderer {
+	/** the pane used to paint {@link #stamp} */
+	private CellRendererPane pane = new CellRendererPane();
+
+	/** the component painting all the items */
+	private JLabel stamp = new JLabel();
+
+	/** the space around the icon for each type of action */
+	private Map<Class<?>, EmptyBorder> paddings = new HashMap<Class<?>, EmptyBorder>();
+
+	/** how often an item was painted by this renderer */
+	private long paintCount = 0;
+
+	/** how often an item had to create its real view */
+	private long realizeCount = 0;
+
+	/**
+	 * Creates a new renderer.
+	 */
+	public FlyweightToolbarItemRenderer(){
+		stamp.setHorizontalAlignment( SwingConstants.CENTER );
+		stamp.setVerticalAlignment( SwingConstants.CENTER );
+		stamp.setOpaque( false );
+		pane.add( stamp );
+	}
+
+	/**
+	 * Tells whether this renderer is able to paint <code>action</code>. This is the case if
+	 * <code>action</code> is a simple {@link ButtonDockAction}, and if another action of the same type was
+	 * already {@link #learn(DockAction, Dockable, Component) learned}.
+	 * @param action the action to check
+	 * @return whether this renderer can replace the real view of <code>action</code>
+	 */
+	public boolean canRender( DockAction action ){
+		return isSupported( action ) && paddings.containsKey( action.getClass() );
+	}
+	
+	/**
+	 * Tells whether the real view of <code>action</code> looks like its icon. The renderer only paints the
+	 * icon and the enabled state, hence actions with more state, like a {@link SelectableDockAction}, or
+	 * actions opening a menu, like a {@link DropDownAction} or a {@link MenuDockAction}, are not supported.
+	 * @param action the action to check
+	 * @return whether this renderer could paint <code>action</code>
+	 */
+	private boolean isSupported( DockAction action ){
+		return action instanceof ButtonDockAction && !(action instanceof SelectableDockAction) &&
+				!(action instanceof DropDownAction) && !(action instanceof MenuDockAction);
+	}
+
+	/**
+	 * Informs this renderer about the real view of <code>action</code>. The renderer remembers how much
+	 * space <code>view</code> needs around the icon of <code>action</code>.
+	 * @param action the action that is shown by <code>view</code>
+	 * @param dockable the element for which <code>action</code> is shown
+	 * @param view the real view of <code>action</code>
+	 */
+	public void learn( DockAction action, Dockable dockable, Component view ){
+		realizeCount++;
+		if( !isSupported( action ) || paddings.containsKey( action.getClass() )){
+			return;
+		}
+		Icon icon = ((StandardDockAction)action).getIcon( dockable, ActionContentModifier.NONE );
+		if( icon == null ){
+			return;
+		}
+		Dimension size = view.getPreferredSize();
+		int width = Math.max( 0, size.width - icon.getIconWidth() );
+		int height = Math.max( 0, size.height - icon.getIconHeight() );
+		paddings.put( action.getClass(), new EmptyBorder( height/2, width/2, height - height/2, width - width/2 ) );
+	}
+
+	/**
+	 * Gets the size an item showing <code>action</code> should have.
+	 * @param action the action to paint
+	 * @param dockable the element for which <code>action</code> is shown
+	 * @return the preferred size of the item
+	 */
+	public Dimension getPreferredSize( StandardDockAction action, Dockable dockable ){
+		EmptyBorder padding = paddings.get( action.getClass() );
+		Icon icon = action.getIcon( dockable, ActionContentModifier.NONE );
+		int width = icon == null ? 0 : icon.getIconWidth();
+		int height = icon == null ? 0 : icon.getIconHeight();
+		if( padding != null ){
+			Insets insets = padding.getBorderInsets();
+			width += insets.left + insets.right;
+			height += insets.top + insets.bottom;
+		}
+		return new Dimension( width, height );
+	}
+
+	/**
+	 * Paints <code>action</code> onto <code>target</code>, using the whole size of <code>target</code>.
+	 * @param g the graphics context to use
+	 * @param target the component on which to paint
+	 * @param action the action to paint
+	 * @param dockable the element for which <code>action</code> is shown
+	 */
+	public void paint( Graphics g, JComponent target, StandardDockAction action, Dockable dockable ){
+		paintCount++;
+		boolean enabled = action.isEnabled( dockable );
+		Icon icon = action.getIcon( dockable, ActionContentModifier.NONE );
+		Icon disabledIcon = null;
+		if( !enabled ){
+			disabledIcon = action.getIcon( dockable, ActionContentModifier.DISABLED );
+		}
+		stamp.setIcon( icon );
+		stamp.setDisabledIcon( disabledIcon );
+		stamp.setEnabled( enabled );
+		stamp.setBorder( paddings.get( action.getClass() ) );
+		pane.paintComponent( g, stamp, target, 0, 0, target.getWidth(), target.getHeight(), true );
+		stamp.setIcon( null );
+		stamp.setDisabledIcon( null );
+	}
+
+	/**
+	 * Updates the look and feel of the component that paints the items.
+	 */
+	public void updateUI(){
+		stamp.updateUI();
+		stamp.setOpaque( false );
+	}
+
+	/**
+	 * Gets how often this renderer painted an item.
+	 * @return the number of painted items
+	 */
+	public long getPaintCount(){
+		return paintCount;
+	}
+
+	/**
+	 * Gets how often an item created its real view instead of being painted by this renderer.
+	 * @return the number of real views
+	 */
+	public long getRealizeCount(){
+		return realizeCount;
+	}
+}